@@ -0,0 +1,100 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ *
+ * Modifications Copyright OpenSearch Contributors. See
+ * GitHub history for details.
+ */
+package org.opensearch.hadoop.benchmark;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Map;
+
+import org.opensearch.hadoop.cfg.ConfigurationOptions;
+import org.opensearch.hadoop.cfg.PropertiesSettings;
+import org.opensearch.hadoop.cfg.Settings;
+import org.opensearch.hadoop.mr.security.HadoopUserProvider;
+import org.opensearch.hadoop.rest.InitializationUtils;
+import org.opensearch.hadoop.serialization.JdkBytesConverter;
+import org.opensearch.hadoop.serialization.MapFieldExtractor;
+import org.opensearch.hadoop.serialization.builder.JdkValueWriter;
+import org.opensearch.hadoop.serialization.bulk.BulkCommand;
+import org.opensearch.hadoop.serialization.bulk.BulkCommands;
+import org.opensearch.hadoop.thirdparty.codehaus.jackson.map.ObjectMapper;
+import org.opensearch.hadoop.util.ClusterInfo;
+import org.opensearch.hadoop.util.IOUtils;
+import org.opensearch.hadoop.util.OpenSearchMajorVersion;
+import org.opensearch.hadoop.util.StringUtils;
+
+/**
+ * Canned data and settings shared by the benchmarks. Nothing here talks to a cluster.
+ */
+abstract class BenchmarkData {
+
+    static final String INDEX = "benchmark";
+
+    private static final String DOCUMENT = "org/opensearch/hadoop/benchmark/document.json";
+    private static final String SCROLL_HIT = "org/opensearch/hadoop/benchmark/scroll-hit.json";
+
+    static String resource(String name) {
+        InputStream in = IOUtils.open(name, BenchmarkData.class.getClassLoader());
+        try {
+            return IOUtils.asString(in);
+        } catch (IOException ex) {
+            throw new IllegalStateException("Cannot read benchmark resource " + name, ex);
+        }
+    }
+
+    /**
+     * @return the sample document as parsed JSON
+     */
+    @SuppressWarnings("unchecked")
+    static Map<String, Object> document() {
+        try {
+            return new ObjectMapper().readValue(resource(DOCUMENT), Map.class);
+        } catch (IOException ex) {
+            throw new IllegalStateException("Cannot parse benchmark document", ex);
+        }
+    }
+
+    /**
+     * @return a scroll response holding the given number of copies of the sample document
+     */
+    static byte[] scrollResponse(int hits) {
+        String hit = resource(SCROLL_HIT).trim();
+        StringBuilder sb = new StringBuilder();
+        sb.append("{\"_scroll_id\":\"DXF1ZXJ5QW5kRmV0Y2gBAAAAAAAAAD4WYm9laVYtZndUQlNsdDcwakFMNjU1QQ==\",\"took\":3,");
+        sb.append("\"timed_out\":false,\"_shards\":{\"total\":1,\"successful\":1,\"skipped\":0,\"failed\":0},");
+        sb.append("\"hits\":{\"total\":{\"value\":").append(hits).append(",\"relation\":\"eq\"},\"max_score\":1.0,\"hits\":[");
+        for (int i = 0; i < hits; i++) {
+            if (i > 0) {
+                sb.append(',');
+            }
+            sb.append(String.format(hit, i));
+        }
+        sb.append("]}}");
+        return StringUtils.toUTF(sb.toString());
+    }
+
+    /**
+     * @return settings for writing plain Java objects to the benchmark index
+     */
+    static Settings writeSettings() {
+        Settings settings = new PropertiesSettings();
+        settings.setInternalClusterInfo(ClusterInfo.unnamedClusterWithVersion(OpenSearchMajorVersion.LATEST));
+        settings.setResourceWrite(INDEX);
+        settings.setProperty(ConfigurationOptions.OPENSEARCH_MAPPING_ID, "user.id");
+        InitializationUtils.setValueWriterIfNotSet(settings, JdkValueWriter.class, null);
+        InitializationUtils.setFieldExtractorIfNotSet(settings, MapFieldExtractor.class, null);
+        InitializationUtils.setBytesConverterIfNeeded(settings, JdkBytesConverter.class, null);
+        InitializationUtils.setUserProviderIfNotSet(settings, HadoopUserProvider.class, null);
+        return settings;
+    }
+
+    static BulkCommand bulkCommand(Settings settings) {
+        return BulkCommands.create(settings, null, settings.getClusterInfoOrUnnamedLatest().getMajorVersion());
+    }
+}
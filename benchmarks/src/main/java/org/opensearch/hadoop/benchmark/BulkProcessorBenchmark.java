@@ -0,0 +1,89 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ *
+ * Modifications Copyright OpenSearch Contributors. See
+ * GitHub history for details.
+ */
+package org.opensearch.hadoop.benchmark;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.opensearch.hadoop.cfg.ConfigurationOptions;
+import org.opensearch.hadoop.cfg.Settings;
+import org.opensearch.hadoop.rest.CannedResponseTransport;
+import org.opensearch.hadoop.rest.Resource;
+import org.opensearch.hadoop.rest.RestClient;
+import org.opensearch.hadoop.rest.bulk.BulkProcessor;
+import org.opensearch.hadoop.rest.bulk.BulkResponse;
+import org.opensearch.hadoop.serialization.bulk.BulkCommand;
+import org.opensearch.hadoop.util.BytesRef;
+
+/**
+ * Buffers a batch of bulk entries and flushes it against a transport that acknowledges every entry locally,
+ * covering the buffering, request writing and response handling done per batch.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class BulkProcessorBenchmark {
+
+    @Param({ "100", "1000" })
+    public int entries;
+
+    @Param({ "false", "true" })
+    public boolean chunked;
+
+    private RestClient client;
+    private BulkProcessor processor;
+    private BytesRef entry;
+
+    @Setup
+    public void setup() {
+        Settings settings = BenchmarkData.writeSettings();
+        settings.setProperty(ConfigurationOptions.OPENSEARCH_BATCH_SIZE_ENTRIES, Integer.toString(entries));
+        settings.setProperty(ConfigurationOptions.OPENSEARCH_BATCH_SIZE_BYTES, "64mb");
+        settings.setProperty(ConfigurationOptions.OPENSEARCH_BATCH_WRITE_REFRESH, Boolean.FALSE.toString());
+        settings.setProperty(ConfigurationOptions.OPENSEARCH_BATCH_FLUSH_MANUAL, Boolean.TRUE.toString());
+        settings.setProperty(ConfigurationOptions.OPENSEARCH_BATCH_BUFFER_CHUNKED, Boolean.toString(chunked));
+
+        BulkCommand command = BenchmarkData.bulkCommand(settings);
+        Map<String, Object> document = BenchmarkData.document();
+        entry = command.write(document);
+
+        client = new CannedResponseTransport(2).client(settings);
+        processor = new BulkProcessor(client, new Resource(settings, false), settings);
+    }
+
+    @Benchmark
+    public BulkResponse batch() {
+        for (int i = 0; i < entries; i++) {
+            processor.add(entry);
+        }
+        return processor.tryFlush();
+    }
+
+    @TearDown
+    public void tearDown() {
+        processor.close();
+        client.close();
+    }
+}
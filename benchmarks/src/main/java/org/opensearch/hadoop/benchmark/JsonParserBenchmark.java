@@ -0,0 +1,76 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ *
+ * Modifications Copyright OpenSearch Contributors. See
+ * GitHub history for details.
+ */
+package org.opensearch.hadoop.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.opensearch.hadoop.serialization.Parser;
+import org.opensearch.hadoop.serialization.Parser.Token;
+import org.opensearch.hadoop.serialization.json.JacksonJsonParser;
+
+/**
+ * Walks every token of a canned scroll response, the baseline cost under any read.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class JsonParserBenchmark {
+
+    @Param({ "100", "1000" })
+    public int hits;
+
+    private byte[] response;
+
+    @Setup
+    public void setup() {
+        response = BenchmarkData.scrollResponse(hits);
+    }
+
+    @Benchmark
+    public void tokens(Blackhole bh) {
+        Parser parser = new JacksonJsonParser(response);
+        try {
+            for (Token token = parser.nextToken(); token != null; token = parser.nextToken()) {
+                bh.consume(token);
+            }
+        } finally {
+            parser.close();
+        }
+    }
+
+    @Benchmark
+    public void values(Blackhole bh) {
+        Parser parser = new JacksonJsonParser(response);
+        try {
+            for (Token token = parser.nextToken(); token != null; token = parser.nextToken()) {
+                if (token.isValue()) {
+                    bh.consume(parser.text());
+                }
+            }
+        } finally {
+            parser.close();
+        }
+    }
+}
@@ -0,0 +1,59 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ *
+ * Modifications Copyright OpenSearch Contributors. See
+ * GitHub history for details.
+ */
+package org.opensearch.hadoop.benchmark;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.opensearch.hadoop.serialization.ScrollReader;
+import org.opensearch.hadoop.serialization.ScrollReader.Scroll;
+import org.opensearch.hadoop.serialization.ScrollReaderConfigBuilder;
+import org.opensearch.hadoop.serialization.builder.JdkValueReader;
+
+/**
+ * Parses a canned scroll response into Java objects.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class ScrollReaderBenchmark {
+
+    @Param({ "100", "1000" })
+    public int hits;
+
+    private byte[] response;
+    private ScrollReader reader;
+
+    @Setup
+    public void setup() {
+        response = BenchmarkData.scrollResponse(hits);
+        reader = new ScrollReader(ScrollReaderConfigBuilder.builder(new JdkValueReader(), BenchmarkData.writeSettings()));
+    }
+
+    @Benchmark
+    public Scroll read() throws IOException {
+        return reader.read(new ByteArrayInputStream(response));
+    }
+}
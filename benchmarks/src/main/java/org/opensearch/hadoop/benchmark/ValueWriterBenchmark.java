@@ -0,0 +1,60 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ *
+ * Modifications Copyright OpenSearch Contributors. See
+ * GitHub history for details.
+ */
+package org.opensearch.hadoop.benchmark;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.opensearch.hadoop.serialization.builder.JdkValueWriter;
+import org.opensearch.hadoop.serialization.builder.ValueWriter.Result;
+import org.opensearch.hadoop.serialization.json.JacksonJsonGenerator;
+import org.opensearch.hadoop.util.FastByteArrayOutputStream;
+
+/**
+ * Serializes the sample document to JSON through {@link JdkValueWriter}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class ValueWriterBenchmark {
+
+    private Map<String, Object> document;
+    private JdkValueWriter writer;
+    private FastByteArrayOutputStream out;
+
+    @Setup
+    public void setup() {
+        document = BenchmarkData.document();
+        writer = new JdkValueWriter();
+        out = new FastByteArrayOutputStream(1024);
+    }
+
+    @Benchmark
+    public Result write() {
+        out.reset();
+        JacksonJsonGenerator generator = new JacksonJsonGenerator(out);
+        Result result = writer.write(document, generator);
+        generator.flush();
+        return result;
+    }
+}
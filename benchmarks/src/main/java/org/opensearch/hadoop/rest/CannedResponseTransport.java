@@ -0,0 +1,117 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ *
+ * Modifications Copyright OpenSearch Contributors. See
+ * GitHub history for details.
+ */
+package org.opensearch.hadoop.rest;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+import org.opensearch.hadoop.cfg.Settings;
+import org.opensearch.hadoop.rest.stats.Stats;
+import org.opensearch.hadoop.security.SecureSettings;
+import org.opensearch.hadoop.util.ByteSequence;
+import org.opensearch.hadoop.util.StringUtils;
+
+/**
+ * Transport answering every request locally so that client side overhead can be measured without a cluster.
+ * Request bodies are still fully written (to a sink counting newlines) to mimic the cost of putting them on the wire;
+ * bulk requests are acknowledged with one successful item per entry.
+ */
+public class CannedResponseTransport implements Transport, TransportFactory {
+
+    private static final byte[] EMPTY = StringUtils.toUTF("{}");
+    private static final byte[] BULK_HEADER = StringUtils.toUTF("{\"took\":1,\"errors\":false,\"items\":[");
+    private static final byte[] BULK_ITEM = StringUtils.toUTF("{\"index\":{\"status\":201}}");
+    private static final byte[] BULK_FOOTER = StringUtils.toUTF("]}");
+
+    private static class LineCountingSink extends OutputStream {
+        int lines;
+
+        @Override
+        public void write(int b) {
+            if (b == '\n') {
+                lines++;
+            }
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            for (int i = off; i < off + len; i++) {
+                if (b[i] == '\n') {
+                    lines++;
+                }
+            }
+        }
+    }
+
+    private final int linesPerEntry;
+    private final Stats stats = new Stats();
+
+    /**
+     * @param linesPerEntry number of lines making up one bulk entry (2 for index/create/update, 1 for delete)
+     */
+    public CannedResponseTransport(int linesPerEntry) {
+        this.linesPerEntry = linesPerEntry;
+    }
+
+    /**
+     * Creates a client backed by this transport.
+     */
+    public RestClient client(Settings settings) {
+        return new RestClient(settings, new NetworkClient(settings, this));
+    }
+
+    @Override
+    public Transport create(Settings settings, SecureSettings secureSettings, String hostInfo) {
+        return this;
+    }
+
+    @Override
+    public Response execute(Request request) throws IOException {
+        ByteSequence body = request.body();
+        if (body == null) {
+            return new SimpleResponse(200, new ByteArrayInputStream(EMPTY), request.path());
+        }
+
+        LineCountingSink sink = new LineCountingSink();
+        body.writeTo(sink);
+        stats.bytesSent += body.length();
+
+        if (!StringUtils.hasText(request.path()) || !request.path().toString().endsWith("_bulk")) {
+            return new SimpleResponse(200, new ByteArrayInputStream(EMPTY), request.path());
+        }
+
+        int entries = sink.lines / linesPerEntry;
+        byte[] response = new byte[BULK_HEADER.length + entries * (BULK_ITEM.length + 1) + BULK_FOOTER.length];
+        int pos = 0;
+        System.arraycopy(BULK_HEADER, 0, response, pos, BULK_HEADER.length);
+        pos += BULK_HEADER.length;
+        for (int i = 0; i < entries; i++) {
+            if (i > 0) {
+                response[pos++] = ',';
+            }
+            System.arraycopy(BULK_ITEM, 0, response, pos, BULK_ITEM.length);
+            pos += BULK_ITEM.length;
+        }
+        System.arraycopy(BULK_FOOTER, 0, response, pos, BULK_FOOTER.length);
+        pos += BULK_FOOTER.length;
+        return new SimpleResponse(200, new ByteArrayInputStream(response, 0, pos), request.path());
+    }
+
+    @Override
+    public void close() {
+        // nothing to release
+    }
+
+    @Override
+    public Stats stats() {
+        return stats;
+    }
+}
@@ -88,10 +88,55 @@ public interface ConfigurationOptions {
     String OPENSEARCH_BATCH_SIZE_ENTRIES = "opensearch.batch.size.entries";
     String OPENSEARCH_BATCH_SIZE_ENTRIES_DEFAULT = "1000";
 
+    /** OpenSearch store batches in fixed-size chunks instead of one contiguous array */
+    String OPENSEARCH_BATCH_BUFFER_CHUNKED = "opensearch.batch.buffer.chunked";
+    String OPENSEARCH_BATCH_BUFFER_CHUNKED_DEFAULT = "false";
+
+    /** Size of a batch chunk given in bytes */
+    String OPENSEARCH_BATCH_BUFFER_CHUNK_SIZE = "opensearch.batch.buffer.chunk.size";
+    String OPENSEARCH_BATCH_BUFFER_CHUNK_SIZE_DEFAULT = "64kb";
+
     /** OpenSearch disable auto-flush on batch overflow */
     String OPENSEARCH_BATCH_FLUSH_MANUAL = "opensearch.batch.flush.manual";
     String OPENSEARCH_BATCH_FLUSH_MANUAL_DEFAULT = "false";
 
+    /** OpenSearch send full batches from a background thread while the next batch is being filled */
+    String OPENSEARCH_BATCH_FLUSH_ASYNC = "opensearch.batch.flush.async";
+    String OPENSEARCH_BATCH_FLUSH_ASYNC_DEFAULT = "false";
+
+    /** Maximum number of full batches being sent or waiting to be sent when flushing asynchronously */
+    String OPENSEARCH_BATCH_FLUSH_ASYNC_MAX_INFLIGHT = "opensearch.batch.flush.async.max.inflight";
+    String OPENSEARCH_BATCH_FLUSH_ASYNC_MAX_INFLIGHT_DEFAULT = "1";
+
+    /** OpenSearch adjust the batch size between flushes based on the observed bulk latency and rejections */
+    String OPENSEARCH_BATCH_SIZE_ADAPTIVE = "opensearch.batch.size.adaptive";
+    String OPENSEARCH_BATCH_SIZE_ADAPTIVE_DEFAULT = "false";
+
+    /** Lower and upper bounds for the adaptive batch size given in bytes */
+    String OPENSEARCH_BATCH_SIZE_ADAPTIVE_BYTES_MIN = "opensearch.batch.size.adaptive.bytes.min";
+    String OPENSEARCH_BATCH_SIZE_ADAPTIVE_BYTES_MIN_DEFAULT = "128kb";
+    String OPENSEARCH_BATCH_SIZE_ADAPTIVE_BYTES_MAX = "opensearch.batch.size.adaptive.bytes.max";
+    String OPENSEARCH_BATCH_SIZE_ADAPTIVE_BYTES_MAX_DEFAULT = "16mb";
+
+    /** Lower and upper bounds for the adaptive batch size given in entries */
+    String OPENSEARCH_BATCH_SIZE_ADAPTIVE_ENTRIES_MIN = "opensearch.batch.size.adaptive.entries.min";
+    String OPENSEARCH_BATCH_SIZE_ADAPTIVE_ENTRIES_MIN_DEFAULT = "100";
+    String OPENSEARCH_BATCH_SIZE_ADAPTIVE_ENTRIES_MAX = "opensearch.batch.size.adaptive.entries.max";
+    String OPENSEARCH_BATCH_SIZE_ADAPTIVE_ENTRIES_MAX_DEFAULT = "10000";
+
+    /** Bulk request latency above which the adaptive batch size is reduced */
+    String OPENSEARCH_BATCH_SIZE_ADAPTIVE_LATENCY_TARGET = "opensearch.batch.size.adaptive.latency.target";
+    String OPENSEARCH_BATCH_SIZE_ADAPTIVE_LATENCY_TARGET_DEFAULT = "1s";
+
+    /** Send each document straight to the node holding its primary shard, using one batch per node (single index writes, not in WAN or client-only mode).
+     * Each node batch buffers up to opensearch.batch.size.bytes, so a task may hold that much memory per routed node */
+    String OPENSEARCH_BATCH_WRITE_ROUTE_PRIMARIES = "opensearch.batch.write.route.primaries";
+    String OPENSEARCH_BATCH_WRITE_ROUTE_PRIMARIES_DEFAULT = "false";
+
+    /** Maximum number of nodes a task opens dedicated batches for when routing to primaries; documents for further nodes go through the shared batch */
+    String OPENSEARCH_BATCH_WRITE_ROUTE_PRIMARIES_MAX_NODES = "opensearch.batch.write.route.primaries.max.nodes";
+    String OPENSEARCH_BATCH_WRITE_ROUTE_PRIMARIES_MAX_NODES_DEFAULT = "8";
+
     /** Whether to trigger an index refresh after doing batch writing */
     String OPENSEARCH_BATCH_WRITE_REFRESH = "opensearch.batch.write.refresh";
     String OPENSEARCH_BATCH_WRITE_REFRESH_DEFAULT = "true";
@@ -111,6 +156,10 @@ public interface ConfigurationOptions {
     String OPENSEARCH_BATCH_WRITE_RETRY_POLICY_SIMPLE = "simple";
     String OPENSEARCH_BATCH_WRITE_RETRY_POLICY_DEFAULT = OPENSEARCH_BATCH_WRITE_RETRY_POLICY_SIMPLE;
 
+    /** How long an overwrite waits for the delete by query removing the existing docs */
+    String OPENSEARCH_DELETE_BY_QUERY_TIMEOUT = "opensearch.delete.by.query.timeout";
+    String OPENSEARCH_DELETE_BY_QUERY_TIMEOUT_DEFAULT = "1h";
+
     /** HTTP connection timeout */
     String OPENSEARCH_HTTP_TIMEOUT = "opensearch.http.timeout";
     String OPENSEARCH_HTTP_TIMEOUT_DEFAULT = "1m";
@@ -130,6 +179,14 @@ public interface ConfigurationOptions {
     String OPENSEARCH_SCROLL_LIMIT = "opensearch.scroll.limit";
     String OPENSEARCH_SCROLL_LIMIT_DEFAULT = "-1";
 
+    /** Scroll prefetch */
+    String OPENSEARCH_SCROLL_PREFETCH = "opensearch.scroll.prefetch";
+    String OPENSEARCH_SCROLL_PREFETCH_DEFAULT = "false";
+
+    /** Scroll streaming (parse hits as they are consumed instead of reading the whole page upfront) */
+    String OPENSEARCH_SCROLL_STREAMING = "opensearch.scroll.streaming";
+    String OPENSEARCH_SCROLL_STREAMING_DEFAULT = "false";
+
     /** Scroll fields */
 
     String OPENSEARCH_HEART_BEAT_LEAD = "opensearch.action.heart.beat.lead";
@@ -146,8 +203,13 @@ public interface ConfigurationOptions {
     /** Value reader - setup automatically; can be overridden for custom types */
     String OPENSEARCH_SERIALIZATION_READER_VALUE_CLASS = "opensearch.ser.reader.value.class";
 
+    /** Metadata cache (cluster info, nodes and mappings shared across jobs in the same JVM) - disabled by default */
+    String OPENSEARCH_METADATA_CACHE_TTL = "opensearch.metadata.cache.ttl";
+    String OPENSEARCH_METADATA_CACHE_TTL_DEFAULT = "0";
+
     /** Input options **/
     String OPENSEARCH_MAX_DOCS_PER_PARTITION = "opensearch.input.max.docs.per.partition";
+    String OPENSEARCH_MAX_BYTES_PER_PARTITION = "opensearch.input.max.bytes.per.partition";
 
     String OPENSEARCH_INPUT_JSON = "opensearch.input.json";
     String OPENSEARCH_INPUT_JSON_DEFAULT = "no";
@@ -235,6 +297,8 @@ public interface ConfigurationOptions {
     String OPENSEARCH_READ_FIELD_AS_ARRAY_EXCLUDE = "opensearch.read.field.as.array.exclude";
 
     String OPENSEARCH_READ_SOURCE_FILTER = "opensearch.read.source.filter";
+    String OPENSEARCH_READ_SOURCE_DOCVALUES = "opensearch.read.source.docvalues";
+    String OPENSEARCH_READ_SOURCE_DOCVALUES_DEFAULT = "false";
 
     /** Metadata */
     String OPENSEARCH_READ_METADATA = "opensearch.read.metadata";
@@ -245,6 +309,10 @@ public interface ConfigurationOptions {
     String OPENSEARCH_READ_METADATA_VERSION_DEFAULT = "false";
     String OPENSEARCH_READ_UNMAPPED_FIELDS_IGNORE = "opensearch.read.unmapped.fields.ignore";
     String OPENSEARCH_READ_UNMAPPED_FIELDS_IGNORE_DEFAULT = "true";
+    String OPENSEARCH_READ_STRATEGY = "opensearch.read.strategy";
+    String OPENSEARCH_READ_STRATEGY_SCROLL = "scroll";
+    String OPENSEARCH_READ_STRATEGY_PIT = "pit";
+    String OPENSEARCH_READ_STRATEGY_DEFAULT = OPENSEARCH_READ_STRATEGY_SCROLL;
 
 
     /** Operation types */
@@ -276,6 +344,10 @@ public interface ConfigurationOptions {
     /** Network options */
     String OPENSEARCH_NET_TRANSPORT_POOLING_EXPIRATION_TIMEOUT = "opensearch.net.transport.pooling.expiration.timeout";
     String OPENSEARCH_NET_TRANSPORT_POOLING_EXPIRATION_TIMEOUT_DEFAULT = "5m";
+    String OPENSEARCH_NET_TRANSPORT_TYPE = "opensearch.net.transport.type";
+    String OPENSEARCH_NET_TRANSPORT_TYPE_COMMONS = "commons";
+    String OPENSEARCH_NET_TRANSPORT_TYPE_JDK = "jdk";
+    String OPENSEARCH_NET_TRANSPORT_TYPE_DEFAULT = OPENSEARCH_NET_TRANSPORT_TYPE_COMMONS;
 
     // SSL
     String OPENSEARCH_NET_USE_SSL = "opensearch.net.ssl";
@@ -301,6 +373,13 @@ public interface ConfigurationOptions {
     String OPENSEARCH_NET_HTTP_AUTH_USER = "opensearch.net.http.auth.user";
     String OPENSEARCH_NET_HTTP_AUTH_PASS = "opensearch.net.http.auth.pass";
 
+    /** Gzip request bodies (such as bulk requests) before sending them */
+    String OPENSEARCH_NET_HTTP_COMPRESSION_REQUEST = "opensearch.net.http.compression.request";
+    String OPENSEARCH_NET_HTTP_COMPRESSION_REQUEST_DEFAULT = "false";
+    /** Ask for compressed (gzip/deflate) responses, decompressed while being read */
+    String OPENSEARCH_NET_HTTP_COMPRESSION_RESPONSE = "opensearch.net.http.compression.response";
+    String OPENSEARCH_NET_HTTP_COMPRESSION_RESPONSE_DEFAULT = "false";
+
     String OPENSEARCH_NET_SPNEGO_AUTH_OPENSEARCH_PRINCIPAL = "opensearch.net.spnego.auth.opensearch.principal";
     String OPENSEARCH_NET_SPNEGO_AUTH_MUTUAL = "opensearch.net.spnego.auth.mutual";
     String OPENSEARCH_NET_SPNEGO_AUTH_MUTUAL_DEFAULT = "false";
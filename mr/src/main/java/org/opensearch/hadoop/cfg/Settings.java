@@ -184,6 +184,14 @@ public abstract class Settings {
         return Integer.valueOf(getProperty(OPENSEARCH_BATCH_SIZE_ENTRIES, OPENSEARCH_BATCH_SIZE_ENTRIES_DEFAULT));
     }
 
+    public boolean getBatchBufferChunked() {
+        return Booleans.parseBoolean(getProperty(OPENSEARCH_BATCH_BUFFER_CHUNKED, OPENSEARCH_BATCH_BUFFER_CHUNKED_DEFAULT));
+    }
+
+    public int getBatchBufferChunkSize() {
+        return ByteSizeValue.parseBytesSizeValue(getProperty(OPENSEARCH_BATCH_BUFFER_CHUNK_SIZE, OPENSEARCH_BATCH_BUFFER_CHUNK_SIZE_DEFAULT)).bytesAsInt();
+    }
+
     public int getBatchWriteRetryCount() {
         return Integer.parseInt(getProperty(OPENSEARCH_BATCH_WRITE_RETRY_COUNT, OPENSEARCH_BATCH_WRITE_RETRY_COUNT_DEFAULT));
     }
@@ -204,10 +212,50 @@ public abstract class Settings {
         return Booleans.parseBoolean(getProperty(OPENSEARCH_BATCH_WRITE_REFRESH, OPENSEARCH_BATCH_WRITE_REFRESH_DEFAULT));
     }
 
+    public boolean getBatchWriteRoutePrimaries() {
+        return Booleans.parseBoolean(getProperty(OPENSEARCH_BATCH_WRITE_ROUTE_PRIMARIES, OPENSEARCH_BATCH_WRITE_ROUTE_PRIMARIES_DEFAULT));
+    }
+
+    public int getBatchWriteRoutePrimariesMaxNodes() {
+        return Integer.valueOf(getProperty(OPENSEARCH_BATCH_WRITE_ROUTE_PRIMARIES_MAX_NODES, OPENSEARCH_BATCH_WRITE_ROUTE_PRIMARIES_MAX_NODES_DEFAULT));
+    }
+
     public boolean getBatchFlushManual() {
         return Booleans.parseBoolean(getProperty(OPENSEARCH_BATCH_FLUSH_MANUAL, OPENSEARCH_BATCH_FLUSH_MANUAL_DEFAULT));
     }
 
+    public boolean getBatchFlushAsync() {
+        return Booleans.parseBoolean(getProperty(OPENSEARCH_BATCH_FLUSH_ASYNC, OPENSEARCH_BATCH_FLUSH_ASYNC_DEFAULT));
+    }
+
+    public int getBatchFlushAsyncMaxInFlight() {
+        return Integer.parseInt(getProperty(OPENSEARCH_BATCH_FLUSH_ASYNC_MAX_INFLIGHT, OPENSEARCH_BATCH_FLUSH_ASYNC_MAX_INFLIGHT_DEFAULT));
+    }
+
+    public boolean getBatchSizeAdaptive() {
+        return Booleans.parseBoolean(getProperty(OPENSEARCH_BATCH_SIZE_ADAPTIVE, OPENSEARCH_BATCH_SIZE_ADAPTIVE_DEFAULT));
+    }
+
+    public int getBatchSizeAdaptiveBytesMin() {
+        return ByteSizeValue.parseBytesSizeValue(getProperty(OPENSEARCH_BATCH_SIZE_ADAPTIVE_BYTES_MIN, OPENSEARCH_BATCH_SIZE_ADAPTIVE_BYTES_MIN_DEFAULT)).bytesAsInt();
+    }
+
+    public int getBatchSizeAdaptiveBytesMax() {
+        return ByteSizeValue.parseBytesSizeValue(getProperty(OPENSEARCH_BATCH_SIZE_ADAPTIVE_BYTES_MAX, OPENSEARCH_BATCH_SIZE_ADAPTIVE_BYTES_MAX_DEFAULT)).bytesAsInt();
+    }
+
+    public int getBatchSizeAdaptiveEntriesMin() {
+        return Integer.parseInt(getProperty(OPENSEARCH_BATCH_SIZE_ADAPTIVE_ENTRIES_MIN, OPENSEARCH_BATCH_SIZE_ADAPTIVE_ENTRIES_MIN_DEFAULT));
+    }
+
+    public int getBatchSizeAdaptiveEntriesMax() {
+        return Integer.parseInt(getProperty(OPENSEARCH_BATCH_SIZE_ADAPTIVE_ENTRIES_MAX, OPENSEARCH_BATCH_SIZE_ADAPTIVE_ENTRIES_MAX_DEFAULT));
+    }
+
+    public long getBatchSizeAdaptiveLatencyTarget() {
+        return TimeValue.parseTimeValue(getProperty(OPENSEARCH_BATCH_SIZE_ADAPTIVE_LATENCY_TARGET, OPENSEARCH_BATCH_SIZE_ADAPTIVE_LATENCY_TARGET_DEFAULT)).getMillis();
+    }
+
     public long getScrollKeepAlive() {
         return TimeValue.parseTimeValue(getProperty(OPENSEARCH_SCROLL_KEEPALIVE, OPENSEARCH_SCROLL_KEEPALIVE_DEFAULT)).getMillis();
     }
@@ -220,6 +268,14 @@ public abstract class Settings {
         return Long.valueOf(getProperty(OPENSEARCH_SCROLL_LIMIT, OPENSEARCH_SCROLL_LIMIT_DEFAULT));
     }
 
+    public boolean getScrollPrefetch() {
+        return Booleans.parseBoolean(getProperty(OPENSEARCH_SCROLL_PREFETCH, OPENSEARCH_SCROLL_PREFETCH_DEFAULT));
+    }
+
+    public boolean getScrollStreaming() {
+        return Booleans.parseBoolean(getProperty(OPENSEARCH_SCROLL_STREAMING, OPENSEARCH_SCROLL_STREAMING_DEFAULT));
+    }
+
     public String getScrollFields() {
         return getProperty(INTERNAL_OPENSEARCH_TARGET_FIELDS);
     }
@@ -465,6 +521,10 @@ public abstract class Settings {
         return getProperty(OPENSEARCH_READ_SOURCE_FILTER, StringUtils.EMPTY);
     }
 
+    public boolean getReadSourceDocValues() {
+        return Booleans.parseBoolean(getProperty(OPENSEARCH_READ_SOURCE_DOCVALUES, OPENSEARCH_READ_SOURCE_DOCVALUES_DEFAULT));
+    }
+
     public TimeValue getHeartBeatLead() {
         return TimeValue.parseTimeValue(getProperty(OPENSEARCH_HEART_BEAT_LEAD, OPENSEARCH_HEART_BEAT_LEAD_DEFAULT));
     }
@@ -473,6 +533,16 @@ public abstract class Settings {
         return TimeValue.parseTimeValue(getProperty(OPENSEARCH_NET_TRANSPORT_POOLING_EXPIRATION_TIMEOUT, OPENSEARCH_NET_TRANSPORT_POOLING_EXPIRATION_TIMEOUT_DEFAULT));
     }
 
+    public String getNetworkTransportType() {
+        String type = getProperty(OPENSEARCH_NET_TRANSPORT_TYPE, OPENSEARCH_NET_TRANSPORT_TYPE_DEFAULT).trim().toLowerCase(Locale.ROOT);
+        if (!OPENSEARCH_NET_TRANSPORT_TYPE_COMMONS.equals(type) && !OPENSEARCH_NET_TRANSPORT_TYPE_JDK.equals(type)) {
+            throw new OpenSearchHadoopIllegalArgumentException("Could not determine transport type. Property [" +
+                    OPENSEARCH_NET_TRANSPORT_TYPE + "] was set to unknown type [" + type + "]. Use one of [" +
+                    OPENSEARCH_NET_TRANSPORT_TYPE_COMMONS + ", " + OPENSEARCH_NET_TRANSPORT_TYPE_JDK + "]");
+        }
+        return type;
+    }
+
     // SSL
     public boolean getNetworkSSLEnabled() {
         return Booleans.parseBoolean(getProperty(OPENSEARCH_NET_USE_SSL, OPENSEARCH_NET_USE_SSL_DEFAULT));
@@ -517,6 +587,14 @@ public abstract class Settings {
         return getProperty(OPENSEARCH_NET_HTTP_AUTH_PASS);
     }
 
+    public boolean getNetworkHttpCompressRequests() {
+        return Booleans.parseBoolean(getProperty(OPENSEARCH_NET_HTTP_COMPRESSION_REQUEST, OPENSEARCH_NET_HTTP_COMPRESSION_REQUEST_DEFAULT));
+    }
+
+    public boolean getNetworkHttpCompressResponses() {
+        return Booleans.parseBoolean(getProperty(OPENSEARCH_NET_HTTP_COMPRESSION_RESPONSE, OPENSEARCH_NET_HTTP_COMPRESSION_RESPONSE_DEFAULT));
+    }
+
     public String getNetworkSpnegoAuthElasticsearchPrincipal() {
         return getProperty(OPENSEARCH_NET_SPNEGO_AUTH_OPENSEARCH_PRINCIPAL);
     }
@@ -672,6 +750,22 @@ public abstract class Settings {
         return null;
     }
 
+    public TimeValue getDeleteByQueryTimeout() {
+        return TimeValue.parseTimeValue(getProperty(OPENSEARCH_DELETE_BY_QUERY_TIMEOUT, OPENSEARCH_DELETE_BY_QUERY_TIMEOUT_DEFAULT));
+    }
+
+    public TimeValue getMetadataCacheTtl() {
+        return TimeValue.parseTimeValue(getProperty(OPENSEARCH_METADATA_CACHE_TTL, OPENSEARCH_METADATA_CACHE_TTL_DEFAULT));
+    }
+
+    public Long getMaxBytesPerPartition() {
+        String value = getProperty(OPENSEARCH_MAX_BYTES_PER_PARTITION);
+        if (StringUtils.hasText(value)) {
+            return ByteSizeValue.parseBytesSizeValue(value).bytes();
+        }
+        return null;
+    }
+
     public boolean getReadMetadata() {
         return Booleans.parseBoolean(getProperty(OPENSEARCH_READ_METADATA, OPENSEARCH_READ_METADATA_DEFAULT));
     }
@@ -688,6 +782,16 @@ public abstract class Settings {
         return Booleans.parseBoolean(getProperty(OPENSEARCH_READ_UNMAPPED_FIELDS_IGNORE, OPENSEARCH_READ_UNMAPPED_FIELDS_IGNORE_DEFAULT));
     }
 
+    public String getReadStrategy() {
+        String strategy = getProperty(OPENSEARCH_READ_STRATEGY, OPENSEARCH_READ_STRATEGY_DEFAULT).trim().toLowerCase(Locale.ROOT);
+        if (!OPENSEARCH_READ_STRATEGY_SCROLL.equals(strategy) && !OPENSEARCH_READ_STRATEGY_PIT.equals(strategy)) {
+            throw new OpenSearchHadoopIllegalArgumentException("Could not determine read strategy. Property [" +
+                    OPENSEARCH_READ_STRATEGY + "] was set to unknown strategy [" + strategy + "]. Use one of [" +
+                    OPENSEARCH_READ_STRATEGY_SCROLL + ", " + OPENSEARCH_READ_STRATEGY_PIT + "]");
+        }
+        return strategy;
+    }
+
     public boolean getDataFrameWriteNullValues() {
         return Booleans.parseBoolean(getProperty(OPENSEARCH_SPARK_DATAFRAME_WRITE_NULL_VALUES, OPENSEARCH_SPARK_DATAFRAME_WRITE_NULL_VALUES_DEFAULT));
     }
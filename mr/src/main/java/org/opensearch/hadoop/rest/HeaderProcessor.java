@@ -37,6 +37,7 @@ import org.opensearch.hadoop.thirdparty.apache.commons.httpclient.Header;
 import org.opensearch.hadoop.thirdparty.apache.commons.httpclient.HttpMethod;
 import org.opensearch.hadoop.util.StringUtils;
 
+import java.net.HttpURLConnection;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
@@ -204,4 +205,16 @@ public final class HeaderProcessor {
 
         return method;
     }
+
+    public HttpURLConnection applyTo(HttpURLConnection connection) {
+        // Add headers to the request.
+        for (Header header : headers) {
+            connection.setRequestProperty(header.getName(), header.getValue());
+        }
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("Added HTTP Headers to connection: " + headers);
+        }
+
+        return connection;
+    }
 }
\ No newline at end of file
@@ -102,19 +102,21 @@ public abstract class InitializationUtils {
 
     public static List<NodeInfo> discoverNodesIfNeeded(Settings settings, Log log) {
         if (settings.getNodesDiscovery()) {
-            RestClient bootstrap = new RestClient(settings);
-
-            try {
-                List<NodeInfo> discoveredNodes = bootstrap.getHttpNodes(false);
-                if (log.isDebugEnabled()) {
-                    log.debug(String.format("Nodes discovery enabled - found %s", discoveredNodes));
+            List<NodeInfo> discoveredNodes = MetadataCache.nodes(settings, () -> {
+                RestClient bootstrap = new RestClient(settings);
+                try {
+                    List<NodeInfo> nodes = bootstrap.getHttpNodes(false);
+                    if (log.isDebugEnabled()) {
+                        log.debug(String.format("Nodes discovery enabled - found %s", nodes));
+                    }
+                    return nodes;
+                } finally {
+                    bootstrap.close();
                 }
+            });
 
-                SettingsUtils.addDiscoveredNodes(settings, discoveredNodes);
-                return discoveredNodes;
-            } finally {
-                bootstrap.close();
-            }
+            SettingsUtils.addDiscoveredNodes(settings, discoveredNodes);
+            return discoveredNodes;
         }
 
         return null;
@@ -344,31 +346,14 @@ public abstract class InitializationUtils {
      * Creates a bootstrap client to discover and validate cluster information.
      *
      * Unlike {@link InitializationUtils#discoverClusterInfo(Settings, Log)}, this
-     * method always calls the cluster in order to validate
-     * headers. If cluster name, uuid, and version are present in the settings, this
+     * method always calls the cluster (unless a fresh entry is held by the {@link MetadataCache})
+     * in order to validate headers. If cluster name, uuid, and version are present in the settings, this
      * will validate them against the cluster, warning
      * and overriding if they are different.
      */
     public static ClusterInfo discoverAndValidateClusterInfo(Settings settings, Log log) {
-        ClusterInfo mainInfo;
-        RestClient bootstrap = new RestClient(settings);
         // first get OpenSearch main action info
-        try {
-            mainInfo = bootstrap.mainInfo();
-            if (log.isDebugEnabled()) {
-                log.debug(String.format("Discovered OpenSearch cluster [%s/%s], version [%s]",
-                        mainInfo.getClusterName().getName(),
-                        mainInfo.getClusterName().getUUID(),
-                        mainInfo.getMajorVersion()));
-            }
-        } catch (OpenSearchHadoopException ex) {
-            throw new OpenSearchHadoopIllegalArgumentException(String.format("Cannot detect OpenSearch version - "
-                    + "typically this happens if the network/OpenSearch cluster is not accessible or when targeting "
-                    + "a WAN/Cloud instance without the proper setting '%s'",
-                    ConfigurationOptions.OPENSEARCH_NODES_WAN_ONLY), ex);
-        } finally {
-            bootstrap.close();
-        }
+        ClusterInfo mainInfo = MetadataCache.clusterInfo(settings, () -> fetchClusterInfo(settings, log));
 
         // Check if the info is set in the settings and validate that it is correct
         String clusterName = settings.getProperty(InternalConfigurationOptions.INTERNAL_OPENSEARCH_CLUSTER_NAME);
@@ -424,8 +409,14 @@ public abstract class InitializationUtils {
             return new ClusterInfo(remoteClusterName, remoteVersion);
         }
 
-        RestClient bootstrap = new RestClient(settings);
         // first get OpenSearch main action info
+        ClusterInfo mainInfo = MetadataCache.clusterInfo(settings, () -> fetchClusterInfo(settings, log));
+        settings.setInternalClusterInfo(mainInfo);
+        return mainInfo;
+    }
+
+    private static ClusterInfo fetchClusterInfo(Settings settings, Log log) {
+        RestClient bootstrap = new RestClient(settings);
         try {
             ClusterInfo mainInfo = bootstrap.mainInfo();
             if (log.isDebugEnabled()) {
@@ -434,7 +425,6 @@ public abstract class InitializationUtils {
                         mainInfo.getClusterName().getUUID(),
                         mainInfo.getMajorVersion()));
             }
-            settings.setInternalClusterInfo(mainInfo);
             return mainInfo;
         } catch (OpenSearchHadoopException ex) {
             throw new OpenSearchHadoopIllegalArgumentException(String.format("Cannot detect OpenSearch version - "
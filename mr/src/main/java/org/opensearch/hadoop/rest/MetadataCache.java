@@ -0,0 +1,187 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ *
+ * Modifications Copyright OpenSearch Contributors. See
+ * GitHub history for details.
+ */
+
+package org.opensearch.hadoop.rest;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.opensearch.hadoop.OpenSearchHadoopIllegalStateException;
+import org.opensearch.hadoop.cfg.ConfigurationOptions;
+import org.opensearch.hadoop.cfg.InternalConfigurationOptions;
+import org.opensearch.hadoop.cfg.Settings;
+import org.opensearch.hadoop.security.AuthenticationMethod;
+import org.opensearch.hadoop.serialization.dto.NodeInfo;
+import org.opensearch.hadoop.serialization.dto.mapping.MappingSet;
+import org.opensearch.hadoop.util.ClusterInfo;
+import org.opensearch.hadoop.util.StringUtils;
+
+/**
+ * JVM wide cache of the cluster metadata ({@link ClusterInfo}, discovered {@link NodeInfo}s and {@link MappingSet}s)
+ * used while setting up jobs, so that consecutive jobs against the same cluster and resources skip the discovery
+ * round trips. Entries expire after {@link Settings#getMetadataCacheTtl()}; the cache is disabled by default.
+ */
+public final class MetadataCache {
+
+    private static final Log LOG = LogFactory.getLog(MetadataCache.class);
+
+    private MetadataCache() {
+        //no instance
+    }
+
+    private static class Entry {
+        final Object value;
+        final long expiresAt;
+
+        Entry(Object value, long expiresAt) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    private static final ConcurrentMap<String, Entry> cache = new ConcurrentHashMap<String, Entry>();
+
+    // settings identifying the principal the job authenticates as (basic auth, API keys and other auth headers,
+    // client certificates, secure settings); headers that only describe the request are left out
+    private static final String[] CREDENTIAL_PREFIXES = {
+            "opensearch.net.http.auth.",
+            ConfigurationOptions.OPENSEARCH_NET_HTTP_HEADER_PREFIX,
+            "opensearch.net.ssl.keystore.",
+            "opensearch.net.spnego.",
+            "opensearch.security.",
+            ConfigurationOptions.OPENSEARCH_KEYSTORE_LOCATION
+    };
+    private static final Set<String> NON_CREDENTIAL_HEADERS = new HashSet<String>(Arrays.asList(
+            ConfigurationOptions.OPENSEARCH_NET_HTTP_HEADER_OPAQUE_ID,
+            ConfigurationOptions.OPENSEARCH_NET_HTTP_HEADER_USER_AGENT));
+
+    public static ClusterInfo clusterInfo(Settings settings, Supplier<ClusterInfo> loader) {
+        String connection = connectionKey(settings);
+        return get(settings, (connection == null ? null : "cluster|" + connection), loader);
+    }
+
+    public static List<NodeInfo> nodes(Settings settings, Supplier<List<NodeInfo>> loader) {
+        String connection = connectionKey(settings);
+        return get(settings, (connection == null ? null : "nodes|" + connection), loader);
+    }
+
+    public static MappingSet mappings(Settings settings, String resource, Supplier<MappingSet> loader) {
+        // mappings are per cluster; fall back to the connection when the cluster has not been discovered
+        String cluster = settings.getProperty(InternalConfigurationOptions.INTERNAL_OPENSEARCH_CLUSTER_UUID);
+        if (!StringUtils.hasText(cluster)) {
+            cluster = settings.getProperty(InternalConfigurationOptions.INTERNAL_OPENSEARCH_CLUSTER_NAME);
+        }
+        // the credentials are part of the key since security can restrict the visible fields
+        String credentials = credentialsKey(settings);
+        return get(settings, (credentials == null ? null : "mapping|" + (StringUtils.hasText(cluster) ? cluster : connectionKey(settings))
+                + "|" + credentials + "|" + resource), loader);
+    }
+
+    /**
+     * Drops all the cached entries, forcing the next jobs to contact the cluster.
+     */
+    public static void clear() {
+        cache.clear();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T get(Settings settings, String key, Supplier<T> loader) {
+        long ttl = settings.getMetadataCacheTtl().nanos();
+        if (ttl <= 0 || key == null) {
+            return loader.get();
+        }
+
+        long now = System.nanoTime();
+        Entry entry = cache.get(key);
+        if (entry != null && entry.expiresAt - now > 0) {
+            if (LOG.isTraceEnabled()) {
+                LOG.trace(String.format("Using cached metadata for [%s]", key));
+            }
+            return (T) entry.value;
+        }
+
+        T value = loader.get();
+        if (value != null) {
+            evictExpired(now);
+            cache.put(key, new Entry(value, now + ttl));
+        }
+        return value;
+    }
+
+    private static void evictExpired(long now) {
+        for (Iterator<Map.Entry<String, Entry>> it = cache.entrySet().iterator(); it.hasNext();) {
+            if (it.next().getValue().expiresAt - now <= 0) {
+                it.remove();
+            }
+        }
+    }
+
+    /**
+     * Returns null (no caching) when the identity cannot be told from the settings.
+     */
+    private static String connectionKey(Settings settings) {
+        String credentials = credentialsKey(settings);
+        if (credentials == null) {
+            return null;
+        }
+        return settings.getNodes() + "|" + settings.getPort() + "|" + settings.getNodesPathPrefix() + "|" + settings.getNodesWANOnly()
+                + "|" + credentials;
+    }
+
+    /**
+     * Digest of the credential settings, or null when the job authenticates through Kerberos as the principal then
+     * comes from the current (Hadoop) user rather than the settings.
+     */
+    static String credentialsKey(Settings settings) {
+        if (settings.getSecurityAuthenticationMethod() == AuthenticationMethod.KERBEROS) {
+            return null;
+        }
+
+        Map<String, String> credentials = new TreeMap<String, String>();
+        for (Map.Entry<Object, Object> property : settings.asProperties().entrySet()) {
+            String name = property.getKey().toString();
+            if (NON_CREDENTIAL_HEADERS.contains(name)) {
+                continue;
+            }
+            for (String prefix : CREDENTIAL_PREFIXES) {
+                if (name.startsWith(prefix)) {
+                    credentials.put(name, String.valueOf(property.getValue()));
+                    break;
+                }
+            }
+        }
+
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (Map.Entry<String, String> credential : credentials.entrySet()) {
+                digest.update(credential.getKey().getBytes(StringUtils.UTF_8));
+                digest.update((byte) '=');
+                digest.update(credential.getValue().getBytes(StringUtils.UTF_8));
+                digest.update((byte) '\n');
+            }
+            return Base64.getEncoder().encodeToString(digest.digest());
+        } catch (NoSuchAlgorithmException ex) {
+            throw new OpenSearchHadoopIllegalStateException("Cannot digest credentials", ex);
+        }
+    }
+}
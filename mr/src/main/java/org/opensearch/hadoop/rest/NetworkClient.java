@@ -39,8 +39,10 @@ import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.opensearch.hadoop.OpenSearchHadoopException;
 import org.opensearch.hadoop.OpenSearchHadoopIllegalStateException;
+import org.opensearch.hadoop.cfg.ConfigurationOptions;
 import org.opensearch.hadoop.cfg.Settings;
 import org.opensearch.hadoop.rest.commonshttp.CommonsHttpTransportFactory;
+import org.opensearch.hadoop.rest.jdkhttp.JdkHttpTransportFactory;
 import org.opensearch.hadoop.rest.pooling.PooledTransportManager;
 import org.opensearch.hadoop.rest.stats.Stats;
 import org.opensearch.hadoop.rest.stats.StatsAware;
@@ -65,7 +67,14 @@ public class NetworkClient implements StatsAware, Closeable {
     private final Stats stats = new Stats();
 
     public NetworkClient(Settings settings) {
-        this(settings, (!SettingsUtils.hasJobTransportPoolingKey(settings) ? new CommonsHttpTransportFactory() : PooledTransportManager.getTransportFactory(settings)));
+        this(settings, (!SettingsUtils.hasJobTransportPoolingKey(settings) ? directTransportFactory(settings) : PooledTransportManager.getTransportFactory(settings)));
+    }
+
+    private static TransportFactory directTransportFactory(Settings settings) {
+        if (ConfigurationOptions.OPENSEARCH_NET_TRANSPORT_TYPE_JDK.equals(settings.getNetworkTransportType())) {
+            return new JdkHttpTransportFactory();
+        }
+        return new CommonsHttpTransportFactory();
     }
 
     public NetworkClient(Settings settings, TransportFactory transportFactory) {
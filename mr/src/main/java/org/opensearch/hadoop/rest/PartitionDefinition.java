@@ -31,7 +31,8 @@ package org.opensearch.hadoop.rest;
 import org.opensearch.hadoop.cfg.PropertiesSettings;
 import org.opensearch.hadoop.cfg.Settings;
 import org.opensearch.hadoop.serialization.dto.mapping.Mapping;
-import org.opensearch.hadoop.util.IOUtils;
+import org.opensearch.hadoop.serialization.dto.mapping.MappingCodec;
+import org.opensearch.hadoop.util.Assert;
 import org.opensearch.hadoop.util.StringUtils;
 
 import java.io.DataInput;
@@ -46,8 +47,12 @@ import static org.opensearch.hadoop.util.StringUtils.EMPTY_ARRAY;
  * Represents a logical split of an opensearch query.
  */
 public class PartitionDefinition implements Serializable, Comparable<PartitionDefinition> {
+    private static final int[] NO_SHARDS = new int[0];
+
     private final String index;
     private final int shardId;
+    // additional shards of the same index read by this partition (coalesced small shards)
+    private final int[] coalescedShardIds;
     private final Slice slice;
     private final String serializedSettings, serializedMapping;
     private final String[] locations;
@@ -57,23 +62,32 @@ public class PartitionDefinition implements Serializable, Comparable<PartitionDe
 
         private PartitionDefinitionBuilder(Settings settings, Mapping resolvedMapping) {
             this.serializedSettings = settings == null ? null : settings.save();
-            this.serializedMapping = resolvedMapping == null ? null : IOUtils.serializeToBase64(resolvedMapping);
+            this.serializedMapping = resolvedMapping == null ? null : MappingCodec.encode(resolvedMapping);
         }
 
         public PartitionDefinition build(String index, int shardId) {
-            return new PartitionDefinition(serializedSettings, serializedMapping, index, shardId, null, EMPTY_ARRAY);
+            return new PartitionDefinition(serializedSettings, serializedMapping, index, shardId, NO_SHARDS, null, EMPTY_ARRAY);
         }
 
         public PartitionDefinition build(String index, int shardId, String[] locations) {
-            return new PartitionDefinition(serializedSettings, serializedMapping, index, shardId, null, locations);
+            return new PartitionDefinition(serializedSettings, serializedMapping, index, shardId, NO_SHARDS, null, locations);
         }
 
         public PartitionDefinition build(String index, int shardId, Slice slice) {
-            return new PartitionDefinition(serializedSettings, serializedMapping, index, shardId, slice, EMPTY_ARRAY);
+            return new PartitionDefinition(serializedSettings, serializedMapping, index, shardId, NO_SHARDS, slice, EMPTY_ARRAY);
         }
 
         public PartitionDefinition build(String index, int shardId, Slice slice, String[] locations) {
-            return new PartitionDefinition(serializedSettings, serializedMapping, index, shardId, slice, locations);
+            return new PartitionDefinition(serializedSettings, serializedMapping, index, shardId, NO_SHARDS, slice, locations);
+        }
+
+        /**
+         * Builds a partition reading several shards of the same index at once.
+         */
+        public PartitionDefinition build(String index, int[] shardIds, String[] locations) {
+            Assert.isTrue(shardIds.length > 0, "A partition requires at least one shard");
+            return new PartitionDefinition(serializedSettings, serializedMapping, index, shardIds[0],
+                    Arrays.copyOfRange(shardIds, 1, shardIds.length), null, locations);
         }
     }
 
@@ -87,12 +101,15 @@ public class PartitionDefinition implements Serializable, Comparable<PartitionDe
      * @param mapping The mapping of the index
      * @param index The index name the partition will be executed on
      * @param shardId The shard id the partition will be executed on
+     * @param coalescedShardIds The ids of the other shards of the index the partition will be executed on
      * @param slice The slice the partition will be executed on or null
      * @param locations The locations where to find nodes (hostname:port or ip:port) that can execute the partition locally
      */
-    private PartitionDefinition(String serializedSettings, String serializedMapping, String index, int shardId, Slice slice, String[] locations) {
+    private PartitionDefinition(String serializedSettings, String serializedMapping, String index, int shardId, int[] coalescedShardIds,
+                                Slice slice, String[] locations) {
         this.index = index;
         this.shardId = shardId;
+        this.coalescedShardIds = coalescedShardIds;
         this.serializedSettings = serializedSettings;
         this.serializedMapping = serializedMapping;
         this.slice = slice;
@@ -102,6 +119,11 @@ public class PartitionDefinition implements Serializable, Comparable<PartitionDe
     public PartitionDefinition(DataInput in) throws IOException {
         this.index = in.readUTF();
         this.shardId = in.readInt();
+        int coalesced = in.readInt();
+        this.coalescedShardIds = (coalesced == 0 ? NO_SHARDS : new int[coalesced]);
+        for (int i = 0; i < coalesced; i++) {
+            coalescedShardIds[i] = in.readInt();
+        }
         if (in.readBoolean()) {
             this.slice = new Slice(in.readInt(), in.readInt());
         } else {
@@ -135,6 +157,10 @@ public class PartitionDefinition implements Serializable, Comparable<PartitionDe
     public void write(DataOutput out) throws IOException {
         out.writeUTF(index);
         out.writeInt(shardId);
+        out.writeInt(coalescedShardIds.length);
+        for (int id : coalescedShardIds) {
+            out.writeInt(id);
+        }
         out.writeBoolean(slice != null);
         if (slice != null) {
             out.writeInt(slice.id);
@@ -170,6 +196,19 @@ public class PartitionDefinition implements Serializable, Comparable<PartitionDe
         return shardId;
     }
 
+    /**
+     * @return the ids of all the shards read by this partition (more than one when small shards are coalesced)
+     */
+    public int[] getShardIds() {
+        if (coalescedShardIds.length == 0) {
+            return new int[] { shardId };
+        }
+        int[] ids = new int[coalescedShardIds.length + 1];
+        ids[0] = shardId;
+        System.arraycopy(coalescedShardIds, 0, ids, 1, coalescedShardIds.length);
+        return ids;
+    }
+
     public Slice getSlice() {
         return slice;
     }
@@ -199,6 +238,25 @@ public class PartitionDefinition implements Serializable, Comparable<PartitionDe
         return serializedSettings != null ? settings.load(serializedSettings) : settings;
     }
 
+    /**
+     * @return the resolved mapping shipped with this partition or null if there is none
+     */
+    public Mapping mapping() {
+        return serializedMapping != null ? MappingCodec.decode(serializedMapping) : null;
+    }
+
+    /**
+     * Returns a copy of this partition without the settings and mapping, which are identical across
+     * the partitions of a job and can be shipped once and reattached through {@link #withPayload(String, String)}.
+     */
+    public PartitionDefinition withoutPayload() {
+        return new PartitionDefinition(null, null, index, shardId, coalescedShardIds, slice, locations);
+    }
+
+    public PartitionDefinition withPayload(String serializedSettings, String serializedMapping) {
+        return new PartitionDefinition(serializedSettings, serializedMapping, index, shardId, coalescedShardIds, slice, locations);
+    }
+
     @Override
     public int compareTo(PartitionDefinition o) {
         int cmp = index.compareTo(o.index);
@@ -209,6 +267,10 @@ public class PartitionDefinition implements Serializable, Comparable<PartitionDe
         if (cmp != 0) {
             return cmp;
         }
+        cmp = coalescedShardIds.length - o.coalescedShardIds.length;
+        if (cmp != 0) {
+            return cmp;
+        }
         if (slice != null) {
             return slice.compareTo(o.slice);
         }
@@ -224,6 +286,7 @@ public class PartitionDefinition implements Serializable, Comparable<PartitionDe
 
         if (shardId != that.shardId) return false;
         if (!index.equals(that.index)) return false;
+        if (!Arrays.equals(coalescedShardIds, that.coalescedShardIds)) return false;
         return slice != null ? slice.equals(that.slice) : that.slice == null;
 
     }
@@ -232,6 +295,7 @@ public class PartitionDefinition implements Serializable, Comparable<PartitionDe
     public int hashCode() {
         int result = index.hashCode();
         result = 31 * result + shardId;
+        result = 31 * result + Arrays.hashCode(coalescedShardIds);
         result = 31 * result + (slice != null ? slice.hashCode() : 0);
         return result;
     }
@@ -241,6 +305,7 @@ public class PartitionDefinition implements Serializable, Comparable<PartitionDe
         return "PartitionDefinition{" +
                 "index=" + index +
                 ", shardId=" + shardId +
+                (coalescedShardIds.length > 0 ? ", coalescedShardIds=" + Arrays.toString(coalescedShardIds) : "") +
                 (slice != null ? ", slice=" + slice.id + "/" + slice.max : "") +
                 ", locations=" + Arrays.toString(locations) +
                 '}';
@@ -0,0 +1,66 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ *
+ * Modifications Copyright OpenSearch Contributors. See
+ * GitHub history for details.
+ */
+package org.opensearch.hadoop.rest;
+
+import java.io.IOException;
+
+import org.opensearch.hadoop.serialization.ScrollReader;
+import org.opensearch.hadoop.serialization.ScrollReader.Scroll;
+import org.opensearch.hadoop.util.BytesArray;
+import org.opensearch.hadoop.util.StringUtils;
+
+/**
+ * Result streaming data from a query using a point in time (PIT) and <code>search_after</code> instead of a scroll.
+ * The point in time is opened against the partition shard (and its routing) so pages can simply be sorted by
+ * <code>_doc</code>; slices map onto PIT slices.
+ */
+class PointInTimeQuery extends ScrollQuery {
+
+    private final RestRepository repository;
+    private final SearchRequestBuilder request;
+    private final ScrollReader reader;
+    private final String searchUri;
+    private String pitId;
+
+    PointInTimeQuery(RestRepository client, SearchRequestBuilder request, long size, ScrollReader reader, boolean prefetch) {
+        super(client, request.assemblePointInTimeSearch(), null, size, reader, prefetch);
+        this.repository = client;
+        this.request = request;
+        this.reader = reader;
+        this.searchUri = request.assemblePointInTimeSearch();
+    }
+
+    @Override
+    Scroll firstPage(String query, BytesArray body) throws IOException {
+        pitId = repository.getRestClient().openPointInTime(request.assemblePointInTime());
+        return repository.scroll(searchUri, request.assembleBody(pitId, null), reader);
+    }
+
+    @Override
+    Scroll nextPage(Scroll previous) throws IOException {
+        // the point in time id can change between responses - always use the latest one
+        pitId = previous.getScrollId();
+        return repository.scroll(searchUri, request.assembleBody(pitId, previous.getSearchAfter()), reader);
+    }
+
+    @Override
+    void clear(String scrollId) {
+        // the point in time has to be closed even if the first search failed
+        String id = (StringUtils.hasText(scrollId) ? scrollId : pitId);
+        if (StringUtils.hasText(id)) {
+            repository.getRestClient().deletePointInTime(id);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "PointInTimeQuery [pitId=" + pitId + "]";
+    }
+}
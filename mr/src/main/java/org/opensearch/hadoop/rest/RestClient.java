@@ -88,6 +88,9 @@ public class RestClient implements Closeable, StatsAware {
 
     private static final Log LOG = LogFactory.getLog(RestClient.class);
 
+    // opens the body of each per-shard count within a multi search request (always tracking total hits to get an accurate count)
+    private static final byte[] SHARD_COUNT_REQUEST_PREFIX = StringUtils.toUTF("{\"size\":0,\"track_total_hits\":true,");
+
     private NetworkClient network;
     private final ObjectMapper mapper;
     private final TimeValue scrollKeepAlive;
@@ -312,6 +315,38 @@ public class RestClient implements Closeable, StatsAware {
         return shardsJson;
     }
 
+    /**
+     * Returns the shard level store and document statistics of the given index, keyed by index name
+     * (the <code>indices</code> section of the index stats), or an empty map if the index is missing.
+     */
+    public Map<String, Object> shardStats(String index) {
+        Request req = new SimpleRequest(GET, null, index + "/_stats/store,docs", "level=shards");
+        Response res = executeNotFoundAllowed(req);
+        if (res.status() == HttpStatus.OK) {
+            Map<String, Object> indices = parseContent(res.body(), "indices");
+            if (indices != null) {
+                return indices;
+            }
+        }
+        return Collections.emptyMap();
+    }
+
+    /**
+     * Returns the routing related metadata (number of shards, routing shards and routing partition size) of the
+     * given concrete index, as found in the cluster state.
+     */
+    @SuppressWarnings("unchecked")
+    public Map<String, Object> getIndexRoutingMetadata(String index) {
+        String target = "/_cluster/state/metadata/" + index + "?filter_path=metadata.indices.*.routing_num_shards," +
+                "metadata.indices.*.settings.index.number_of_shards,metadata.indices.*.settings.index.routing_partition_size";
+        Map<String, Object> metadata = get(target, "metadata");
+        Map<String, Object> indices = (metadata != null ? (Map<String, Object>) metadata.get("indices") : null);
+        if (indices == null || indices.isEmpty()) {
+            throw new OpenSearchHadoopIllegalStateException(String.format("Cannot find metadata for index [%s]", index));
+        }
+        return (Map<String, Object>) indices.values().iterator().next();
+    }
+
     public MappingSet getMappings(Resource indexResource) {
         if (indexResource.isTyped()) {
             return getMappings(indexResource.index() + "/_mapping/" + indexResource.type(), true);
@@ -499,6 +534,40 @@ public class RestClient implements Closeable, StatsAware {
         return (res.status() == HttpStatus.OK ? true : false);
     }
 
+    /**
+     * Deletes the documents matching the given query through a sliced delete by query, running in the
+     * background on the cluster.
+     *
+     * @param indexOrType the index (or index/type) to delete from
+     * @param query the query selecting the documents to delete
+     * @return the id of the task running the delete by query
+     */
+    public String deleteByQuery(String indexOrType, QueryBuilder query) {
+        Response response = execute(POST, indexOrType + "/_delete_by_query",
+                "slices=auto&conflicts=proceed&refresh=true&wait_for_completion=false", searchRequest(query), true);
+        Object task = parseContent(response.body(), "task");
+        if (task == null || !StringUtils.hasText(task.toString())) {
+            throw new OpenSearchHadoopInvalidRequest(String.format("Could not start delete by query on [%s]", indexOrType));
+        }
+        return task.toString();
+    }
+
+    /**
+     * @param taskId the id of the task
+     * @return the status of the task, including its <code>response</code> or <code>error</code> once completed
+     */
+    public Map<String, Object> getTask(String taskId) {
+        return get("_tasks/" + taskId, null);
+    }
+
+    /**
+     * Cancels the given (cancellable) task; cancelling a task that is already done has no effect.
+     * @param taskId the id of the task
+     */
+    public void cancelTask(String taskId) {
+        execute(POST, "_tasks/" + taskId + "/_cancel", true);
+    }
+
     public boolean deleteScroll(String scrollId) {
         BytesArray body = new BytesArray(("{\"scroll_id\":[\"" + scrollId + "\"]}").getBytes(StringUtils.UTF_8));
         Request req = new SimpleRequest(DELETE, null, "_search/scroll", body);
@@ -506,6 +575,27 @@ public class RestClient implements Closeable, StatsAware {
         return (res.status() == HttpStatus.OK ? true : false);
     }
 
+    /**
+     * Opens a point in time (PIT) using the given request.
+     *
+     * @param pointInTimeUri index, <code>_search/point_in_time</code> endpoint and its parameters
+     * @return the id of the newly opened point in time
+     */
+    public String openPointInTime(String pointInTimeUri) {
+        Object pitId = parseContent(execute(POST, pointInTimeUri, true).body(), "pit_id");
+        if (pitId == null || !StringUtils.hasText(pitId.toString())) {
+            throw new OpenSearchHadoopInvalidRequest(String.format("Could not open point in time [%s]", pointInTimeUri));
+        }
+        return pitId.toString();
+    }
+
+    public boolean deletePointInTime(String pitId) {
+        BytesArray body = new BytesArray(("{\"pit_id\":[\"" + pitId + "\"]}").getBytes(StringUtils.UTF_8));
+        Request req = new SimpleRequest(DELETE, null, "_search/point_in_time", body);
+        Response res = executeNotFoundAllowed(req);
+        return (res.status() == HttpStatus.OK ? true : false);
+    }
+
     public boolean documentExists(String index, String type, String id) {
         return exists(index + "/" + type + "/" + id);
     }
@@ -571,7 +661,62 @@ public class RestClient implements Closeable, StatsAware {
         }
         Response response = execute(GET, uri.toString(), searchRequest(query));
         Map<String, Object> content = parseContent(response.body(), "hits");
+        return totalHits(content);
+    }
 
+    /**
+     * Counts the documents matching the given query on each of the given index shards through a single
+     * multi search request, instead of one request per shard.
+     * @param indices the index of each shard
+     * @param shardIds the id of each shard
+     * @param query the query to count
+     * @return the document count of each shard, in the order they were given
+     */
+    public long[] countIndexShards(String[] indices, String[] shardIds, QueryBuilder query) {
+        Assert.isTrue(indices.length == shardIds.length, "Every index shard requires both an index and a shard id");
+        long[] counts = new long[indices.length];
+        if (indices.length == 0) {
+            return counts;
+        }
+
+        BytesArray body = searchRequest(query);
+        FastByteArrayOutputStream out = new FastByteArrayOutputStream(indices.length * (body.length() + 64));
+        for (int i = 0; i < indices.length; i++) {
+            JacksonJsonGenerator generator = new JacksonJsonGenerator(out);
+            try {
+                generator.writeBeginObject();
+                generator.writeFieldName("index");
+                generator.writeString(indices[i]);
+                generator.writeFieldName("preference");
+                generator.writeString("_shards:" + shardIds[i]);
+                generator.writeEndObject();
+            } finally {
+                generator.close();
+            }
+            out.write('\n');
+            // splice the query into the count body, past its opening brace
+            out.write(SHARD_COUNT_REQUEST_PREFIX, 0, SHARD_COUNT_REQUEST_PREFIX.length);
+            out.write(body.bytes(), body.offset() + 1, body.length() - 1);
+            out.write('\n');
+        }
+
+        Response response = execute(POST, "_msearch", out.bytes());
+        List<Map<String, Object>> responses = parseContent(response.body(), "responses");
+        if (responses == null || responses.size() != counts.length) {
+            throw new OpenSearchHadoopParsingException("Multi search count returned an unexpected number of responses");
+        }
+        for (int i = 0; i < counts.length; i++) {
+            Map<String, Object> item = responses.get(i);
+            if (item.containsKey("error")) {
+                throw new OpenSearchHadoopInvalidRequest(String.format("Count operation failed for index [%s] shard [%s]: %s",
+                        indices[i], shardIds[i], item.get("error")));
+            }
+            counts[i] = totalHits((Map<String, Object>) item.get("hits"));
+        }
+        return counts;
+    }
+
+    private static long totalHits(Map<String, Object> content) {
         long finalCount;
         Object total = content.get("total");
         if (total instanceof Number) {
@@ -596,6 +741,10 @@ public class RestClient implements Closeable, StatsAware {
         return finalCount;
     }
 
+    public Map<String, Object> search(String index, BytesArray body) {
+        return parseContent(execute(GET, index + "/_search", body).body(), null);
+    }
+
     static BytesArray searchRequest(QueryBuilder query) {
         FastByteArrayOutputStream out = new FastByteArrayOutputStream(256);
         JacksonJsonGenerator generator = new JacksonJsonGenerator(out);
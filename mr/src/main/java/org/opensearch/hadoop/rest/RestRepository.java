@@ -30,10 +30,14 @@ package org.opensearch.hadoop.rest;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
+import org.opensearch.hadoop.OpenSearchHadoopException;
 import org.opensearch.hadoop.OpenSearchHadoopIllegalStateException;
+import org.opensearch.hadoop.cfg.ConfigurationOptions;
 import org.opensearch.hadoop.cfg.Settings;
 import org.opensearch.hadoop.rest.bulk.BulkProcessor;
 import org.opensearch.hadoop.rest.bulk.BulkResponse;
+import org.opensearch.hadoop.rest.bulk.ShardRouter;
+import org.opensearch.hadoop.rest.query.MatchAllQueryBuilder;
 import org.opensearch.hadoop.rest.query.QueryUtils;
 import org.opensearch.hadoop.rest.stats.Stats;
 import org.opensearch.hadoop.rest.stats.StatsAware;
@@ -63,6 +67,7 @@ import org.opensearch.hadoop.util.unit.TimeValue;
 import java.io.Closeable;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
@@ -78,6 +83,10 @@ public class RestRepository implements Closeable, StatsAware {
 
     private static Log log = LogFactory.getLog(RestRepository.class);
 
+    // bounds of the (exponential) pause between polls of a running delete by query
+    private static final long DELETE_BY_QUERY_MIN_POLL = TimeValue.timeValueMillis(500).millis();
+    private static final long DELETE_BY_QUERY_MAX_POLL = TimeValue.timeValueSeconds(10).millis();
+
     // wrapper around existing BA (for cases where the serialization already occurred)
     private BytesRef trivialBytesRef;
     private boolean writeInitialized = false;
@@ -89,6 +98,13 @@ public class RestRepository implements Closeable, StatsAware {
     private BulkEntryWriter bulkEntryWriter;
     private BulkProcessor bulkProcessor;
 
+    // optional routing of entries to the node holding their primary shard - shard id -> node address
+    private ShardRouter shardRouter;
+    private String[] primaryNodes;
+    private boolean routedWrites = false;
+    private final Map<String, BulkProcessor> nodeProcessors = new LinkedHashMap<String, BulkProcessor>();
+    private final List<RestClient> nodeClients = new ArrayList<RestClient>();
+
     // Internal
     private static class Resources {
         private final Settings resourceSettings;
@@ -140,12 +156,49 @@ public class RestRepository implements Closeable, StatsAware {
     private void lazyInitWriting() {
         if (!writeInitialized) {
             this.writeInitialized = true;
-            this.bulkProcessor = new BulkProcessor(client, resources.getResourceWrite(), settings);
+            this.bulkProcessor = new BulkProcessor(client, resources.getResourceWrite(), writeSettings(settings));
             this.trivialBytesRef = new BytesRef();
             this.bulkEntryWriter = new BulkEntryWriter(settings, BulkCommands.create(settings, metaExtractor, client.clusterInfo.getMajorVersion()));
         }
     }
 
+    /**
+     * When routing to primaries, the index is refreshed once by the repository instead of by every node batch.
+     */
+    private Settings writeSettings(Settings source) {
+        if (shardRouter == null) {
+            return source;
+        }
+        Settings copy = source.copy();
+        copy.setProperty(ConfigurationOptions.OPENSEARCH_BATCH_WRITE_REFRESH, Boolean.FALSE.toString());
+        return copy;
+    }
+
+    /**
+     * Sends subsequent writes straight to the node holding the primary shard of each entry, saving the hop through a
+     * coordinating node. Entries are batched per node; those whose shard cannot be determined up front (such as
+     * entries without an id) go through the node this repository is pinned to. Since every node batch buffers up to
+     * the configured batch size, at most {@link Settings#getBatchWriteRoutePrimariesMaxNodes()} node batches are opened;
+     * entries for any further node go through the pinned node as well.
+     *
+     * @param primaries primary shards of the write index along with the nodes holding them
+     */
+    public void routeToPrimaries(Map<ShardInfo, NodeInfo> primaries) {
+        Assert.isTrue(!writeInitialized, "Routing to primaries needs to be set up before writing");
+
+        ShardRouter router = ShardRouter.fromIndexMetadata(client.getIndexRoutingMetadata(resources.getResourceWrite().index()));
+        String[] nodes = new String[router.getNumberOfShards()];
+        for (Entry<ShardInfo, NodeInfo> entry : primaries.entrySet()) {
+            Integer shard = entry.getKey().getName();
+            if (shard != null && shard >= 0 && shard < nodes.length) {
+                nodes[shard] = entry.getValue().getPublishAddress();
+            }
+        }
+
+        this.shardRouter = router;
+        this.primaryNodes = nodes;
+    }
+
     ScrollQuery scanAll(String query, BytesArray body, ScrollReader reader) {
         return scanLimit(query, body, -1, reader);
     }
@@ -158,7 +211,18 @@ public class RestRepository implements Closeable, StatsAware {
      * @return a scroll query
      */
     ScrollQuery scanLimit(String query, BytesArray body, long limit, ScrollReader reader) {
-        return new ScrollQuery(this, query, body, limit, reader);
+        return new ScrollQuery(this, query, body, limit, reader, settings.getScrollPrefetch());
+    }
+
+    /**
+     * Returns a pageable (point in time based) result to the given search request.
+     *
+     * @param request search request
+     * @param reader scroll reader
+     * @return a point in time query
+     */
+    ScrollQuery pointInTimeLimit(SearchRequestBuilder request, long limit, ScrollReader reader) {
+        return new PointInTimeQuery(this, request, limit, reader, settings.getScrollPrefetch());
     }
 
     public void addRuntimeFieldExtractor(MetadataExtractor metaExtractor) {
@@ -196,13 +260,52 @@ public class RestRepository implements Closeable, StatsAware {
     }
 
     private void doWriteToIndex(BytesRef payload) {
-        bulkProcessor.add(payload);
+        processorFor(payload).add(payload);
         payload.reset();
     }
 
+    private BulkProcessor processorFor(BytesRef payload) {
+        if (shardRouter == null) {
+            return bulkProcessor;
+        }
+        routedWrites = true;
+
+        int shard = shardRouter.shardId(payload);
+        String node = (shard >= 0 ? primaryNodes[shard] : null);
+        if (node == null || node.equals(SettingsUtils.getPinnedNode(settings))) {
+            return bulkProcessor;
+        }
+
+        BulkProcessor processor = nodeProcessors.get(node);
+        if (processor == null) {
+            if (nodeProcessors.size() >= settings.getBatchWriteRoutePrimariesMaxNodes()) {
+                return bulkProcessor;
+            }
+            Settings nodeSettings = writeSettings(settings);
+            SettingsUtils.pinNode(nodeSettings, node);
+            RestClient nodeClient = new RestClient(nodeSettings);
+            nodeClients.add(nodeClient);
+            processor = new BulkProcessor(nodeClient, resources.getResourceWrite(), nodeSettings);
+            nodeProcessors.put(node, processor);
+            if (log.isDebugEnabled()) {
+                log.debug(String.format("Opened bulk batch for primary shards on node [%s]", node));
+            }
+        }
+        return processor;
+    }
+
     public BulkResponse tryFlush() {
         if (writeInitialized) {
-            return bulkProcessor.tryFlush();
+            if (nodeProcessors.isEmpty()) {
+                return bulkProcessor.tryFlush();
+            }
+            // document positions are only meaningful within each node batch
+            List<BulkResponse> responses = new ArrayList<BulkResponse>(nodeProcessors.size() + 1);
+            responses.add(bulkProcessor.tryFlush());
+            for (BulkProcessor processor : nodeProcessors.values()) {
+                responses.add(processor.tryFlush());
+            }
+            return BulkResponse.combine(responses);
         } else {
             log.warn("Attempt to flush before any data had been written");
             return BulkResponse.complete();
@@ -212,11 +315,27 @@ public class RestRepository implements Closeable, StatsAware {
     public void flush() {
         if (writeInitialized) {
             bulkProcessor.flush();
+            for (BulkProcessor processor : nodeProcessors.values()) {
+                processor.flush();
+            }
         } else {
             log.warn("Attempt to flush before any data had been written");
         }
     }
 
+    /**
+     * Discards the bulk entries buffered but not yet sent, for example when the task writing them failed and is
+     * going to be retried. A following {@link #close()} releases the connections without flushing.
+     */
+    public void abort() {
+        if (bulkProcessor != null) {
+            bulkProcessor.abort();
+        }
+        for (BulkProcessor processor : nodeProcessors.values()) {
+            processor.abort();
+        }
+    }
+
     @Override
     public void close() {
         if (log.isDebugEnabled()) {
@@ -236,11 +355,28 @@ public class RestRepository implements Closeable, StatsAware {
                 bulkProcessor = null;
             }
 
+            for (BulkProcessor processor : nodeProcessors.values()) {
+                processor.close();
+                stats.aggregate(processor.stats());
+            }
+            nodeProcessors.clear();
+
+            if (routedWrites && settings.getBatchRefreshAfterWrite()) {
+                routedWrites = false;
+                client.refresh(resources.getResourceWrite());
+            }
+
             if (bulkEntryWriter != null) {
                 bulkEntryWriter.close();
                 bulkEntryWriter = null;
             }
         } finally {
+            for (RestClient nodeClient : nodeClients) {
+                nodeClient.close();
+                stats.aggregate(nodeClient.stats());
+            }
+            nodeClients.clear();
+
             client.close();
             // Aggregate stats before discarding them.
             stats.aggregate(client.stats());
@@ -304,7 +440,8 @@ public class RestRepository implements Closeable, StatsAware {
     }
 
     public MappingSet getMappings() {
-        return client.getMappings(resources.getResourceRead());
+        final Resource read = resources.getResourceRead();
+        return MetadataCache.mappings(settings, read.toString(), () -> client.getMappings(read));
     }
 
     public Map<String, GeoField> sampleGeoFields(Mapping mapping) {
@@ -323,28 +460,34 @@ public class RestRepository implements Closeable, StatsAware {
     // used to initialize a scroll (based on a query)
     Scroll scroll(String query, BytesArray body, ScrollReader reader) throws IOException {
         InputStream scroll = client.execute(Request.Method.POST, query, body).body();
+        Scroll scrollResult = null;
         try {
-            Scroll scrollResult = reader.read(scroll);
+            scrollResult = reader.read(scroll);
             if (scrollResult == null) {
                 log.info(String.format("No scroll for query [%s/%s], likely because the index is frozen", query, body));
             }
             return scrollResult;
         } finally {
-            if (scroll != null && scroll instanceof StatsAware) {
-                stats.aggregate(((StatsAware) scroll).stats());
-            }
+            aggregateStats(scroll, scrollResult);
         }
     }
     
     // consume the scroll
     Scroll scroll(String scrollId, ScrollReader reader) throws IOException {
         InputStream scroll = client.scroll(scrollId);
+        Scroll scrollResult = null;
         try {
-            return reader.read(scroll);
+            scrollResult = reader.read(scroll);
+            return scrollResult;
         } finally {
-            if (scroll instanceof StatsAware) {
-                stats.aggregate(((StatsAware) scroll).stats());
-            }
+            aggregateStats(scroll, scrollResult);
+        }
+    }
+
+    private void aggregateStats(InputStream scroll, Scroll scrollResult) {
+        // streamed pages are still being read; their stats are accounted for by the consumer (see ScrollQuery)
+        if (scroll instanceof StatsAware && (scrollResult == null || !scrollResult.isStreamed())) {
+            stats.aggregate(((StatsAware) scroll).stats());
         }
     }
 
@@ -377,18 +520,86 @@ public class RestRepository implements Closeable, StatsAware {
     }
 
     public void delete() {
-        // try first a blind delete by query (since the plugin might be installed)
+        Resource resource = resources.getResourceWrite();
+        String indexOrType = (resource.isTyped() ? resource.index() + "/" + resource.type() : resource.index());
+
+        // let the cluster delete the docs, sliced per shard, instead of pulling every id through the driver
+        String taskId;
         try {
-            if (resources.getResourceWrite().isTyped()) {
-                client.delete(resources.getResourceWrite().index() + "/" + resources.getResourceWrite().type() + "/_query?q=*");
-            } else {
-                client.delete(resources.getResourceWrite().index() + "/_query?q=*");
-            }
+            taskId = client.deleteByQuery(indexOrType, MatchAllQueryBuilder.MATCH_ALL);
         } catch (OpenSearchHadoopInvalidRequest ehir) {
-            log.info("Skipping delete by query as the plugin is not installed...");
+            log.info(String.format("Cannot run delete by query on [%s] (%s); deleting the docs by scrolling instead...",
+                    indexOrType, ehir.getMessage()));
+            deleteByScroll();
+            return;
+        }
+        waitForDeleteByQuery(indexOrType, taskId);
+    }
+
+    private void waitForDeleteByQuery(String indexOrType, String taskId) {
+        long pause = DELETE_BY_QUERY_MIN_POLL;
+        long deadline = System.currentTimeMillis() + settings.getDeleteByQueryTimeout().millis();
+        Map<String, Object> task = client.getTask(taskId);
+        while (!Boolean.TRUE.equals(task.get("completed"))) {
+            if (log.isDebugEnabled()) {
+                log.debug(String.format("Waiting for delete by query [%s] on [%s] to complete...", taskId, indexOrType));
+            }
+            long remaining = deadline - System.currentTimeMillis();
+            if (remaining <= 0) {
+                cancelDeleteByQuery(indexOrType, taskId);
+                throw new OpenSearchHadoopException(String.format("Delete by query [%s] on [%s] did not complete within [%s]; " +
+                        "it has been cancelled (see [%s])", taskId, indexOrType, settings.getDeleteByQueryTimeout(),
+                        ConfigurationOptions.OPENSEARCH_DELETE_BY_QUERY_TIMEOUT));
+            }
+            try {
+                Thread.sleep(Math.min(pause, remaining));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                cancelDeleteByQuery(indexOrType, taskId);
+                throw new OpenSearchHadoopException(String.format("Thread interrupted - delete by query [%s] on [%s] has been cancelled",
+                        taskId, indexOrType), e);
+            }
+            pause = Math.min(pause * 2, DELETE_BY_QUERY_MAX_POLL);
+            try {
+                task = client.getTask(taskId);
+            } catch (RuntimeException ex) {
+                cancelDeleteByQuery(indexOrType, taskId);
+                throw ex;
+            }
+        }
+
+        if (task.get("error") != null) {
+            throw new OpenSearchHadoopException(String.format("Delete by query [%s] on [%s] failed: %s", taskId, indexOrType, task.get("error")));
         }
+        @SuppressWarnings("unchecked")
+        Map<String, Object> response = (Map<String, Object>) task.get("response");
+        if (response != null) {
+            List<?> failures = (List<?>) response.get("failures");
+            if (failures != null && !failures.isEmpty()) {
+                throw new OpenSearchHadoopException(String.format("Delete by query [%s] on [%s] failed: %s", taskId, indexOrType, failures));
+            }
+            Number conflicts = (Number) response.get("version_conflicts");
+            if (conflicts != null && conflicts.longValue() > 0) {
+                log.warn(String.format("Delete by query on [%s] skipped [%d] docs modified while it was running", indexOrType,
+                        conflicts.longValue()));
+            }
+            if (log.isDebugEnabled()) {
+                log.debug(String.format("Delete by query on [%s] removed [%s] docs", indexOrType, response.get("deleted")));
+            }
+        }
+    }
+
+    // best effort - the job is failing already so any problem here is only logged
+    private void cancelDeleteByQuery(String indexOrType, String taskId) {
+        try {
+            client.cancelTask(taskId);
+        } catch (RuntimeException ex) {
+            log.warn(String.format("Could not cancel delete by query [%s] on [%s]; it may keep running on the cluster",
+                    taskId, indexOrType), ex);
+        }
+    }
 
-        // in ES 2.0 and higher this means scrolling and deleting the docs by hand...
+    private void deleteByScroll() {
         // do a scroll-scan without source
 
         // as this is a delete, there's not much value in making this configurable so we just go for some sane/safe defaults
@@ -29,6 +29,7 @@
 package org.opensearch.hadoop.rest;
 
 import org.apache.commons.logging.Log;
+import org.opensearch.hadoop.OpenSearchHadoopException;
 import org.opensearch.hadoop.OpenSearchHadoopIllegalArgumentException;
 import org.opensearch.hadoop.cfg.ConfigurationOptions;
 import org.opensearch.hadoop.cfg.FieldPresenceValidation;
@@ -51,7 +52,6 @@ import org.opensearch.hadoop.serialization.field.IndexExtractor;
 import org.opensearch.hadoop.util.Assert;
 import org.opensearch.hadoop.util.ClusterInfo;
 import org.opensearch.hadoop.util.OpenSearchMajorVersion;
-import org.opensearch.hadoop.util.IOUtils;
 import org.opensearch.hadoop.util.ObjectUtils;
 import org.opensearch.hadoop.util.SettingsUtils;
 import org.opensearch.hadoop.util.StringUtils;
@@ -68,12 +68,18 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Random;
 import java.util.Set;
 
 public abstract class RestService implements Serializable {
+
+    // number of shards counted per multi search request when partitioning by max docs
+    static final int SHARD_COUNT_BATCH_SIZE = 256;
+
     public static class PartitionReader implements Closeable {
         public final ScrollReader scrollReader;
         public final RestRepository client;
@@ -274,6 +280,9 @@ public abstract class RestService implements Serializable {
             final List<PartitionDefinition> partitions;
             if (settings.getMaxDocsPerPartition() != null) {
                 partitions = findSlicePartitions(client.getRestClient(), settings, mapping, nodesMap, shards, log);
+            } else if (settings.getMaxBytesPerPartition() != null && !shards.isEmpty()) {
+                Map<String, Object> shardStats = client.getRestClient().shardStats(settings.getResourceRead());
+                partitions = findSizedPartitions(settings, mapping, nodesMap, shards, shardStats, log);
             } else {
                 partitions = findShardPartitions(settings, mapping, nodesMap, shards, log);
             }
@@ -334,7 +343,9 @@ public abstract class RestService implements Serializable {
         Mapping resolvedMapping = mappingSet == null ? null : mappingSet.getResolvedView();
         PartitionDefinition.PartitionDefinitionBuilder partitionBuilder = PartitionDefinition.builder(settings, resolvedMapping);
 
-        List<PartitionDefinition> partitions = new ArrayList<PartitionDefinition>(shards.size());
+        List<String> indices = new ArrayList<String>(shards.size());
+        List<String> shardIds = new ArrayList<String>(shards.size());
+        List<String[]> shardLocations = new ArrayList<String[]>(shards.size());
         for (List<Map<String, Object>> group : shards) {
             String index = null;
             int shardId = -1;
@@ -347,7 +358,6 @@ public abstract class RestService implements Serializable {
                     locationList.add(nodes.get(shard.getNode()).getPublishAddress());
                 }
             }
-            String[] locations = locationList.toArray(new String[0]);
             if (index == null) {
                 // Could not find shards for this partition. Continue anyway?
                 if (settings.getIndexReadAllowRedStatus()) {
@@ -359,23 +369,178 @@ public abstract class RestService implements Serializable {
                             "Check your cluster status to see if it is unstable!");
                 }
             } else {
-                // TODO applyAliasMetaData should be called in order to ensure that the count are exact (alias filters and routing may change the number of documents)
-                long numDocs;
-                if (readResource.isTyped()) {
-                    numDocs = client.count(index, readResource.type(), Integer.toString(shardId), query);
+                indices.add(index);
+                shardIds.add(Integer.toString(shardId));
+                shardLocations.add(locationList.toArray(new String[0]));
+            }
+        }
+
+        // TODO applyAliasMetaData should be called in order to ensure that the count are exact (alias filters and routing may change the number of documents)
+        long[] counts = new long[indices.size()];
+        if (readResource.isTyped()) {
+            for (int i = 0; i < counts.length; i++) {
+                counts[i] = client.count(indices.get(i), readResource.type(), shardIds.get(i), query);
+            }
+        } else {
+            // count the shards in batches instead of issuing one request per shard
+            for (int from = 0; from < counts.length; from += SHARD_COUNT_BATCH_SIZE) {
+                int to = Math.min(counts.length, from + SHARD_COUNT_BATCH_SIZE);
+                long[] batch = client.countIndexShards(indices.subList(from, to).toArray(new String[0]),
+                        shardIds.subList(from, to).toArray(new String[0]), query);
+                System.arraycopy(batch, 0, counts, from, batch.length);
+            }
+        }
+
+        List<PartitionDefinition> partitions = new ArrayList<PartitionDefinition>(shards.size());
+        for (int i = 0; i < counts.length; i++) {
+            int shardId = Integer.parseInt(shardIds.get(i));
+            int numPartitions = (int) Math.max(1, counts[i] / maxDocsPerPartition);
+            for (int slice = 0; slice < numPartitions; slice++) {
+                partitions.add(partitionBuilder.build(indices.get(i), shardId, new PartitionDefinition.Slice(slice, numPartitions), shardLocations.get(i)));
+            }
+        }
+        return partitions;
+    }
+
+    /**
+     * Partitions the shards based on the max number of bytes allowed per partition {@link Settings#getMaxBytesPerPartition()},
+     * using the store size of the primary shards: shards larger than the limit are split into slices (never more than their
+     * documents) while smaller shards of the same index are coalesced into partitions of up to the limit.
+     * Shards without statistics get a partition of their own, as do all the small shards when reading through a point in
+     * time: its pages are sorted on <code>_doc</code> which is only unique within a shard.
+     */
+    static List<PartitionDefinition> findSizedPartitions(Settings settings, MappingSet mappingSet, Map<String, NodeInfo> nodes,
+                                                         List<List<Map<String, Object>>> shards, Map<String, Object> shardStats, Log log) {
+        Long maxBytesPerPartition = settings.getMaxBytesPerPartition();
+        Assert.notNull(maxBytesPerPartition, "Attempting to find sized partitions but maximum bytes per partition is not set.");
+        Assert.isTrue(maxBytesPerPartition > 0, "Maximum bytes per partition must be positive");
+        Mapping resolvedMapping = mappingSet == null ? null : mappingSet.getResolvedView();
+        PartitionDefinition.PartitionDefinitionBuilder partitionBuilder = PartitionDefinition.builder(settings, resolvedMapping);
+
+        List<PartitionDefinition> partitions = new ArrayList<PartitionDefinition>(shards.size());
+        // small shards waiting to be coalesced, per index
+        Map<String, List<Integer>> pendingShards = new LinkedHashMap<String, List<Integer>>();
+        Map<String, Set<String>> pendingLocations = new HashMap<String, Set<String>>();
+        Map<String, Long> pendingBytes = new HashMap<String, Long>();
+        boolean coalesce = !ConfigurationOptions.OPENSEARCH_READ_STRATEGY_PIT.equals(settings.getReadStrategy());
+
+        for (List<Map<String, Object>> group : shards) {
+            String index = null;
+            int shardId = -1;
+            List<String> locationList = new ArrayList<String> ();
+            for (Map<String, Object> replica : group) {
+                ShardInfo shard = new ShardInfo(replica);
+                index = shard.getIndex();
+                shardId = shard.getName();
+                if (nodes.containsKey(shard.getNode())) {
+                    locationList.add(nodes.get(shard.getNode()).getPublishAddress());
+                }
+            }
+            if (index == null) {
+                // Could not find shards for this partition. Continue anyway?
+                if (settings.getIndexReadAllowRedStatus()) {
+                    log.warn("Shard information is missing from an index and will not be reached during job execution. " +
+                            "Assuming shard is unavailable and cluster is red! Continuing with read operation by " +
+                            "skipping this shard! This may result in incomplete data retrieval!");
                 } else {
-                    numDocs = client.countIndexShard(index, Integer.toString(shardId), query);
+                    throw new IllegalStateException("Could not locate shard information for one of the read indices. " +
+                            "Check your cluster status to see if it is unstable!");
                 }
-                int numPartitions = (int) Math.max(1, numDocs / maxDocsPerPartition);
+                continue;
+            }
+
+            String[] locations = locationList.toArray(new String[0]);
+            long[] stats = primaryShardStats(shardStats, index, shardId);
+            if (stats == null || (!coalesce && stats[0] <= maxBytesPerPartition)) {
+                partitions.add(partitionBuilder.build(index, shardId, locations));
+            }
+            else if (stats[0] > maxBytesPerPartition) {
+                long numSlices = (stats[0] + maxBytesPerPartition - 1) / maxBytesPerPartition;
+                int numPartitions = (int) Math.max(1, Math.min(numSlices, stats[1]));
                 for (int i = 0; i < numPartitions; i++) {
                     PartitionDefinition.Slice slice = new PartitionDefinition.Slice(i, numPartitions);
                     partitions.add(partitionBuilder.build(index, shardId, slice, locations));
                 }
             }
+            else {
+                List<Integer> pending = pendingShards.get(index);
+                Long bytes = pendingBytes.get(index);
+                if (pending != null && bytes + stats[0] > maxBytesPerPartition) {
+                    partitions.add(coalesce(partitionBuilder, index, pending, pendingLocations.get(index)));
+                    pending = null;
+                }
+                if (pending == null) {
+                    pending = new ArrayList<Integer>();
+                    pendingShards.put(index, pending);
+                    pendingLocations.put(index, new LinkedHashSet<String>());
+                    bytes = 0L;
+                }
+                pending.add(shardId);
+                pendingLocations.get(index).addAll(locationList);
+                pendingBytes.put(index, bytes + stats[0]);
+            }
+        }
+
+        for (Map.Entry<String, List<Integer>> entry : pendingShards.entrySet()) {
+            partitions.add(coalesce(partitionBuilder, entry.getKey(), entry.getValue(), pendingLocations.get(entry.getKey())));
+        }
+        if (log.isDebugEnabled()) {
+            log.debug(String.format("Planned [%d] partitions of up to [%d] bytes for [%d] shards", partitions.size(), maxBytesPerPartition, shards.size()));
         }
         return partitions;
     }
 
+    private static PartitionDefinition coalesce(PartitionDefinition.PartitionDefinitionBuilder partitionBuilder, String index,
+                                                List<Integer> shardIds, Set<String> locations) {
+        int[] ids = new int[shardIds.size()];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = shardIds.get(i);
+        }
+        return partitionBuilder.build(index, ids, locations.toArray(new String[0]));
+    }
+
+    /**
+     * Returns the store size in bytes and the document count of the primary copy of the given shard, or null if unknown.
+     */
+    @SuppressWarnings("unchecked")
+    static long[] primaryShardStats(Map<String, Object> shardStats, String index, int shardId) {
+        Map<String, Object> indexStats = (Map<String, Object>) shardStats.get(index);
+        if (indexStats == null) {
+            return null;
+        }
+        Map<String, Object> shardsStats = (Map<String, Object>) indexStats.get("shards");
+        List<Map<String, Object>> copies = (shardsStats == null ? null : (List<Map<String, Object>>) shardsStats.get(Integer.toString(shardId)));
+        if (copies == null) {
+            return null;
+        }
+        for (Map<String, Object> copy : copies) {
+            Map<String, Object> routing = (Map<String, Object>) copy.get("routing");
+            if (routing != null && Boolean.TRUE.equals(routing.get("primary"))) {
+                Map<String, Object> store = (Map<String, Object>) copy.get("store");
+                Map<String, Object> docs = (Map<String, Object>) copy.get("docs");
+                if (store == null || docs == null) {
+                    return null;
+                }
+                return new long[] { ((Number) store.get("size_in_bytes")).longValue(), ((Number) docs.get("count")).longValue() };
+            }
+        }
+        return null;
+    }
+
+    static String shardPreference(int[] shardIds) {
+        if (shardIds.length == 1) {
+            return Integer.toString(shardIds[0]);
+        }
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < shardIds.length; i++) {
+            if (i > 0) {
+                sb.append(",");
+            }
+            sb.append(shardIds[i]);
+        }
+        return sb.toString();
+    }
+
     /**
      * Returns the first address in {@code locations} that is equals to a public IP of the system
      * @param locations The list of address (hostname:port or ip:port) to check
@@ -426,15 +591,17 @@ public abstract class RestService implements Serializable {
         ValueReader reader = ObjectUtils.instantiate(settings.getSerializerValueReaderClassName(), settings);
         // initialize REST client
         RestRepository repository = new RestRepository(settings);
-        Mapping fieldMapping = null;
-        if (StringUtils.hasText(partition.getSerializedMapping())) {
-            fieldMapping = IOUtils.deserializeFromBase64(partition.getSerializedMapping());
-        }
-        else {
+        Mapping fieldMapping = partition.mapping();
+        if (fieldMapping == null) {
             log.warn(String.format("No mapping found for [%s] - either no index exists or the partition configuration has been corrupted", partition));
         }
 
-        ScrollReader scrollReader = new ScrollReader(ScrollReaderConfigBuilder.builder(reader, fieldMapping, settings));
+        String docValueFields = SettingsUtils.determineDocValueFields(settings, fieldMapping);
+        if (settings.getReadSourceDocValues() && docValueFields == null && log.isDebugEnabled()) {
+            log.debug(String.format("Not all fields requested by partition reader instance [%s] have doc values; reading _source instead", partition));
+        }
+        ScrollReader scrollReader = new ScrollReader(ScrollReaderConfigBuilder.builder(reader, fieldMapping, settings)
+                .setReadDocValues(docValueFields != null));
         if (settings.getNodesClientOnly()) {
             String clientNode = repository.getRestClient().getCurrentNode();
             if (log.isDebugEnabled()) {
@@ -456,13 +623,19 @@ public abstract class RestService implements Serializable {
                         .scroll(settings.getScrollKeepAlive())
                         .size(settings.getScrollSize())
                         .limit(settings.getScrollLimit())
-                        .fields(SettingsUtils.determineSourceFields(settings))
                         .filters(QueryUtils.parseFilters(settings))
-                        .shard(Integer.toString(partition.getShardId()))
+                        .shard(shardPreference(partition.getShardIds()))
                         .readMetadata(settings.getReadMetadata())
                         .local(true)
                         .preference(settings.getShardPreference())
-                        .excludeSource(settings.getExcludeSource());
+                        .pointInTime(ConfigurationOptions.OPENSEARCH_READ_STRATEGY_PIT.equals(settings.getReadStrategy()));
+        if (docValueFields != null) {
+            requestBuilder.docValueFields(docValueFields);
+        }
+        else {
+            requestBuilder.fields(SettingsUtils.determineSourceFields(settings))
+                    .excludeSource(settings.getExcludeSource());
+        }
         if (partition.getSlice() != null && partition.getSlice().max > 1) {
             requestBuilder.slice(partition.getSlice().id, partition.getSlice().max);
         }
@@ -720,6 +893,25 @@ public abstract class RestService implements Serializable {
                     currentInstance, chosenShard.getName(), node));
         }
 
+        if (settings.getBatchWriteRoutePrimaries()) {
+            // document errors are reported by position within the batch which does not hold across node batches
+            if (settings.getBatchFlushManual()) {
+                log.warn(String.format("Ignoring [%s] since [%s] is enabled",
+                        ConfigurationOptions.OPENSEARCH_BATCH_WRITE_ROUTE_PRIMARIES, ConfigurationOptions.OPENSEARCH_BATCH_FLUSH_MANUAL));
+            } else {
+                try {
+                    repository.routeToPrimaries(targetShards);
+                    if (log.isDebugEnabled()) {
+                        log.debug(String.format("Partition writer instance [%s] routing entries to the primaries of %s",
+                                currentInstance, orderedShards));
+                    }
+                } catch (OpenSearchHadoopException ex) {
+                    log.warn(String.format("Cannot route writes to the primary shards of [%s]; sending all entries to [%s]. Reason: [%s]",
+                            resource, node, ex.getMessage()));
+                }
+            }
+        }
+
         return repository;
     }
 
@@ -32,8 +32,13 @@ import java.io.Closeable;
 import java.io.IOException;
 import java.util.Collections;
 import java.util.Iterator;
-import java.util.List;
 import java.util.NoSuchElementException;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
 
 import org.opensearch.hadoop.OpenSearchHadoopIllegalStateException;
 import org.opensearch.hadoop.rest.stats.Stats;
@@ -45,15 +50,24 @@ import org.opensearch.hadoop.util.StringUtils;
 
 /**
  * Result streaming data from a ElasticSearch query using the scan/scroll. Performs batching underneath to retrieve data in chunks.
+ * <p>
+ * When prefetching is enabled, the next scroll page is requested (and parsed) on a background thread while the
+ * current page is being consumed. Since each scroll request depends on the id returned by the previous one, at most
+ * one page is read ahead.
+ * <p>
+ * When streaming is enabled (see {@link ScrollReader}), the hits of a page are parsed from the response while they are
+ * consumed instead of being read upfront; as the page holds on to the connection until then, it is not read ahead.
  */
 public class ScrollQuery implements Iterator<Object>, Closeable, StatsAware {
 
     private RestRepository repository;
     private String scrollId;
-    private List<Object[]> batch = Collections.emptyList();
+    private Scroll lastPage;
+    private Iterator<Object[]> batch = Collections.emptyIterator();
+    // streamed page still holding on to its response
+    private Scroll openPage;
     private boolean finished = false;
 
-    private int batchIndex = 0;
     private long read = 0;
     // how many docs to read - in most cases, all the docs that match
     private long size;
@@ -67,12 +81,21 @@ public class ScrollQuery implements Iterator<Object>, Closeable, StatsAware {
     private String query;
     private BytesArray body;
 
+    private final boolean prefetch;
+    private ExecutorService prefetchExecutor;
+    private Future<Scroll> nextScroll;
+
     ScrollQuery(RestRepository client, String query, BytesArray body, long size, ScrollReader reader) {
+        this(client, query, body, size, reader, false);
+    }
+
+    ScrollQuery(RestRepository client, String query, BytesArray body, long size, ScrollReader reader, boolean prefetch) {
         this.repository = client;
         this.size = size;
         this.reader = reader;
         this.query = query;
         this.body = body;
+        this.prefetch = prefetch;
     }
 
     @Override
@@ -80,13 +103,15 @@ public class ScrollQuery implements Iterator<Object>, Closeable, StatsAware {
         if (!closed) {
             closed = true;
             finished = true;
-            batch = Collections.emptyList();
+            batch = Collections.emptyIterator();
+            // the connection has to be handed back before it is used again
+            releasePage();
+            // the rest client is not thread-safe; wait for any in-flight page before using it again
+            discardPrefetch();
             reader.close();
             // typically the scroll is closed after it is consumed so this will trigger a 404
             // however we're closing it either way
-            if (StringUtils.hasText(scrollId)) {
-                repository.getRestClient().deleteScroll(scrollId);
-            }
+            clear(scrollId);
             repository.close();
         }
     }
@@ -101,54 +126,168 @@ public class ScrollQuery implements Iterator<Object>, Closeable, StatsAware {
             initialized = true;
             
             try {
-                Scroll scroll = repository.scroll(query, body, reader);
+                Scroll scroll = firstPage(query, body);
                 if (scroll == null) {
                     finished = true;
                     return false;
                 }
                 // size is passed as a limit (since we can't pass it directly into the request) - if it's not specified (<1) just scroll the whole index
                 size = (size < 1 ? scroll.getTotalHits() : size);
-                scrollId = scroll.getScrollId();
-                batch = scroll.getHits();
-                finished = scroll.isConcluded();
+                page(scroll);
             } catch (IOException ex) {
                 throw new OpenSearchHadoopIllegalStateException(String.format("Cannot create scroll for query [%s/%s]", query, body), ex);
             }
-            read += batch.size();
-            stats.docsReceived += batch.size();
             // no longer needed
             body = null;
             query = null;
+            prefetchIfNeeded();
         }
 
-        while (!finished && (batch.isEmpty() || batchIndex >= batch.size())) {
+        while (!finished && !batch.hasNext()) {
+            if (lastPage.isStreamed()) {
+                // a streamed page tells whether the scroll concluded only once it is consumed
+                releasePage();
+                if (lastPage.isConcluded()) {
+                    finished = true;
+                    return false;
+                }
+            }
+
             if (read >= size) {
                 finished = true;
                 return false;
             }
 
             try {
-                Scroll scroll = repository.scroll(scrollId, reader);
+                Scroll scroll = (nextScroll != null ? awaitPrefetch() : nextPage(lastPage));
                 if (scroll == null) {
                     finished = true;
                     return false;
                 }
-                scrollId = scroll.getScrollId();
-                batch = scroll.getHits();
-                finished = scroll.isConcluded();
+                page(scroll);
             } catch (IOException ex) {
                 throw new OpenSearchHadoopIllegalStateException("Cannot retrieve scroll [" + scrollId + "]", ex);
             }
-            read += batch.size();
-            stats.docsReceived += batch.size();
 
-            // reset index
-            batchIndex = 0;
+            prefetchIfNeeded();
         }
 
         return !finished;
     }
 
+    private void page(Scroll scroll) {
+        scrollId = scroll.getScrollId();
+        lastPage = scroll;
+        batch = scroll.iterator();
+        if (scroll.isStreamed()) {
+            // hits are counted as they are consumed
+            openPage = scroll;
+        } else {
+            finished = scroll.isConcluded();
+            read += scroll.getHits().size();
+            stats.docsReceived += scroll.getHits().size();
+        }
+    }
+
+    /**
+     * Releases the response backing the current page, if it is streamed.
+     */
+    private void releasePage() {
+        if (openPage != null) {
+            Scroll page = openPage;
+            openPage = null;
+            page.close();
+            if (page instanceof StatsAware) {
+                stats.aggregate(((StatsAware) page).stats());
+            }
+        }
+    }
+
+    private void prefetchIfNeeded() {
+        // a streamed page is read from the connection while being consumed, so the next one cannot be requested upfront
+        if (!prefetch || finished || read >= size || lastPage.isStreamed()) {
+            return;
+        }
+        if (prefetchExecutor == null) {
+            prefetchExecutor = Executors.newSingleThreadExecutor(new ThreadFactory() {
+                @Override
+                public Thread newThread(Runnable r) {
+                    Thread thread = new Thread(r, "opensearch-hadoop-scroll-prefetch");
+                    thread.setDaemon(true);
+                    return thread;
+                }
+            });
+        }
+        final Scroll previous = lastPage;
+        nextScroll = prefetchExecutor.submit(new Callable<Scroll>() {
+            @Override
+            public Scroll call() throws Exception {
+                return nextPage(previous);
+            }
+        });
+    }
+
+    /**
+     * Retrieves the first page of results.
+     */
+    Scroll firstPage(String query, BytesArray body) throws IOException {
+        return repository.scroll(query, body, reader);
+    }
+
+    /**
+     * Retrieves the page following the given one.
+     */
+    Scroll nextPage(Scroll previous) throws IOException {
+        return repository.scroll(previous.getScrollId(), reader);
+    }
+
+    /**
+     * Releases the server-side context (if any) backing the results.
+     */
+    void clear(String scrollId) {
+        if (StringUtils.hasText(scrollId)) {
+            repository.getRestClient().deleteScroll(scrollId);
+        }
+    }
+
+    private Scroll awaitPrefetch() throws IOException {
+        Future<Scroll> pending = nextScroll;
+        nextScroll = null;
+        try {
+            return pending.get();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new OpenSearchHadoopIllegalStateException("Interrupted while waiting for scroll [" + scrollId + "]", ex);
+        } catch (ExecutionException ex) {
+            Throwable cause = ex.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new OpenSearchHadoopIllegalStateException("Cannot retrieve scroll [" + scrollId + "]", cause);
+        }
+    }
+
+    private void discardPrefetch() {
+        if (nextScroll != null) {
+            try {
+                Scroll scroll = awaitPrefetch();
+                // the read-ahead page may have renewed the scroll id, which is the one to clear
+                if (scroll != null && StringUtils.hasText(scroll.getScrollId())) {
+                    scrollId = scroll.getScrollId();
+                }
+            } catch (Exception ex) {
+                // ignore - the page is not needed anymore
+            }
+        }
+        if (prefetchExecutor != null) {
+            prefetchExecutor.shutdownNow();
+            prefetchExecutor = null;
+        }
+    }
+
     public long getSize() {
         return size;
     }
@@ -162,7 +301,12 @@ public class ScrollQuery implements Iterator<Object>, Closeable, StatsAware {
         if (!hasNext()) {
             throw new NoSuchElementException("No more documents available");
         }
-        return batch.get(batchIndex++);
+        Object[] hit = batch.next();
+        if (lastPage.isStreamed()) {
+            read++;
+            stats.docsReceived++;
+        }
+        return hit;
     }
 
     @Override
@@ -49,7 +49,8 @@ import java.util.Map;
 import java.util.Map.Entry;
 
 /**
- * A search request builder which allows building {@link ScrollQuery}
+ * A search request builder which allows building {@link ScrollQuery}. Results are paged either through a scroll
+ * or, when {@link #pointInTime(boolean)} is enabled, through a point in time (PIT) with <code>search_after</code>.
  */
 public class SearchRequestBuilder {
     private static class Slice {
@@ -70,6 +71,7 @@ public class SearchRequestBuilder {
     private String types;
     private String shard;
     private String fields;
+    private String docValueFields;
     private QueryBuilder query;
     private final List<QueryBuilder> filters = new ArrayList<QueryBuilder> ();
     private String routing;
@@ -78,6 +80,7 @@ public class SearchRequestBuilder {
     private String preference = "";
     private boolean excludeSource = false;
     private boolean readMetadata = false;
+    private boolean pointInTime = false;
 
     public SearchRequestBuilder(boolean includeVersion) {
         this.includeVersion = includeVersion;
@@ -147,6 +150,15 @@ public class SearchRequestBuilder {
         return this;
     }
 
+    /**
+     * Fetches the given fields from doc values instead of <code>_source</code>, which is excluded from the hits.
+     */
+    public SearchRequestBuilder docValueFields(String fieldsCSV) {
+        Assert.hasNoText(this.fields, String.format("Doc value fields can't be requested if fields [%s] are requested", this.fields));
+        this.docValueFields = fieldsCSV;
+        return this;
+    }
+
     public SearchRequestBuilder filter(QueryBuilder filter) {
         this.filters.add(filter);
         return this;
@@ -182,6 +194,11 @@ public class SearchRequestBuilder {
         return this;
     }
 
+    public SearchRequestBuilder pointInTime(boolean value) {
+        this.pointInTime = value;
+        return this;
+    }
+
     public SearchRequestBuilder excludeSource(boolean value) {
         if (value) {
             Assert.hasNoText(this.fields, String.format("_source section can't be excluded if fields [%s] are requested", this.fields));
@@ -214,6 +231,57 @@ public class SearchRequestBuilder {
             uriParams.put("version", "true");
         }
 
+        addTargetParams(uriParams);
+
+        // Always track total hits
+        uriParams.put("track_total_hits", "true");
+
+        if (readMetadata) {
+            uriParams.put("track_scores", "true");
+        }
+
+        appendParams(sb, uriParams);
+        return sb.toString();
+    }
+
+    // the point in time is opened against the target shard - the searches themselves cannot be routed
+    String assemblePointInTime() {
+        // pages are sorted on _doc, which is unique only within a shard (see RestService#findSizedPartitions)
+        Assert.isTrue(StringUtils.hasText(shard) && shard.indexOf(',') < 0,
+                String.format("Point in time reads target a single shard; cannot read shards [%s]", shard));
+        Map<String, String> uriParams = new LinkedHashMap<String, String>();
+        StringBuilder sb = new StringBuilder();
+        sb.append(indices);
+        sb.append("/_search/point_in_time?");
+        uriParams.put("keep_alive", String.valueOf(scroll.toString()));
+        addTargetParams(uriParams);
+        appendParams(sb, uriParams);
+        return sb.toString();
+    }
+
+    String assemblePointInTimeSearch() {
+        if (limit > 0) {
+            if (size > limit) {
+                size = limit;
+            }
+        }
+        Map<String, String> uriParams = new LinkedHashMap<String, String>();
+        StringBuilder sb = new StringBuilder();
+        sb.append("_search?");
+        uriParams.put("size", String.valueOf(size));
+        if (includeVersion) {
+            uriParams.put("version", "true");
+        }
+        // Always track total hits
+        uriParams.put("track_total_hits", "true");
+        if (readMetadata) {
+            uriParams.put("track_scores", "true");
+        }
+        appendParams(sb, uriParams);
+        return sb.toString();
+    }
+
+    private void addTargetParams(Map<String, String> uriParams) {
         // set shard preference
         StringBuilder pref = new StringBuilder();
         if (StringUtils.hasText(shard)) {
@@ -239,15 +307,9 @@ public class SearchRequestBuilder {
         if (routing != null) {
             uriParams.put("routing", HttpEncodingTools.encode(routing));
         }
+    }
 
-        // Always track total hits
-        uriParams.put("track_total_hits", "true");
-
-        if (readMetadata) {
-            uriParams.put("track_scores", "true");
-        }
-
-        // append params
+    private static void appendParams(StringBuilder sb, Map<String, String> uriParams) {
         for (Iterator<Entry<String, String>> it = uriParams.entrySet().iterator(); it.hasNext();) {
             Entry<String, String> entry = it.next();
             sb.append(entry.getKey());
@@ -259,11 +321,17 @@ public class SearchRequestBuilder {
                 sb.append("&");
             }
         }
-
-        return sb.toString();
     }
 
     private BytesArray assembleBody() {
+        return assembleBody(null, null);
+    }
+
+    /**
+     * @param pitId point in time to search (if any)
+     * @param searchAfter sort values of the last hit of the previous page (if any)
+     */
+    BytesArray assembleBody(String pitId, Object[] searchAfter) {
         QueryBuilder root = query;
         if (root == null) {
             root = MatchAllQueryBuilder.MATCH_ALL;
@@ -275,6 +343,39 @@ public class SearchRequestBuilder {
         JacksonJsonGenerator generator = new JacksonJsonGenerator(out);
         try {
             generator.writeBeginObject();
+            if (pitId != null) {
+                generator.writeFieldName("pit");
+                generator.writeBeginObject();
+                generator.writeFieldName("id");
+                generator.writeString(pitId);
+                generator.writeFieldName("keep_alive");
+                generator.writeString(scroll.toString());
+                generator.writeEndObject();
+                // default to sorting by indexing/doc order - the point in time targets a single shard (partitions are
+                // never coalesced for this read strategy) so this is unique
+                generator.writeFieldName("sort");
+                generator.writeBeginArray();
+                generator.writeString("_doc");
+                generator.writeEndArray();
+                if (searchAfter != null) {
+                    generator.writeFieldName("search_after");
+                    generator.writeBeginArray();
+                    for (Object value : searchAfter) {
+                        if (value == null) {
+                            generator.writeNull();
+                        } else if (value instanceof Long) {
+                            generator.writeNumber((Long) value);
+                        } else if (value instanceof Double) {
+                            generator.writeNumber((Double) value);
+                        } else if (value instanceof Boolean) {
+                            generator.writeBoolean((Boolean) value);
+                        } else {
+                            generator.writeString(value.toString());
+                        }
+                    }
+                    generator.writeEndArray();
+                }
+            }
             if (slice != null && slice.max > 1) {
                 generator.writeFieldName("slice");
                 generator.writeBeginObject();
@@ -289,7 +390,16 @@ public class SearchRequestBuilder {
             root.toJson(generator);
             generator.writeEndObject();
             // override fields
-            if (StringUtils.hasText(fields)) {
+            if (StringUtils.hasText(docValueFields)) {
+                generator.writeFieldName("_source");
+                generator.writeBoolean(false);
+                generator.writeFieldName("docvalue_fields");
+                generator.writeBeginArray();
+                for (String field : StringUtils.tokenize(docValueFields, StringUtils.DEFAULT_DELIMITER)) {
+                    generator.writeString(field);
+                }
+                generator.writeEndArray();
+            } else if (StringUtils.hasText(fields)) {
                 generator.writeFieldName("_source");
                 generator.writeBeginArray();
                 final List<String> fieldsArray = StringUtils.tokenize(fields, StringUtils.DEFAULT_DELIMITER);
@@ -309,6 +419,9 @@ public class SearchRequestBuilder {
     }
 
     public ScrollQuery build(RestRepository client, ScrollReader reader) {
+        if (pointInTime) {
+            return client.pointInTimeLimit(this, limit, reader);
+        }
         String scrollUri = assemble();
         BytesArray requestBody = assembleBody();
         return client.scanLimit(scrollUri, requestBody, limit, reader);
@@ -316,6 +429,9 @@ public class SearchRequestBuilder {
 
     @Override
     public String toString() {
+        if (pointInTime) {
+            return "QueryBuilder [" + assemblePointInTime() + "][" + assemblePointInTimeSearch() + "][" + assembleBody() + "]";
+        }
         return "QueryBuilder [" + assemble() + "][" + assembleBody() + "]";
     }
 }
\ No newline at end of file
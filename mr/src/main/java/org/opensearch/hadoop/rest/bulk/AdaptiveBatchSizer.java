@@ -0,0 +1,141 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ *
+ * Modifications Copyright OpenSearch Contributors. See
+ * GitHub history for details.
+ */
+package org.opensearch.hadoop.rest.bulk;
+
+import org.opensearch.hadoop.OpenSearchHadoopIllegalArgumentException;
+import org.opensearch.hadoop.cfg.ConfigurationOptions;
+import org.opensearch.hadoop.cfg.Settings;
+
+/**
+ * Adjusts the bulk batch size between flushes based on how the cluster is coping with the write load.
+ * <p>
+ * Follows an additive increase / multiplicative decrease scheme: batches that come back quickly and without
+ * rejections grow the limits by a fixed step, while slow batches shrink them and rejected (429) batches halve them.
+ * Consecutive rejected batches also introduce a growing pause before the next batch is sent. Limits always stay
+ * within the configured bounds.
+ */
+class AdaptiveBatchSizer {
+
+    // upper bound for the pause between batches, as a multiple of the latency target
+    private static final int MAX_PAUSE_FACTOR = 16;
+
+    private final int minBytes;
+    private final int maxBytes;
+    private final int minEntries;
+    private final int maxEntries;
+    private final long latencyTarget;
+
+    private int bytes;
+    private int entries;
+    private long pause = 0L;
+
+    AdaptiveBatchSizer(Settings settings) {
+        this(settings.getBatchSizeInBytes(), settings.getBatchSizeInEntries(),
+                settings.getBatchSizeAdaptiveBytesMin(), settings.getBatchSizeAdaptiveBytesMax(),
+                settings.getBatchSizeAdaptiveEntriesMin(), settings.getBatchSizeAdaptiveEntriesMax(),
+                settings.getBatchSizeAdaptiveLatencyTarget());
+    }
+
+    AdaptiveBatchSizer(int bytes, int entries, int minBytes, int maxBytes, int minEntries, int maxEntries, long latencyTarget) {
+        checkBounds(minBytes, maxBytes, ConfigurationOptions.OPENSEARCH_BATCH_SIZE_ADAPTIVE_BYTES_MIN,
+                ConfigurationOptions.OPENSEARCH_BATCH_SIZE_ADAPTIVE_BYTES_MAX);
+        checkBounds(minEntries, maxEntries, ConfigurationOptions.OPENSEARCH_BATCH_SIZE_ADAPTIVE_ENTRIES_MIN,
+                ConfigurationOptions.OPENSEARCH_BATCH_SIZE_ADAPTIVE_ENTRIES_MAX);
+        if (latencyTarget <= 0) {
+            throw new OpenSearchHadoopIllegalArgumentException(String.format(
+                    "Invalid value [%s] for [%s]; the latency target must be positive",
+                    latencyTarget, ConfigurationOptions.OPENSEARCH_BATCH_SIZE_ADAPTIVE_LATENCY_TARGET));
+        }
+
+        this.minBytes = minBytes;
+        this.maxBytes = maxBytes;
+        this.minEntries = minEntries;
+        this.maxEntries = maxEntries;
+        this.latencyTarget = latencyTarget;
+
+        this.bytes = clamp(bytes, minBytes, maxBytes);
+        // a non-positive entries count disables the entries limit altogether so keep it that way
+        this.entries = (entries > 0 ? clamp(entries, minEntries, maxEntries) : entries);
+    }
+
+    private static void checkBounds(int min, int max, String minSetting, String maxSetting) {
+        if (min <= 0 || min > max) {
+            throw new OpenSearchHadoopIllegalArgumentException(String.format(
+                    "Invalid adaptive batch size bounds [%s]=[%s], [%s]=[%s]; expected 0 < min <= max",
+                    minSetting, min, maxSetting, max));
+        }
+    }
+
+    private static int clamp(long value, int min, int max) {
+        return (int) Math.max(min, Math.min(max, value));
+    }
+
+    /**
+     * @return the current limit in bytes for a batch
+     */
+    synchronized int bytes() {
+        return bytes;
+    }
+
+    /**
+     * @return the current limit in entries for a batch (non-positive if there is no entries limit)
+     */
+    synchronized int entries() {
+        return entries;
+    }
+
+    /**
+     * @return the time in millis to wait before sending the next batch
+     */
+    synchronized long pause() {
+        return pause;
+    }
+
+    /**
+     * Records the outcome of a batch and adjusts the limits for the following ones.
+     *
+     * @param latency time in millis spent on the initial bulk request of the batch
+     * @param sentBytes size of the batch in bytes
+     * @param sentEntries number of entries in the batch
+     * @param rejectedEntries number of entries rejected by the cluster with a 429 status
+     */
+    synchronized void onBatch(long latency, int sentBytes, int sentEntries, int rejectedEntries) {
+        if (rejectedEntries > 0) {
+            resize(0.5d);
+            pause = (pause == 0L ? latencyTarget : Math.min(pause * 2, latencyTarget * MAX_PAUSE_FACTOR));
+            return;
+        }
+
+        pause = 0L;
+        if (latency > latencyTarget) {
+            resize(0.75d);
+        }
+        // only grow on batches that actually used a good part of the current limits - a trickle of small
+        // batches says nothing about how larger ones would fare
+        else if (sentBytes * 2 >= bytes || (entries > 0 && sentEntries * 2 >= entries)) {
+            bytes = clamp((long) bytes + minBytes, minBytes, maxBytes);
+            if (entries > 0) {
+                entries = clamp((long) entries + minEntries, minEntries, maxEntries);
+            }
+        }
+    }
+
+    private void resize(double factor) {
+        bytes = clamp((long) (bytes * factor), minBytes, maxBytes);
+        if (entries > 0) {
+            entries = clamp((long) (entries * factor), minEntries, maxEntries);
+        }
+    }
+
+    @Override
+    public synchronized String toString() {
+        return String.format("[%s bytes, %s entries, pause %sms]", bytes, entries, pause);
+    }
+}
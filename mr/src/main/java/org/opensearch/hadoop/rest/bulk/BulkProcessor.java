@@ -31,9 +31,20 @@ package org.opensearch.hadoop.rest.bulk;
 
 import java.io.Closeable;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Iterator;
+import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
@@ -45,6 +56,7 @@ import org.opensearch.hadoop.cfg.Settings;
 import org.opensearch.hadoop.handler.OpenSearchHadoopAbortHandlerException;
 import org.opensearch.hadoop.handler.HandlerResult;
 import org.opensearch.hadoop.rest.ErrorExtractor;
+import org.opensearch.hadoop.rest.HttpStatus;
 import org.opensearch.hadoop.rest.Resource;
 import org.opensearch.hadoop.rest.RestClient;
 import org.opensearch.hadoop.rest.bulk.handler.BulkWriteErrorCollector;
@@ -59,12 +71,20 @@ import org.opensearch.hadoop.util.ArrayUtils;
 import org.opensearch.hadoop.util.Assert;
 import org.opensearch.hadoop.util.BytesArray;
 import org.opensearch.hadoop.util.BytesRef;
+import org.opensearch.hadoop.util.ChunkedBytesArray;
 import org.opensearch.hadoop.util.TrackingBytesArray;
 import org.opensearch.hadoop.util.unit.TimeValue;
 
 /**
  * Oversees the addition of bulk entries into an internal buffer, the flushing of documents to OpenSearch,
  * and the handling of failures in bulk operations.
+ * <p>
+ * When asynchronous flushing is enabled, full buffers are handed off to a single background thread that sends them
+ * (in order) while the caller keeps filling a fresh buffer. The number of batches that may be in flight at any time is
+ * bounded; failures of in flight batches are reported on the next add, flush or close.
+ * <p>
+ * When adaptive sizing is enabled, the batch size limits are adjusted after every batch based on its latency and on
+ * the number of entries rejected by the cluster (see {@link AdaptiveBatchSizer}).
  */
 public class BulkProcessor implements Closeable, StatsAware {
 
@@ -76,20 +96,28 @@ public class BulkProcessor implements Closeable, StatsAware {
     private final Stats stats = new Stats();
     private final ErrorExtractor errorExtractor;
 
-    // Buffers and state of content
-    private BytesArray ba;
-    private TrackingBytesArray data;
-    private int dataEntries = 0;
+    // Buffer and state of content currently being filled
+    private BulkBuffer buffer;
 
     // Configs
     private int bufferEntriesThreshold;
+    private int bufferChunkSize;
+    private AdaptiveBatchSizer batchSizer;
     private boolean autoFlush = true;
     private int retryLimit;
 
+    // Async flushing - batches that have been handed off, and emptied buffers ready for reuse
+    private final boolean asyncFlush;
+    private final int maxInFlight;
+    private ExecutorService flushExecutor;
+    private final LinkedList<Future<BulkResponse>> inFlight = new LinkedList<Future<BulkResponse>>();
+    private final BlockingQueue<BulkBuffer> spareBuffers = new LinkedBlockingQueue<BulkBuffer>();
+
     // Processor writing state flags
-    private boolean executedBulkWrite = false;
-    private boolean hadWriteErrors = false;
+    private volatile boolean executedBulkWrite = false;
+    private volatile boolean hadWriteErrors = false;
     private boolean requiresRefreshAfterBulk = false;
+    private boolean aborted = false;
 
     // Bulk write error handlers.
     private List<IBulkWriteErrorHandler> documentBulkErrorHandlers;
@@ -112,8 +140,37 @@ public class BulkProcessor implements Closeable, StatsAware {
         this.retryLimit = (limit < retryCount || retryCount < 0) ? retryCount : limit;
 
         // Backing data array
-        this.ba = new BytesArray(new byte[settings.getBatchSizeInBytes()], 0);
-        this.data = new TrackingBytesArray(ba);
+        this.bufferChunkSize = (settings.getBatchBufferChunked() ? settings.getBatchBufferChunkSize() : 0);
+        if (settings.getBatchBufferChunked() && bufferChunkSize <= 0) {
+            throw new OpenSearchHadoopIllegalArgumentException(String.format(
+                    "Invalid value [%s] for [%s]; chunks need to hold at least one byte",
+                    bufferChunkSize, ConfigurationOptions.OPENSEARCH_BATCH_BUFFER_CHUNK_SIZE));
+        }
+        this.buffer = new BulkBuffer(settings.getBatchSizeInBytes(), bufferChunkSize);
+
+        // Adaptive sizing - the buffer grows on demand up to the current limit
+        if (settings.getBatchSizeAdaptive()) {
+            this.batchSizer = new AdaptiveBatchSizer(settings);
+        }
+
+        // Async flushing
+        this.asyncFlush = settings.getBatchFlushAsync();
+        this.maxInFlight = settings.getBatchFlushAsyncMaxInFlight();
+        if (asyncFlush) {
+            if (maxInFlight < 1) {
+                throw new OpenSearchHadoopIllegalArgumentException(String.format(
+                        "Invalid value [%s] for [%s]; at least one bulk request must be allowed in flight",
+                        maxInFlight, ConfigurationOptions.OPENSEARCH_BATCH_FLUSH_ASYNC_MAX_INFLIGHT));
+            }
+            this.flushExecutor = Executors.newSingleThreadExecutor(new ThreadFactory() {
+                @Override
+                public Thread newThread(Runnable r) {
+                    Thread thread = new Thread(r, "opensearch-hadoop-bulk-flush");
+                    thread.setDaemon(true);
+                    return thread;
+                }
+            });
+        }
 
         // Create error handlers
         BulkWriteErrorHandler httpRetryHandler = new HttpRetryHandler(settings);
@@ -137,37 +194,120 @@ public class BulkProcessor implements Closeable, StatsAware {
     public void add(BytesRef payload) {
         // check space first
         // ba is the backing array for data
-        if (payload.length() > ba.available()) {
+        if (payload.length() > availableBytes()) {
             if (autoFlush) {
-                flush();
+                flushFullBuffer();
             }
             else {
                 throw new OpenSearchHadoopIllegalStateException(
                         String.format("Auto-flush disabled and bulk buffer full; disable manual flush or increase " +
-                                "capacity [current size %s]; bailing out", ba.capacity()));
+                                "capacity [current size %s]; bailing out", buffer.capacity));
             }
         }
 
-        data.copyFrom(payload);
+        buffer.data.copyFrom(payload);
 
-        dataEntries++;
-        if (bufferEntriesThreshold > 0 && dataEntries >= bufferEntriesThreshold) {
+        buffer.dataEntries++;
+        int entriesThreshold = (batchSizer != null ? batchSizer.entries() : bufferEntriesThreshold);
+        if (entriesThreshold > 0 && buffer.dataEntries >= entriesThreshold) {
             if (autoFlush) {
-                flush();
+                flushFullBuffer();
             }
             else {
                 // handle the corner case of manual flush that occurs only after the buffer is completely full (think size of 1)
-                if (dataEntries > bufferEntriesThreshold) {
+                if (buffer.dataEntries > entriesThreshold) {
                     throw new OpenSearchHadoopIllegalStateException(
                             String.format(
                                     "Auto-flush disabled and maximum number of entries surpassed; disable manual " +
                                             "flush or increase capacity [current size %s]; bailing out",
-                                    bufferEntriesThreshold));
+                                    entriesThreshold));
                 }
             }
         }
     }
 
+    /**
+     * @return the number of bytes that can still be added to the current buffer before it needs flushing
+     */
+    private int availableBytes() {
+        if (batchSizer != null) {
+            return batchSizer.bytes() - buffer.data.length();
+        }
+        return buffer.available();
+    }
+
+    /**
+     * Flushes a buffer that has reached capacity. In async mode the buffer is handed off to the flush thread and the
+     * caller continues on a fresh buffer; otherwise this is a regular blocking flush.
+     */
+    private void flushFullBuffer() {
+        if (asyncFlush) {
+            // Bound the number of batches in flight, reporting the outcome of the oldest ones first
+            while (inFlight.size() >= maxInFlight) {
+                checkDocumentErrors(awaitFlush(inFlight.removeFirst()));
+            }
+            submitFlush();
+        } else {
+            flush();
+        }
+    }
+
+    /**
+     * Hands the current buffer off to the flush thread and swaps in an empty one.
+     */
+    private void submitFlush() {
+        if (buffer.data.length() == 0) {
+            return;
+        }
+
+        final BulkBuffer toSend = buffer;
+        inFlight.addLast(flushExecutor.submit(new Callable<BulkResponse>() {
+            @Override
+            public BulkResponse call() {
+                BulkResponse response = doFlush(toSend);
+                // only clean buffers are recycled - a failed flush leaves its data behind
+                spareBuffers.offer(toSend);
+                return response;
+            }
+        }));
+
+        BulkBuffer next = spareBuffers.poll();
+        buffer = (next != null ? next : new BulkBuffer(settings.getBatchSizeInBytes(), bufferChunkSize));
+    }
+
+    /**
+     * Waits for the given in flight batch to complete, surfacing any failure on the calling thread.
+     */
+    private BulkResponse awaitFlush(Future<BulkResponse> pending) {
+        try {
+            return pending.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            hadWriteErrors = true;
+            throw new OpenSearchHadoopException("Thread interrupted while waiting for in flight bulk request", e);
+        } catch (ExecutionException e) {
+            hadWriteErrors = true;
+            Throwable cause = e.getCause();
+            if (cause instanceof OpenSearchHadoopException) {
+                throw (OpenSearchHadoopException) cause;
+            }
+            throw new OpenSearchHadoopException("Encountered exception during asynchronous bulk flush.", cause);
+        }
+    }
+
+    /**
+     * Submits the current buffer (if any) and waits for every batch in flight, combining their results in the order
+     * they were submitted.
+     */
+    private BulkResponse drain() {
+        submitFlush();
+        List<BulkResponse> responses = new ArrayList<BulkResponse>(inFlight.size());
+        while (!inFlight.isEmpty()) {
+            responses.add(awaitFlush(inFlight.removeFirst()));
+        }
+        return BulkResponse.combine(responses);
+    }
+
     /**
      * Keeps track of a given document entry's position in the original bulk request, as well as how many
      * attempts to write the entry have been performed.
@@ -186,17 +326,34 @@ public class BulkProcessor implements Closeable, StatsAware {
      * Attempts a flush operation, handling failed documents based on configured error listeners.
      * @return A result object detailing the success or failure of the request, including information about any
      * failed documents.
+     * In async mode, this waits for all batches in flight and returns their combined result.
      * @throws OpenSearchHadoopException in the event that the bulk operation fails or is aborted.
      */
     public BulkResponse tryFlush() {
+        if (asyncFlush) {
+            return drain();
+        }
+        return doFlush(buffer);
+    }
+
+    /**
+     * Sends the contents of the given buffer, retrying and handling failed documents, then empties the buffer.
+     */
+    private BulkResponse doFlush(BulkBuffer buffer) {
         BulkResponse bulkResult = null;
         boolean trackingArrayExpanded = false;
         String bulkLoggingID = createDebugTxnID();
+        TrackingBytesArray data = buffer.data;
+        // Accumulated locally and published at the end, since the flush may run on the async flush thread
+        Stats stats = new Stats();
 
         try {
             // double check data - it might be a false flush (called on clean-up)
             if (data.length() > 0) {
                 int totalDocs = data.entries();
+                int totalBytes = data.length();
+                long initialTime = -1L;
+                int docsRejected = 0;
                 int docsSent = 0;
                 int docsSkipped = 0;
                 int docsAborted = 0;
@@ -218,7 +375,7 @@ public class BulkProcessor implements Closeable, StatsAware {
                     }
 
                     // Log messages, and if wait time is set, perform the thread sleep.
-                    initFlushOperation(bulkLoggingID, retryOperation, retries.size(), waitTime);
+                    initFlushOperation(bulkLoggingID, buffer, retryOperation, retries.size(), waitTime);
 
                     // Exec bulk operation to OpenSearch, get response.
                     debugLog(bulkLoggingID, "Submitting request");
@@ -226,6 +383,9 @@ public class BulkProcessor implements Closeable, StatsAware {
                     debugLog(bulkLoggingID, "Response received");
                     totalAttempts++;
                     totalTime += bar.getTimeSpent();
+                    if (initialTime < 0) {
+                        initialTime = bar.getTimeSpent();
+                    }
 
                     // Log retry stats if relevant
                     if (retryOperation) {
@@ -285,6 +445,9 @@ public class BulkProcessor implements Closeable, StatsAware {
 
                                 // In pre-2.x ES versions, the status is not included.
                                 int status = docStatus == null ? -1 : docStatus;
+                                if (status == HttpStatus.TOO_MANY_REQUESTS) {
+                                    docsRejected++;
+                                }
 
                                 // Figure out which attempt number sending this document was and which position the doc was in
                                 BulkAttempt previousAttempt;
@@ -353,7 +516,7 @@ public class BulkProcessor implements Closeable, StatsAware {
                                                         data.remove(trackingBytesPosition);
                                                         data.copyFrom(newEntry);
                                                         // Determine if our tracking bytes array is going to expand.
-                                                        if (ba.available() < newEntry.length()) {
+                                                        if (buffer.available() < newEntry.length()) {
                                                             trackingArrayExpanded = true;
                                                         }
                                                         previousAttempt.attemptNumber = 0;
@@ -376,7 +539,9 @@ public class BulkProcessor implements Closeable, StatsAware {
                                             errorCollector.getAndClearMessage(); // Sanity clearing
                                             data.remove(trackingBytesPosition);
                                             docsAborted += 1;
-                                            abortErrors.add(new BulkResponse.BulkError(previousAttempt.originalPosition, document, status, error));
+                                            // The buffer is recycled once an async flush completes, so keep a private copy of the document
+                                            BytesArray abortedDocument = asyncFlush ? copyOf(document) : document;
+                                            abortErrors.add(new BulkResponse.BulkError(previousAttempt.originalPosition, abortedDocument, status, error));
                                             break handlerLoop;
                                     }
                                 }
@@ -401,6 +566,11 @@ public class BulkProcessor implements Closeable, StatsAware {
                     }
                 } while (retryOperation);
 
+                if (batchSizer != null) {
+                    batchSizer.onBatch(initialTime, totalBytes, totalDocs, docsRejected);
+                    debugLog(bulkLoggingID, "Adaptive batch size set to %s", batchSizer);
+                }
+
                 debugLog(bulkLoggingID, "Completed. [%d] Original Entries. [%d] Attempts. [%d/%d] Docs Sent. [%d/%d] Docs Skipped. [%d/%d] Docs Aborted.",
                         totalDocs,
                         totalAttempts,
@@ -415,22 +585,24 @@ public class BulkProcessor implements Closeable, StatsAware {
             debugLog(bulkLoggingID, "Failed. %s", ex.getMessage());
             hadWriteErrors = true;
             throw ex;
+        } finally {
+            synchronized (this.stats) {
+                this.stats.aggregate(stats);
+            }
         }
 
         // always discard data since there's no code path that uses the in flight data
         // during retry operations, the tracking bytes array may grow. In that case, do a hard reset.
         // TODO: Perhaps open an issue to limit the expansion of a single byte array (for repeated rewrite-retries)
-        if (trackingArrayExpanded) {
-            ba = new BytesArray(new byte[settings.getBatchSizeInBytes()], 0);
-            data = new TrackingBytesArray(ba);
-        } else {
-            data.reset();
-            dataEntries = 0;
-        }
+        buffer.reset(trackingArrayExpanded);
 
         return bulkResult;
     }
 
+    private static BytesArray copyOf(BytesArray document) {
+        return new BytesArray(Arrays.copyOfRange(document.bytes(), document.offset(), document.offset() + document.length()));
+    }
+
     /**
      * Validate the byte contents of a bulk entry that has been edited before being submitted for retry.
      * @param retryDataBuffer The new entry contents
@@ -476,9 +648,9 @@ public class BulkProcessor implements Closeable, StatsAware {
     }
 
     /**
-     * Logs flushing messages and performs backoff waiting if there is a wait time for retry.
+     * Logs flushing messages and performs backoff waiting if there is a wait time for retry or an adaptive pacing delay.
      */
-    private void initFlushOperation(String bulkLoggingID, boolean retryOperation, long retriedDocs, long waitTime) {
+    private void initFlushOperation(String bulkLoggingID, BulkBuffer buffer, boolean retryOperation, long retriedDocs, long waitTime) {
         if (retryOperation) {
             if (waitTime > 0L) {
                 debugLog(bulkLoggingID, "Retrying [%d] entries after backing off for [%s] ms",
@@ -493,7 +665,16 @@ public class BulkProcessor implements Closeable, StatsAware {
                 debugLog(bulkLoggingID, "Retrying [%d] entries immediately (without backoff)", retriedDocs);
             }
         } else {
-            debugLog(bulkLoggingID, "Sending batch of [%d] bytes/[%s] entries", data.length(), dataEntries);
+            long pause = (batchSizer != null ? batchSizer.pause() : 0L);
+            if (pause > 0L) {
+                debugLog(bulkLoggingID, "Pacing batch after rejections; backing off for [%s]", TimeValue.timeValueMillis(pause));
+                try {
+                    Thread.sleep(pause);
+                } catch (InterruptedException e) {
+                    throw new OpenSearchHadoopException("Thread interrupted - giving up on sending batch...", e);
+                }
+            }
+            debugLog(bulkLoggingID, "Sending batch of [%d] bytes/[%s] entries", buffer.data.length(), buffer.dataEntries);
         }
     }
 
@@ -525,7 +706,10 @@ public class BulkProcessor implements Closeable, StatsAware {
      * @throws OpenSearchHadoopException in the event that the bulk operation fails, is aborted, or its errors could not be handled.
      */
     public void flush() {
-        BulkResponse bulk = tryFlush();
+        checkDocumentErrors(tryFlush());
+    }
+
+    private void checkDocumentErrors(BulkResponse bulk) {
         if (!bulk.getDocumentErrors().isEmpty()) {
             int maxErrors = 5;
             String header = String.format("Could not write all entries for bulk operation [%s/%s]. Error " +
@@ -560,13 +744,25 @@ public class BulkProcessor implements Closeable, StatsAware {
     }
 
 
+    /**
+     * Discards the entries buffered but not yet sent; the following {@link #close()} does not flush them.
+     */
+    public void abort() {
+        aborted = true;
+        buffer.reset(false);
+    }
+
     /**
      * Flushes and closes the bulk processor to further writes.
      */
     @Override
     public void close() {
         try {
-            if (!hadWriteErrors) {
+            if (aborted) {
+                if (LOG.isDebugEnabled()) {
+                    LOG.debug("Aborted; discarding last existing write batch...");
+                }
+            } else if (!hadWriteErrors) {
                 flush();
             } else {
                 if (LOG.isDebugEnabled()) {
@@ -583,6 +779,16 @@ public class BulkProcessor implements Closeable, StatsAware {
                 }
             }
         } finally {
+            if (flushExecutor != null) {
+                // on a dirty close, abandon whatever is still queued
+                flushExecutor.shutdownNow();
+                try {
+                    flushExecutor.awaitTermination(settings.getHttpTimeout(), TimeUnit.MILLISECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                inFlight.clear();
+            }
             for (IBulkWriteErrorHandler handler : documentBulkErrorHandlers) {
                 handler.close();
             }
@@ -591,6 +797,56 @@ public class BulkProcessor implements Closeable, StatsAware {
 
     @Override
     public Stats stats() {
-        return new Stats(stats);
+        synchronized (stats) {
+            return new Stats(stats);
+        }
+    }
+
+    /**
+     * A bulk buffer along with the entries tracked within it. The content is kept either in a single array allocated
+     * upfront or, when a chunk size is given, in fixed-size chunks allocated as the buffer fills up.
+     */
+    private static class BulkBuffer {
+        private final int capacity;
+        private final int chunkSize;
+        private BytesArray ba;
+        private ChunkedBytesArray chunks;
+        private TrackingBytesArray data;
+        private int dataEntries = 0;
+
+        BulkBuffer(int capacity, int chunkSize) {
+            this.capacity = capacity;
+            this.chunkSize = chunkSize;
+            allocate();
+        }
+
+        private void allocate() {
+            if (chunkSize > 0) {
+                chunks = new ChunkedBytesArray(chunkSize);
+                data = new TrackingBytesArray(chunks);
+            } else {
+                ba = new BytesArray(new byte[capacity], 0);
+                data = new TrackingBytesArray(ba);
+            }
+        }
+
+        int available() {
+            return (chunks != null ? capacity - chunks.length() : ba.available());
+        }
+
+        void reset(boolean reallocate) {
+            if (reallocate) {
+                if (chunks != null) {
+                    // keep the chunks needed for a full buffer, drop the ones past it
+                    data.reset();
+                    chunks.reset(capacity);
+                } else {
+                    allocate();
+                }
+            } else {
+                data.reset();
+            }
+            dataEntries = 0;
+        }
     }
 }
\ No newline at end of file
@@ -29,6 +29,7 @@
 
 package org.opensearch.hadoop.rest.bulk;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 
@@ -55,6 +56,45 @@ public class BulkResponse {
         return new BulkResponse(BulkStatus.PARTIAL, httpStatus, spent, totalWrites, docsSent, docsSkipped, docsAborted, errors);
     }
 
+    /**
+     * Merges the responses of consecutive batches into one. Document error positions are shifted so that they are
+     * relative to the first document of the first batch, as if all entries had been sent in a single request.
+     */
+    public static BulkResponse combine(List<BulkResponse> responses) {
+        if (responses.isEmpty()) {
+            return complete();
+        }
+        if (responses.size() == 1) {
+            return responses.get(0);
+        }
+
+        int httpStatus = 0;
+        long spent = 0L;
+        int totalDocs = 0;
+        int docsSent = 0;
+        int docsSkipped = 0;
+        int docsAborted = 0;
+        List<BulkError> errors = new ArrayList<BulkError>();
+
+        for (BulkResponse response : responses) {
+            for (BulkError error : response.getDocumentErrors()) {
+                errors.add(new BulkError(totalDocs + error.getOriginalPosition(), error.getDocument(),
+                        error.getDocumentStatus(), error.getError()));
+            }
+            httpStatus = response.getHttpStatus();
+            spent += response.getClientTimeSpent();
+            totalDocs += response.getTotalDocs();
+            docsSent += response.getDocsSent();
+            docsSkipped += response.getDocsSkipped();
+            docsAborted += response.getDocsAborted();
+        }
+
+        if (docsAborted > 0) {
+            return partial(httpStatus, spent, totalDocs, docsSent, docsSkipped, docsAborted, errors);
+        }
+        return complete(httpStatus, spent, totalDocs, docsSent, docsSkipped);
+    }
+
     public enum BulkStatus {
         /**
          * The bulk operation was completed successfully with all documents accepted
@@ -0,0 +1,181 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ *
+ * Modifications Copyright OpenSearch Contributors. See
+ * GitHub history for details.
+ */
+package org.opensearch.hadoop.rest.bulk;
+
+import java.util.Map;
+
+import org.opensearch.hadoop.OpenSearchHadoopIllegalArgumentException;
+import org.opensearch.hadoop.serialization.Parser;
+import org.opensearch.hadoop.serialization.Parser.Token;
+import org.opensearch.hadoop.serialization.json.JacksonJsonParser;
+import org.opensearch.hadoop.util.BytesArray;
+import org.opensearch.hadoop.util.BytesRef;
+import org.opensearch.hadoop.util.Murmur3HashFunction;
+import org.opensearch.hadoop.util.StringUtils;
+
+/**
+ * Determines the shard a bulk entry is written to, following the same rules OpenSearch uses when routing a write
+ * operation: the routing value (or the document id when missing) is hashed and scaled down from the number of
+ * routing shards to the number of shards of the index, with an additional offset for routing partitioned indices.
+ * <p>
+ * Not thread-safe.
+ */
+public class ShardRouter {
+
+    private static final byte[] ID = StringUtils.toUTF("\"_id\"");
+    private static final byte[] ROUTING = StringUtils.toUTF("routing\"");
+
+    private final int numberOfShards;
+    private final int routingNumShards;
+    private final int routingFactor;
+    private final int routingPartitionSize;
+
+    // scratch space for the action line of the entry being routed
+    private final BytesArray header = new BytesArray(128);
+
+    public ShardRouter(int numberOfShards, int routingNumShards, int routingPartitionSize) {
+        if (numberOfShards < 1 || routingNumShards < numberOfShards || routingNumShards % numberOfShards != 0) {
+            throw new OpenSearchHadoopIllegalArgumentException(String.format(
+                    "Invalid routing settings; [%s] routing shards cannot be evenly spread over [%s] shards",
+                    routingNumShards, numberOfShards));
+        }
+        if (routingPartitionSize < 1 || (routingPartitionSize > 1 && routingPartitionSize >= numberOfShards)) {
+            throw new OpenSearchHadoopIllegalArgumentException(String.format(
+                    "Invalid routing partition size [%s] for [%s] shards", routingPartitionSize, numberOfShards));
+        }
+        this.numberOfShards = numberOfShards;
+        this.routingNumShards = routingNumShards;
+        this.routingFactor = routingNumShards / numberOfShards;
+        this.routingPartitionSize = routingPartitionSize;
+    }
+
+    /**
+     * Creates a router out of the index metadata returned by the cluster state API.
+     *
+     * @param metadata index metadata, containing the index settings and its number of routing shards
+     * @return router for the index
+     */
+    @SuppressWarnings("unchecked")
+    public static ShardRouter fromIndexMetadata(Map<String, Object> metadata) {
+        Map<String, Object> settings = (Map<String, Object>) metadata.get("settings");
+        Map<String, Object> indexSettings = (settings != null ? (Map<String, Object>) settings.get("index") : null);
+        if (indexSettings == null || indexSettings.get("number_of_shards") == null) {
+            throw new OpenSearchHadoopIllegalArgumentException("Cannot determine the number of shards from index metadata " + metadata);
+        }
+
+        int numberOfShards = Integer.parseInt(indexSettings.get("number_of_shards").toString());
+        Object partitionSize = indexSettings.get("routing_partition_size");
+        Object routingShards = metadata.get("routing_num_shards");
+
+        return new ShardRouter(numberOfShards,
+                (routingShards != null ? Integer.parseInt(routingShards.toString()) : defaultRoutingNumShards(numberOfShards)),
+                (partitionSize != null ? Integer.parseInt(partitionSize.toString()) : 1));
+    }
+
+    /**
+     * Number of routing shards OpenSearch picks for an index that does not specify one: the largest
+     * {@code numberOfShards * 2^n} that does not exceed 1024, allowing at least one split.
+     */
+    static int defaultRoutingNumShards(int numberOfShards) {
+        int log2NumShards = 32 - Integer.numberOfLeadingZeros(numberOfShards - 1);
+        int numSplits = Math.max(1, 10 - log2NumShards);
+        return numberOfShards << numSplits;
+    }
+
+    public int getNumberOfShards() {
+        return numberOfShards;
+    }
+
+    /**
+     * @param id document id
+     * @param routing custom routing value (can be null)
+     * @return shard the document belongs to
+     */
+    public int shardId(String id, String routing) {
+        String effectiveRouting;
+        int partitionOffset = 0;
+        if (routing == null) {
+            effectiveRouting = id;
+        } else {
+            effectiveRouting = routing;
+            if (routingPartitionSize > 1) {
+                partitionOffset = Math.floorMod(Murmur3HashFunction.hash(id), routingPartitionSize);
+            }
+        }
+        int hash = Murmur3HashFunction.hash(effectiveRouting) + partitionOffset;
+        return Math.floorMod(hash, routingNumShards) / routingFactor;
+    }
+
+    /**
+     * Routes a serialized bulk entry based on the id and routing found in its action line.
+     *
+     * @param entry bulk entry, made of the action line optionally followed by the document
+     * @return shard the entry belongs to or -1 if it cannot be determined (such as for auto-generated ids)
+     */
+    public int shardId(BytesRef entry) {
+        // only the action line matters, the document itself is never copied
+        header.reset();
+        entry.copyUntil(header, (byte) '\n');
+
+        byte[] bytes = header.bytes();
+        int headerLength = header.length();
+
+        // entries without an explicit id or routing (auto-generated ids) need no parsing at all
+        if (indexOf(bytes, headerLength, ID) < 0 && indexOf(bytes, headerLength, ROUTING) < 0) {
+            return -1;
+        }
+
+        String id = null;
+        String routing = null;
+
+        Parser parser = new JacksonJsonParser(bytes, 0, headerLength);
+        try {
+            // { "<action>" : { ...
+            if (parser.nextToken() != Token.START_OBJECT || parser.nextToken() != Token.FIELD_NAME
+                    || parser.nextToken() != Token.START_OBJECT) {
+                return -1;
+            }
+            for (Token token = parser.nextToken(); token == Token.FIELD_NAME; token = parser.nextToken()) {
+                String name = parser.currentName();
+                Token value = parser.nextToken();
+                if (value == Token.START_OBJECT || value == Token.START_ARRAY) {
+                    parser.skipChildren();
+                } else if (value == Token.VALUE_NULL) {
+                    // nothing to route on
+                } else if ("_id".equals(name)) {
+                    id = parser.text();
+                } else if ("routing".equals(name) || "_routing".equals(name)) {
+                    routing = parser.text();
+                }
+            }
+        } finally {
+            parser.close();
+        }
+
+        // without an id, the shard is only known once the server generates one - unless a routing value decides it
+        if (id == null && (routing == null || routingPartitionSize > 1)) {
+            return -1;
+        }
+        return shardId(id, routing);
+    }
+
+    private static int indexOf(byte[] bytes, int length, byte[] target) {
+        outer:
+        for (int i = 0; i <= length - target.length; i++) {
+            for (int j = 0; j < target.length; j++) {
+                if (bytes[i + j] != target[j]) {
+                    continue outer;
+                }
+            }
+            return i;
+        }
+        return -1;
+    }
+}
@@ -86,6 +86,7 @@ import org.opensearch.hadoop.thirdparty.apache.commons.httpclient.protocol.Secur
 import org.opensearch.hadoop.util.ByteSequence;
 import org.opensearch.hadoop.util.ReflectionUtils;
 import org.opensearch.hadoop.util.StringUtils;
+import org.opensearch.hadoop.util.encoding.HttpCompressionTools;
 import org.opensearch.hadoop.util.encoding.HttpEncodingTools;
 
 import javax.security.auth.kerberos.KerberosPrincipal;
@@ -126,6 +127,8 @@ public class CommonsHttpTransport implements Transport, StatsAware {
     private final String httpInfo;
     private final boolean sslEnabled;
     private final String pathPrefix;
+    private final boolean compressRequests;
+    private final boolean compressResponses;
     private final Settings settings;
     private final SecureSettings secureSettings;
     private final String clusterName;
@@ -145,7 +148,8 @@ public class CommonsHttpTransport implements Transport, StatsAware {
         private final boolean reusable;
 
         public ResponseInputStream(HttpMethod http) throws IOException {
-            super(http.getResponseBodyAsStream());
+            // compressed responses are decompressed as they are read
+            super(HttpCompressionTools.decompress(http.getResponseBodyAsStream(), contentEncoding(http)));
             this.method = http;
             reusable = (delegate() instanceof ByteArrayInputStream);
         }
@@ -182,6 +186,11 @@ public class CommonsHttpTransport implements Transport, StatsAware {
         }
     }
 
+    private static String contentEncoding(HttpMethod http) {
+        Header header = http.getResponseHeader(HttpCompressionTools.CONTENT_ENCODING);
+        return (header != null ? header.getValue() : null);
+    }
+
     private class SocketTrackingConnectionManager extends SimpleHttpConnectionManager {
 
         @Override
@@ -226,6 +235,9 @@ public class CommonsHttpTransport implements Transport, StatsAware {
         String pathPref = settings.getNodesPathPrefix();
         pathPrefix = (StringUtils.hasText(pathPref) ? addLeadingSlashIfNeeded(StringUtils.trimWhitespace(pathPref)) : StringUtils.trimWhitespace(pathPref));
 
+        compressRequests = settings.getNetworkHttpCompressRequests();
+        compressResponses = settings.getNetworkHttpCompressResponses();
+
         HttpClientParams params = new HttpClientParams();
         params.setParameter(HttpMethodParams.RETRY_HANDLER, new DefaultHttpMethodRetryHandler(
                 settings.getHttpRetries(), false) {
@@ -640,10 +652,19 @@ public class CommonsHttpTransport implements Transport, StatsAware {
                 throw new IllegalStateException(String.format("Method %s cannot contain body - implementation bug", request.method().name()));
             }
             EntityEnclosingMethod entityMethod = (EntityEnclosingMethod) http;
-            entityMethod.setRequestEntity(new BytesArrayRequestEntity(ba));
+            if (compressRequests) {
+                entityMethod.setRequestEntity(new BytesArrayRequestEntity(HttpCompressionTools.gzip(ba)));
+                http.setRequestHeader(HttpCompressionTools.CONTENT_ENCODING, HttpCompressionTools.GZIP);
+            } else {
+                entityMethod.setRequestEntity(new BytesArrayRequestEntity(ba));
+            }
             entityMethod.setContentChunked(false);
         }
 
+        if (compressResponses) {
+            http.setRequestHeader(HttpCompressionTools.ACCEPT_ENCODING, HttpCompressionTools.ACCEPTED_ENCODINGS);
+        }
+
         headers.applyTo(http);
 
         // We don't want a token added from a proxy user to collide with the
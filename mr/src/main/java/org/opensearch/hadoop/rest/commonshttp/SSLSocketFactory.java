@@ -62,7 +62,11 @@ import org.opensearch.hadoop.thirdparty.apache.commons.httpclient.protocol.Secur
 import org.opensearch.hadoop.util.IOUtils;
 import org.opensearch.hadoop.util.StringUtils;
 
-class SSLSocketFactory implements SecureProtocolSocketFactory {
+/**
+ * Builds the {@link SSLContext} described by the connector SSL settings. Exposed so that transports
+ * other than commons-http can share the same keystore/truststore handling.
+ */
+public class SSLSocketFactory implements SecureProtocolSocketFactory {
 
     private static class TrustManagerDelegate implements X509TrustManager {
 
@@ -117,7 +121,7 @@ class SSLSocketFactory implements SecureProtocolSocketFactory {
     private final String trustStorePass;
     private final TrustStrategy trust;
 
-    SSLSocketFactory(Settings settings, SecureSettings secureSettings) {
+    public SSLSocketFactory(Settings settings, SecureSettings secureSettings) {
         sslProtocol = settings.getNetworkSSLProtocol();
 
         keyStoreLocation = settings.getNetworkSSLKeyStoreLocation();
@@ -165,7 +169,7 @@ class SSLSocketFactory implements SecureProtocolSocketFactory {
         return getSSLContext().getSocketFactory().createSocket(host, port, localAddress, localPort);
     }
 
-    private SSLContext getSSLContext() {
+    public SSLContext getSSLContext() {
         if (sslContext == null) {
             sslContext = createSSLContext();
         }
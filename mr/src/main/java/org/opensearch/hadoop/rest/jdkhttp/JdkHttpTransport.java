@@ -0,0 +1,483 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ *
+ * Modifications Copyright OpenSearch Contributors. See
+ * GitHub history for details.
+ */
+package org.opensearch.hadoop.rest.jdkhttp;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.opensearch.hadoop.OpenSearchHadoopIllegalArgumentException;
+import org.opensearch.hadoop.cfg.ConfigurationOptions;
+import org.opensearch.hadoop.cfg.Settings;
+import org.opensearch.hadoop.rest.DelegatingInputStream;
+import org.opensearch.hadoop.rest.HeaderProcessor;
+import org.opensearch.hadoop.rest.OpenSearchHadoopInvalidRequest;
+import org.opensearch.hadoop.rest.OpenSearchHadoopTransportException;
+import org.opensearch.hadoop.rest.Request;
+import org.opensearch.hadoop.rest.Response;
+import org.opensearch.hadoop.rest.SimpleResponse;
+import org.opensearch.hadoop.rest.Transport;
+import org.opensearch.hadoop.rest.commonshttp.auth.OpenSearchHadoopAuthPolicies;
+import org.opensearch.hadoop.rest.stats.Stats;
+import org.opensearch.hadoop.rest.stats.StatsAware;
+import org.opensearch.hadoop.security.OpenSearchToken;
+import org.opensearch.hadoop.security.SecureSettings;
+import org.opensearch.hadoop.security.UserProvider;
+import org.opensearch.hadoop.util.ByteSequence;
+import org.opensearch.hadoop.util.StringUtils;
+import org.opensearch.hadoop.util.encoding.HttpCompressionTools;
+import org.opensearch.hadoop.util.encoding.HttpEncodingTools;
+
+import javax.net.ssl.HttpsURLConnection;
+import javax.net.ssl.SSLException;
+import javax.net.ssl.SSLSocketFactory;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.InetSocketAddress;
+import java.net.NoRouteToHostException;
+import java.net.Proxy;
+import java.net.URL;
+import java.net.UnknownHostException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Transport implemented on top of the JDK {@link HttpURLConnection}. Connections are kept alive and pooled
+ * per destination by the JDK itself (see {@code http.keepAlive} and {@code http.maxConnections}) so consecutive
+ * requests, across transports, reuse the same sockets instead of opening one connection per transport.
+ * <p>
+ * Supports SSL, HTTP/HTTPS proxies, basic and API key authentication, custom headers and HTTP compression.
+ * Kerberos (SPNEGO) authentication and authenticated HTTPS/SOCKS proxies are only available through the
+ * commons-http transport.
+ */
+public class JdkHttpTransport implements Transport, StatsAware {
+
+    private static final Log log = LogFactory.getLog(JdkHttpTransport.class);
+
+    private static final String AUTHORIZATION = "Authorization";
+    private static final String PROXY_AUTHORIZATION = "Proxy-Authorization";
+    private static final String CONTENT_TYPE = "Content-Type";
+    private static final String CONTENT_TYPE_JSON = "application/json; charset=UTF-8";
+
+    private final HeaderProcessor headers;
+    protected Stats stats = new Stats();
+    private final String httpInfo;
+    private final String baseUri;
+    private final boolean sslEnabled;
+    private final String pathPrefix;
+    private final boolean compressRequests;
+    private final boolean compressResponses;
+    private final int timeout;
+    private final int retries;
+    private final SSLSocketFactory sslSocketFactory;
+    private final Proxy proxy;
+    private final String proxyAuthorization;
+    private final String basicAuthorization;
+    private final String clusterName;
+    private final UserProvider userProvider;
+    private String proxyInfo = "";
+
+    private static class ResponseInputStream extends DelegatingInputStream {
+
+        ResponseInputStream(InputStream body) {
+            super(body);
+        }
+
+        @Override
+        public int hashCode() {
+            return super.hashCode();
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return super.equals(obj);
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (!isNull()) {
+                try {
+                    // closing (instead of disconnecting) hands the connection back to the keep-alive cache
+                    super.close();
+                } catch (IOException e) {
+                    // silently ignore
+                }
+            }
+        }
+    }
+
+    public JdkHttpTransport(Settings settings, String host) {
+        this(settings, new SecureSettings(settings), host);
+    }
+
+    public JdkHttpTransport(Settings settings, SecureSettings secureSettings, String host) {
+        if (log.isDebugEnabled()) {
+            log.debug("Creating new JdkHttpTransport");
+        }
+        this.clusterName = settings.getClusterInfoOrUnnamedLatest().getClusterName().getName(); // May be a bootstrap client.
+        if (StringUtils.hasText(settings.getSecurityUserProviderClass())) {
+            this.userProvider = UserProvider.create(settings);
+        } else {
+            this.userProvider = null;
+        }
+        httpInfo = host;
+        sslEnabled = settings.getNetworkSSLEnabled();
+        baseUri = escapeUri(host, sslEnabled);
+
+        String pathPref = settings.getNodesPathPrefix();
+        pathPrefix = (StringUtils.hasText(pathPref) ? addLeadingSlashIfNeeded(StringUtils.trimWhitespace(pathPref)) : StringUtils.trimWhitespace(pathPref));
+
+        compressRequests = settings.getNetworkHttpCompressRequests();
+        compressResponses = settings.getNetworkHttpCompressResponses();
+        timeout = (int) settings.getHttpTimeout();
+        retries = settings.getHttpRetries();
+
+        sslSocketFactory = (sslEnabled ? new org.opensearch.hadoop.rest.commonshttp.SSLSocketFactory(settings, secureSettings).getSSLContext().getSocketFactory() : null);
+
+        String[] proxyAuth = new String[1];
+        proxy = setupProxy(settings, secureSettings, proxyAuth);
+        proxyAuthorization = proxyAuth[0];
+
+        basicAuthorization = setupAuth(settings, secureSettings);
+
+        this.headers = new HeaderProcessor(settings);
+
+        if (log.isTraceEnabled()) {
+            log.trace("Opening HTTP transport to " + httpInfo);
+        }
+    }
+
+    private String setupAuth(Settings settings, SecureSettings secureSettings) {
+        String authorization = null;
+        if (StringUtils.hasText(settings.getNetworkHttpAuthUser())) {
+            authorization = basic(settings.getNetworkHttpAuthUser(), secureSettings.getSecureProperty(ConfigurationOptions.OPENSEARCH_NET_HTTP_AUTH_PASS));
+            if (log.isDebugEnabled()) {
+                log.debug("Using detected HTTP Auth credentials...");
+            }
+        }
+        if (userProvider != null) {
+            if (userProvider.getUser().getOpenSearchToken(clusterName) == null && userProvider.isOpenSearchKerberosEnabled()) {
+                throw new OpenSearchHadoopIllegalArgumentException(String.format(Locale.ROOT,
+                        "Kerberos authentication is not supported by the [%s] transport; set [%s] to [%s] instead",
+                        ConfigurationOptions.OPENSEARCH_NET_TRANSPORT_TYPE_JDK, ConfigurationOptions.OPENSEARCH_NET_TRANSPORT_TYPE,
+                        ConfigurationOptions.OPENSEARCH_NET_TRANSPORT_TYPE_COMMONS));
+            }
+        } else {
+            if (log.isDebugEnabled()) {
+                log.debug("No UserProvider configured. Skipping Token auth settings");
+            }
+        }
+        return authorization;
+    }
+
+    private Proxy setupProxy(Settings settings, SecureSettings secureSettings, String[] proxyAuth) {
+        String proxyHost = null;
+        int proxyPort = -1;
+        String proxyUser = null;
+        String proxyPass = null;
+
+        if (sslEnabled) {
+            if (settings.getNetworkHttpsUseSystemProperties()) {
+                proxyHost = System.getProperty("https.proxyHost");
+                proxyPort = Integer.getInteger("https.proxyPort", -1);
+            }
+            if (StringUtils.hasText(settings.getNetworkProxyHttpsHost())) {
+                proxyHost = settings.getNetworkProxyHttpsHost();
+            }
+            if (settings.getNetworkProxyHttpsPort() > 0) {
+                proxyPort = settings.getNetworkProxyHttpsPort();
+            }
+            proxyUser = settings.getNetworkProxyHttpsUser();
+            proxyPass = secureSettings.getSecureProperty(ConfigurationOptions.OPENSEARCH_NET_PROXY_HTTPS_PASS);
+        }
+        else {
+            if (settings.getNetworkHttpUseSystemProperties()) {
+                proxyHost = System.getProperty("http.proxyHost");
+                proxyPort = Integer.getInteger("http.proxyPort", -1);
+            }
+            if (StringUtils.hasText(settings.getNetworkProxyHttpHost())) {
+                proxyHost = settings.getNetworkProxyHttpHost();
+            }
+            if (settings.getNetworkProxyHttpPort() > 0) {
+                proxyPort = settings.getNetworkProxyHttpPort();
+            }
+            proxyUser = settings.getNetworkProxyHttpUser();
+            proxyPass = secureSettings.getSecureProperty(ConfigurationOptions.OPENSEARCH_NET_PROXY_HTTP_PASS);
+        }
+
+        if (StringUtils.hasText(proxyHost)) {
+            proxyInfo = String.format(Locale.ROOT, "[%s proxy %s:%s]", (sslEnabled ? "HTTPS" : "HTTP"), proxyHost, proxyPort);
+            if (StringUtils.hasText(proxyUser)) {
+                // the JDK only authenticates CONNECT tunnels through a JVM-wide Authenticator
+                if (sslEnabled) {
+                    throw new OpenSearchHadoopIllegalArgumentException(String.format(Locale.ROOT,
+                            "Authenticated HTTPS proxies are not supported by the [%s] transport; set [%s] to [%s] instead",
+                            ConfigurationOptions.OPENSEARCH_NET_TRANSPORT_TYPE_JDK, ConfigurationOptions.OPENSEARCH_NET_TRANSPORT_TYPE,
+                            ConfigurationOptions.OPENSEARCH_NET_TRANSPORT_TYPE_COMMONS));
+                }
+                if (!StringUtils.hasText(proxyPass)) {
+                    log.warn(String.format("HTTP proxy user specified but no/empty password defined - double check the [%s] property", ConfigurationOptions.OPENSEARCH_NET_PROXY_HTTP_PASS));
+                }
+                proxyAuth[0] = basic(proxyUser, proxyPass);
+            }
+            if (log.isDebugEnabled()) {
+                log.debug(String.format("Using %s%s proxy [%s:%s]", (proxyAuth[0] != null ? "authenticated " : ""), (sslEnabled ? "HTTPS" : "HTTP"), proxyHost, proxyPort));
+            }
+            return new Proxy(Proxy.Type.HTTP, new InetSocketAddress(proxyHost, proxyPort > 0 ? proxyPort : (sslEnabled ? 443 : 80)));
+        }
+
+        proxyHost = null;
+        proxyPort = -1;
+        proxyUser = null;
+        if (settings.getNetworkHttpUseSystemProperties()) {
+            proxyHost = System.getProperty("socksProxyHost");
+            proxyPort = Integer.getInteger("socksProxyPort", -1);
+            proxyUser = System.getProperty("java.net.socks.username");
+        }
+        if (StringUtils.hasText(settings.getNetworkProxySocksHost())) {
+            proxyHost = settings.getNetworkProxySocksHost();
+        }
+        if (settings.getNetworkProxySocksPort() > 0) {
+            proxyPort = settings.getNetworkProxySocksPort();
+        }
+        if (StringUtils.hasText(settings.getNetworkProxySocksUser())) {
+            proxyUser = settings.getNetworkProxySocksUser();
+        }
+
+        if (StringUtils.hasText(proxyHost)) {
+            log.warn("Connecting to OpenSearch through SOCKS proxy is deprecated in 6.6.0 and will be removed in a later release.");
+            if (StringUtils.hasText(proxyUser)) {
+                throw new OpenSearchHadoopIllegalArgumentException(String.format(Locale.ROOT,
+                        "Authenticated SOCKS proxies are not supported by the [%s] transport; set [%s] to [%s] instead",
+                        ConfigurationOptions.OPENSEARCH_NET_TRANSPORT_TYPE_JDK, ConfigurationOptions.OPENSEARCH_NET_TRANSPORT_TYPE,
+                        ConfigurationOptions.OPENSEARCH_NET_TRANSPORT_TYPE_COMMONS));
+            }
+            proxyInfo = String.format(Locale.ROOT, "[SOCKS proxy %s:%s]", proxyHost, proxyPort);
+            if (log.isDebugEnabled()) {
+                log.debug(String.format("Using SOCKS proxy [%s:%s]", proxyHost, proxyPort));
+            }
+            return new Proxy(Proxy.Type.SOCKS, new InetSocketAddress(proxyHost, proxyPort > 0 ? proxyPort : 1080));
+        }
+
+        // system properties (if enabled) have already been considered, do not let the JVM pick its own proxy
+        return Proxy.NO_PROXY;
+    }
+
+    @Override
+    public Response execute(Request request) throws IOException {
+        String method = request.method().name();
+
+        StringBuilder target = new StringBuilder();
+        CharSequence uri = request.uri();
+        if (StringUtils.hasText(uri)) {
+            if (String.valueOf(uri).contains("?")) {
+                throw new OpenSearchHadoopInvalidRequest("URI has query portion on it: [" + uri + "]");
+            }
+            target.append(stripTrailingSlash(escapeUri(uri.toString(), sslEnabled)));
+        } else {
+            target.append(stripTrailingSlash(baseUri));
+        }
+
+        // add node prefix (if specified)
+        String path = pathPrefix + addLeadingSlashIfNeeded(request.path().toString());
+        if (path.contains("?")) {
+            throw new OpenSearchHadoopInvalidRequest("Path has query portion on it: [" + path + "]");
+        }
+        target.append(HttpEncodingTools.encodePath(path));
+
+        CharSequence params = request.params();
+        if (StringUtils.hasText(params)) {
+            target.append('?').append(params);
+        }
+
+        URL url;
+        try {
+            url = new URL(target.toString());
+        } catch (IOException ex) {
+            throw new OpenSearchHadoopTransportException("Invalid target URI " + request, ex);
+        }
+
+        ByteSequence ba = request.body();
+        if (ba != null && ba.length() > 0) {
+            if (request.method() == Request.Method.HEAD) {
+                throw new IllegalStateException(String.format("Method %s cannot contain body - implementation bug", method));
+            }
+            // HttpURLConnection silently turns a GET with a body into a POST; make that explicit
+            // (every endpoint used with a GET body accepts POST as well)
+            if (request.method() == Request.Method.GET) {
+                method = Request.Method.POST.name();
+            }
+            if (compressRequests) {
+                ba = HttpCompressionTools.gzip(ba);
+            }
+        } else {
+            ba = null;
+        }
+
+        // when tracing, log everything
+        if (log.isTraceEnabled()) {
+            log.trace(String.format("Tx %s[%s]@[%s][%s]?[%s] w/ payload [%s]", proxyInfo, request.method().name(), httpInfo, request.path(), request.params(), request.body()));
+        }
+
+        long start = System.currentTimeMillis();
+        HttpURLConnection http;
+        int status;
+        try {
+            http = connect(url, method, ba);
+            status = http.getResponseCode();
+        } finally {
+            stats.netTotalTime += (System.currentTimeMillis() - start);
+        }
+
+        InputStream body = (status >= 400 ? http.getErrorStream() : http.getInputStream());
+        if (body == null) {
+            body = new ByteArrayInputStream(new byte[0]);
+        }
+        body = HttpCompressionTools.decompress(body, http.getContentEncoding());
+
+        if (log.isTraceEnabled()) {
+            log.trace(String.format("Rx %s@[%s] [%s-%s]", proxyInfo, httpInfo, status, http.getResponseMessage()));
+        }
+
+        // Parse headers
+        Map<String, List<String>> headers = new HashMap<>();
+        for (Map.Entry<String, List<String>> responseHeader : http.getHeaderFields().entrySet()) {
+            // the status line is returned under the null key
+            if (responseHeader.getKey() != null) {
+                headers.put(responseHeader.getKey(), new ArrayList<>(responseHeader.getValue()));
+            }
+        }
+
+        // the request URI is not set (since it is retried across hosts), so use the http info instead for source
+        return new SimpleResponse(status, new ResponseInputStream(body), httpInfo, headers);
+    }
+
+    /**
+     * Opens the connection and sends the request, retrying (like the commons-http transport) only when the request
+     * could not be sent.
+     */
+    private HttpURLConnection connect(URL url, String method, ByteSequence body) throws IOException {
+        int executionCount = 0;
+        while (true) {
+            HttpURLConnection http = open(url, method, body);
+            executionCount++;
+            try {
+                http.connect();
+            } catch (IOException ex) {
+                if (!isRetryable(ex) || executionCount > retries) {
+                    throw ex;
+                }
+                stats.netRetries++;
+                if (log.isDebugEnabled()) {
+                    log.debug(String.format("Retrying request to [%s] after connection failure [%s]", httpInfo, ex.getMessage()));
+                }
+                continue;
+            }
+            if (body != null) {
+                try (OutputStream out = http.getOutputStream()) {
+                    body.writeTo(out);
+                }
+            }
+            return http;
+        }
+    }
+
+    private HttpURLConnection open(URL url, String method, ByteSequence body) throws IOException {
+        HttpURLConnection http = (HttpURLConnection) url.openConnection(proxy);
+        if (sslSocketFactory != null && http instanceof HttpsURLConnection) {
+            ((HttpsURLConnection) http).setSSLSocketFactory(sslSocketFactory);
+        }
+        http.setRequestMethod(method);
+        http.setConnectTimeout(timeout);
+        http.setReadTimeout(timeout);
+        http.setUseCaches(false);
+        http.setInstanceFollowRedirects(false);
+
+        headers.applyTo(http);
+
+        if (body != null) {
+            http.setDoOutput(true);
+            http.setFixedLengthStreamingMode(body.length());
+            http.setRequestProperty(CONTENT_TYPE, CONTENT_TYPE_JSON);
+            if (compressRequests) {
+                http.setRequestProperty(HttpCompressionTools.CONTENT_ENCODING, HttpCompressionTools.GZIP);
+            }
+        }
+        if (compressResponses) {
+            http.setRequestProperty(HttpCompressionTools.ACCEPT_ENCODING, HttpCompressionTools.ACCEPTED_ENCODINGS);
+        }
+        if (proxyAuthorization != null) {
+            http.setRequestProperty(PROXY_AUTHORIZATION, proxyAuthorization);
+        }
+
+        String authorization = basicAuthorization;
+        if (userProvider != null) {
+            OpenSearchToken token = userProvider.getUser().getOpenSearchToken(clusterName);
+            if (token != null && StringUtils.hasText(token.getName())) {
+                // API keys are always sent preemptively
+                if (log.isDebugEnabled()) {
+                    log.debug("Performing preemptive authentication with API Token");
+                }
+                authorization = OpenSearchHadoopAuthPolicies.APIKEY + " " + base64(token.getId() + ":" + token.getApiKey());
+            }
+        }
+        if (authorization != null) {
+            http.setRequestProperty(AUTHORIZATION, authorization);
+        }
+        return http;
+    }
+
+    private static boolean isRetryable(IOException ex) {
+        // same exclusions as the commons-http default retry handler
+        return !(ex instanceof InterruptedIOException || ex instanceof UnknownHostException
+                || ex instanceof NoRouteToHostException || ex instanceof SSLException);
+    }
+
+    private static String basic(String user, String pass) {
+        return "Basic " + base64(user + ":" + (pass != null ? pass : ""));
+    }
+
+    private static String base64(String value) {
+        return new String(Base64.getEncoder().encode(value.getBytes(StringUtils.UTF_8)), StringUtils.UTF_8);
+    }
+
+    @Override
+    public void close() {
+        // connections are owned by the JDK keep-alive cache; responses release them once their body is closed
+        if (log.isTraceEnabled()) {
+            log.trace("Closing HTTP transport to " + httpInfo);
+        }
+    }
+
+    private static String escapeUri(String uri, boolean ssl) {
+        // escape the uri right away
+        String escaped = HttpEncodingTools.encodeUri(uri);
+        return escaped.contains("://") ? escaped : (ssl ? "https://" : "http://") + escaped;
+    }
+
+    private static String stripTrailingSlash(String string) {
+        return string.endsWith("/") ? string.substring(0, string.length() - 1) : string;
+    }
+
+    private static String addLeadingSlashIfNeeded(String string) {
+        return string.startsWith("/") ? string : "/" + string;
+    }
+
+    @Override
+    public Stats stats() {
+        return stats;
+    }
+}
@@ -0,0 +1,33 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ *
+ * Modifications Copyright OpenSearch Contributors. See
+ * GitHub history for details.
+ */
+package org.opensearch.hadoop.rest.jdkhttp;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.opensearch.hadoop.cfg.Settings;
+import org.opensearch.hadoop.rest.Transport;
+import org.opensearch.hadoop.rest.TransportFactory;
+import org.opensearch.hadoop.security.SecureSettings;
+
+/**
+ * Creates regular instances of {@link JdkHttpTransport}
+ */
+public class JdkHttpTransportFactory implements TransportFactory {
+
+    private final Log log = LogFactory.getLog(this.getClass());
+
+    @Override
+    public Transport create(Settings settings, SecureSettings secureSettings, String hostInfo) {
+        if (log.isDebugEnabled()) {
+            log.debug("Creating new JdkHttpTransport");
+        }
+        return new JdkHttpTransport(settings, secureSettings, hostInfo);
+    }
+}
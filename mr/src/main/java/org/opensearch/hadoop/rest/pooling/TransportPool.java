@@ -31,12 +31,14 @@ package org.opensearch.hadoop.rest.pooling;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.opensearch.hadoop.OpenSearchHadoopIllegalStateException;
+import org.opensearch.hadoop.cfg.ConfigurationOptions;
 import org.opensearch.hadoop.cfg.Settings;
 import org.opensearch.hadoop.rest.Request;
 import org.opensearch.hadoop.rest.Response;
 import org.opensearch.hadoop.rest.SimpleRequest;
 import org.opensearch.hadoop.rest.Transport;
 import org.opensearch.hadoop.rest.commonshttp.CommonsHttpTransport;
+import org.opensearch.hadoop.rest.jdkhttp.JdkHttpTransport;
 import org.opensearch.hadoop.rest.stats.Stats;
 import org.opensearch.hadoop.security.SecureSettings;
 import org.opensearch.hadoop.util.unit.TimeValue;
@@ -49,7 +51,7 @@ import java.util.Map;
 
 /**
  * A basic connection pool meant for allocating {@link Transport} objects.
- * This only supports pooling of the {@link CommonsHttpTransport} object at this time.
+ * This supports pooling of the {@link CommonsHttpTransport} and {@link JdkHttpTransport} objects.
  */
 final class TransportPool {
 
@@ -94,6 +96,12 @@ final class TransportPool {
      * @return a new Transport for use in the pool.
      */
     private PooledTransport create() {
+        if (ConfigurationOptions.OPENSEARCH_NET_TRANSPORT_TYPE_JDK.equals(transportSettings.getNetworkTransportType())) {
+            if (log.isDebugEnabled()) {
+                log.debug("Creating new pooled JdkHttpTransport for host ["+hostName+"] belonging to job ["+jobPoolingKey+"]");
+            }
+            return new PooledJdkHttpTransport(transportSettings, secureSettings, hostName);
+        }
         if (log.isDebugEnabled()) {
             log.debug("Creating new pooled CommonsHttpTransport for host ["+hostName+"] belonging to job ["+jobPoolingKey+"]");
         }
@@ -293,4 +301,28 @@ final class TransportPool {
             return "PooledCommonsHttpTransport{'" + loggingHostInformation + "'}";
         }
     }
+
+    /**
+     * A subclass of {@link JdkHttpTransport} that allows us to
+     * clean up stuff like the 'stats' member before returning the
+     * transport to the pool.
+     */
+    private final class PooledJdkHttpTransport extends JdkHttpTransport implements PooledTransport {
+        private final String loggingHostInformation;
+
+        PooledJdkHttpTransport(Settings settings, SecureSettings secureSettings, String host) {
+            super(settings, secureSettings, host);
+            this.loggingHostInformation = host;
+        }
+
+        @Override
+        public void clean() {
+            this.stats = new Stats();
+        }
+
+        @Override
+        public String toString() {
+            return "PooledJdkHttpTransport{'" + loggingHostInformation + "'}";
+        }
+    }
 }
\ No newline at end of file
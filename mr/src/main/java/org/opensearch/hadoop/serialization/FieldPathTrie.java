@@ -0,0 +1,115 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ *
+ * Modifications Copyright OpenSearch Contributors. See
+ * GitHub history for details.
+ */
+
+package org.opensearch.hadoop.serialization;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.opensearch.hadoop.serialization.dto.mapping.Field;
+import org.opensearch.hadoop.serialization.dto.mapping.Mapping;
+import org.opensearch.hadoop.serialization.field.FieldFilter;
+
+/**
+ * Trie of the field paths read from the hits. Each node resolves, once per path instead of once per field
+ * per hit, its absolute name, mapped type and whether it is filtered out or read as an array.
+ * Mapped paths are added upfront while the unmapped ones are added as they are encountered, up to a limit
+ * past which they are resolved on every access (to cope with documents using arbitrary keys).
+ */
+final class FieldPathTrie {
+
+    static final int MAX_NODES = 10000;
+
+    private final Map<String, FieldType> esMapping;
+    private final boolean ignoreUnmappedFields;
+    private final List<FieldFilter.NumberedInclude> includeFields;
+    private final List<String> excludeFields;
+    private final List<FieldFilter.NumberedInclude> includeArrayFields;
+
+    private final Node root;
+    private int size = 0;
+
+    final class Node {
+        final String name;
+        final String absoluteName;
+        final FieldType type;
+        final boolean skip;
+        final boolean array;
+        private Map<String, Node> children;
+
+        private Node() {
+            this.name = null;
+            this.absoluteName = null;
+            this.type = null;
+            this.skip = false;
+            this.array = false;
+        }
+
+        private Node(Node parent, String name) {
+            this.name = name;
+            this.absoluteName = (parent == root ? name : parent.absoluteName + "." + name);
+            this.type = esMapping.get(absoluteName);
+            // if ignoring unmapped fields, the filters are already applied
+            this.skip = (ignoreUnmappedFields ? !esMapping.containsKey(absoluteName)
+                    : !FieldFilter.filter(absoluteName, includeFields, excludeFields).matched);
+            this.array = !includeArrayFields.isEmpty() && FieldFilter.filter(absoluteName, includeArrayFields, null, false).matched;
+        }
+
+        Node child(String childName) {
+            Node child = (children != null ? children.get(childName) : null);
+            if (child == null) {
+                child = new Node(this, childName);
+                if (size < MAX_NODES) {
+                    if (children == null) {
+                        children = new HashMap<String, Node>();
+                    }
+                    children.put(childName, child);
+                    size++;
+                }
+            }
+            return child;
+        }
+    }
+
+    FieldPathTrie(Mapping mapping, boolean ignoreUnmappedFields, List<FieldFilter.NumberedInclude> includeFields,
+                  List<String> excludeFields, List<FieldFilter.NumberedInclude> includeArrayFields) {
+        this.esMapping = (mapping != null ? mapping.flatten() : Collections.<String, FieldType> emptyMap());
+        this.ignoreUnmappedFields = ignoreUnmappedFields;
+        this.includeFields = includeFields;
+        this.excludeFields = excludeFields;
+        this.includeArrayFields = (includeArrayFields != null ? includeArrayFields : Collections.<FieldFilter.NumberedInclude> emptyList());
+        this.root = new Node();
+
+        if (mapping != null) {
+            for (Field field : mapping.getFields()) {
+                add(root, field);
+            }
+        }
+    }
+
+    private void add(Node parent, Field field) {
+        Node node = parent.child(field.name());
+        if (FieldType.isCompound(field.type())) {
+            for (Field nested : field.properties()) {
+                add(node, nested);
+            }
+        }
+    }
+
+    Node root() {
+        return root;
+    }
+
+    int size() {
+        return size;
+    }
+}
@@ -131,6 +131,34 @@ public enum FieldType {
         return (GEO_POINT == fieldType || GEO_SHAPE == fieldType);
     }
 
+    /**
+     * Fields whose values can be fetched from doc values (through {@code docvalue_fields}) instead of {@code _source}.
+     */
+    public static boolean hasDocValues(FieldType fieldType) {
+        if (fieldType == null) {
+            return false;
+        }
+        switch (fieldType) {
+        case BOOLEAN:
+        case BYTE:
+        case SHORT:
+        case INTEGER:
+        case LONG:
+        case FLOAT:
+        case DOUBLE:
+        case HALF_FLOAT:
+        case SCALED_FLOAT:
+        case TOKEN_COUNT:
+        case DATE:
+        case DATE_NANOS:
+        case KEYWORD:
+        case IP:
+            return true;
+        default:
+            return false;
+        }
+    }
+
     public LinkedHashSet<FieldType> getCastingTypes() {
         LinkedHashSet<FieldType> types = CAST_HIERARCHY.get(this);
         if (types == null) {
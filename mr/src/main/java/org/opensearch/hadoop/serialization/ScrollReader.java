@@ -33,17 +33,22 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.NoSuchElementException;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.opensearch.hadoop.OpenSearchHadoopException;
 import org.opensearch.hadoop.OpenSearchHadoopIllegalArgumentException;
+import org.opensearch.hadoop.cfg.ConfigurationOptions;
 import org.opensearch.hadoop.handler.OpenSearchHadoopAbortHandlerException;
 import org.opensearch.hadoop.handler.HandlerResult;
 import org.opensearch.hadoop.rest.OpenSearchHadoopParsingException;
+import org.opensearch.hadoop.rest.stats.Stats;
+import org.opensearch.hadoop.rest.stats.StatsAware;
 import org.opensearch.hadoop.serialization.Parser.NumberType;
 import org.opensearch.hadoop.serialization.Parser.Token;
 import org.opensearch.hadoop.serialization.builder.ValueParsingCallback;
@@ -59,6 +64,7 @@ import org.opensearch.hadoop.util.Assert;
 import org.opensearch.hadoop.util.BytesArray;
 import org.opensearch.hadoop.util.FastByteArrayInputStream;
 import org.opensearch.hadoop.util.IOUtils;
+import org.opensearch.hadoop.util.RetainingInputStream;
 import org.opensearch.hadoop.util.StringUtils;
 
 /**
@@ -145,7 +151,7 @@ public class ScrollReader implements Closeable {
         }
     }
 
-    public static class Scroll {
+    public static class Scroll implements Closeable {
         static Scroll empty(String scrollId) {
             return new Scroll(scrollId, 0L, true);
         }
@@ -156,6 +162,7 @@ public class ScrollReader implements Closeable {
         private final boolean concluded;
         private final int numberOfHits;
         private final int numberOfSkippedHits;
+        private final Object[] searchAfter;
 
         public Scroll(String scrollId, long total, boolean concluded) {
             this.scrollId = scrollId;
@@ -164,15 +171,21 @@ public class ScrollReader implements Closeable {
             this.concluded = concluded;
             this.numberOfHits = 0;
             this.numberOfSkippedHits = 0;
+            this.searchAfter = null;
         }
 
         public Scroll(String scrollId, long total, List<Object[]> hits, int responseHits, int skippedHits) {
+            this(scrollId, total, hits, responseHits, skippedHits, null);
+        }
+
+        public Scroll(String scrollId, long total, List<Object[]> hits, int responseHits, int skippedHits, Object[] searchAfter) {
             this.scrollId = scrollId;
             this.hits = hits;
             this.total = total;
             this.concluded = false;
             this.numberOfHits = responseHits;
             this.numberOfSkippedHits = skippedHits;
+            this.searchAfter = searchAfter;
         }
 
         public String getScrollId() {
@@ -187,6 +200,22 @@ public class ScrollReader implements Closeable {
             return hits;
         }
 
+        /**
+         * @return the hits of the page; for streamed pages these are parsed as they are iterated
+         */
+        public Iterator<Object[]> iterator() {
+            return hits.iterator();
+        }
+
+        /**
+         * Indicates whether the hits of this page are read from the response as they are iterated. For such pages
+         * the hits can be iterated only once, and the page is concluded, its number of hits and its sort values are
+         * known only after all its hits have been consumed.
+         */
+        public boolean isStreamed() {
+            return false;
+        }
+
         public boolean isConcluded() {
             return concluded;
         }
@@ -198,28 +227,172 @@ public class ScrollReader implements Closeable {
         public int getNumberOfSkippedHits() {
             return numberOfSkippedHits;
         }
+
+        /**
+         * @return the sort values of the last hit when reading a point in time, null otherwise
+         */
+        public Object[] getSearchAfter() {
+            return searchAfter;
+        }
+
+        /**
+         * Releases the response backing the page (if any).
+         */
+        @Override
+        public void close() {
+            // nothing to release
+        }
+    }
+
+    /**
+     * Page whose hits are parsed from the response as they are iterated. Only the bytes of the hit currently being
+     * read are retained, so that the raw JSON of the hit can be returned and handed over to the error handlers.
+     */
+    private class StreamedScroll extends Scroll implements Iterator<Object[]>, StatsAware {
+
+        private final InputStream content;
+        private final RetainingInputStream input;
+        private final Parser parser;
+        private final boolean pointInTime;
+        private final BytesArray doc;
+
+        private Object[] next;
+        private boolean done = false;
+        private boolean closed = false;
+        private int responseHits = 0;
+        private int skippedHits = 0;
+        private Object[] searchAfter;
+
+        StreamedScroll(String scrollId, long total, InputStream content, RetainingInputStream input, Parser parser, boolean pointInTime) {
+            super(scrollId, total, false);
+            this.content = content;
+            this.input = input;
+            this.parser = parser;
+            this.pointInTime = pointInTime;
+            this.doc = (returnRawJson ? new BytesArray(128) : null);
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (next == null && !done) {
+                advance();
+            }
+            return next != null;
+        }
+
+        @Override
+        public Object[] next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException("No more hits available");
+            }
+            Object[] hit = next;
+            next = null;
+            return hit;
+        }
+
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException("read-only operator");
+        }
+
+        private void advance() {
+            Assert.isTrue(!closed, "Streamed scroll page already closed");
+            for (Token token = parser.nextToken(); token != Token.END_ARRAY; token = parser.nextToken()) {
+                responseHits++;
+                // the previous hits are not needed anymore
+                input.release(parser.tokenCharOffset());
+                Object[] hit = readHit(parser, input.retained(), input.retainedStart());
+                if (hit != null) {
+                    if (returnRawJson) {
+                        hit[1] = rawJson((JsonResult) hit[1], input.retained(), input.retainedStart(), doc);
+                    }
+                    next = hit;
+                    return;
+                }
+                skippedHits++;
+            }
+
+            done = true;
+            // the last hit (if any) is still retained, starting with its sort values
+            if (pointInTime && responseHits > 0) {
+                searchAfter = readSortValues(input.retained(), input.retainedStart(), input.retainedStart());
+            }
+            close();
+        }
+
+        @Override
+        public List<Object[]> getHits() {
+            throw new UnsupportedOperationException("The hits of a streamed page can only be iterated");
+        }
+
+        @Override
+        public Iterator<Object[]> iterator() {
+            return this;
+        }
+
+        @Override
+        public boolean isStreamed() {
+            return true;
+        }
+
+        @Override
+        public boolean isConcluded() {
+            // no hits in the response means the scroll has concluded
+            return done && responseHits == 0;
+        }
+
+        @Override
+        public int getNumberOfHits() {
+            return responseHits;
+        }
+
+        @Override
+        public int getNumberOfSkippedHits() {
+            return skippedHits;
+        }
+
+        @Override
+        public Object[] getSearchAfter() {
+            return searchAfter;
+        }
+
+        @Override
+        public void close() {
+            if (!closed) {
+                closed = true;
+                // closes the underlying response as well
+                parser.close();
+            }
+        }
+
+        @Override
+        public Stats stats() {
+            return (content instanceof StatsAware ? ((StatsAware) content).stats() : new Stats());
+        }
     }
 
     private static final Log log = LogFactory.getLog(ScrollReader.class);
 
     private final ValueReader reader;
     private final ValueParsingCallback parsingCallback;
-    private final Map<String, FieldType> esMapping;
+    private final FieldPathTrie fieldPaths;
     private final boolean trace = log.isTraceEnabled();
     private final boolean readMetadata;
     private boolean inMetadataSection;
     private final String metadataField;
     private final boolean returnRawJson;
     private final boolean ignoreUnmappedFields;
+    private final boolean streaming;
+    private final boolean readDocValues;
 
     private boolean insideGeo = false;
 
-    private final List<FieldFilter.NumberedInclude> includeFields;
-    private final List<String> excludeFields;
-    private final List<FieldFilter.NumberedInclude> includeArrayFields;
     private List<IDeserializationErrorHandler> deserializationErrorHandlers;
 
     private static final String[] SCROLL_ID = new String[] { "_scroll_id" };
+    private static final String PIT_ID_FIELD = "pit_id";
+    private static final String[] PIT_ID = new String[] { PIT_ID_FIELD };
+    private static final String[] SORT = new String[] { "sort" };
     private static final String[] HITS = new String[] { "hits" };
     private static final String ID_FIELD = "_id";
     private static final String[] ID = new String[] { ID_FIELD };
@@ -235,20 +408,16 @@ public class ScrollReader implements Closeable {
         this.metadataField = scrollConfig.getMetadataName();
         this.returnRawJson = scrollConfig.getReturnRawJson();
         this.ignoreUnmappedFields = scrollConfig.getIgnoreUnmappedFields();
-        this.includeFields = FieldFilter.toNumberedFilter(scrollConfig.getIncludeFields());
-        this.excludeFields = scrollConfig.getExcludeFields();
-        this.includeArrayFields = FieldFilter.toNumberedFilter(scrollConfig.getIncludeArrayFields());
+        this.streaming = scrollConfig.getStreaming();
+        this.readDocValues = scrollConfig.getReadDocValues();
 
         Mapping mapping = scrollConfig.getResolvedMapping();
-        if (mapping != null) {
-            // optimize filtering
-            if (ignoreUnmappedFields) {
-                mapping = mapping.filter(scrollConfig.getIncludeFields(), scrollConfig.getExcludeFields());
-            }
-            this.esMapping = mapping.flatten();
-        } else {
-            this.esMapping = Collections.emptyMap();
+        // optimize filtering
+        if (mapping != null && ignoreUnmappedFields) {
+            mapping = mapping.filter(scrollConfig.getIncludeFields(), scrollConfig.getExcludeFields());
         }
+        this.fieldPaths = new FieldPathTrie(mapping, ignoreUnmappedFields, FieldFilter.toNumberedFilter(scrollConfig.getIncludeFields()),
+                scrollConfig.getExcludeFields(), FieldFilter.toNumberedFilter(scrollConfig.getIncludeArrayFields()));
 
         this.deserializationErrorHandlers = scrollConfig.getErrorHandlerLoader().loadHandlers();
     }
@@ -256,6 +425,10 @@ public class ScrollReader implements Closeable {
     public Scroll read(InputStream content) throws IOException {
         Assert.notNull(content);
 
+        if (streaming) {
+            return stream(content);
+        }
+
         //copy content
         BytesArray copy = IOUtils.asBytes(content);
         content = new FastByteArrayInputStream(copy);
@@ -274,8 +447,8 @@ public class ScrollReader implements Closeable {
     }
 
     private Scroll read(Parser parser, BytesArray input) {
-        // get scroll_id
-        Token token = ParsingUtils.seek(parser, SCROLL_ID);
+        // get scroll_id (or pit_id when paging through a point in time)
+        Token token = ParsingUtils.seek(parser, SCROLL_ID, PIT_ID);
         if (token == null) { // no scroll id is returned for frozen indices
             if (log.isTraceEnabled()) {
                 log.info("No scroll id found, likely because the index is frozen");
@@ -283,6 +456,7 @@ public class ScrollReader implements Closeable {
             return null;
         }
         Assert.isTrue(token == Token.VALUE_STRING, "invalid response");
+        boolean pointInTime = PIT_ID_FIELD.equals(parser.currentName());
         String scrollId = parser.text();
 
         long totalHits = hitsTotal(parser);
@@ -300,123 +474,184 @@ public class ScrollReader implements Closeable {
         List<Object[]> results = new ArrayList<Object[]>();
         int responseHits = 0;
         int skippedHits = 0;
-        int readHits = 0;
+        int lastHitStart = -1;
+        BytesArray doc = (returnRawJson ? new BytesArray(128) : null);
         for (token = parser.nextToken(); token != Token.END_ARRAY; token = parser.nextToken()) {
             responseHits++;
-            Object[] hit = readHit(parser, input);
+            lastHitStart = parser.tokenCharOffset();
+            Object[] hit = readHit(parser, input, 0);
             if (hit != null) {
-                readHits++;
+                if (returnRawJson) {
+                    // convert the char positions into actual content
+                    hit[1] = rawJson((JsonResult) hit[1], input, 0, doc);
+                }
                 results.add(hit);
             } else {
                 skippedHits++;
             }
         }
 
-        // convert the char positions into actual content
-        if (returnRawJson) {
-            // get all the longs
-            int[] pos = new int[results.size() * 6];
-            int offset = 0;
+        if (responseHits > 0) {
+            Object[] searchAfter = (pointInTime ? readSortValues(input, 0, lastHitStart) : null);
+            return new Scroll(scrollId, totalHits, results, responseHits, skippedHits, searchAfter);
+        } else {
+            // Scroll had no hits in the response, it must have concluded.
+            return new Scroll(scrollId, totalHits, true);
+        }
+    }
 
-            List<int[]> fragmentsPos = new ArrayList<int[]>(results.size());
+    /**
+     * Reads the head of the response (the scroll or point in time id and the total hits) and returns a page whose hits
+     * are parsed from the stream as they are iterated. Only the hit being read is kept in memory.
+     */
+    private Scroll stream(InputStream content) throws IOException {
+        RetainingInputStream input = new RetainingInputStream(content);
+        Parser parser = new JacksonJsonParser(input);
 
-            for (Object[] result : results) {
-                int[] asCharPos = ((JsonResult) result[1]).asCharPos();
-                // remember the positions to easily replace the fragment later on
-                fragmentsPos.add(asCharPos);
-                // copy them into the lookup array
-                System.arraycopy(asCharPos, 0, pos, offset, asCharPos.length);
-                offset += asCharPos.length;
+        boolean streamed = false;
+        try {
+            Token token = ParsingUtils.seek(parser, SCROLL_ID, PIT_ID);
+            if (token == null) { // no scroll id is returned for frozen indices
+                if (log.isTraceEnabled()) {
+                    log.info("No scroll id found, likely because the index is frozen");
+                }
+                return null;
             }
-            // convert them into byte positions
-            //int[] bytesPosition = BytesUtils.charToBytePosition(input, pos);
-            int[] bytesPosition = pos;
-
-            int bytesPositionIndex = 0;
-
-            BytesArray doc = new BytesArray(128);
-            // replace the fragments with the actual json
-
-            // trimming is currently disabled since it appears mainly within fields and not outside of it
-            // in other words in needs to be treated when the fragments are constructed
-            for (int fragmentIndex = 0; fragmentIndex < fragmentsPos.size(); fragmentIndex++ ) {
+            Assert.isTrue(token == Token.VALUE_STRING, "invalid response");
+            boolean pointInTime = PIT_ID_FIELD.equals(parser.currentName());
+            String scrollId = parser.text();
 
-                Object[] result = results.get(fragmentIndex);
-                JsonResult jsonPointers = (JsonResult) result[1];
+            long totalHits = hitsTotal(parser);
+            if (totalHits == 0) {
+                return Scroll.empty(scrollId);
+            }
 
-                // current fragment of doc + metadata (prefix + suffix)
-                // used to iterate through the byte array pointers
-                int[] fragmentPos = fragmentsPos.get(fragmentIndex);
-                int currentFragmentIndex = 0;
+            token = ParsingUtils.seek(parser, HITS);
+            Assert.isTrue(token == Token.START_ARRAY, "invalid response");
 
-                int rangeStart, rangeStop;
+            streamed = true;
+            return new StreamedScroll(scrollId, totalHits, content, input, parser, pointInTime);
+        } finally {
+            if (!streamed) {
+                parser.close();
+            }
+        }
+    }
 
-                doc.add('{');
-                // first add the doc
-                if (jsonPointers.hasDoc()) {
-                    rangeStart = bytesPosition[bytesPositionIndex];
-                    rangeStop = bytesPosition[bytesPositionIndex + 1];
+    /**
+     * Assembles the raw JSON of a hit (its source followed, if needed, by its metadata) out of the recorded positions.
+     *
+     * @param input the content the positions point into
+     * @param base absolute position of the first byte of the given input
+     * @param doc scratch buffer
+     */
+    private Object rawJson(JsonResult jsonPointers, BytesArray input, int base, BytesArray doc) {
+        // current fragment of doc + metadata (prefix + suffix)
+        int[] fragmentPos = jsonPointers.asCharPos();
+        int currentFragmentIndex = 0;
+
+        int rangeStart, rangeStop;
+
+        doc.reset();
+        doc.add('{');
+        // first add the doc
+        if (jsonPointers.hasDoc()) {
+            rangeStart = fragmentPos[0];
+            rangeStop = fragmentPos[1];
+
+            if (rangeStop - rangeStart < 0) {
+                throw new IllegalArgumentException(String.format("Invalid position given=%s %s",rangeStart, rangeStop));
+            }
 
-                    if (rangeStop - rangeStart < 0) {
-                        throw new IllegalArgumentException(String.format("Invalid position given=%s %s",rangeStart, rangeStop));
-                    }
+            // trimming is currently disabled since it appears mainly within fields and not outside of it
+            // in other words in needs to be treated when the fragments are constructed
+            doc.add(input.bytes(), rangeStart - base, rangeStop - rangeStart);
 
-                    // trim
-                    //rangeStart = BytesUtils.trimLeft(input.bytes(), rangeStart, rangeStop);
-                    //rangeStop = BytesUtils.trimRight(input.bytes(), rangeStart, rangeStop);
+            // consumed doc pointers
+            currentFragmentIndex += 2;
+        }
+        // followed by the metadata under designed field
+        if (readMetadata) {
+            if (jsonPointers.hasDoc()) {
+                doc.add(',');
+            }
+            doc.add('"');
+            doc.add(StringUtils.jsonEncoding(metadataField));
+            doc.add('"');
+            doc.add(':');
+            doc.add('{');
+
+            // consume metadata
+            for (; currentFragmentIndex < fragmentPos.length; currentFragmentIndex += 2) {
+                rangeStart = fragmentPos[currentFragmentIndex];
+                rangeStop = fragmentPos[currentFragmentIndex + 1];
+
+                if (rangeStop - rangeStart < 0) {
+                    throw new IllegalArgumentException(String.format("Invalid position given=%s %s",rangeStart, rangeStop));
+                }
 
-                    doc.add(input.bytes(), rangeStart, rangeStop - rangeStart);
+                doc.add(input.bytes(), rangeStart - base, rangeStop - rangeStart);
+            }
+            doc.add('}');
+        }
+        doc.add('}');
 
-                    // consumed doc pointers
-                    currentFragmentIndex += 2;
-                    bytesPositionIndex += 2;
+        return reader.wrapString(doc.toString());
+    }
 
-                }
-                // followed by the metadata under designed field
-                if (readMetadata) {
-                    if (jsonPointers.hasDoc()) {
-                        doc.add(',');
-                    }
-                    doc.add('"');
-                    doc.add(StringUtils.jsonEncoding(metadataField));
-                    doc.add('"');
-                    doc.add(':');
-                    doc.add('{');
-
-                    // consume metadata
-                    for (; currentFragmentIndex < fragmentPos.length; currentFragmentIndex += 2) {
-                        rangeStart = bytesPosition[bytesPositionIndex];
-                        rangeStop = bytesPosition[bytesPositionIndex + 1];
-                        // trim
-                        //rangeStart = BytesUtils.trimLeft(input.bytes(), rangeStart, rangeStop);
-                        //rangeStop = BytesUtils.trimRight(input.bytes(), rangeStart, rangeStop);
-
-                        if (rangeStop - rangeStart < 0) {
-                            throw new IllegalArgumentException(String.format("Invalid position given=%s %s",rangeStart, rangeStop));
+    /**
+     * Re-reads the sort values of the hit starting at the given position so they can be passed as
+     * <code>search_after</code> for the next page.
+     */
+    private Object[] readSortValues(BytesArray input, int base, int hitStart) {
+        int from = hitStart - base;
+        Parser hitParser = new JacksonJsonParser(input.bytes(), from, input.length() - from);
+        try {
+            Token t = ParsingUtils.seek(hitParser, SORT);
+            if (t != Token.START_ARRAY) {
+                throw new OpenSearchHadoopParsingException("No sort values found for the last hit of the point in time page");
+            }
+            List<Object> values = new ArrayList<Object>(1);
+            for (t = hitParser.nextToken(); t != Token.END_ARRAY; t = hitParser.nextToken()) {
+                switch (t) {
+                    case VALUE_NUMBER:
+                        switch (hitParser.numberType()) {
+                            case INT:
+                            case LONG:
+                                values.add(hitParser.longValue());
+                                break;
+                            case FLOAT:
+                            case DOUBLE:
+                                values.add(hitParser.doubleValue());
+                                break;
+                            default:
+                                // big numbers are passed back as strings
+                                values.add(hitParser.text());
                         }
-
-                        doc.add(input.bytes(), rangeStart, rangeStop - rangeStart);
-                        bytesPositionIndex += 2;
-                    }
-                    doc.add('}');
+                        break;
+                    case VALUE_BOOLEAN:
+                        values.add(hitParser.booleanValue());
+                        break;
+                    case VALUE_NULL:
+                        values.add(null);
+                        break;
+                    default:
+                        values.add(hitParser.text());
                 }
-                doc.add('}');
-
-                // replace JsonResult with assembled document
-                result[1] = reader.wrapString(doc.toString());
-                doc.reset();
             }
-        }
-
-        if (responseHits > 0) {
-            return new Scroll(scrollId, totalHits, results, responseHits, skippedHits);
-        } else {
-            // Scroll had no hits in the response, it must have concluded.
-            return new Scroll(scrollId, totalHits, true);
+            return values.toArray();
+        } finally {
+            hitParser.close();
         }
     }
 
-    private Object[] readHit(Parser parser, BytesArray input) {
+    /**
+     * Reads the hit the parser is positioned on.
+     *
+     * @param input the content read so far, used to hand the raw hit over to the error handlers
+     * @param base absolute position of the first byte of the given input
+     */
+    private Object[] readHit(Parser parser, BytesArray input, int base) {
         Token t = parser.currentToken();
         Assert.isTrue(t == Token.START_OBJECT, "expected object, found " + t);
         int hitStartPos = parser.tokenCharOffset();
@@ -449,7 +684,7 @@ public class ScrollReader implements Closeable {
 
                 // slice input data to create an input stream for the handler event
                 int hitEndPos = parser.tokenCharOffset();
-                BytesArray hitSection = new BytesArray(input.bytes(), hitStartPos, hitEndPos - hitStartPos + 1);
+                BytesArray hitSection = new BytesArray(input.bytes(), hitStartPos - base, hitEndPos - hitStartPos + 1);
 
                 // Make error event
                 List<String> passReasons = new ArrayList<String>();
@@ -683,20 +918,14 @@ public class ScrollReader implements Closeable {
         return result;
     }
 
-    private boolean shouldSkip(String absoluteName) {
+    private boolean shouldSkip(FieldPathTrie.Node field) {
         // when parsing geo structures, ignore filtering as depending on the
         // type, JSON can have an object structure
         // especially for geo shapes
         if (insideGeo) {
             return false;
         }
-        // if ignoring unmapped fields, the filters are already applied
-        if (ignoreUnmappedFields) {
-            return !esMapping.containsKey(absoluteName);
-        }
-        else {
-            return !FieldFilter.filter(absoluteName, includeFields, excludeFields).matched;
-        }
+        return field.skip;
     }
 
     private Object[] readHitAsJson(Parser parser) {
@@ -885,8 +1114,12 @@ public class ScrollReader implements Closeable {
         return hits;
     }
 
-    protected Object read(String fieldName, Token t, String fieldMapping, Parser parser) {
+    protected Object read(String fieldName, Token t, FieldPathTrie.Node fieldMapping, Parser parser) {
         if (t == Token.START_ARRAY) {
+            // doc values are always returned as arrays, even for single-valued fields
+            if (readDocValues && !inMetadataSection && !isArrayField(fieldMapping)) {
+                return docValue(fieldName, fieldMapping, parser);
+            }
             return list(fieldName, fieldMapping, parser);
         }
 
@@ -926,7 +1159,7 @@ public class ScrollReader implements Closeable {
     }
 
     // Same as read(String, Token, String) above, but does not include checking the current field name to see if it's an array.
-    protected Object readListItem(String fieldName, Token t, String fieldMapping, Parser parser) {
+    protected Object readListItem(String fieldName, Token t, FieldPathTrie.Node fieldMapping, Parser parser) {
         if (t == Token.START_ARRAY) {
             return list(fieldName, fieldMapping, parser);
         }
@@ -949,14 +1182,25 @@ public class ScrollReader implements Closeable {
         return null;
     }
 
-    private boolean isArrayField(String fieldName) {
-        // Test if the current field is marked as an array field in the include array property
-        if (fieldName != null) {
-            if (includeArrayFields != null && !includeArrayFields.isEmpty()) {
-                return FieldFilter.filter(fieldName, includeArrayFields, null, false).matched;
+    private Object docValue(String fieldName, FieldPathTrie.Node fieldMapping, Parser parser) {
+        // move past START_ARRAY
+        Token t = parser.nextToken();
+        Object value = null;
+        if (t != Token.END_ARRAY) {
+            value = read(fieldName, t, fieldMapping, parser);
+            if (parser.currentToken() != Token.END_ARRAY) {
+                throw new OpenSearchHadoopParsingException(String.format(Locale.ROOT, "Field [%s] has multiple doc values; " +
+                        "declare it through [%s] to read it as an array", fieldName, ConfigurationOptions.OPENSEARCH_READ_FIELD_AS_ARRAY_INCLUDE));
             }
         }
-        return false;
+        // eliminate END_ARRAY
+        parser.nextToken();
+        return value;
+    }
+
+    private boolean isArrayField(FieldPathTrie.Node field) {
+        // Test if the current field is marked as an array field in the include array property
+        return field != null && field.array;
     }
 
     private Object parseValue(Parser parser, FieldType esType) {
@@ -972,7 +1216,7 @@ public class ScrollReader implements Closeable {
         return obj;
     }
 
-    protected Object list(String fieldName, String fieldMapping, Parser parser) {
+    protected Object list(String fieldName, FieldPathTrie.Node fieldMapping, Parser parser) {
         Token t = parser.currentToken();
 
         if (t == null) {
@@ -996,7 +1240,7 @@ public class ScrollReader implements Closeable {
         return array;
     }
 
-    protected Object singletonList(String fieldMapping, Object value, Parser parser) {
+    protected Object singletonList(FieldPathTrie.Node fieldMapping, Object value, Parser parser) {
         Object array = reader.createArray(mapping(fieldMapping, parser));
         // create only one element since with fields, we always get arrays which create unneeded allocations
         List<Object> content = new ArrayList<Object>(1);
@@ -1005,7 +1249,7 @@ public class ScrollReader implements Closeable {
         return array;
     }
 
-    protected Object map(String fieldMapping, Parser parser) {
+    protected Object map(FieldPathTrie.Node fieldMapping, Parser parser) {
         Token t = parser.currentToken();
 
         if (t == null) {
@@ -1029,24 +1273,15 @@ public class ScrollReader implements Closeable {
         }
         Object map = reader.createMap();
 
+        FieldPathTrie.Node parent = (fieldMapping != null ? fieldMapping : fieldPaths.root());
+
         for (; parser.currentToken() != Token.END_OBJECT;) {
             String currentName = parser.currentName();
-            String nodeMapping = fieldMapping;
-
-            if (nodeMapping != null) {
-                nodeMapping = fieldMapping + "." + currentName;
-            }
-            else {
-                nodeMapping = currentName;
-            }
-
-            String absoluteName = StringUtils.stripFieldNameSourcePrefix(parser.absoluteName());
-
-            if (!absoluteName.equals(nodeMapping)) {
-                throw new OpenSearchHadoopParsingException("Different node mapping " + absoluteName + "|" + nodeMapping);
-            }
+            // the path is resolved through the trie instead of being rebuilt from the parser context
+            FieldPathTrie.Node nodeMapping = parent.child(currentName);
+            String absoluteName = nodeMapping.absoluteName;
 
-            if (shouldSkip(absoluteName)) {
+            if (shouldSkip(nodeMapping)) {
                 Token nt = parser.nextToken();
                 if (nt.isValue()) {
                     // consume and move on
@@ -1082,8 +1317,8 @@ public class ScrollReader implements Closeable {
         return map;
     }
 
-    private FieldType mapping(String fieldMapping, Parser parser) {
-        FieldType esType = esMapping.get(fieldMapping);
+    private FieldType mapping(FieldPathTrie.Node fieldMapping, Parser parser) {
+        FieldType esType = (fieldMapping != null ? fieldMapping.type : null);
 
         if (esType != null) {
             return esType;
@@ -64,6 +64,10 @@ public class ScrollReaderConfigBuilder {
     private boolean readMetadata;
     private String metadataName;
 
+    // Response Handling
+    private boolean streaming;
+    private boolean readDocValues;
+
     // Field Filtering
     private List<String> includeFields;
     private List<String> excludeFields;
@@ -82,6 +86,9 @@ public class ScrollReaderConfigBuilder {
         this.includeFields = StringUtils.tokenize(settings.getReadFieldInclude());
         this.excludeFields = StringUtils.tokenize(settings.getReadFieldExclude());
         this.includeArrayFields = StringUtils.tokenize(settings.getReadFieldAsArrayInclude());
+        this.streaming = settings.getScrollStreaming();
+        // only enabled once the fields are known to be read from doc values
+        this.readDocValues = false;
 
         DeserializationHandlerLoader loader = new DeserializationHandlerLoader();
         loader.setSettings(settings);
@@ -167,6 +174,24 @@ public class ScrollReaderConfigBuilder {
         return this;
     }
 
+    public boolean getStreaming() {
+        return streaming;
+    }
+
+    public ScrollReaderConfigBuilder setStreaming(boolean streaming) {
+        this.streaming = streaming;
+        return this;
+    }
+
+    public boolean getReadDocValues() {
+        return readDocValues;
+    }
+
+    public ScrollReaderConfigBuilder setReadDocValues(boolean readDocValues) {
+        this.readDocValues = readDocValues;
+        return this;
+    }
+
     public HandlerLoader<IDeserializationErrorHandler> getErrorHandlerLoader() {
         return errorHandlerLoader;
     }
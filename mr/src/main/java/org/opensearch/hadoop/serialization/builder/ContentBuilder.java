@@ -58,6 +58,10 @@ public class ContentBuilder {
         return new ContentBuilder(new JacksonJsonGenerator(bos), writer);
     }
 
+    public static ContentBuilder generate(Generator generator, ValueWriter writer) {
+        return new ContentBuilder(generator, writer);
+    }
+
     @SuppressWarnings("unchecked")
     public ContentBuilder value(Object value) {
         Result result = writer.write(value, generator);
@@ -36,6 +36,7 @@ import org.opensearch.hadoop.serialization.builder.ContentBuilder;
 import org.opensearch.hadoop.serialization.builder.ValueWriter;
 import org.opensearch.hadoop.serialization.bulk.AbstractBulkFactory.DynamicContentRef;
 import org.opensearch.hadoop.serialization.bulk.AbstractBulkFactory.FieldWriter;
+import org.opensearch.hadoop.serialization.json.JacksonJsonGenerator;
 import org.opensearch.hadoop.util.BytesArray;
 import org.opensearch.hadoop.util.BytesRef;
 import org.opensearch.hadoop.util.FastByteArrayOutputStream;
@@ -50,6 +51,10 @@ class TemplatedBulk implements BulkCommand {
 
     private final ValueWriter valueWriter;
 
+    // generator reused across documents, writing into the scratch pad (created lazily and dropped on failure)
+    private JacksonJsonGenerator generator;
+    private ContentBuilder contentBuilder;
+
     TemplatedBulk(Collection<Object> beforeObject, Collection<Object> afterObject, ValueWriter<?> valueWriter) {
         this.beforeObject = beforeObject;
         this.afterObject = afterObject;
@@ -66,6 +71,9 @@ class TemplatedBulk implements BulkCommand {
         writeTemplate(beforeObject, processed);
         // write object
         doWriteObject(processed, scratchPad, valueWriter);
+        // the document is serialized once into the scratch pad and copied once more into the bulk buffer by
+        // BulkProcessor.add(); it cannot be written straight into the buffer as its size has to be known to flush
+        // beforehand and its action line is needed to pick the buffer when routing to primaries
         ref.add(scratchPad);
         // writer after object
         writeTemplate(afterObject, processed);
@@ -77,8 +85,27 @@ class TemplatedBulk implements BulkCommand {
     }
 
     protected void doWriteObject(Object object, BytesArray storage, ValueWriter<?> writer) {
-        FastByteArrayOutputStream bos = new FastByteArrayOutputStream(storage);
-        ContentBuilder.generate(bos, writer).value(object).flush().close();
+        if (storage != scratchPad || writer != valueWriter) {
+            FastByteArrayOutputStream bos = new FastByteArrayOutputStream(storage);
+            ContentBuilder.generate(bos, writer).value(object).flush().close();
+            return;
+        }
+
+        if (generator == null) {
+            generator = new JacksonJsonGenerator(new FastByteArrayOutputStream(scratchPad), true);
+            contentBuilder = ContentBuilder.generate(generator, valueWriter);
+        }
+        else {
+            generator.reset();
+        }
+        try {
+            contentBuilder.value(object).flush();
+        } catch (RuntimeException ex) {
+            // the generator is left in the middle of the document, start over with a new one
+            generator = null;
+            contentBuilder = null;
+            throw ex;
+        }
     }
 
     protected void writeTemplate(Collection<Object> template, Object object) {
@@ -42,19 +42,29 @@ public class Field implements Serializable {
     private final String name;
     private final FieldType type;
     private final Field[] properties;
+    private final boolean docValues;
 
     public Field(String name, FieldType type) {
         this(name, type, NO_FIELDS);
     }
 
+    public Field(String name, FieldType type, boolean docValues) {
+        this(name, type, NO_FIELDS, docValues);
+    }
+
     public Field(String name, FieldType type, Collection<Field> properties) {
         this(name, type, (properties != null ? properties.toArray(new Field[properties.size()]) : NO_FIELDS));
     }
 
     Field(String name, FieldType type, Field[] properties) {
+        this(name, type, properties, true);
+    }
+
+    Field(String name, FieldType type, Field[] properties, boolean docValues) {
         this.name = name;
         this.type = type;
         this.properties = properties;
+        this.docValues = docValues;
     }
 
     public Field[] properties() {
@@ -69,6 +79,14 @@ public class Field implements Serializable {
         return name;
     }
 
+    /**
+     * Whether the mapping keeps doc values for this field, that is it does not declare {@code "doc_values": false}.
+     * Only meaningful for types that support doc values to begin with (see {@link FieldType#hasDocValues(FieldType)}).
+     */
+    public boolean docValues() {
+        return docValues;
+    }
+
     @Override
     public String toString() {
         return String.format("%s=%s", name, ((type == FieldType.OBJECT || type == FieldType.NESTED) ? Arrays.toString(properties) : type));
@@ -141,7 +141,7 @@ public final class FieldParser {
                     // primitive types are handled on the spot
                     // while compound ones are not
                     if (!FieldType.isCompound(fieldType)) {
-                        return new Field(key, fieldType);
+                        return new Field(key, fieldType, !"false".equals(String.valueOf(content.get("doc_values"))));
                     }
                 }
                 else {
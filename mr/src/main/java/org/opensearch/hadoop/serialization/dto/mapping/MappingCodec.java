@@ -0,0 +1,122 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ *
+ * Modifications Copyright OpenSearch Contributors. See
+ * GitHub history for details.
+ */
+
+package org.opensearch.hadoop.serialization.dto.mapping;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+import javax.xml.bind.DatatypeConverter;
+
+import org.opensearch.hadoop.serialization.FieldType;
+import org.opensearch.hadoop.serialization.OpenSearchHadoopSerializationException;
+import org.opensearch.hadoop.util.BytesArray;
+import org.opensearch.hadoop.util.FastByteArrayInputStream;
+import org.opensearch.hadoop.util.FastByteArrayOutputStream;
+import org.opensearch.hadoop.util.StringUtils;
+
+/**
+ * Compact, versioned encoding of a {@link Mapping}, used to ship the resolved mapping with every partition.
+ * The field tree is written depth first (name, type, doc values flag and number of properties per field), deflated
+ * and finally encoded in base64, instead of relying on Java serialization.
+ */
+public abstract class MappingCodec {
+
+    private static final int VERSION = 2;
+    private static final byte NO_TYPE = -1;
+    private static final FieldType[] TYPES = FieldType.values();
+
+    public static String encode(Mapping mapping) {
+        if (mapping == null) {
+            return StringUtils.EMPTY;
+        }
+        FastByteArrayOutputStream bytes = new FastByteArrayOutputStream(1024);
+        try {
+            DataOutputStream out = new DataOutputStream(new DeflaterOutputStream(bytes));
+            out.writeByte(VERSION);
+            writeOptionalString(out, mapping.getIndex());
+            writeOptionalString(out, mapping.getType());
+            writeFields(out, mapping.getFields());
+            out.close();
+        } catch (IOException ex) {
+            throw new OpenSearchHadoopSerializationException("Cannot encode mapping " + mapping, ex);
+        }
+        BytesArray data = bytes.bytes();
+        return DatatypeConverter.printBase64Binary(Arrays.copyOf(data.bytes(), data.length()));
+    }
+
+    public static Mapping decode(String data) {
+        if (!StringUtils.hasLength(data)) {
+            return null;
+        }
+        DataInputStream in = new DataInputStream(new InflaterInputStream(new FastByteArrayInputStream(DatatypeConverter.parseBase64Binary(data))));
+        try {
+            int version = in.readByte();
+            if (version != VERSION) {
+                throw new OpenSearchHadoopSerializationException(String.format("Unsupported mapping encoding version [%d]", version));
+            }
+            String index = readOptionalString(in);
+            String type = readOptionalString(in);
+            // keep the typeless marker canonical as it is compared by reference
+            if (MappingSet.TYPELESS_MAPPING_NAME.equals(type)) {
+                type = MappingSet.TYPELESS_MAPPING_NAME;
+            }
+            return new Mapping(index, type, readFields(in));
+        } catch (IOException ex) {
+            throw new OpenSearchHadoopSerializationException("Cannot decode mapping", ex);
+        } finally {
+            try {
+                in.close();
+            } catch (IOException ex) {
+                // ignore
+            }
+        }
+    }
+
+    private static void writeFields(DataOutputStream out, Field[] fields) throws IOException {
+        out.writeInt(fields.length);
+        for (Field field : fields) {
+            out.writeUTF(field.name());
+            out.writeByte(field.type() == null ? NO_TYPE : field.type().ordinal());
+            out.writeBoolean(field.docValues());
+            writeFields(out, field.properties());
+        }
+    }
+
+    private static Field[] readFields(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length == 0) {
+            return Field.NO_FIELDS;
+        }
+        Field[] fields = new Field[length];
+        for (int i = 0; i < length; i++) {
+            String name = in.readUTF();
+            byte type = in.readByte();
+            boolean docValues = in.readBoolean();
+            fields[i] = new Field(name, type == NO_TYPE ? null : TYPES[type], readFields(in), docValues);
+        }
+        return fields;
+    }
+
+    private static void writeOptionalString(DataOutputStream out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static String readOptionalString(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+}
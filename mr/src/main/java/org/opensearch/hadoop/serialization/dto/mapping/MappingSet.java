@@ -131,10 +131,15 @@ public class MappingSet implements Serializable {
                 FieldType resolvedType = resolveTypeConflict(fullName, previousField.type(), field.type());
                 // If successful, update the previous field entry with the updated field type
                 if (!previousField.type().equals(resolvedType)) {
-                    previousField = new Field(previousField.name(), resolvedType, previousField.properties());
+                    previousField = new Field(previousField.name(), resolvedType, previousField.properties(), previousField.docValues());
                     entry[0] = previousField;
                 }
             }
+            // doc values are usable only if every mapping keeps them
+            if (previousField.docValues() && !field.docValues()) {
+                previousField = new Field(previousField.name(), previousField.type(), previousField.properties(), false);
+                entry[0] = previousField;
+            }
             // If it does not conflict, visit it's children if it has them
             if (FieldType.isCompound(field.type())) {
                 Map<String, Object[]> subTable = (Map<String, Object[]>)entry[1];
@@ -28,49 +28,290 @@
  */
 package org.opensearch.hadoop.serialization.field;
 
+import java.text.ParsePosition;
 import java.text.SimpleDateFormat;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.Month;
+import java.time.Year;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeFormatterBuilder;
+import java.time.format.SignStyle;
+import java.time.format.TextStyle;
+import java.time.temporal.ChronoField;
+import java.time.temporal.TemporalAccessor;
+import java.time.temporal.TemporalField;
+import java.time.temporal.WeekFields;
+import java.util.Arrays;
 import java.util.Calendar;
+import java.util.Locale;
 
-import org.opensearch.hadoop.util.Constants;
 import org.opensearch.hadoop.util.DateUtils;
 import org.opensearch.hadoop.util.StringUtils;
 
+import static java.time.temporal.ChronoField.DAY_OF_MONTH;
+import static java.time.temporal.ChronoField.HOUR_OF_DAY;
+import static java.time.temporal.ChronoField.MINUTE_OF_HOUR;
+import static java.time.temporal.ChronoField.MONTH_OF_YEAR;
+import static java.time.temporal.ChronoField.NANO_OF_SECOND;
+import static java.time.temporal.ChronoField.OFFSET_SECONDS;
+import static java.time.temporal.ChronoField.SECOND_OF_MINUTE;
+import static java.time.temporal.ChronoField.YEAR;
 
+/**
+ * Formats the date of a document into (part of) its index name. As the pattern typically resolves
+ * to a day or an hour, the formatted names are cached per time bucket so that documents falling into
+ * a recently seen bucket skip the formatting. The formatter is thread-safe once configured.
+ */
 public class DateIndexFormatter implements IndexFormatter {
 
+    private static final DateTimeFormatter DATE_OPTIONAL_TIME = new DateTimeFormatterBuilder()
+            .append(DateTimeFormatter.ISO_LOCAL_DATE)
+            .optionalStart()
+            .appendLiteral('T')
+            .append(DateTimeFormatter.ISO_LOCAL_TIME)
+            .optionalStart()
+            .appendOffsetId()
+            .toFormatter(Locale.ROOT);
+
+    // power of two
+    private static final int CACHE_SIZE = 64;
+
+    private static final long DAY = 24 * 60 * 60;
+    private static final long HOUR = 60 * 60;
+    private static final long MINUTE = 60;
+    private static final long SECOND = 1;
+
     private String format;
-    private SimpleDateFormat dateFormat;
+    private DateTimeFormatter dateFormat;
+    // size (in seconds) of the time buckets that share the same formatted value; 0 disables caching
+    private long bucketSize;
+    private boolean offsetKept;
+
+    private final Bucket[] cache = new Bucket[CACHE_SIZE];
+
+    private static class Bucket {
+        private final ZoneId zone;
+        private final int offset;
+        private final long number;
+        private final String value;
+
+        Bucket(ZoneId zone, int offset, long number, String value) {
+            this.zone = zone;
+            this.offset = offset;
+            this.number = number;
+            this.value = value;
+        }
+    }
 
     @Override
     public void configure(String format) {
         this.format = format;
-        format = fixDateForJdk(format);
-        this.dateFormat = new SimpleDateFormat(format);
+        this.dateFormat = compile(format);
+        this.bucketSize = bucketSize(format);
+        this.offsetKept = DateUtils.isParsedOffsetKept();
+        Arrays.fill(cache, null);
     }
 
     /**
-     * Work-around for year formatting in JDK 6 vs 7+.
-     * JDK6: does not know about 'YYYY' (only 'yyyy'). Considers 'y' and 'yyy' as 'yy'.
-     * JDK7: understands both 'YYYY' and 'yyyy'. Considers 'y' and 'yyy' as 'yyyy'
+     * Compiles a {@link SimpleDateFormat} pattern, the syntax index name patterns have always been written in, into an
+     * equivalent {@link DateTimeFormatter}. The two pattern languages differ on some letters ({@code u} is the day number
+     * of the week, {@code F} the day of week in the month and {@code S} the milliseconds for the former) and on
+     * characters such as {@code #}, <code>{</code> or {@code [} which are plain literals for {@link SimpleDateFormat}
+     * but reserved by {@link DateTimeFormatter#ofPattern(String)}.
      *
-     * This method checks the pattern and converts it into JDK7 when running on JDK6.
+     * @throws IllegalArgumentException for patterns {@link SimpleDateFormat} rejects as well
      */
-    private String fixDateForJdk(String format) {
-        if (Constants.JRE_IS_MINIMUM_JAVA7) {
-            return format;
+    static DateTimeFormatter compile(String format) {
+        Locale locale = Locale.getDefault(Locale.Category.FORMAT);
+        WeekFields weeks = WeekFields.of(locale);
+        DateTimeFormatterBuilder builder = new DateTimeFormatterBuilder();
+
+        int length = format.length();
+        int i = 0;
+        while (i < length) {
+            char c = format.charAt(i);
+            if (c == '\'') {
+                // quoted text, where two single quotes stand for one (inside or outside quotes)
+                if (i + 1 < length && format.charAt(i + 1) == '\'') {
+                    builder.appendLiteral('\'');
+                    i += 2;
+                    continue;
+                }
+                StringBuilder text = new StringBuilder();
+                int end = i + 1;
+                for (; end < length; end++) {
+                    char q = format.charAt(end);
+                    if (q == '\'') {
+                        if (end + 1 < length && format.charAt(end + 1) == '\'') {
+                            text.append(q);
+                            end++;
+                            continue;
+                        }
+                        break;
+                    }
+                    text.append(q);
+                }
+                if (end >= length) {
+                    throw new IllegalArgumentException("Unterminated quote in pattern [" + format + "]");
+                }
+                builder.appendLiteral(text.toString());
+                i = end + 1;
+            }
+            else if ((c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z')) {
+                int count = 1;
+                while (i + count < length && format.charAt(i + count) == c) {
+                    count++;
+                }
+                appendField(builder, c, count, weeks, format);
+                i += count;
+            }
+            else {
+                builder.appendLiteral(c);
+                i++;
+            }
         }
-        // JDK 6 - fix year formatting
+        return builder.toFormatter(locale);
+    }
 
-        // a. lower case Y to y
-        if (format.contains("Y")) {
-            format = format.replace("Y", "y");
+    private static void appendField(DateTimeFormatterBuilder builder, char letter, int count, WeekFields weeks, String format) {
+        TextStyle text = (count >= 4 ? TextStyle.FULL : TextStyle.SHORT);
+        switch (letter) {
+            case 'G':
+                builder.appendText(ChronoField.ERA, text);
+                break;
+            case 'y':
+                appendYear(builder, ChronoField.YEAR_OF_ERA, count);
+                break;
+            case 'Y':
+                appendYear(builder, weeks.weekBasedYear(), count);
+                break;
+            case 'M':
+            case 'L':
+                if (count <= 2) {
+                    appendNumber(builder, MONTH_OF_YEAR, count);
+                }
+                else {
+                    builder.appendText(MONTH_OF_YEAR, text);
+                }
+                break;
+            case 'w':
+                appendNumber(builder, weeks.weekOfWeekBasedYear(), count);
+                break;
+            case 'W':
+                appendNumber(builder, weeks.weekOfMonth(), count);
+                break;
+            case 'D':
+                appendNumber(builder, ChronoField.DAY_OF_YEAR, count);
+                break;
+            case 'd':
+                appendNumber(builder, DAY_OF_MONTH, count);
+                break;
+            case 'F':
+                appendNumber(builder, ChronoField.ALIGNED_WEEK_OF_MONTH, count);
+                break;
+            case 'E':
+                builder.appendText(ChronoField.DAY_OF_WEEK, text);
+                break;
+            case 'u':
+                appendNumber(builder, ChronoField.DAY_OF_WEEK, count);
+                break;
+            case 'a':
+                builder.appendText(ChronoField.AMPM_OF_DAY, TextStyle.SHORT);
+                break;
+            case 'H':
+                appendNumber(builder, HOUR_OF_DAY, count);
+                break;
+            case 'k':
+                appendNumber(builder, ChronoField.CLOCK_HOUR_OF_DAY, count);
+                break;
+            case 'K':
+                appendNumber(builder, ChronoField.HOUR_OF_AMPM, count);
+                break;
+            case 'h':
+                appendNumber(builder, ChronoField.CLOCK_HOUR_OF_AMPM, count);
+                break;
+            case 'm':
+                appendNumber(builder, MINUTE_OF_HOUR, count);
+                break;
+            case 's':
+                appendNumber(builder, SECOND_OF_MINUTE, count);
+                break;
+            case 'S':
+                appendNumber(builder, ChronoField.MILLI_OF_SECOND, count);
+                break;
+            case 'z':
+                builder.appendZoneText(text);
+                break;
+            case 'Z':
+                builder.appendOffset("+HHMM", "+0000");
+                break;
+            case 'X':
+                if (count > 3) {
+                    throw new IllegalArgumentException("Invalid ISO 8601 offset length [" + count + "] in pattern [" + format + "]");
+                }
+                builder.appendOffset(count == 1 ? "+HH" : (count == 2 ? "+HHMM" : "+HH:MM"), "Z");
+                break;
+            default:
+                throw new IllegalArgumentException("Illegal pattern character '" + letter + "' in pattern [" + format + "]");
+        }
+    }
+
+    // two letters print the last two digits of the year, any other count the whole year
+    private static void appendYear(DateTimeFormatterBuilder builder, TemporalField field, int count) {
+        if (count == 2) {
+            builder.appendValueReduced(field, 2, 2, 2000);
+        }
+        else {
+            appendNumber(builder, field, count);
         }
+    }
 
-        // gotta love regex
-        // use lookahead to match isolated y/yyy with yyyy
-        format = format.replaceAll("((?<!y)(?:y|yyy)(?!y))", "yyyy");
+    // the letter count is the minimum number of digits
+    private static void appendNumber(DateTimeFormatterBuilder builder, TemporalField field, int count) {
+        builder.appendValue(field, Math.min(count, 19), 19, SignStyle.NORMAL);
+    }
 
-        return format;
+    /**
+     * Returns the finest time unit the pattern prints, in seconds. Fields coarser than a day (weeks, months, years)
+     * are constant within a day while time zone fields are part of the cache key.
+     */
+    static long bucketSize(String format) {
+        long size = DAY;
+        boolean quoted = false;
+        for (int i = 0; i < format.length(); i++) {
+            char c = format.charAt(i);
+            if (c == '\'') {
+                quoted = !quoted;
+                continue;
+            }
+            if (quoted) {
+                continue;
+            }
+            switch (c) {
+                case 'S':
+                    return 0;
+                case 's':
+                    size = Math.min(size, SECOND);
+                    break;
+                case 'm':
+                    size = Math.min(size, MINUTE);
+                    break;
+                case 'H':
+                case 'k':
+                case 'K':
+                case 'h':
+                case 'a':
+                    size = Math.min(size, HOUR);
+                    break;
+                default:
+                    break;
+            }
+        }
+        return size;
     }
 
     @Override
@@ -79,8 +320,66 @@ public class DateIndexFormatter implements IndexFormatter {
             return null;
         }
 
-        Calendar calendar = DateUtils.parseDate(value);
-        dateFormat.setCalendar(calendar);
-        return dateFormat.format(calendar.getTime());
+        ZonedDateTime date = parse(value);
+        if (bucketSize == 0) {
+            return dateFormat.format(date);
+        }
+
+        // buckets are aligned on the local time so they match the printed fields
+        int offset = date.getOffset().getTotalSeconds();
+        long number = Math.floorDiv(date.toEpochSecond() + offset, bucketSize);
+        int slot = (int) (number ^ (number >>> 32)) & (CACHE_SIZE - 1);
+
+        Bucket bucket = cache[slot];
+        if (bucket != null && bucket.number == number && bucket.offset == offset && bucket.zone.equals(date.getZone())) {
+            return bucket.value;
+        }
+
+        String formatted = dateFormat.format(date);
+        cache[slot] = new Bucket(date.getZone(), offset, number, formatted);
+        return formatted;
+    }
+
+    /**
+     * Resolves the date the same way {@link DateUtils#parseDate(String)} does, without going through
+     * a {@link Calendar} for the common ISO 8601 forms. Values that do not match (such as +hhmm offsets)
+     * are detected through the parse position instead of an exception and handed over to {@link DateUtils}.
+     */
+    private ZonedDateTime parse(String value) {
+        ParsePosition position = new ParsePosition(0);
+        TemporalAccessor parsed = DATE_OPTIONAL_TIME.parseUnresolved(value, position);
+        if (parsed == null || position.getErrorIndex() >= 0 || position.getIndex() != value.length()
+                || !isValid(parsed, YEAR) || !isValid(parsed, MONTH_OF_YEAR) || !isValid(parsed, DAY_OF_MONTH)
+                || !isValid(parsed, HOUR_OF_DAY) || !isValid(parsed, MINUTE_OF_HOUR) || !isValid(parsed, SECOND_OF_MINUTE)
+                || !isValid(parsed, NANO_OF_SECOND) || !isValid(parsed, OFFSET_SECONDS)) {
+            Calendar calendar = DateUtils.parseDate(value);
+            return ZonedDateTime.ofInstant(calendar.toInstant(), calendar.getTimeZone().toZoneId());
+        }
+
+        int year = parsed.get(YEAR);
+        int month = parsed.get(MONTH_OF_YEAR);
+        // like the (smart) resolver, days past the end of the month fall on its last day
+        int dayOfMonth = Math.min(parsed.get(DAY_OF_MONTH), Month.of(month).length(Year.isLeap(year)));
+        LocalDate day = LocalDate.of(year, month, dayOfMonth);
+
+        if (!parsed.isSupported(HOUR_OF_DAY)) {
+            return ZonedDateTime.of(day, LocalTime.MIDNIGHT, ZoneId.systemDefault());
+        }
+        LocalTime time = LocalTime.of(parsed.get(HOUR_OF_DAY), parsed.get(MINUTE_OF_HOUR),
+                getOrDefault(parsed, SECOND_OF_MINUTE), getOrDefault(parsed, NANO_OF_SECOND));
+
+        if (!parsed.isSupported(OFFSET_SECONDS)) {
+            return ZonedDateTime.of(day, time, ZoneId.systemDefault());
+        }
+        ZonedDateTime date = ZonedDateTime.of(day, time, ZoneOffset.ofTotalSeconds(parsed.get(OFFSET_SECONDS)));
+        return (offsetKept ? date : date.withZoneSameInstant(ZoneId.systemDefault()));
+    }
+
+    private static boolean isValid(TemporalAccessor parsed, ChronoField field) {
+        return !parsed.isSupported(field) || field.range().isValidIntValue(parsed.getLong(field));
+    }
+
+    private static int getOrDefault(TemporalAccessor parsed, ChronoField field) {
+        return (parsed.isSupported(field) ? parsed.get(field) : 0);
     }
-}
\ No newline at end of file
+}
@@ -31,8 +31,8 @@ package org.opensearch.hadoop.serialization.json;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.lang.reflect.Method;
+import java.util.ArrayDeque;
 import java.util.Deque;
-import java.util.LinkedList;
 
 import org.apache.commons.logging.LogFactory;
 import org.opensearch.hadoop.serialization.OpenSearchHadoopSerializationException;
@@ -40,6 +40,7 @@ import org.opensearch.hadoop.serialization.Generator;
 import org.opensearch.hadoop.thirdparty.codehaus.jackson.JsonEncoding;
 import org.opensearch.hadoop.thirdparty.codehaus.jackson.JsonFactory;
 import org.opensearch.hadoop.thirdparty.codehaus.jackson.JsonGenerator;
+import org.opensearch.hadoop.util.Assert;
 import org.opensearch.hadoop.util.StringUtils;
 
 public class JacksonJsonGenerator implements Generator {
@@ -48,7 +49,8 @@ public class JacksonJsonGenerator implements Generator {
     private static final JsonFactory JSON_FACTORY;
     private final JsonGenerator generator;
     private final OutputStream out;
-    private Deque<String> currentPath = new LinkedList<String>();
+    private final RootValueOutputStream rootValueOut;
+    private Deque<String> currentPath = new ArrayDeque<String>();
     private String currentPathCached;
     private String currentName;
 
@@ -70,15 +72,40 @@ public class JacksonJsonGenerator implements Generator {
     }
 
     public JacksonJsonGenerator(OutputStream out) {
+        this(out, false);
+    }
+
+    /**
+     * Creates a generator over the given stream.
+     *
+     * @param out the target stream
+     * @param reusable whether the generator writes multiple (root) values, one after the other, through {@link #reset()}
+     */
+    public JacksonJsonGenerator(OutputStream out, boolean reusable) {
         try {
             this.out = out;
+            this.rootValueOut = (reusable ? new RootValueOutputStream(out) : null);
             // use dedicated method to lower Jackson requirement
-            this.generator = JSON_FACTORY.createJsonGenerator(out, JsonEncoding.UTF8);
+            this.generator = JSON_FACTORY.createJsonGenerator(reusable ? rootValueOut : out, JsonEncoding.UTF8);
         } catch (IOException ex) {
             throw new OpenSearchHadoopSerializationException(ex);
         }
     }
 
+    /**
+     * Prepares a reusable generator for writing a new root value. Any pending content is flushed and the
+     * separator Jackson places between consecutive root values is dropped, so each value is written
+     * exactly as a new generator would.
+     */
+    public void reset() {
+        Assert.notNull(rootValueOut, "Generator is not reusable");
+        flush();
+        currentPath.clear();
+        currentPathCached = null;
+        currentName = null;
+        rootValueOut.dropSeparator = true;
+    }
+
     public void usePrettyPrint() {
         generator.useDefaultPrettyPrinter();
     }
@@ -309,4 +336,49 @@ public class JacksonJsonGenerator implements Generator {
 
         return currentPathCached;
     }
-}
\ No newline at end of file
+
+    /**
+     * Drops the space Jackson writes before a root value following another one.
+     */
+    private static class RootValueOutputStream extends OutputStream {
+        private final OutputStream out;
+        private boolean dropSeparator = false;
+
+        RootValueOutputStream(OutputStream out) {
+            this.out = out;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            if (dropSeparator) {
+                dropSeparator = false;
+                if (b == ' ') {
+                    return;
+                }
+            }
+            out.write(b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            if (dropSeparator && len > 0) {
+                dropSeparator = false;
+                if (b[off] == ' ') {
+                    off++;
+                    len--;
+                }
+            }
+            out.write(b, off, len);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            out.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            out.close();
+        }
+    }
+}
@@ -79,6 +79,52 @@ public class BytesRef {
         }
     }
 
+    public void copyTo(ChunkedBytesArray to) {
+        if (list == null) {
+            return;
+        }
+        for (Object ref : list) {
+            if (ref instanceof BytesArray) {
+                to.add((BytesArray) ref);
+            }
+            else {
+                to.add((byte[]) ref);
+            }
+        }
+    }
+
+    /**
+     * Copies the bytes preceding the first occurrence of the given delimiter (or all of them if there is none).
+     * Unlike {@link #copyTo(BytesArray)}, the scan stops at the delimiter so only the leading bytes are touched.
+     */
+    public void copyUntil(BytesArray to, byte delimiter) {
+        if (list == null) {
+            return;
+        }
+        for (Object ref : list) {
+            byte[] bytes;
+            int offset = 0;
+            int length;
+            if (ref instanceof BytesArray) {
+                BytesArray ba = (BytesArray) ref;
+                bytes = ba.bytes();
+                offset = ba.offset();
+                length = ba.length();
+            }
+            else {
+                bytes = (byte[]) ref;
+                length = bytes.length;
+            }
+            for (int i = offset; i < offset + length; i++) {
+                if (bytes[i] == delimiter) {
+                    to.add(bytes, offset, i - offset);
+                    return;
+                }
+            }
+            to.add(bytes, offset, length);
+        }
+    }
+
     public void reset() {
         if (list != null) {
             list.clear();
@@ -0,0 +1,137 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ *
+ * Modifications Copyright OpenSearch Contributors. See
+ * GitHub history for details.
+ */
+package org.opensearch.hadoop.util;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Growable sequence of bytes stored in fixed-size chunks rather than one contiguous array. Growing never copies
+ * existing content and large sequences do not require large arrays; chunks are kept across {@link #reset()} and
+ * reused by subsequent writes. The content is written out chunk by chunk.
+ */
+public class ChunkedBytesArray implements ByteSequence {
+
+    private final int chunkSize;
+    private final List<byte[]> chunks = new ArrayList<byte[]>();
+    private int size = 0;
+
+    public ChunkedBytesArray(int chunkSize) {
+        Assert.isTrue(chunkSize > 0, "Chunk size must be positive");
+        this.chunkSize = chunkSize;
+    }
+
+    @Override
+    public int length() {
+        return size;
+    }
+
+    /**
+     * @return the number of bytes currently allocated
+     */
+    public int capacity() {
+        return chunks.size() * chunkSize;
+    }
+
+    public void add(BytesArray ba) {
+        add(ba.bytes(), ba.offset(), ba.length());
+    }
+
+    public void add(byte[] b) {
+        add(b, 0, b.length);
+    }
+
+    public void add(byte[] b, int off, int len) {
+        while (len > 0) {
+            int chunk = size / chunkSize;
+            int position = size % chunkSize;
+            if (chunk == chunks.size()) {
+                chunks.add(new byte[chunkSize]);
+            }
+            int count = Math.min(len, chunkSize - position);
+            System.arraycopy(b, off, chunks.get(chunk), position, count);
+            off += count;
+            len -= count;
+            size += count;
+        }
+    }
+
+    /**
+     * Returns the given range as a {@link BytesArray}. Ranges within a single chunk are returned as a view over the
+     * chunk, others are copied.
+     */
+    public BytesArray slice(int offset, int length) {
+        int chunk = offset / chunkSize;
+        int position = offset % chunkSize;
+        if (position + length <= chunkSize) {
+            return new BytesArray(chunks.get(chunk), position, length);
+        }
+        byte[] copy = new byte[length];
+        copyTo(offset, copy, 0, length);
+        return new BytesArray(copy);
+    }
+
+    public void copyTo(int offset, byte[] dst, int dstOffset, int length) {
+        while (length > 0) {
+            int position = offset % chunkSize;
+            int count = Math.min(length, chunkSize - position);
+            System.arraycopy(chunks.get(offset / chunkSize), position, dst, dstOffset, count);
+            offset += count;
+            dstOffset += count;
+            length -= count;
+        }
+    }
+
+    @Override
+    public void writeTo(OutputStream out) throws IOException {
+        writeTo(out, 0, size);
+        out.flush();
+    }
+
+    /**
+     * Writes the given range without flushing the stream.
+     */
+    public void writeTo(OutputStream out, int offset, int length) throws IOException {
+        while (length > 0) {
+            int position = offset % chunkSize;
+            int count = Math.min(length, chunkSize - position);
+            out.write(chunks.get(offset / chunkSize), position, count);
+            offset += count;
+            length -= count;
+        }
+    }
+
+    /**
+     * Empties the sequence, keeping the chunks for reuse.
+     */
+    public void reset() {
+        size = 0;
+    }
+
+    /**
+     * Empties the sequence and releases the chunks beyond the given capacity.
+     */
+    public void reset(int retainedCapacity) {
+        size = 0;
+        int retained = (retainedCapacity + chunkSize - 1) / chunkSize;
+        while (chunks.size() > retained) {
+            chunks.remove(chunks.size() - 1);
+        }
+    }
+
+    @Override
+    public String toString() {
+        byte[] copy = new byte[size];
+        copyTo(0, copy, 0, size);
+        return StringUtils.asUTFString(copy);
+    }
+}
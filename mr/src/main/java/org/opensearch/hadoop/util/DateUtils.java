@@ -143,6 +143,14 @@ public abstract class DateUtils {
         return (jodaTimeAvailable && JodaTime.INITIALIZED) ? JodaTime.parseDate(value) : Jdk6.parseDate(value);
     }
 
+    /**
+     * Whether {@link #parseDate(String)} keeps the offset found in the value (JDK) or converts the date to the
+     * default time zone (Joda).
+     */
+    public static boolean isParsedOffsetKept() {
+        return !(jodaTimeAvailable && JodaTime.INITIALIZED);
+    }
+
     public static Timestamp parseDateNanos(String value) {
         return DATE_OPTIONAL_TIME_OFFSET.parse(value, temporal -> {
             int year = temporal.get(ChronoField.YEAR);
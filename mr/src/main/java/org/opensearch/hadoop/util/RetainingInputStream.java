@@ -0,0 +1,105 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ *
+ * Modifications Copyright OpenSearch Contributors. See
+ * GitHub history for details.
+ */
+package org.opensearch.hadoop.util;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Input stream that keeps the bytes read from the underlying stream so that recently consumed content can be
+ * accessed again through its absolute position (the number of bytes read before it). Bytes before a given position
+ * can be released once they are not needed anymore, keeping the retained window small while still allowing the
+ * underlying stream to be consumed incrementally.
+ */
+public class RetainingInputStream extends InputStream {
+
+    private final InputStream in;
+    private final BytesArray retained;
+    // absolute position of the first retained byte
+    private int start = 0;
+
+    public RetainingInputStream(InputStream in) {
+        this(in, 8 * 1024);
+    }
+
+    public RetainingInputStream(InputStream in, int initialCapacity) {
+        Assert.notNull(in, "no input stream given");
+        this.in = in;
+        this.retained = new BytesArray(initialCapacity);
+    }
+
+    @Override
+    public int read() throws IOException {
+        int b = in.read();
+        if (b >= 0) {
+            retained.add(b);
+        }
+        return b;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        int read = in.read(b, off, len);
+        if (read > 0) {
+            retained.add(b, off, read);
+        }
+        return read;
+    }
+
+    @Override
+    public int available() throws IOException {
+        return in.available();
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+
+    /**
+     * @return the retained bytes; the first one is located at {@link #retainedStart()}
+     */
+    public BytesArray retained() {
+        return retained;
+    }
+
+    /**
+     * @return the absolute position of the first retained byte
+     */
+    public int retainedStart() {
+        return start;
+    }
+
+    /**
+     * @return the absolute position of the next byte to be read
+     */
+    public int position() {
+        return start + retained.length();
+    }
+
+    /**
+     * Discards the retained bytes located before the given (absolute) position.
+     *
+     * @param position absolute position of the first byte to keep
+     */
+    public void release(int position) {
+        Assert.isTrue(position >= start && position <= position(),
+                String.format("Invalid position [%s]; retained range is [%s,%s)", position, start, position()));
+        int discarded = position - start;
+        if (discarded == 0) {
+            return;
+        }
+        int remaining = retained.length() - discarded;
+        byte[] bytes = retained.bytes();
+        System.arraycopy(bytes, discarded, bytes, 0, remaining);
+        retained.size(remaining);
+        start = position;
+    }
+}
@@ -33,7 +33,10 @@ import org.opensearch.hadoop.OpenSearchHadoopIllegalStateException;
 import org.opensearch.hadoop.cfg.ConfigurationOptions;
 import org.opensearch.hadoop.cfg.InternalConfigurationOptions;
 import org.opensearch.hadoop.cfg.Settings;
+import org.opensearch.hadoop.serialization.FieldType;
 import org.opensearch.hadoop.serialization.dto.NodeInfo;
+import org.opensearch.hadoop.serialization.dto.mapping.Field;
+import org.opensearch.hadoop.serialization.dto.mapping.Mapping;
 import org.opensearch.hadoop.serialization.field.FieldFilter;
 import org.opensearch.hadoop.serialization.field.FieldFilter.NumberedInclude;
 
@@ -218,6 +221,37 @@ public abstract class SettingsUtils {
         return sourceFields;
     }
 
+    /**
+     * Determines the fields to fetch through {@code docvalue_fields} instead of {@code _source}.
+     * Returns {@code null} when reading from doc values is disabled or when any of the requested fields
+     * is not a top-level field backed by doc values, either because of its type or because its mapping declares
+     * {@code "doc_values": false}, in which case the documents are read from {@code _source}.
+     */
+    public static String determineDocValueFields(Settings settings, Mapping mapping) {
+        if (!settings.getReadSourceDocValues() || settings.getOutputAsJson() || mapping == null) {
+            return null;
+        }
+
+        Map<String, Field> topLevel = new LinkedHashMap<String, Field>();
+        for (Field field : mapping.getFields()) {
+            topLevel.put(field.name(), field);
+        }
+        String sourceFields = determineSourceFields(settings);
+        Collection<String> fields = (StringUtils.hasText(sourceFields) ? StringUtils.tokenize(sourceFields) : topLevel.keySet());
+        if (fields.isEmpty()) {
+            return null;
+        }
+
+        for (String name : fields) {
+            // doc values are returned under their full path which does not map back to the object structure
+            Field field = (name.indexOf('.') >= 0 ? null : topLevel.get(name));
+            if (field == null || !field.docValues() || !FieldType.hasDocValues(field.type())) {
+                return null;
+            }
+        }
+        return StringUtils.concatenate(fields, StringUtils.DEFAULT_DELIMITER);
+    }
+
     public static List<NumberedInclude> getFieldArrayFilterInclude(Settings settings) {
         String includeString = settings.getReadFieldAsArrayInclude();
         List<String> includes = StringUtils.tokenize(includeString);
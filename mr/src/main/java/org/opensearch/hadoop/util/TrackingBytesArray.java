@@ -30,71 +30,61 @@ package org.opensearch.hadoop.util;
 
 import java.io.IOException;
 import java.io.OutputStream;
+import java.util.Arrays;
 import java.util.BitSet;
-import java.util.LinkedList;
-import java.util.List;
 
 /**
- *  Wrapper class around a {@link BytesArray} with 'awareness' around the underlying content.
+ *  Wrapper class around a {@link BytesArray} (or a {@link ChunkedBytesArray}) with 'awareness' around the underlying content.
  *  Considers each addition an entry and allows removal of specific entries (and by that skipping their backing content).
  *  Meant to be used as a buffer that is first filled, then emptied (in chunks) then cleaned-up.
+ *  <p>
+ *  Entries are indexed through parallel primitive arrays holding their offset, length and initial position. The live
+ *  entries occupy the {@code [start, start + count)} window so removing an entry only shifts the shorter side of the
+ *  window - removals from the head (the common case when a batch is accepted) are constant time.
  */
 public class TrackingBytesArray implements ByteSequence {
 
-    private static class Entry {
-        final int offset;
-        final int length;
-        final int initialPosition;
-
-        Entry(int offset, int length, int initialPosition) {
-            this.offset = offset;
-            this.length = length;
-            this.initialPosition = initialPosition;
-        }
-
-        @Override
-        public int hashCode() {
-            final int prime = 31;
-            int result = 1;
-            result = prime * result + length;
-            result = prime * result + offset;
-            return result;
-        }
-
-        @Override
-        public boolean equals(Object obj) {
-            if (this == obj)
-                return true;
-            if (obj == null)
-                return false;
-            if (getClass() != obj.getClass())
-                return false;
-            Entry other = (Entry) obj;
-            if (length != other.length)
-                return false;
-            if (offset != other.offset)
-                return false;
-            return true;
-        }
-    }
+    private static final int INITIAL_ENTRIES = 16;
 
+    // exactly one of the two is used as backing storage
     private final BytesArray data;
+    private final ChunkedBytesArray chunks;
     private int maxEntries = 0;
     private int size = 0;
-    private List<Entry> entries = new LinkedList<TrackingBytesArray.Entry>();
+
+    // entry index
+    private int[] offsets = new int[INITIAL_ENTRIES];
+    private int[] lengths = new int[INITIAL_ENTRIES];
+    private int[] initialPositions = new int[INITIAL_ENTRIES];
+    private int start = 0;
+    private int count = 0;
 
     public TrackingBytesArray(BytesArray data) {
         this.data = data;
+        this.chunks = null;
+    }
+
+    public TrackingBytesArray(ChunkedBytesArray chunks) {
+        this.data = null;
+        this.chunks = chunks;
     }
 
     public void copyFrom(BytesArray from) {
         addEntry(from.size);
-        from.copyTo(data);
+        if (chunks != null) {
+            chunks.add(from);
+        } else {
+            from.copyTo(data);
+        }
     }
 
     public void copyFrom(BytesRef from) {
         addEntry(from.length());
-        from.copyTo(data);
+        if (chunks != null) {
+            from.copyTo(chunks);
+        } else {
+            from.copyTo(data);
+        }
     }
 
     public int length() {
@@ -102,45 +92,108 @@ public class TrackingBytesArray implements ByteSequence {
     }
 
     public int entries() {
-        return entries.size();
+        return count;
     }
 
     public BitSet leftoversPosition() {
         BitSet bitSet = new BitSet(maxEntries);
-        for (Entry entry : entries) {
-            bitSet.set(entry.initialPosition);
+        for (int i = start; i < start + count; i++) {
+            bitSet.set(initialPositions[i]);
         }
 
         return bitSet;
     }
 
     private void addEntry(int length) {
+        int slot = start + count;
+        if (slot == offsets.length) {
+            ensureSlot();
+            slot = start + count;
+        }
         // implied offset - data.size
-        entries.add(new Entry(data.size, length, entries.size()));
+        offsets[slot] = (chunks != null ? chunks.length() : data.size);
+        lengths[slot] = length;
+        initialPositions[slot] = count;
+        count++;
         size += length;
-        maxEntries = size;
+        maxEntries = Math.max(maxEntries, count);
+    }
+
+    /**
+     * Makes room for one more entry at the end of the window, by moving the window back to the beginning of the
+     * arrays if enough entries were removed from the head, or by growing the arrays otherwise.
+     */
+    private void ensureSlot() {
+        if (start > 0 && count < offsets.length / 2) {
+            System.arraycopy(offsets, start, offsets, 0, count);
+            System.arraycopy(lengths, start, lengths, 0, count);
+            System.arraycopy(initialPositions, start, initialPositions, 0, count);
+            start = 0;
+        } else {
+            int capacity = offsets.length * 2;
+            offsets = Arrays.copyOf(offsets, capacity);
+            lengths = Arrays.copyOf(lengths, capacity);
+            initialPositions = Arrays.copyOf(initialPositions, capacity);
+        }
+    }
+
+    private int slot(int index) {
+        if (index < 0 || index >= count) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + count);
+        }
+        return start + index;
     }
 
     public void remove(int index) {
-        Entry entry = entries.remove(index);
-        size -= entry.length;
+        int slot = slot(index);
+        size -= lengths[slot];
+        if (index < count / 2) {
+            // shift the head one slot to the right
+            System.arraycopy(offsets, start, offsets, start + 1, index);
+            System.arraycopy(lengths, start, lengths, start + 1, index);
+            System.arraycopy(initialPositions, start, initialPositions, start + 1, index);
+            start++;
+        } else {
+            // shift the tail one slot to the left
+            int tail = count - index - 1;
+            System.arraycopy(offsets, slot + 1, offsets, slot, tail);
+            System.arraycopy(lengths, slot + 1, lengths, slot, tail);
+            System.arraycopy(initialPositions, slot + 1, initialPositions, slot, tail);
+        }
+        count--;
+        if (count == 0) {
+            start = 0;
+        }
     }
 
     public BytesArray entry(int index) {
-        Entry entry = entries.get(index);
-        return new BytesArray(data.bytes, entry.offset, entry.length);
+        int slot = slot(index);
+        return content(offsets[slot], lengths[slot]);
+    }
+
+    private BytesArray content(int offset, int length) {
+        if (chunks != null) {
+            return chunks.slice(offset, length);
+        }
+        return new BytesArray(data.bytes, offset, length);
     }
 
     public BytesArray pop() {
-        Entry entry = entries.remove(0);
-        size -= entry.length;
-        byte[] entryData = new byte[entry.length];
-        System.arraycopy(data.bytes(), entry.offset, entryData, 0, entry.length);
-        return new BytesArray(entryData, entry.length);
+        int slot = slot(0);
+        int offset = offsets[slot];
+        int length = lengths[slot];
+        remove(0);
+        byte[] entryData = new byte[length];
+        if (chunks != null) {
+            chunks.copyTo(offset, entryData, 0, length);
+        } else {
+            System.arraycopy(data.bytes(), offset, entryData, 0, length);
+        }
+        return new BytesArray(entryData, length);
     }
 
     public int length(int index) {
-        return entries.get(index).length;
+        return lengths[slot(index)];
     }
 
     public void writeTo(OutputStream out) throws IOException {
@@ -148,8 +201,12 @@ public class TrackingBytesArray implements ByteSequence {
             return;
         }
 
-        for (Entry entry : entries) {
-            out.write(data.bytes, entry.offset, entry.length);
+        for (int i = start; i < start + count; i++) {
+            if (chunks != null) {
+                chunks.writeTo(out, offsets[i], lengths[i]);
+            } else {
+                out.write(data.bytes, offsets[i], lengths[i]);
+            }
         }
         out.flush();
     }
@@ -157,16 +214,22 @@ public class TrackingBytesArray implements ByteSequence {
     public void reset() {
         size = 0;
         maxEntries = 0;
-        entries.clear();
-        data.reset();
+        start = 0;
+        count = 0;
+        if (chunks != null) {
+            chunks.reset();
+        } else {
+            data.reset();
+        }
     }
 
     @Override
     public String toString() {
         StringBuilder sb = new StringBuilder((int) length());
-        for (Entry entry : entries) {
-            sb.append(new String(data.bytes, entry.offset, entry.length, StringUtils.UTF_8));
+        for (int i = start; i < start + count; i++) {
+            BytesArray content = content(offsets[i], lengths[i]);
+            sb.append(new String(content.bytes, content.offset, content.size, StringUtils.UTF_8));
         }
         return sb.toString();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,93 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ *
+ * Modifications Copyright OpenSearch Contributors. See
+ * GitHub history for details.
+ */
+
+package org.opensearch.hadoop.util.encoding;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PushbackInputStream;
+import java.util.Locale;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.InflaterInputStream;
+
+import org.opensearch.hadoop.util.ByteSequence;
+import org.opensearch.hadoop.util.BytesArray;
+import org.opensearch.hadoop.util.FastByteArrayOutputStream;
+import org.opensearch.hadoop.util.StringUtils;
+
+/**
+ * Helpful methods for compressing HTTP request bodies and decompressing HTTP response bodies
+ * according to their "Content-Encoding".
+ */
+public final class HttpCompressionTools {
+
+    public static final String CONTENT_ENCODING = "Content-Encoding";
+    public static final String ACCEPT_ENCODING = "Accept-Encoding";
+
+    public static final String GZIP = "gzip";
+    public static final String DEFLATE = "deflate";
+
+    /** Encodings advertised to OpenSearch when response compression is enabled */
+    public static final String ACCEPTED_ENCODINGS = GZIP + ", " + DEFLATE;
+
+    private static final int BUFFER_SIZE = 8192;
+
+    private HttpCompressionTools() {
+        /* No Constructor */
+    }
+
+    /**
+     * Gzips the given content.
+     *
+     * @param content to compress
+     * @return the compressed content
+     * @throws IOException if the content could not be written
+     */
+    public static BytesArray gzip(ByteSequence content) throws IOException {
+        // bulk JSON typically compresses 5-10x so start small and let the buffer grow if needed
+        FastByteArrayOutputStream out = new FastByteArrayOutputStream(Math.max(content.length() / 4, 64));
+        GZIPOutputStream gzip = new GZIPOutputStream(out, BUFFER_SIZE);
+        content.writeTo(gzip);
+        gzip.finish();
+        gzip.close();
+        return out.bytes();
+    }
+
+    /**
+     * Wraps the given response stream so that it is decompressed while being read, based on the
+     * value of the response's "Content-Encoding" header. Streams with no or unknown encodings are returned as is.
+     *
+     * @param content response body, may be null
+     * @param contentEncoding value of the "Content-Encoding" header, may be null
+     * @return a stream returning the decompressed content
+     * @throws IOException if the compressed stream header cannot be read
+     */
+    public static InputStream decompress(InputStream content, String contentEncoding) throws IOException {
+        if (content == null || !StringUtils.hasText(contentEncoding)) {
+            return content;
+        }
+        String encoding = contentEncoding.trim().toLowerCase(Locale.ROOT);
+        boolean gzip = GZIP.equals(encoding) || "x-gzip".equals(encoding);
+        if (!gzip && !DEFLATE.equals(encoding)) {
+            return content;
+        }
+
+        // an empty body has nothing to decompress (and no gzip header to read)
+        PushbackInputStream in = new PushbackInputStream(content, 1);
+        int first = in.read();
+        if (first == -1) {
+            return in;
+        }
+        in.unread(first);
+
+        return (gzip ? new GZIPInputStream(in, BUFFER_SIZE) : new InflaterInputStream(in));
+    }
+}
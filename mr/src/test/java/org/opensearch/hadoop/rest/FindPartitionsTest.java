@@ -39,19 +39,27 @@ import org.opensearch.hadoop.thirdparty.codehaus.jackson.JsonParser;
 import org.opensearch.hadoop.thirdparty.codehaus.jackson.map.ObjectMapper;
 import org.junit.Test;
 import org.mockito.Mockito;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 
+import static org.opensearch.hadoop.cfg.ConfigurationOptions.OPENSEARCH_MAX_BYTES_PER_PARTITION;
+import static org.opensearch.hadoop.cfg.ConfigurationOptions.OPENSEARCH_READ_STRATEGY;
+import static org.opensearch.hadoop.cfg.ConfigurationOptions.OPENSEARCH_READ_STRATEGY_PIT;
 import static org.opensearch.hadoop.cfg.ConfigurationOptions.OPENSEARCH_RESOURCE_READ;
 import static org.opensearch.hadoop.rest.query.MatchAllQueryBuilder.MATCH_ALL;
 
 import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
 
 public class FindPartitionsTest {
     private static final ObjectMapper MAPPER =
@@ -112,16 +120,25 @@ public class FindPartitionsTest {
         settings.setProperty(OPENSEARCH_RESOURCE_READ, "index1,index2,index3");
         for (int i = 0; i < 15; i++) {
             Mockito.when(client.count("index1", "type1", Integer.toString(i), MATCH_ALL)).thenReturn(1000L);
-            Mockito.when(client.countIndexShard("index1", Integer.toString(i), MATCH_ALL)).thenReturn(1000L);
         }
         for (int i = 0; i < 18; i++) {
             Mockito.when(client.count("index2", "type1", Integer.toString(i), MATCH_ALL)).thenReturn(10000L);
-            Mockito.when(client.countIndexShard("index2", Integer.toString(i), MATCH_ALL)).thenReturn(10000L);
         }
         for (int i = 0; i < 1; i++) {
             Mockito.when(client.count("index3", "type1", Integer.toString(i), MATCH_ALL)).thenReturn(100000L);
-            Mockito.when(client.countIndexShard("index3", Integer.toString(i), MATCH_ALL)).thenReturn(100000L);
         }
+        Mockito.when(client.countIndexShards(Mockito.any(String[].class), Mockito.any(String[].class), Mockito.eq(MATCH_ALL)))
+                .thenAnswer(new Answer<long[]>() {
+                    @Override
+                    public long[] answer(InvocationOnMock invocation) {
+                        String[] indices = (String[]) invocation.getArguments()[0];
+                        long[] counts = new long[indices.length];
+                        for (int i = 0; i < indices.length; i++) {
+                            counts[i] = "index1".equals(indices[i]) ? 1000L : "index2".equals(indices[i]) ? 10000L : 100000L;
+                        }
+                        return counts;
+                    }
+                });
         {
             settings.setMaxDocsPerPartition(1000);
             List<PartitionDefinition> partitions = RestService.findSlicePartitions(client, settings, null,
@@ -163,4 +180,72 @@ public class FindPartitionsTest {
             assertEquals(new HashSet(partitions).size(), 34);
         }
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testSizedPartitions() throws IOException {
+        List<List<Map<String, Object>>> shards =
+                MAPPER.readValue(getClass().getResourceAsStream("search-shards-response.json"), ArrayList.class);
+        Map<String, Object> stats = new HashMap<String, Object>();
+        stats.put("index1", indexStats(15, 100L, 10L));
+        // the last shard of index2 has no statistics
+        stats.put("index2", indexStats(17, 1000L, 50L));
+        stats.put("index3", indexStats(1, 10000L, 3L));
+
+        Settings settings = new PropertiesSettings();
+        settings.setInternalVersion(OpenSearchMajorVersion.LATEST);
+        settings.setProperty(OPENSEARCH_RESOURCE_READ, "index1,index2,index3");
+        settings.setProperty(OPENSEARCH_MAX_BYTES_PER_PARTITION, "400b");
+        List<PartitionDefinition> partitions = RestService.findSizedPartitions(settings, null,
+                Collections.<String, NodeInfo>emptyMap(), shards, stats, LOGGER);
+
+        // index1: 15 shards coalesced by 4, index2: 17 shards split in 3 + 1 without stats, index3: 1 shard split by its 3 docs
+        assertEquals(4 + 17 * 3 + 1 + 3, partitions.size());
+        assertEquals(partitions.size(), new HashSet(partitions).size());
+        int index1Shards = 0;
+        for (PartitionDefinition partition : partitions) {
+            if ("index1".equals(partition.getIndex())) {
+                assertNull(partition.getSlice());
+                index1Shards += partition.getShardIds().length;
+            }
+        }
+        assertEquals(15, index1Shards);
+    }
+
+    @Test
+    public void testSizedPartitionsWithPointInTime() throws IOException {
+        List<List<Map<String, Object>>> shards =
+                MAPPER.readValue(getClass().getResourceAsStream("search-shards-response.json"), ArrayList.class);
+        Map<String, Object> stats = new HashMap<String, Object>();
+        stats.put("index1", indexStats(15, 100L, 10L));
+        stats.put("index2", indexStats(17, 1000L, 50L));
+        stats.put("index3", indexStats(1, 10000L, 3L));
+
+        Settings settings = new PropertiesSettings();
+        settings.setInternalVersion(OpenSearchMajorVersion.LATEST);
+        settings.setProperty(OPENSEARCH_RESOURCE_READ, "index1,index2,index3");
+        settings.setProperty(OPENSEARCH_MAX_BYTES_PER_PARTITION, "400b");
+        settings.setProperty(OPENSEARCH_READ_STRATEGY, OPENSEARCH_READ_STRATEGY_PIT);
+        List<PartitionDefinition> partitions = RestService.findSizedPartitions(settings, null,
+                Collections.<String, NodeInfo>emptyMap(), shards, stats, LOGGER);
+
+        // search_after on _doc is only unique within a shard so small shards are not coalesced
+        assertEquals(15 + 17 * 3 + 1 + 3, partitions.size());
+        for (PartitionDefinition partition : partitions) {
+            assertEquals(1, partition.getShardIds().length);
+        }
+    }
+
+    private static Map<String, Object> indexStats(int numShards, long storeBytes, long docs) {
+        Map<String, Object> shardsStats = new HashMap<String, Object>();
+        for (int i = 0; i < numShards; i++) {
+            Map<String, Object> primary = new HashMap<String, Object>();
+            primary.put("routing", Collections.singletonMap("primary", true));
+            primary.put("store", Collections.singletonMap("size_in_bytes", storeBytes));
+            primary.put("docs", Collections.singletonMap("count", docs));
+            Map<String, Object> replica = new HashMap<String, Object>(primary);
+            replica.put("routing", Collections.singletonMap("primary", false));
+            shardsStats.put(Integer.toString(i), Arrays.asList(replica, primary));
+        }
+        return Collections.<String, Object>singletonMap("shards", shardsStats);
+    }
+}
@@ -0,0 +1,119 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ *
+ * Modifications Copyright OpenSearch Contributors. See
+ * GitHub history for details.
+ */
+
+package org.opensearch.hadoop.rest;
+
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.opensearch.hadoop.cfg.ConfigurationOptions;
+import org.opensearch.hadoop.cfg.Settings;
+import org.opensearch.hadoop.serialization.dto.mapping.Field;
+import org.opensearch.hadoop.serialization.dto.mapping.Mapping;
+import org.opensearch.hadoop.serialization.dto.mapping.MappingSet;
+import org.opensearch.hadoop.util.ClusterInfo;
+import org.opensearch.hadoop.util.TestSettings;
+import org.junit.After;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+public class MetadataCacheTest {
+
+    @After
+    public void clear() {
+        MetadataCache.clear();
+    }
+
+    @Test
+    public void testDisabledByDefault() {
+        Settings settings = new TestSettings();
+        AtomicInteger calls = new AtomicInteger();
+        MetadataCache.clusterInfo(settings, () -> { calls.incrementAndGet(); return ClusterInfo.unnamedLatest(); });
+        MetadataCache.clusterInfo(settings, () -> { calls.incrementAndGet(); return ClusterInfo.unnamedLatest(); });
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    public void testClusterInfoCached() {
+        Settings settings = new TestSettings();
+        settings.setProperty(ConfigurationOptions.OPENSEARCH_METADATA_CACHE_TTL, "1m");
+        AtomicInteger calls = new AtomicInteger();
+        ClusterInfo first = MetadataCache.clusterInfo(settings, () -> { calls.incrementAndGet(); return ClusterInfo.unnamedLatest(); });
+        ClusterInfo second = MetadataCache.clusterInfo(settings, () -> { calls.incrementAndGet(); return ClusterInfo.unnamedLatest(); });
+        assertEquals(1, calls.get());
+        assertSame(first, second);
+
+        // a different connection is a different cache entry
+        settings.setProperty(ConfigurationOptions.OPENSEARCH_NODES, "otherhost");
+        MetadataCache.clusterInfo(settings, () -> { calls.incrementAndGet(); return ClusterInfo.unnamedLatest(); });
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    public void testMappingsKeyedByResource() {
+        Settings settings = new TestSettings();
+        settings.setProperty(ConfigurationOptions.OPENSEARCH_METADATA_CACHE_TTL, "1m");
+        MappingSet foo = MetadataCache.mappings(settings, "foo", () -> mappingSet("foo"));
+        assertSame(foo, MetadataCache.mappings(settings, "foo", () -> mappingSet("foo")));
+        assertNotSame(foo, MetadataCache.mappings(settings, "bar", () -> mappingSet("bar")));
+    }
+
+    @Test
+    public void testExpiredEntriesReloaded() throws InterruptedException {
+        Settings settings = new TestSettings();
+        settings.setProperty(ConfigurationOptions.OPENSEARCH_METADATA_CACHE_TTL, "1ms");
+        MappingSet first = MetadataCache.mappings(settings, "foo", () -> mappingSet("foo"));
+        Thread.sleep(5);
+        assertNotSame(first, MetadataCache.mappings(settings, "foo", () -> mappingSet("foo")));
+    }
+
+    @Test
+    public void testKeyedByCredentials() {
+        Settings settings = new TestSettings();
+        settings.setProperty(ConfigurationOptions.OPENSEARCH_METADATA_CACHE_TTL, "1m");
+        settings.setProperty(ConfigurationOptions.OPENSEARCH_NET_HTTP_HEADER_PREFIX + "Authorization", "ApiKey first");
+        MappingSet first = MetadataCache.mappings(settings, "foo", () -> mappingSet("foo"));
+        ClusterInfo cluster = MetadataCache.clusterInfo(settings, ClusterInfo::unnamedLatest);
+
+        // request descriptive headers do not identify the principal
+        settings.setProperty(ConfigurationOptions.OPENSEARCH_NET_HTTP_HEADER_OPAQUE_ID, "[stage 1] [task attempt 2]");
+        assertSame(first, MetadataCache.mappings(settings, "foo", () -> mappingSet("foo")));
+
+        // another API key (or certificate) is another principal
+        settings.setProperty(ConfigurationOptions.OPENSEARCH_NET_HTTP_HEADER_PREFIX + "Authorization", "ApiKey second");
+        assertNotSame(first, MetadataCache.mappings(settings, "foo", () -> mappingSet("foo")));
+        assertNotSame(cluster, MetadataCache.clusterInfo(settings, ClusterInfo::unnamedLatest));
+
+        settings.setProperty(ConfigurationOptions.OPENSEARCH_NET_SSL_KEYSTORE_LOCATION, "other.jks");
+        assertNotSame(first, MetadataCache.mappings(settings, "foo", () -> mappingSet("foo")));
+        assertNotEquals(MetadataCache.credentialsKey(new TestSettings()), MetadataCache.credentialsKey(settings));
+    }
+
+    @Test
+    public void testKerberosNotCached() {
+        Settings settings = new TestSettings();
+        settings.setProperty(ConfigurationOptions.OPENSEARCH_METADATA_CACHE_TTL, "1m");
+        settings.setProperty(ConfigurationOptions.OPENSEARCH_SECURITY_AUTHENTICATION, "kerberos");
+        AtomicInteger calls = new AtomicInteger();
+        MetadataCache.clusterInfo(settings, () -> { calls.incrementAndGet(); return ClusterInfo.unnamedLatest(); });
+        MetadataCache.clusterInfo(settings, () -> { calls.incrementAndGet(); return ClusterInfo.unnamedLatest(); });
+        assertEquals(2, calls.get());
+        MappingSet first = MetadataCache.mappings(settings, "foo", () -> mappingSet("foo"));
+        assertNotSame(first, MetadataCache.mappings(settings, "foo", () -> mappingSet("foo")));
+    }
+
+    private static MappingSet mappingSet(String index) {
+        return new MappingSet(Collections.singletonList(new Mapping(index, MappingSet.TYPELESS_MAPPING_NAME, Collections.<Field>emptyList())));
+    }
+}
@@ -112,6 +112,21 @@ public class PartitionDefinitionTest {
         assertPartitionEquals(expected, def);
     }
 
+    @Test
+    public void testWritableWithCoalescedShards() throws IOException {
+        Mapping mapping = getTestMapping();
+        PropertiesSettings settings = new PropertiesSettings();
+        settings.setProperty("setting1", "value1");
+        PartitionDefinition expected = PartitionDefinition.builder(settings, mapping).build("foo", new int[] {3, 5, 8},
+                new String[] {"localhost:9200", "otherhost:9200"});
+        BytesArray bytes = writeWritablePartition(expected);
+        PartitionDefinition def = readWritablePartition(bytes);
+        assertPartitionEquals(expected, def);
+        assertEquals(3, def.getShardId());
+        assertArrayEquals(new int[] {3, 5, 8}, def.getShardIds());
+        assertNotEquals(PartitionDefinition.builder(settings, mapping).build("foo", 3), def);
+    }
+
     @Test
     public void testNonDuplicationOfConfiguration() throws IOException {
         Mapping mapping = getTestMapping();
@@ -134,6 +149,23 @@ public class PartitionDefinitionTest {
         assertNotSame(first.getSerializedMapping(), def.getSerializedMapping());
     }
 
+    @Test
+    public void testDetachedPayload() throws IOException, ClassNotFoundException {
+        Mapping mapping = getTestMapping();
+        PropertiesSettings settings = new PropertiesSettings();
+        settings.setProperty("setting1", "value1");
+        PartitionDefinition expected = PartitionDefinition.builder(settings, mapping).build("foo", 12, new PartitionDefinition.Slice(2, 5),
+                new String[] {"localhost:9200"});
+        PartitionDefinition detached = readSerializablePartition(writeSerializablePartition(expected.withoutPayload()));
+        assertEquals(expected, detached);
+        assertNull(detached.getSerializedSettings());
+        assertNull(detached.mapping());
+        PartitionDefinition def = detached.withPayload(expected.getSerializedSettings(), expected.getSerializedMapping());
+        assertPartitionEquals(expected, def);
+        assertEquals("value1", def.settings().getProperty("setting1"));
+        assertEquals(mapping.flatten(), def.mapping().flatten());
+    }
+
     static PartitionDefinition readSerializablePartition(BytesArray bytes) throws IOException, ClassNotFoundException {
         FastByteArrayInputStream in = new FastByteArrayInputStream(bytes);
         ObjectInputStream ois = new ObjectInputStream(in);
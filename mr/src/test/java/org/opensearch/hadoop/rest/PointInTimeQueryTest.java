@@ -0,0 +1,67 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ *
+ * Modifications Copyright OpenSearch Contributors. See
+ * GitHub history for details.
+ */
+
+package org.opensearch.hadoop.rest;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.opensearch.hadoop.serialization.ScrollReader;
+import org.opensearch.hadoop.util.BytesArray;
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Matchers;
+import org.mockito.Mockito;
+
+public class PointInTimeQueryTest {
+
+    @Test
+    public void testPagesWithSearchAfter() throws Exception {
+        Map<String, Object> data = new HashMap<String, Object>();
+        data.put("field", "value");
+        Object[] hit = new Object[]{"1", data};
+
+        RestRepository repository = Mockito.mock(RestRepository.class);
+        RestClient client = Mockito.mock(RestClient.class);
+        Mockito.doReturn(client).when(repository).getRestClient();
+        Mockito.when(client.openPointInTime(Matchers.anyString())).thenReturn("pit-0");
+
+        ScrollReader.Scroll first = new ScrollReader.Scroll("pit-1", 2, Collections.singletonList(hit), 1, 0, new Object[]{ 10L });
+        ScrollReader.Scroll second = new ScrollReader.Scroll("pit-2", 2, Collections.singletonList(hit), 1, 0, new Object[]{ 20L });
+        ScrollReader.Scroll last = new ScrollReader.Scroll("pit-3", 2, true);
+        Mockito.when(repository.scroll(Matchers.anyString(), Matchers.any(BytesArray.class), Matchers.any(ScrollReader.class)))
+                .thenReturn(first, second, last);
+
+        SearchRequestBuilder request = new SearchRequestBuilder(false).indices("idx").shard("0").pointInTime(true);
+        ScrollQuery query = new PointInTimeQuery(repository, request, -1, Mockito.mock(ScrollReader.class), false);
+
+        Assert.assertTrue(query.hasNext());
+        query.next();
+        Assert.assertTrue(query.hasNext());
+        query.next();
+        Assert.assertFalse(query.hasNext());
+        query.close();
+
+        ArgumentCaptor<BytesArray> bodies = ArgumentCaptor.forClass(BytesArray.class);
+        Mockito.verify(repository, Mockito.times(2)).scroll(Matchers.startsWith("_search?"), bodies.capture(), Matchers.any(ScrollReader.class));
+        Assert.assertTrue(bodies.getAllValues().get(0).toString().contains("\"id\":\"pit-0\""));
+        Assert.assertFalse(bodies.getAllValues().get(0).toString().contains("search_after"));
+        Assert.assertTrue(bodies.getAllValues().get(1).toString().contains("\"id\":\"pit-1\""));
+        Assert.assertTrue(bodies.getAllValues().get(1).toString().contains("\"search_after\":[10]"));
+
+        Mockito.verify(client).openPointInTime(Matchers.startsWith("idx/_search/point_in_time?"));
+        Mockito.verify(client).deletePointInTime("pit-2");
+        Mockito.verify(client, Mockito.never()).deleteScroll(Matchers.anyString());
+        Mockito.verify(repository).close();
+        Assert.assertEquals(2, query.getRead());
+    }
+}
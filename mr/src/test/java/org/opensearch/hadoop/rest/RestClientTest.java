@@ -213,6 +213,65 @@ public class RestClientTest {
         assertEquals(5L, count);
     }
 
+    @Test
+    public void testCountIndexShards() throws Exception {
+        BytesArray body = new BytesArray(
+                "{\"index\":\"index1\",\"preference\":\"_shards:0\"}\n" +
+                "{\"size\":0,\"track_total_hits\":true,\"query\":{\"match_all\":{}}}\n" +
+                "{\"index\":\"index2\",\"preference\":\"_shards:3\"}\n" +
+                "{\"size\":0,\"track_total_hits\":true,\"query\":{\"match_all\":{}}}\n");
+        SimpleRequest request = new SimpleRequest(Request.Method.POST, null, "_msearch", null, body);
+        String response =
+                "{\n" +
+                        "    \"took\": 6,\n" +
+                        "    \"responses\": [\n" +
+                        "        {\"hits\": {\"total\": {\"value\": 5, \"relation\": \"eq\"}, \"hits\": []}, \"status\": 200},\n" +
+                        "        {\"hits\": {\"total\": {\"value\": 12, \"relation\": \"eq\"}, \"hits\": []}, \"status\": 200}\n" +
+                        "    ]\n" +
+                        "}";
+
+        NetworkClient mock = Mockito.mock(NetworkClient.class);
+        Mockito.when(mock.execute(Mockito.eq(request), Mockito.eq(true)))
+                .thenReturn(new SimpleResponse(200, new FastByteArrayInputStream(new BytesArray(response)), "localhost:9200"));
+
+        RestClient client = new RestClient(new TestSettings(), mock);
+
+        long[] counts = client.countIndexShards(new String[] { "index1", "index2" }, new String[] { "0", "3" }, MatchAllQueryBuilder.MATCH_ALL);
+        assertEquals(2, counts.length);
+        assertEquals(5L, counts[0]);
+        assertEquals(12L, counts[1]);
+    }
+
+    @Test
+    public void testDeleteByQuery() throws Exception {
+        BytesArray query = new BytesArray("{\"query\":{\"match_all\":{}}}");
+        SimpleRequest request = new SimpleRequest(Request.Method.POST, null, "index/_delete_by_query",
+                "slices=auto&conflicts=proceed&refresh=true&wait_for_completion=false", query);
+        String response = "{\"task\":\"node1:42\"}";
+
+        NetworkClient mock = Mockito.mock(NetworkClient.class);
+        Mockito.when(mock.execute(Mockito.eq(request), Mockito.eq(true)))
+                .thenReturn(new SimpleResponse(200, new FastByteArrayInputStream(new BytesArray(response)), "localhost:9200"));
+
+        RestClient client = new RestClient(new TestSettings(), mock);
+
+        assertEquals("node1:42", client.deleteByQuery("index", MatchAllQueryBuilder.MATCH_ALL));
+    }
+
+    @Test
+    public void testCancelTask() throws Exception {
+        SimpleRequest request = new SimpleRequest(Request.Method.POST, null, "_tasks/node1:42/_cancel");
+
+        NetworkClient mock = Mockito.mock(NetworkClient.class);
+        Mockito.when(mock.execute(Mockito.eq(request), Mockito.eq(true)))
+                .thenReturn(new SimpleResponse(200, new FastByteArrayInputStream(new BytesArray("{\"nodes\":{}}")), "localhost:9200"));
+
+        RestClient client = new RestClient(new TestSettings(), mock);
+        client.cancelTask("node1:42");
+
+        Mockito.verify(mock).execute(Mockito.eq(request), Mockito.eq(true));
+    }
+
     @Test(expected = OpenSearchHadoopParsingException.class)
     public void testCountBadRelation() throws Exception {
         String index = "index";
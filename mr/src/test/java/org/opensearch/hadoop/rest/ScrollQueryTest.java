@@ -29,6 +29,8 @@
 
 package org.opensearch.hadoop.rest;
 
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
@@ -36,7 +38,11 @@ import java.util.Map;
 import org.opensearch.hadoop.rest.stats.Stats;
 import org.opensearch.hadoop.serialization.JsonUtils;
 import org.opensearch.hadoop.serialization.ScrollReader;
+import org.opensearch.hadoop.serialization.ScrollReaderConfigBuilder;
+import org.opensearch.hadoop.serialization.builder.JdkValueReader;
 import org.opensearch.hadoop.util.BytesArray;
+import org.opensearch.hadoop.util.StringUtils;
+import org.opensearch.hadoop.util.TestSettings;
 import org.junit.Assert;
 import org.junit.Test;
 import org.mockito.Matchers;
@@ -45,6 +51,10 @@ import org.mockito.Mockito;
 public class ScrollQueryTest {
 
     public void test(boolean firstScrollReturnsHits) throws Exception {
+        test(firstScrollReturnsHits, false);
+    }
+
+    public void test(boolean firstScrollReturnsHits, boolean prefetch) throws Exception {
         RestRepository repository = mockRepository(firstScrollReturnsHits);
         ScrollReader scrollReader = Mockito.mock(ScrollReader.class);
 
@@ -52,7 +62,7 @@ public class ScrollQueryTest {
         BytesArray body = new BytesArray("{}");
         long size = 100;
 
-        ScrollQuery scrollQuery = new ScrollQuery(repository, query, body, size, scrollReader);
+        ScrollQuery scrollQuery = new ScrollQuery(repository, query, body, size, scrollReader, prefetch);
 
         Assert.assertTrue(scrollQuery.hasNext());
         Assert.assertEquals("value", JsonUtils.query("field").apply(scrollQuery.next()[1]));
@@ -74,6 +84,66 @@ public class ScrollQueryTest {
         test(true);
     }
 
+    @Test
+    public void testPrefetchWithEmptyFirstScroll() throws Exception {
+        test(false, true);
+    }
+
+    @Test
+    public void testPrefetchWithNonEmptyFirstScroll() throws Exception {
+        test(true, true);
+    }
+
+    @Test
+    public void testPrefetchClearsLatestScrollOnClose() throws Exception {
+        RestRepository repository = mockRepository(true);
+        ScrollReader scrollReader = Mockito.mock(ScrollReader.class);
+
+        ScrollQuery scrollQuery = new ScrollQuery(repository, "/index/type/_search?scroll=10m", new BytesArray("{}"), 100, scrollReader, true);
+
+        Assert.assertTrue(scrollQuery.hasNext());
+        scrollQuery.next();
+        // close while the next page is (possibly) still being read ahead
+        scrollQuery.close();
+        Mockito.verify(repository).scroll(Matchers.eq("abcd"), Matchers.any(ScrollReader.class));
+        Mockito.verify(repository.getRestClient()).deleteScroll("efgh");
+    }
+
+    @Test
+    public void testStreamedPages() throws Exception {
+        ScrollReader scrollReader = new ScrollReader(ScrollReaderConfigBuilder.builder(new JdkValueReader(), new TestSettings())
+                .setStreaming(true));
+
+        RestRepository repository = Mockito.mock(RestRepository.class);
+        ScrollReader.Scroll first = scrollReader.read(response("{\"_scroll_id\":\"abcd\",\"hits\":{\"total\":2,\"hits\":["
+                + "{\"_id\":\"1\",\"_source\":{\"field\":\"value\"}},{\"_id\":\"2\",\"_source\":{\"field\":\"value\"}}]}}"));
+        Mockito.doReturn(first).when(repository).scroll(Matchers.anyString(), Matchers.any(BytesArray.class), Matchers.any(ScrollReader.class));
+        ScrollReader.Scroll last = scrollReader.read(response("{\"_scroll_id\":\"efgh\",\"hits\":{\"total\":2,\"hits\":[]}}"));
+        Mockito.doReturn(last).when(repository).scroll(Matchers.eq("abcd"), Matchers.any(ScrollReader.class));
+        RestClient mockClient = Mockito.mock(RestClient.class);
+        Mockito.doReturn(mockClient).when(repository).getRestClient();
+
+        // prefetching does not apply to streamed pages
+        ScrollQuery scrollQuery = new ScrollQuery(repository, "/index/_search?scroll=10m", new BytesArray("{}"), 100, scrollReader, true);
+
+        Assert.assertTrue(scrollQuery.hasNext());
+        Assert.assertEquals("1", scrollQuery.next()[0]);
+        Assert.assertEquals(1, scrollQuery.getRead());
+        Assert.assertTrue(scrollQuery.hasNext());
+        Assert.assertEquals("2", scrollQuery.next()[0]);
+        Assert.assertFalse(scrollQuery.hasNext());
+        scrollQuery.close();
+
+        Assert.assertEquals(2, scrollQuery.getRead());
+        Assert.assertEquals(2, scrollQuery.stats().docsReceived);
+        Mockito.verify(repository).scroll(Matchers.eq("abcd"), Matchers.any(ScrollReader.class));
+        Mockito.verify(mockClient).deleteScroll("efgh");
+    }
+
+    private static InputStream response(String json) {
+        return new ByteArrayInputStream(json.getBytes(StringUtils.UTF_8));
+    }
+
     private RestRepository mockRepository(boolean firstScrollReturnsHits) throws Exception {
         Map<String, Object> data = new HashMap<String, Object>();
         data.put("field", "value");
@@ -28,6 +28,7 @@
  */
 package org.opensearch.hadoop.rest;
 
+import org.opensearch.hadoop.OpenSearchHadoopIllegalArgumentException;
 import org.opensearch.hadoop.util.OpenSearchMajorVersion;
 import org.opensearch.hadoop.util.encoding.HttpEncodingTools;
 import org.junit.Test;
@@ -74,4 +75,56 @@ public class SearchRequestBuilderTest {
         assertFalse(localWithPreferenceString.contains("_local"));
         assertTrue(localWithPreferenceString.contains(encodedPreferenceString));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testPointInTime() {
+        SearchRequestBuilder builder = new SearchRequestBuilder(false)
+                .indices("foo")
+                .shard("3")
+                .local(true)
+                .routing("r1")
+                .size(100)
+                .slice(1, 4)
+                .pointInTime(true);
+
+        String pit = builder.assemblePointInTime();
+        assertTrue(pit.startsWith("foo/_search/point_in_time?keep_alive=10m"));
+        assertTrue(pit.contains("preference=" + HttpEncodingTools.encode("_shards:3|_local")));
+        assertTrue(pit.contains("routing=r1"));
+
+        // the search itself is neither routed nor bound to an index
+        String search = builder.assemblePointInTimeSearch();
+        assertTrue(search.startsWith("_search?size=100"));
+        assertFalse(search.contains("preference"));
+        assertFalse(search.contains("routing"));
+        assertFalse(search.contains("scroll"));
+
+        String first = builder.assembleBody("pit-1", null).toString();
+        assertTrue(first.contains("\"pit\":{\"id\":\"pit-1\",\"keep_alive\":\"10m\"}"));
+        assertTrue(first.contains("\"sort\":[\"_doc\"]"));
+        assertTrue(first.contains("\"slice\":{\"id\":1,\"max\":4}"));
+        assertFalse(first.contains("search_after"));
+
+        String next = builder.assembleBody("pit-2", new Object[] { 42L }).toString();
+        assertTrue(next.contains("\"search_after\":[42]"));
+    }
+
+    @Test(expected = OpenSearchHadoopIllegalArgumentException.class)
+    public void testPointInTimeAcrossShards() {
+        // pages sorted on _doc alone would skip or repeat documents across shards
+        new SearchRequestBuilder(false)
+                .indices("foo")
+                .shard("1,2,5")
+                .pointInTime(true)
+                .assemblePointInTime();
+    }
+
+    @Test
+    public void testDocValueFields() {
+        String body = new SearchRequestBuilder(false)
+                .docValueFields("status,host")
+                .toString();
+        assertTrue(body.contains("\"_source\":false"));
+        assertTrue(body.contains("\"docvalue_fields\":[\"status\",\"host\"]"));
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ *
+ * Modifications Copyright OpenSearch Contributors. See
+ * GitHub history for details.
+ */
+
+package org.opensearch.hadoop.rest.bulk;
+
+import org.opensearch.hadoop.OpenSearchHadoopIllegalArgumentException;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class AdaptiveBatchSizerTest {
+
+    private AdaptiveBatchSizer sizer() {
+        // start at 1000 bytes/100 entries within [100, 2000] bytes and [10, 200] entries, 500ms target
+        return new AdaptiveBatchSizer(1000, 100, 100, 2000, 10, 200, 500L);
+    }
+
+    @Test
+    public void testInitialSizeIsClampedToBounds() throws Exception {
+        AdaptiveBatchSizer sizer = new AdaptiveBatchSizer(1000000, 5, 100, 2000, 10, 200, 500L);
+        assertEquals(2000, sizer.bytes());
+        assertEquals(10, sizer.entries());
+        assertEquals(0L, sizer.pause());
+    }
+
+    @Test
+    public void testAdditiveIncreaseOnFastBatches() throws Exception {
+        AdaptiveBatchSizer sizer = sizer();
+        sizer.onBatch(100L, 1000, 100, 0);
+        assertEquals(1100, sizer.bytes());
+        assertEquals(110, sizer.entries());
+    }
+
+    @Test
+    public void testNoIncreaseOnSmallBatches() throws Exception {
+        AdaptiveBatchSizer sizer = sizer();
+        sizer.onBatch(100L, 10, 1, 0);
+        assertEquals(1000, sizer.bytes());
+        assertEquals(100, sizer.entries());
+    }
+
+    @Test
+    public void testIncreaseStopsAtUpperBound() throws Exception {
+        AdaptiveBatchSizer sizer = sizer();
+        for (int i = 0; i < 100; i++) {
+            sizer.onBatch(100L, sizer.bytes(), sizer.entries(), 0);
+        }
+        assertEquals(2000, sizer.bytes());
+        assertEquals(200, sizer.entries());
+    }
+
+    @Test
+    public void testDecreaseOnSlowBatches() throws Exception {
+        AdaptiveBatchSizer sizer = sizer();
+        sizer.onBatch(1000L, 1000, 100, 0);
+        assertEquals(750, sizer.bytes());
+        assertEquals(75, sizer.entries());
+        assertEquals(0L, sizer.pause());
+    }
+
+    @Test
+    public void testHalveAndPaceOnRejections() throws Exception {
+        AdaptiveBatchSizer sizer = sizer();
+        sizer.onBatch(100L, 1000, 100, 5);
+        assertEquals(500, sizer.bytes());
+        assertEquals(50, sizer.entries());
+        assertEquals(500L, sizer.pause());
+
+        sizer.onBatch(100L, 500, 50, 5);
+        assertEquals(250, sizer.bytes());
+        assertEquals(25, sizer.entries());
+        assertEquals(1000L, sizer.pause());
+
+        // keeps within the lower bound and the maximum pause
+        for (int i = 0; i < 10; i++) {
+            sizer.onBatch(100L, 100, 10, 1);
+        }
+        assertEquals(100, sizer.bytes());
+        assertEquals(10, sizer.entries());
+        assertEquals(8000L, sizer.pause());
+
+        // a clean batch stops the pacing
+        sizer.onBatch(100L, 100, 10, 0);
+        assertEquals(0L, sizer.pause());
+    }
+
+    @Test
+    public void testEntriesLimitStaysDisabled() throws Exception {
+        AdaptiveBatchSizer sizer = new AdaptiveBatchSizer(1000, -1, 100, 2000, 10, 200, 500L);
+        sizer.onBatch(100L, 1000, 5000, 0);
+        assertEquals(1100, sizer.bytes());
+        assertEquals(-1, sizer.entries());
+    }
+
+    @Test(expected = OpenSearchHadoopIllegalArgumentException.class)
+    public void testInvalidBounds() throws Exception {
+        new AdaptiveBatchSizer(1000, 100, 2000, 100, 10, 200, 500L);
+    }
+}
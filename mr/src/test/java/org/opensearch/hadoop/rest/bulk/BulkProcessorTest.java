@@ -909,6 +909,123 @@ public class BulkProcessorTest {
         fail("This should fail since the retry handler returned garbage");
     }
 
+    @Test
+    public void testBulk10_AsyncFlushWithRetry() throws Exception {
+        testSettings.setProperty(ConfigurationOptions.OPENSEARCH_BATCH_FLUSH_ASYNC, "true");
+        testSettings.setProperty(ConfigurationOptions.OPENSEARCH_BATCH_SIZE_ENTRIES, "2");
+
+        BulkProcessor processor = getBulkProcessor(
+                generator.setInfo(resource, 56)
+                        .addSuccess("index", 201)
+                        .addSuccess("index", 201)
+                        .generate(),
+                generator.setInfo(resource, 56)
+                        .addSuccess("index", 201)
+                        .addRejection("index")
+                        .generate(),
+                generator.setInfo(resource, 56)
+                        .addSuccess("index", 201)
+                        .generate(),
+                generator.setInfo(resource, 56)
+                        .addSuccess("index", 201)
+                        .generate()
+        );
+
+        processData(processor);
+
+        BulkResponse bulkResponse = processor.tryFlush();
+
+        assertEquals(5, bulkResponse.getTotalDocs());
+        assertEquals(5, bulkResponse.getDocsSent());
+        assertEquals(0, bulkResponse.getDocsSkipped());
+        assertEquals(0, bulkResponse.getDocsAborted());
+
+        processor.close();
+        Stats stats = processor.stats();
+
+        assertEquals(1, stats.bulkRetries);
+        assertEquals(1, stats.docsRetried);
+        assertEquals(5, stats.docsAccepted);
+    }
+
+    @Test
+    public void testBulk10_AsyncFlushErrorPositions() throws Exception {
+        testSettings.setProperty(ConfigurationOptions.OPENSEARCH_BATCH_FLUSH_ASYNC, "true");
+        testSettings.setProperty(ConfigurationOptions.OPENSEARCH_BATCH_FLUSH_ASYNC_MAX_INFLIGHT, "2");
+        testSettings.setProperty(ConfigurationOptions.OPENSEARCH_BATCH_SIZE_ENTRIES, "2");
+
+        BulkProcessor processor = getBulkProcessor(
+                generator.setInfo(resource, 56)
+                        .addSuccess("index", 201)
+                        .addSuccess("index", 201)
+                        .generate(),
+                generator.setInfo(resource, 56)
+                        .addSuccess("index", 201)
+                        .addFailure("index", 401, "conflict", "This data is bogus")
+                        .generate(),
+                generator.setInfo(resource, 56)
+                        .addSuccess("index", 201)
+                        .generate()
+        );
+
+        processData(processor);
+
+        BulkResponse bulkResponse = processor.tryFlush();
+
+        assertEquals(5, bulkResponse.getTotalDocs());
+        assertEquals(4, bulkResponse.getDocsSent());
+        assertEquals(1, bulkResponse.getDocsAborted());
+        assertEquals(1, bulkResponse.getDocumentErrors().size());
+
+        // positions are relative to all documents added since the last flush
+        BulkResponse.BulkError error = bulkResponse.getDocumentErrors().get(0);
+        assertEquals(3, error.getOriginalPosition());
+        assertEquals(new String(renderEntry("D"), Charsets.UTF_8), error.getDocument().toString());
+
+        processor.close();
+        Stats stats = processor.stats();
+
+        assertEquals(0, stats.bulkRetries);
+        assertEquals(4, stats.docsAccepted);
+    }
+
+    @Test(expected = OpenSearchHadoopException.class)
+    public void testBulk10_AsyncFlushFailureSurfacesOnAdd() throws Exception {
+        testSettings.setProperty(ConfigurationOptions.OPENSEARCH_BATCH_FLUSH_ASYNC, "true");
+        testSettings.setProperty(ConfigurationOptions.OPENSEARCH_BATCH_SIZE_ENTRIES, "2");
+
+        BulkProcessor processor = getBulkProcessor(
+                generator.setInfo(resource, 56)
+                        .addSuccess("index", 201)
+                        .addFailure("index", 401, "conflict", "This data is bogus")
+                        .generate(),
+                generator.setInfo(resource, 56)
+                        .addSuccess("index", 201)
+                        .addSuccess("index", 201)
+                        .generate()
+        );
+
+        // the failure of the first batch is reported once the second one needs to be handed off
+        processData(processor);
+
+        fail("The aborted document of the first batch should fail the write");
+    }
+
+    @Test
+    public void testBulk11_AbortDiscardsBufferedEntries() throws Exception {
+        // no responses - any bulk request fails the test
+        BulkProcessor processor = getBulkProcessor();
+
+        processData(processor);
+
+        processor.abort();
+        processor.close();
+        Stats stats = processor.stats();
+
+        assertEquals(0, stats.docsSent);
+        assertEquals(0, stats.bulkTotal);
+    }
+
     private BulkProcessor getBulkProcessor(RestClient.BulkActionResponse... responses) {
         return new BulkProcessor(mockClientResponses(responses), resource, testSettings);
     }
@@ -0,0 +1,123 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ *
+ * Modifications Copyright OpenSearch Contributors. See
+ * GitHub history for details.
+ */
+
+package org.opensearch.hadoop.rest.bulk;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.opensearch.hadoop.OpenSearchHadoopIllegalArgumentException;
+import org.opensearch.hadoop.util.BytesArray;
+import org.opensearch.hadoop.util.BytesRef;
+import org.opensearch.hadoop.util.Murmur3HashFunction;
+import org.opensearch.hadoop.util.StringUtils;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class ShardRouterTest {
+
+    private static BytesRef entry(String entry) {
+        BytesRef ref = new BytesRef();
+        ref.add(StringUtils.toUTF(entry));
+        return ref;
+    }
+
+    @Test
+    public void testMurmur3KnownValues() throws Exception {
+        byte[] foo = StringUtils.toUTF("foo");
+        assertEquals(-156908512, Murmur3HashFunction.hash(foo, 0, foo.length));
+        byte[] hello = StringUtils.toUTF("hello");
+        assertEquals(613153351, Murmur3HashFunction.hash(hello, 0, hello.length));
+    }
+
+    @Test
+    public void testDefaultRoutingNumShards() throws Exception {
+        assertEquals(1024, ShardRouter.defaultRoutingNumShards(1));
+        assertEquals(640, ShardRouter.defaultRoutingNumShards(5));
+        assertEquals(1024, ShardRouter.defaultRoutingNumShards(512));
+        assertEquals(2048, ShardRouter.defaultRoutingNumShards(1024));
+    }
+
+    @Test
+    public void testShardIdScalesDownRoutingShards() throws Exception {
+        ShardRouter router = new ShardRouter(5, 640, 1);
+        for (int i = 0; i < 100; i++) {
+            String id = String.valueOf(i);
+            int shard = router.shardId(id, null);
+            assertTrue(shard >= 0 && shard < 5);
+            assertEquals(Math.floorMod(Murmur3HashFunction.hash(id), 640) / 128, shard);
+            // routing takes over the id
+            assertEquals(router.shardId("r", null), router.shardId(id, "r"));
+        }
+    }
+
+    @Test
+    public void testPartitionedIndex() throws Exception {
+        ShardRouter router = new ShardRouter(8, 8, 3);
+        int base = Math.floorMod(Murmur3HashFunction.hash("r"), 8);
+        for (int i = 0; i < 100; i++) {
+            int shard = router.shardId(String.valueOf(i), "r");
+            int offset = Math.floorMod(shard - base, 8);
+            assertTrue("shard [" + shard + "] outside of routing partition", offset < 3);
+        }
+    }
+
+    @Test
+    public void testShardIdFromEntry() throws Exception {
+        ShardRouter router = new ShardRouter(5, 640, 1);
+        assertEquals(router.shardId("1", null), router.shardId(entry("{\"index\":{\"_id\":\"1\"}}\n{\"field\":\"value\"}\n")));
+        assertEquals(router.shardId("1", "r"), router.shardId(entry("{\"update\":{\"_id\":\"1\",\"routing\":\"r\",\"retry_on_conflict\":3}}\n{\"doc\":{}}\n")));
+        assertEquals(router.shardId("x", "r"), router.shardId(entry("{\"index\":{\"routing\":\"r\"}}\n{\"field\":\"value\"}\n")));
+        assertEquals(router.shardId("42", null), router.shardId(entry("{\"delete\":{\"_id\":42}}\n")));
+    }
+
+    @Test
+    public void testUnknownShardWithoutId() throws Exception {
+        assertEquals(-1, new ShardRouter(5, 640, 1).shardId(entry("{\"index\":{}}\n{\"field\":\"value\"}\n")));
+        assertEquals(-1, new ShardRouter(8, 8, 3).shardId(entry("{\"index\":{\"routing\":\"r\"}}\n{\"field\":\"value\"}\n")));
+    }
+
+    @Test
+    public void testShardIdFromChunkedEntry() throws Exception {
+        ShardRouter router = new ShardRouter(5, 640, 1);
+        BytesRef ref = new BytesRef();
+        ref.add(StringUtils.toUTF("{\"index\":{\"_i"));
+        byte[] rest = StringUtils.toUTF("xxd\":\"1\"}}\n{\"_id\":\"2\"}\n");
+        ref.add(new BytesArray(rest, 2, rest.length - 2));
+        assertEquals(router.shardId("1", null), router.shardId(ref));
+        // only the action line is considered, not the document
+        assertEquals(-1, router.shardId(entry("{\"index\":{}}\n{\"_id\":\"1\",\"routing\":\"r\"}\n")));
+    }
+
+    @Test
+    public void testFromIndexMetadata() throws Exception {
+        Map<String, Object> index = new HashMap<String, Object>();
+        index.put("number_of_shards", "5");
+        Map<String, Object> settings = new HashMap<String, Object>();
+        settings.put("index", index);
+        Map<String, Object> metadata = new HashMap<String, Object>();
+        metadata.put("settings", settings);
+
+        ShardRouter router = ShardRouter.fromIndexMetadata(metadata);
+        assertEquals(5, router.getNumberOfShards());
+        assertEquals(new ShardRouter(5, 640, 1).shardId("id", null), router.shardId("id", null));
+
+        metadata.put("routing_num_shards", 10);
+        router = ShardRouter.fromIndexMetadata(metadata);
+        assertEquals(new ShardRouter(5, 10, 1).shardId("id", null), router.shardId("id", null));
+    }
+
+    @Test(expected = OpenSearchHadoopIllegalArgumentException.class)
+    public void testInvalidRoutingShards() throws Exception {
+        new ShardRouter(3, 10, 1);
+    }
+}
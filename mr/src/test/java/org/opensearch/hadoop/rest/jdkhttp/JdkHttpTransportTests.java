@@ -0,0 +1,156 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ *
+ * Modifications Copyright OpenSearch Contributors. See
+ * GitHub history for details.
+ */
+
+package org.opensearch.hadoop.rest.jdkhttp;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+import org.opensearch.hadoop.cfg.ConfigurationOptions;
+import org.opensearch.hadoop.cfg.Settings;
+import org.opensearch.hadoop.rest.Request;
+import org.opensearch.hadoop.rest.Response;
+import org.opensearch.hadoop.rest.SimpleRequest;
+import org.opensearch.hadoop.util.BytesArray;
+import org.opensearch.hadoop.util.IOUtils;
+import org.opensearch.hadoop.util.StringUtils;
+import org.opensearch.hadoop.util.TestSettings;
+import org.hamcrest.Matchers;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.*;
+
+public class JdkHttpTransportTests {
+
+    private HttpServer server;
+    private final AtomicReference<HttpExchange> lastExchange = new AtomicReference<HttpExchange>();
+    private final AtomicReference<byte[]> lastBody = new AtomicReference<byte[]>();
+
+    @Before
+    public void setup() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/", new HttpHandler() {
+            @Override
+            public void handle(HttpExchange exchange) throws IOException {
+                lastExchange.set(exchange);
+                lastBody.set(readFully(exchange.getRequestBody()));
+
+                byte[] response = "{\"ok\":true}".getBytes(StringUtils.UTF_8);
+                String acceptEncoding = exchange.getRequestHeaders().getFirst("Accept-Encoding");
+                if (acceptEncoding != null && acceptEncoding.contains("gzip")) {
+                    ByteArrayOutputStream out = new ByteArrayOutputStream();
+                    GZIPOutputStream gzip = new GZIPOutputStream(out);
+                    gzip.write(response);
+                    gzip.close();
+                    response = out.toByteArray();
+                    exchange.getResponseHeaders().set("Content-Encoding", "gzip");
+                }
+                int status = exchange.getRequestURI().getPath().endsWith("/missing") ? 404 : 200;
+                exchange.sendResponseHeaders(status, response.length);
+                OutputStream body = exchange.getResponseBody();
+                body.write(response);
+                body.close();
+            }
+        });
+        server.start();
+    }
+
+    @After
+    public void teardown() {
+        server.stop(0);
+    }
+
+    private String host() {
+        return "127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    private static byte[] readFully(InputStream in) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] buffer = new byte[1024];
+        int read;
+        while ((read = in.read(buffer)) != -1) {
+            out.write(buffer, 0, read);
+        }
+        return out.toByteArray();
+    }
+
+    @Test
+    public void testRequestWithBody() throws Exception {
+        Settings settings = new TestSettings();
+        settings.setProperty(ConfigurationOptions.OPENSEARCH_NODES_PATH_PREFIX, "prefix");
+        settings.setProperty(ConfigurationOptions.OPENSEARCH_NET_HTTP_HEADER_PREFIX + "X-Custom", "value");
+
+        JdkHttpTransport transport = new JdkHttpTransport(settings, host());
+        Response response = transport.execute(new SimpleRequest(Request.Method.GET, null, "index/_search", "size=10", new BytesArray("{\"query\":{}}")));
+
+        assertEquals(200, response.status());
+        assertEquals("{\"ok\":true}", IOUtils.asString(response.body()));
+
+        HttpExchange exchange = lastExchange.get();
+        // GET bodies are sent as POST
+        assertEquals("POST", exchange.getRequestMethod());
+        assertEquals("/prefix/index/_search", exchange.getRequestURI().getPath());
+        assertEquals("size=10", exchange.getRequestURI().getRawQuery());
+        assertEquals("value", exchange.getRequestHeaders().getFirst("X-Custom"));
+        assertThat(exchange.getRequestHeaders().getFirst("Content-Type"), Matchers.startsWith("application/json"));
+        assertEquals("{\"query\":{}}", new String(lastBody.get(), StringUtils.UTF_8));
+        transport.close();
+    }
+
+    @Test
+    public void testErrorResponse() throws Exception {
+        JdkHttpTransport transport = new JdkHttpTransport(new TestSettings(), host());
+        Response response = transport.execute(new SimpleRequest(Request.Method.GET, null, "missing"));
+        assertEquals(404, response.status());
+        assertEquals("{\"ok\":true}", IOUtils.asString(response.body()));
+        transport.close();
+    }
+
+    @Test
+    public void testCompression() throws Exception {
+        Settings settings = new TestSettings();
+        settings.setProperty(ConfigurationOptions.OPENSEARCH_NET_HTTP_COMPRESSION_REQUEST, "true");
+        settings.setProperty(ConfigurationOptions.OPENSEARCH_NET_HTTP_COMPRESSION_RESPONSE, "true");
+
+        JdkHttpTransport transport = new JdkHttpTransport(settings, host());
+        Response response = transport.execute(new SimpleRequest(Request.Method.POST, null, "_bulk", new BytesArray("{\"index\":{}}\n{}\n")));
+
+        assertEquals(200, response.status());
+        assertEquals("{\"ok\":true}", IOUtils.asString(response.body()));
+        assertEquals("gzip", lastExchange.get().getRequestHeaders().getFirst("Content-Encoding"));
+        assertEquals("{\"index\":{}}\n{}\n", new String(readFully(new GZIPInputStream(new ByteArrayInputStream(lastBody.get()))), StringUtils.UTF_8));
+        transport.close();
+    }
+
+    @Test
+    public void testBasicAuth() throws Exception {
+        Settings settings = new TestSettings();
+        settings.setProperty(ConfigurationOptions.OPENSEARCH_NET_HTTP_AUTH_USER, "user");
+        settings.setProperty(ConfigurationOptions.OPENSEARCH_NET_HTTP_AUTH_PASS, "pass");
+
+        JdkHttpTransport transport = new JdkHttpTransport(settings, host());
+        transport.execute(new SimpleRequest(Request.Method.GET, null, "")).body().close();
+        assertEquals("Basic dXNlcjpwYXNz", lastExchange.get().getRequestHeaders().getFirst("Authorization"));
+        transport.close();
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ *
+ * Modifications Copyright OpenSearch Contributors. See
+ * GitHub history for details.
+ */
+
+package org.opensearch.hadoop.serialization;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.opensearch.hadoop.serialization.dto.mapping.Field;
+import org.opensearch.hadoop.serialization.dto.mapping.Mapping;
+import org.opensearch.hadoop.serialization.field.FieldFilter;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class FieldPathTrieTest {
+
+    private static Mapping mapping() {
+        Field nested = new Field("address", FieldType.OBJECT, Arrays.asList(new Field("city", FieldType.KEYWORD),
+                new Field("zip", FieldType.INTEGER)));
+        return new Mapping("index", "_doc", Arrays.asList(new Field("name", FieldType.TEXT), nested));
+    }
+
+    private static FieldPathTrie trie(boolean ignoreUnmapped, String includes, String excludes, String arrays) {
+        return new FieldPathTrie(mapping(), ignoreUnmapped, FieldFilter.toNumberedFilter(list(includes)), list(excludes),
+                FieldFilter.toNumberedFilter(list(arrays)));
+    }
+
+    private static List<String> list(String value) {
+        return (value == null ? Collections.<String> emptyList() : Arrays.asList(value.split(",")));
+    }
+
+    @Test
+    public void testMappedPathsAreResolvedUpfront() {
+        FieldPathTrie trie = trie(false, null, null, null);
+        assertEquals(4, trie.size());
+        FieldPathTrie.Node city = trie.root().child("address").child("city");
+        assertEquals("address.city", city.absoluteName);
+        assertEquals("city", city.name);
+        assertEquals(FieldType.KEYWORD, city.type);
+        assertFalse(city.skip);
+        assertFalse(city.array);
+        assertSame(city, trie.root().child("address").child("city"));
+        assertEquals(4, trie.size());
+    }
+
+    @Test
+    public void testUnmappedPathsAreCached() {
+        FieldPathTrie trie = trie(false, null, null, null);
+        FieldPathTrie.Node unknown = trie.root().child("address").child("street");
+        assertNull(unknown.type);
+        assertFalse(unknown.skip);
+        assertSame(unknown, trie.root().child("address").child("street"));
+        assertEquals(5, trie.size());
+    }
+
+    @Test
+    public void testFilters() {
+        FieldPathTrie trie = trie(false, "address", "address.zip", "address.city");
+        assertTrue(trie.root().child("name").skip);
+        assertFalse(trie.root().child("address").skip);
+        assertFalse(trie.root().child("address").child("city").skip);
+        assertTrue(trie.root().child("address").child("city").array);
+        assertTrue(trie.root().child("address").child("zip").skip);
+        assertFalse(trie.root().child("address").child("zip").array);
+    }
+
+    @Test
+    public void testIgnoreUnmappedFields() {
+        FieldPathTrie trie = trie(true, null, null, null);
+        assertFalse(trie.root().child("name").skip);
+        assertTrue(trie.root().child("age").skip);
+    }
+
+    @Test
+    public void testUnmappedPathsAreBounded() {
+        FieldPathTrie trie = trie(false, null, null, null);
+        for (int i = 0; i < FieldPathTrie.MAX_NODES; i++) {
+            trie.root().child("key" + i);
+        }
+        assertEquals(FieldPathTrie.MAX_NODES, trie.size());
+        FieldPathTrie.Node last = trie.root().child("key" + FieldPathTrie.MAX_NODES);
+        assertEquals("key" + FieldPathTrie.MAX_NODES, last.absoluteName);
+        assertNotSame(last, trie.root().child("key" + FieldPathTrie.MAX_NODES));
+    }
+}
@@ -30,8 +30,10 @@ package org.opensearch.hadoop.serialization;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 
@@ -256,6 +258,27 @@ public class ScrollReaderJsonTest {
         }
     }
 
+    @Test
+    public void testStreamedScrollMatchesBufferedScroll() throws IOException {
+        for (String dataSet : new String[] { "fields", "matched-queries", "source", "empty-source" }) {
+            List<Object[]> expected = reader.read(getClass().getResourceAsStream(scrollData(dataSet))).getHits();
+
+            ScrollReader streamingReader = new ScrollReader(getScrollCfg().setStreaming(true));
+            ScrollReader.Scroll scroll = streamingReader.read(getClass().getResourceAsStream(scrollData(dataSet)));
+            List<Object[]> actual = new ArrayList<Object[]>();
+            for (Iterator<Object[]> it = scroll.iterator(); it.hasNext();) {
+                actual.add(it.next());
+            }
+            scroll.close();
+
+            assertEquals(dataSet, expected.size(), actual.size());
+            for (int i = 0; i < expected.size(); i++) {
+                assertEquals(dataSet, expected.get(i)[0], actual.get(i)[0]);
+                assertEquals(dataSet, expected.get(i)[1], actual.get(i)[1]);
+            }
+        }
+    }
+
     @Test(expected = OpenSearchHadoopParsingException.class)
     public void testScrollWithParsingValueException() throws IOException {
         InputStream stream = getClass().getResourceAsStream(mappingData("numbers-as-strings"));
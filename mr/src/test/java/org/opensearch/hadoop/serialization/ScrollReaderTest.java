@@ -28,11 +28,14 @@
  */
 package org.opensearch.hadoop.serialization;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 
@@ -50,6 +53,7 @@ import org.opensearch.hadoop.serialization.handler.read.DeserializationErrorHand
 import org.opensearch.hadoop.serialization.handler.read.DeserializationFailure;
 import org.opensearch.hadoop.serialization.handler.read.impl.DeserializationHandlerLoader;
 import org.opensearch.hadoop.util.ObjectUtils;
+import org.opensearch.hadoop.util.StringUtils;
 import org.opensearch.hadoop.util.TestSettings;
 import org.joda.time.format.ISODateTimeFormat;
 import org.junit.Test;
@@ -110,6 +114,102 @@ public class ScrollReaderTest {
         return "scrollReaderTestData/" + testDataSet + "/mapping.json";
     }
 
+    @Test
+    public void testPointInTimeSearchAfter() throws IOException {
+        String response = "{\"pit_id\":\"pit-1\",\"took\":1,\"timed_out\":false,"
+                + "\"hits\":{\"total\":{\"value\":5,\"relation\":\"eq\"},\"hits\":["
+                + "{\"_index\":\"idx\",\"_id\":\"1\",\"_score\":null,\"_source\":{\"a\":1},\"sort\":[3]},"
+                + "{\"_index\":\"idx\",\"_id\":\"2\",\"_score\":null,\"_source\":{\"a\":\"x\"},\"sort\":[7]}]}}";
+        ScrollReader.Scroll scroll = reader.read(new ByteArrayInputStream(response.getBytes(StringUtils.UTF_8)));
+        assertEquals("pit-1", scroll.getScrollId());
+        assertEquals(2, scroll.getHits().size());
+        assertEquals(5L, scroll.getTotalHits());
+        assertEquals(Arrays.<Object>asList(7L), Arrays.asList(scroll.getSearchAfter()));
+    }
+
+    @Test
+    public void testStreamedPointInTimeSearchAfter() throws IOException {
+        String response = "{\"pit_id\":\"pit-1\",\"took\":1,\"timed_out\":false,"
+                + "\"hits\":{\"total\":{\"value\":5,\"relation\":\"eq\"},\"hits\":["
+                + "{\"_index\":\"idx\",\"_id\":\"1\",\"_score\":null,\"_source\":{\"a\":1},\"sort\":[3]},"
+                + "{\"_index\":\"idx\",\"_id\":\"2\",\"_score\":null,\"_source\":{\"a\":\"x\"},\"sort\":[7]}]}}";
+        reader = new ScrollReader(getScrollReaderCfg().setStreaming(true));
+        ScrollReader.Scroll scroll = reader.read(new ByteArrayInputStream(response.getBytes(StringUtils.UTF_8)));
+        assertTrue(scroll.isStreamed());
+        assertEquals("pit-1", scroll.getScrollId());
+        assertEquals(5L, scroll.getTotalHits());
+        assertEquals(2, consume(scroll).size());
+        assertFalse(scroll.isConcluded());
+        assertEquals(2, scroll.getNumberOfHits());
+        assertEquals(Arrays.<Object>asList(7L), Arrays.asList(scroll.getSearchAfter()));
+    }
+
+    @Test
+    public void testStreamedScrollMatchesBufferedScroll() throws IOException {
+        for (String dataSet : new String[] { "fields", "matched-queries", "source", "empty-source", "list" }) {
+            List<Object[]> expected = reader.read(getClass().getResourceAsStream(scrollData(dataSet))).getHits();
+
+            ScrollReader streamingReader = new ScrollReader(getScrollReaderCfg().setStreaming(true));
+            ScrollReader.Scroll scroll = streamingReader.read(getClass().getResourceAsStream(scrollData(dataSet)));
+            List<Object[]> actual = consume(scroll);
+
+            assertEquals(dataSet, expected.size(), actual.size());
+            for (int i = 0; i < expected.size(); i++) {
+                assertTrue(dataSet, Arrays.deepEquals(expected.get(i), actual.get(i)));
+            }
+        }
+    }
+
+    @Test
+    public void testStreamedScrollLargerThanParserBuffer() throws IOException {
+        StringBuilder response = new StringBuilder("{\"_scroll_id\":\"abcd\",\"hits\":{\"total\":500,\"hits\":[");
+        char[] text = new char[1000];
+        Arrays.fill(text, 'x');
+        for (int i = 0; i < 500; i++) {
+            if (i > 0) {
+                response.append(',');
+            }
+            response.append("{\"_index\":\"idx\",\"_id\":\"").append(i).append("\",\"_source\":{\"n\":").append(i)
+                    .append(",\"text\":\"").append(text).append("\"}}");
+        }
+        response.append("]}}");
+
+        reader = new ScrollReader(getScrollReaderCfg().setStreaming(true));
+        ScrollReader.Scroll scroll = reader.read(new ByteArrayInputStream(response.toString().getBytes(StringUtils.UTF_8)));
+        List<Object[]> hits = consume(scroll);
+        assertEquals(500, hits.size());
+        for (int i = 0; i < hits.size(); i++) {
+            assertEquals(String.valueOf(i), hits.get(i)[0]);
+            assertEquals(i, JsonUtils.query("n").apply(hits.get(i)[1]));
+        }
+        assertFalse(scroll.isConcluded());
+        assertNull(scroll.getSearchAfter());
+    }
+
+    @Test
+    public void testStreamedScrollWithoutHits() throws IOException {
+        String response = "{\"_scroll_id\":\"abcd\",\"hits\":{\"total\":3,\"hits\":[]}}";
+        reader = new ScrollReader(getScrollReaderCfg().setStreaming(true));
+        ScrollReader.Scroll scroll = reader.read(new ByteArrayInputStream(response.getBytes(StringUtils.UTF_8)));
+        assertFalse(scroll.iterator().hasNext());
+        assertTrue(scroll.isConcluded());
+    }
+
+    private static List<Object[]> consume(ScrollReader.Scroll scroll) {
+        List<Object[]> hits = new ArrayList<Object[]>();
+        for (Iterator<Object[]> it = scroll.iterator(); it.hasNext();) {
+            hits.add(it.next());
+        }
+        scroll.close();
+        return hits;
+    }
+
+    @Test
+    public void testScrollHasNoSearchAfter() throws IOException {
+        InputStream stream = getClass().getResourceAsStream(scrollData("fields"));
+        assertNull(reader.read(stream).getSearchAfter());
+    }
+
     @Test
     public void testScrollWithFields() throws IOException {
         InputStream stream = getClass().getResourceAsStream(scrollData("fields"));
@@ -119,6 +219,38 @@ public class ScrollReaderTest {
         assertTrue(((Map) objects[1]).containsKey("fields"));
     }
 
+    @Test
+    public void testScrollWithDocValues() throws IOException {
+        MappingSet mappings = getMappingSet("docvalues");
+        reader = new ScrollReader(getScrollReaderCfg()
+                .setResolvedMapping(mappings.getResolvedView())
+                .setIncludeArrayFields(Collections.singletonList("tags"))
+                .setReadDocValues(true));
+
+        List<Object[]> read = reader.read(getClass().getResourceAsStream(scrollData("docvalues"))).getHits();
+        assertEquals(2, read.size());
+
+        Map first = (Map) read.get(0)[1];
+        assertEquals(Short.valueOf((short) 200), first.get("status"));
+        assertEquals("alpha", first.get("host"));
+        assertEquals(Arrays.asList("a", "b"), first.get("tags"));
+
+        Map second = (Map) read.get(1)[1];
+        assertEquals(Short.valueOf((short) 404), second.get("status"));
+        assertFalse(second.containsKey("host"));
+        assertEquals(Collections.emptyList(), second.get("tags"));
+    }
+
+    @Test(expected = OpenSearchHadoopParsingException.class)
+    public void testScrollWithMultipleDocValuesForSingleValuedField() throws IOException {
+        MappingSet mappings = getMappingSet("docvalues");
+        reader = new ScrollReader(getScrollReaderCfg()
+                .setResolvedMapping(mappings.getResolvedView())
+                .setReadDocValues(true));
+
+        reader.read(getClass().getResourceAsStream(scrollData("docvalues")));
+    }
+
     @Test
     public void testScrollWithMatchedQueries() throws IOException {
         InputStream stream = getClass().getResourceAsStream(scrollData("matched-queries"));
@@ -615,6 +747,32 @@ public class ScrollReaderTest {
         assertEquals(4L, JsonUtils.query("number").apply(scroll.getHits().get(0)[1]));
     }
 
+    @Test
+    public void testStreamedScrollWithHandlersThatCorrectsError() throws IOException {
+        MappingSet mappings = getMappingSet("numbers-as-strings");
+
+        InputStream stream = getClass().getResourceAsStream(scrollData("numbers-as-strings"));
+
+        Settings testSettings = new TestSettings();
+        testSettings.setProperty(ConfigurationOptions.OPENSEARCH_READ_METADATA, "" + readMetadata);
+        testSettings.setProperty(ConfigurationOptions.OPENSEARCH_READ_METADATA_FIELD, "" + metadataField);
+        testSettings.setProperty(ConfigurationOptions.OPENSEARCH_OUTPUT_JSON, "" + readAsJson);
+        testSettings.setProperty(ConfigurationOptions.OPENSEARCH_SCROLL_STREAMING, "true");
+        testSettings.setProperty(DeserializationHandlerLoader.OPENSEARCH_READ_DATA_ERROR_HANDLERS, "fix");
+        testSettings.setProperty(DeserializationHandlerLoader.OPENSEARCH_READ_DATA_ERROR_HANDLER + ".fix" , CorrectingHandler.class.getName());
+
+        JdkValueReader valueReader = ObjectUtils.instantiate(JdkValueReader.class.getName(), testSettings);
+
+        ScrollReader reader = new ScrollReader(ScrollReaderConfigBuilder.builder(valueReader, mappings.getResolvedView(), testSettings));
+
+        ScrollReader.Scroll scroll = reader.read(stream);
+        List<Object[]> hits = consume(scroll);
+
+        assertThat(scroll.getTotalHits(), equalTo(196L));
+        assertThat(hits.size(), equalTo(1));
+        assertEquals(4L, JsonUtils.query("number").apply(hits.get(0)[1]));
+    }
+
     @Test
     public void testNoScrollIdFromFrozenIndex() throws IOException {
         MappingSet mappings = getMappingSet("numbers-as-strings"); // The schema doesn't matter since there's no data
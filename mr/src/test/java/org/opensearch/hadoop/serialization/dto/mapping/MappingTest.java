@@ -68,8 +68,10 @@ import static org.opensearch.hadoop.serialization.FieldType.WILDCARD;
 
 import static org.opensearch.hadoop.serialization.dto.mapping.MappingUtils.findTypos;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
 
 import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.is;
@@ -463,4 +465,34 @@ public class MappingTest {
         assertEquals("field4", mapping.getFields()[2].name());
         assertEquals(INTEGER, mapping.getFields()[2].type());
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testCodecRoundTrip() throws Exception {
+        MappingSet mappings = getMappingsForResource("nested-mapping.json");
+        Mapping mapping = mappings.getResolvedView();
+        Mapping decoded = MappingCodec.decode(MappingCodec.encode(mapping));
+        assertEquals(mapping.getIndex(), decoded.getIndex());
+        assertEquals(mapping.getType(), decoded.getType());
+        assertEquals(mapping.flatten(), decoded.flatten());
+        assertEquals(mapping.toString(), decoded.toString());
+    }
+
+    @Test
+    public void testDocValuesParsing() throws Exception {
+        MappingSet mappings = getMappingsForResource("doc-values.json");
+        Mapping mapping = ensureAndGet("logs", "event", mappings);
+        Field[] props = mapping.getFields();
+        assertEquals(3, props.length);
+        assertEquals("status", props[0].name());
+        assertTrue(props[0].docValues());
+        assertEquals("host", props[1].name());
+        assertFalse(props[1].docValues());
+        assertEquals("bytes", props[2].name());
+        assertTrue(props[2].docValues());
+
+        Field[] decoded = MappingCodec.decode(MappingCodec.encode(mappings.getResolvedView())).getFields();
+        assertTrue(decoded[0].docValues());
+        assertFalse(decoded[1].docValues());
+        assertTrue(decoded[2].docValues());
+    }
+}
@@ -28,6 +28,15 @@
  */
 package org.opensearch.hadoop.serialization.field;
 
+import java.text.SimpleDateFormat;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Date;
+
+import org.opensearch.hadoop.util.DateUtils;
 import org.junit.Test;
 
 import static org.junit.Assert.*;
@@ -55,4 +64,106 @@ public class DateIndexFormatterTest {
         formatter.configure("MM-dd");
         assertThat(formatter.format("1969-08-20"), is("08-20"));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testHourlyBuckets() {
+        formatter.configure("'logs'-yyyy.MM.dd.HH");
+        assertThat(formatter.format("2014-10-06T19:20:25"), is("logs-2014.10.06.19"));
+        assertThat(formatter.format("2014-10-06T19:59:59.999"), is("logs-2014.10.06.19"));
+        assertThat(formatter.format("2014-10-06T20:00:00"), is("logs-2014.10.06.20"));
+        assertThat(formatter.format("2014-10-07T19:20:25"), is("logs-2014.10.07.19"));
+    }
+
+    @Test
+    public void testDefaultZone() {
+        formatter.configure("yyyy.MM.dd.HH");
+        // no offset means the local time in the default zone, as printed
+        assertThat(formatter.format("2014-10-06T23:20:25"), is("2014.10.06.23"));
+        assertThat(formatter.format("2014-10-06T23:20:25.123456789"), is("2014.10.06.23"));
+        assertThat(formatter.format("2014-10-06"), is("2014.10.06.00"));
+    }
+
+    @Test
+    public void testOffsets() {
+        formatter.configure("yyyy.MM.dd.HH");
+        ZonedDateTime utc = ZonedDateTime.of(2014, 10, 6, 23, 20, 25, 0, ZoneOffset.UTC);
+        ZonedDateTime plusOne = ZonedDateTime.of(2014, 10, 6, 23, 20, 25, 0, ZoneOffset.ofHours(1));
+        assertThat(formatter.format("2014-10-06T23:20:25Z"), is(expected("yyyy.MM.dd.HH", utc)));
+        assertThat(formatter.format("2014-10-06T23:20:25+01:00"), is(expected("yyyy.MM.dd.HH", plusOne)));
+        // not an ISO_LOCAL_TIME offset, resolved by DateUtils instead
+        assertThat(formatter.format("2014-10-06T23:20:25+0100"), is(expected("yyyy.MM.dd.HH", plusOne)));
+        // cached bucket of the +01:00 value must not leak into the UTC one
+        assertThat(formatter.format("2014-10-06T23:40:00Z"), is(expected("yyyy.MM.dd.HH", utc)));
+    }
+
+    @Test
+    public void testFallbackForOtherForms() {
+        formatter.configure("yyyy.MM.dd");
+        assertThat(formatter.format("2014-10-06T23:20:25-0500"),
+                is(expected("yyyy.MM.dd", ZonedDateTime.of(2014, 10, 6, 23, 20, 25, 0, ZoneOffset.ofHours(-5)))));
+    }
+
+    @Test
+    public void testSimpleDateFormatPatternLetters() {
+        formatter.configure("YYYY");
+        assertThat(formatter.format("2014-12-29"), is("2015"));
+        formatter.configure("yyyy");
+        assertThat(formatter.format("2014-12-29"), is("2014"));
+        formatter.configure("yy.M.d");
+        assertThat(formatter.format("2014-10-06"), is("14.10.6"));
+        // day number of the week, not the year
+        formatter.configure("u");
+        assertThat(formatter.format("2014-10-06"), is("1"));
+        // day of week in the month
+        formatter.configure("F");
+        assertThat(formatter.format("2014-10-15"), is("3"));
+        formatter.configure("D");
+        assertThat(formatter.format("2014-10-06"), is("279"));
+        // milliseconds, not a fraction of the second
+        formatter.configure("HH:mm:ss.S");
+        assertThat(formatter.format("2014-10-06T19:20:25.005"), is("19:20:25.5"));
+        formatter.configure("yyyy.MM.dd''HH");
+        assertThat(formatter.format("2014-10-06T19:20:25"), is("2014.10.06'19"));
+    }
+
+    @Test
+    public void testSimpleDateFormatLiterals() {
+        formatter.configure("'logs'#yyyy{MM}[dd]");
+        assertThat(formatter.format("2014-10-06"), is("logs#2014{10}[06]"));
+    }
+
+    @Test
+    public void testMatchesSimpleDateFormat() {
+        String[] patterns = { "YYYY.MM.dd", "yyyy-MM-dd'T'HH", "yy.M.d", "yyyyy", "y.D", "u-F", "w-W", "k K h a", "HH:mm:ss.SSS",
+                "MMM MMMM EEE EEEE G" };
+        String[] values = { "2014-10-06T19:20:25.005", "2014-10-15T00:05:09.123", "2014-12-29T12:00:00", "2015-01-01T23:59:59.999" };
+        for (String pattern : patterns) {
+            formatter.configure(pattern);
+            for (String value : values) {
+                Date date = Date.from(LocalDateTime.parse(value).atZone(ZoneId.systemDefault()).toInstant());
+                assertThat(pattern + " " + value, formatter.format(value), is(new SimpleDateFormat(pattern).format(date)));
+            }
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testIllegalPatternLetter() {
+        // rejected by SimpleDateFormat as well
+        formatter.configure("yyyy.nn");
+    }
+
+    @Test
+    public void testBucketSize() {
+        assertThat(DateIndexFormatter.bucketSize("YYYY.MM.dd"), is(24 * 60 * 60L));
+        assertThat(DateIndexFormatter.bucketSize("yyyy.MM.dd.HH"), is(60 * 60L));
+        assertThat(DateIndexFormatter.bucketSize("yyyy.MM.dd'T'HH:mm"), is(60L));
+        assertThat(DateIndexFormatter.bucketSize("'hms'-yyyy.MM"), is(24 * 60 * 60L));
+        assertThat(DateIndexFormatter.bucketSize("HH:mm:ss.SSS"), is(0L));
+    }
+
+    // the offset is either kept or the date converted to the default zone, depending on the DateUtils backend
+    private static String expected(String pattern, ZonedDateTime date) {
+        ZonedDateTime zoned = (DateUtils.isParsedOffsetKept() ? date : date.withZoneSameInstant(ZoneId.systemDefault()));
+        return DateTimeFormatter.ofPattern(pattern).format(zoned);
+    }
+}
@@ -86,4 +86,23 @@ public class JacksonJsonGeneratorTest {
         generator.flush();
         assertEquals("{\"test\":{\"subfield\":{\"subsubfield\":\"value\"}}}", new String(bos.toByteArray()));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testReusableGenerator() throws Exception {
+        ByteArrayOutputStream bos = new ByteArrayOutputStream(256);
+        JacksonJsonGenerator generator = new JacksonJsonGenerator(bos, true);
+
+        generator.writeBeginObject().writeFieldName("a").writeNumber(1).writeEndObject();
+        generator.flush();
+        assertEquals("{\"a\":1}", bos.toString("UTF-8"));
+
+        bos.reset();
+        generator.reset();
+        generator.writeBeginObject().writeFieldName("b").writeBeginObject();
+        assertEquals("b", generator.getParentPath());
+        generator.writeEndObject().writeEndObject();
+        generator.flush();
+        assertEquals("{\"b\":{}}", bos.toString("UTF-8"));
+        assertEquals("", generator.getParentPath());
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ *
+ * Modifications Copyright OpenSearch Contributors. See
+ * GitHub history for details.
+ */
+package org.opensearch.hadoop.util;
+
+import java.io.ByteArrayOutputStream;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+public class ChunkedBytesArrayTest {
+
+    @Test
+    public void testAddAcrossChunks() throws Exception {
+        ChunkedBytesArray chunks = new ChunkedBytesArray(4);
+        chunks.add(new BytesArray("abc"));
+        chunks.add(StringUtils.toUTF("defghij"));
+        assertEquals(10, chunks.length());
+        assertEquals(12, chunks.capacity());
+        assertEquals("abcdefghij", chunks.toString());
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        chunks.writeTo(out);
+        assertEquals("abcdefghij", out.toString());
+
+        out.reset();
+        chunks.writeTo(out, 2, 7);
+        assertEquals("cdefghi", out.toString());
+    }
+
+    @Test
+    public void testSlice() throws Exception {
+        ChunkedBytesArray chunks = new ChunkedBytesArray(4);
+        chunks.add(StringUtils.toUTF("abcdefgh"));
+
+        BytesArray within = chunks.slice(4, 3);
+        assertEquals("efg", within.toString());
+        BytesArray across = chunks.slice(2, 4);
+        assertEquals("cdef", across.toString());
+
+        byte[] copy = new byte[5];
+        chunks.copyTo(1, copy, 0, 5);
+        assertEquals("bcdef", StringUtils.asUTFString(copy));
+    }
+
+    @Test
+    public void testResetReusesChunks() throws Exception {
+        ChunkedBytesArray chunks = new ChunkedBytesArray(4);
+        chunks.add(StringUtils.toUTF("abcdefgh"));
+        byte[] first = chunks.slice(0, 1).bytes();
+
+        chunks.reset();
+        assertEquals(0, chunks.length());
+        assertEquals(8, chunks.capacity());
+        chunks.add(StringUtils.toUTF("xyz"));
+        assertSame(first, chunks.slice(0, 1).bytes());
+        assertEquals("xyz", chunks.toString());
+
+        chunks.reset(4);
+        assertEquals(4, chunks.capacity());
+        chunks.reset(0);
+        chunks.add(StringUtils.toUTF("x"));
+        assertNotSame(first, chunks.slice(0, 1).bytes());
+    }
+}
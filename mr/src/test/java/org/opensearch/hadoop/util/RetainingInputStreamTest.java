@@ -0,0 +1,71 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ *
+ * Modifications Copyright OpenSearch Contributors. See
+ * GitHub history for details.
+ */
+package org.opensearch.hadoop.util;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+
+import org.opensearch.hadoop.OpenSearchHadoopIllegalArgumentException;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class RetainingInputStreamTest {
+
+    private static RetainingInputStream stream(String content) {
+        return new RetainingInputStream(new ByteArrayInputStream(StringUtils.toUTF(content)), 4);
+    }
+
+    @Test
+    public void testRetainsReadBytes() throws IOException {
+        RetainingInputStream in = stream("0123456789");
+        assertEquals('0', in.read());
+        byte[] buffer = new byte[5];
+        assertEquals(5, in.read(buffer, 0, 5));
+        assertEquals("012345", in.retained().toString());
+        assertEquals(0, in.retainedStart());
+        assertEquals(6, in.position());
+    }
+
+    @Test
+    public void testRelease() throws IOException {
+        RetainingInputStream in = stream("0123456789");
+        byte[] buffer = new byte[8];
+        assertEquals(8, in.read(buffer, 0, 8));
+
+        in.release(3);
+        assertEquals("34567", in.retained().toString());
+        assertEquals(3, in.retainedStart());
+
+        assertEquals(2, in.read(buffer, 0, 8));
+        assertEquals("3456789", in.retained().toString());
+        assertEquals(-1, in.read(buffer, 0, 8));
+
+        in.release(10);
+        assertEquals(0, in.retained().length());
+        assertEquals(10, in.retainedStart());
+        assertEquals(10, in.position());
+    }
+
+    @Test(expected = OpenSearchHadoopIllegalArgumentException.class)
+    public void testReleaseBeforeRetainedStart() throws IOException {
+        RetainingInputStream in = stream("0123456789");
+        in.read(new byte[8], 0, 8);
+        in.release(4);
+        in.release(2);
+    }
+
+    @Test(expected = OpenSearchHadoopIllegalArgumentException.class)
+    public void testReleaseUnreadBytes() throws IOException {
+        RetainingInputStream in = stream("0123456789");
+        in.read(new byte[4], 0, 4);
+        in.release(5);
+    }
+}
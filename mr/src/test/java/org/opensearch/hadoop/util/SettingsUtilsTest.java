@@ -29,12 +29,17 @@
 package org.opensearch.hadoop.util;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Properties;
 
 import org.opensearch.hadoop.cfg.PropertiesSettings;
+import org.opensearch.hadoop.serialization.dto.mapping.FieldParser;
+import org.opensearch.hadoop.serialization.dto.mapping.Mapping;
 import org.opensearch.hadoop.serialization.field.FieldFilter;
+import org.opensearch.hadoop.thirdparty.codehaus.jackson.map.ObjectMapper;
 import org.junit.Test;
 
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertThat;
 
 import static org.hamcrest.core.IsEqual.equalTo;
@@ -42,6 +47,8 @@ import static org.hamcrest.core.IsEqual.equalTo;
 import static org.opensearch.hadoop.cfg.ConfigurationOptions.OPENSEARCH_NODES;
 import static org.opensearch.hadoop.cfg.ConfigurationOptions.OPENSEARCH_NODES_DISCOVERY;
 import static org.opensearch.hadoop.cfg.ConfigurationOptions.OPENSEARCH_PORT;
+import static org.opensearch.hadoop.cfg.ConfigurationOptions.OPENSEARCH_READ_SOURCE_DOCVALUES;
+import static org.opensearch.hadoop.cfg.ConfigurationOptions.OPENSEARCH_READ_SOURCE_FILTER;
 
 public class SettingsUtilsTest {
 
@@ -119,4 +126,22 @@ public class SettingsUtilsTest {
         assertThat(filters.size(), equalTo(1));
         assertThat(filters.get(0), equalTo(new FieldFilter.NumberedInclude("a", 4)));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testDocValueFieldsHonorMappingDocValuesFlag() throws Exception {
+        Map content = new ObjectMapper().readValue(getClass().getResourceAsStream("/org/opensearch/hadoop/serialization/dto/mapping/typeless/doc-values.json"), Map.class);
+        Mapping mapping = FieldParser.parseTypelessMappings(content).getResolvedView();
+
+        Properties props = new Properties();
+        props.setProperty(OPENSEARCH_READ_SOURCE_DOCVALUES, "true");
+        props.setProperty(OPENSEARCH_READ_SOURCE_FILTER, "status,bytes");
+        assertThat(SettingsUtils.determineDocValueFields(new PropertiesSettings(props), mapping), equalTo("status,bytes"));
+
+        // host declares "doc_values": false so the read falls back to _source
+        props.setProperty(OPENSEARCH_READ_SOURCE_FILTER, "status,host");
+        assertNull(SettingsUtils.determineDocValueFields(new PropertiesSettings(props), mapping));
+
+        props.remove(OPENSEARCH_READ_SOURCE_FILTER);
+        assertNull(SettingsUtils.determineDocValueFields(new PropertiesSettings(props), mapping));
+    }
+}
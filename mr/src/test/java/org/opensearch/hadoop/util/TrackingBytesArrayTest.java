@@ -29,6 +29,7 @@
 package org.opensearch.hadoop.util;
 
 import java.io.ByteArrayOutputStream;
+import java.util.BitSet;
 
 import org.junit.After;
 import org.junit.Before;
@@ -123,4 +124,66 @@ public class TrackingBytesArrayTest {
         assertEquals(7, data.length());
         assertEquals(2, entry.length());
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testChunkedWriteAfterRemoving() throws Exception {
+        data = new TrackingBytesArray(new ChunkedBytesArray(2));
+        data.copyFrom(new BytesArray("a"));
+        data.copyFrom(new BytesArray("bbb"));
+        data.copyFrom(new BytesArray("ccc"));
+        assertEquals(7, data.length());
+        assertEquals("bbb", data.entry(1).toString());
+
+        data.remove(1);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        data.writeTo(out);
+        assertEquals("accc", out.toString());
+        assertEquals("ccc", data.entry(1).toString());
+        assertEquals("a", data.pop().toString());
+    }
+
+    @Test
+    public void testRemoveFromBothEndsAfterGrowing() throws Exception {
+        for (int i = 0; i < 100; i++) {
+            data.copyFrom(new BytesArray(String.valueOf(i % 10)));
+        }
+        assertEquals(100, data.entries());
+
+        // drop every entry but the multiples of 7, removing from the head, the middle and the tail
+        for (int i = 99; i >= 0; i--) {
+            if (i % 7 != 0) {
+                data.remove(i);
+            }
+        }
+        data.remove(0);
+        assertEquals(14, data.entries());
+        assertEquals(14, data.length());
+        assertEquals("7", data.entry(0).toString());
+        assertEquals("8", data.entry(13).toString());
+
+        BitSet leftovers = data.leftoversPosition();
+        assertEquals(14, leftovers.cardinality());
+        assertTrue(leftovers.get(7));
+        assertFalse(leftovers.get(0));
+        assertTrue(leftovers.get(98));
+
+        // appended entries keep working once the head has moved
+        data.copyFrom(new BytesArray("x"));
+        assertEquals(15, data.entries());
+        assertEquals("x", data.entry(14).toString());
+        assertEquals("7", data.pop().toString());
+        assertEquals("4", data.entry(0).toString());
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        data.writeTo(out);
+        assertEquals("4185296307418x", out.toString());
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testEntryOutOfBounds() throws Exception {
+        data.copyFrom(new BytesArray("a"));
+        data.remove(0);
+        data.entry(0);
+    }
+}
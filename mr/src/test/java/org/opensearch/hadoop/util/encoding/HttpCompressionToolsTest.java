@@ -0,0 +1,76 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ *
+ * Modifications Copyright OpenSearch Contributors. See
+ * GitHub history for details.
+ */
+
+package org.opensearch.hadoop.util.encoding;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.util.zip.DeflaterOutputStream;
+
+import org.junit.Test;
+import org.opensearch.hadoop.util.BytesArray;
+import org.opensearch.hadoop.util.IOUtils;
+import org.opensearch.hadoop.util.StringUtils;
+
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+public class HttpCompressionToolsTest {
+
+    private static final String BULK = "{\"index\":{}}\n{\"field\":\"value\"}\n{\"index\":{}}\n{\"field\":\"value\"}\n";
+
+    @Test
+    public void gzipRoundTrip() throws Exception {
+        BytesArray compressed = HttpCompressionTools.gzip(new BytesArray(BULK));
+        InputStream in = HttpCompressionTools.decompress(
+                new ByteArrayInputStream(compressed.bytes(), 0, compressed.length()), "gzip");
+        assertThat(IOUtils.asString(in), is(BULK));
+    }
+
+    @Test
+    public void gzipShrinksRepetitiveContent() throws Exception {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 1000; i++) {
+            sb.append(BULK);
+        }
+        BytesArray content = new BytesArray(sb.toString());
+        assertTrue(HttpCompressionTools.gzip(content).length() * 10 < content.length());
+    }
+
+    @Test
+    public void deflate() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        DeflaterOutputStream deflater = new DeflaterOutputStream(out);
+        deflater.write(BULK.getBytes(StringUtils.UTF_8));
+        deflater.close();
+
+        InputStream in = HttpCompressionTools.decompress(new ByteArrayInputStream(out.toByteArray()), " Deflate ");
+        assertThat(IOUtils.asString(in), is(BULK));
+    }
+
+    @Test
+    public void identityIsLeftUntouched() throws Exception {
+        InputStream in = new ByteArrayInputStream(BULK.getBytes(StringUtils.UTF_8));
+        assertThat(HttpCompressionTools.decompress(in, null), sameInstance(in));
+        assertThat(HttpCompressionTools.decompress(in, "identity"), sameInstance(in));
+        assertThat(HttpCompressionTools.decompress(null, "gzip"), is((InputStream) null));
+    }
+
+    @Test
+    public void emptyCompressedBody() throws Exception {
+        InputStream in = HttpCompressionTools.decompress(new ByteArrayInputStream(new byte[0]), "gzip");
+        assertThat(in, instanceOf(InputStream.class));
+        assertThat(in.read(), is(-1));
+    }
+}
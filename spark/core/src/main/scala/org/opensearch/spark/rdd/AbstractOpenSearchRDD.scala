@@ -50,12 +50,26 @@ private[spark] abstract class AbstractOpenSearchRDD[T: ClassTag](
 
   @transient protected lazy val logger = LogFactory.getLog(this.getClass())
 
+  // settings and mapping are identical across partitions so they are shipped once, with the RDD,
+  // instead of with every task
+  private var partitionSettings: String = _
+  private var partitionMapping: String = _
+
   override def getPartitions: Array[Partition] = {
-    opensearchPartitions.asScala.zipWithIndex.map { case(esPartition, idx) =>
-      new OpenSearchPartition(id, idx, esPartition)
+    val partitions = opensearchPartitions.asScala
+    partitions.headOption.foreach { head =>
+      partitionSettings = head.getSerializedSettings
+      partitionMapping = head.getSerializedMapping
+    }
+    partitions.zipWithIndex.map { case(esPartition, idx) =>
+      new OpenSearchPartition(id, idx, esPartition.withoutPayload())
     }.toArray
   }
 
+  protected def partitionDefinition(split: Partition): PartitionDefinition = {
+    split.asInstanceOf[OpenSearchPartition].opensearchPartition.withPayload(partitionSettings, partitionMapping)
+  }
+
   override def getPreferredLocations(split: Partition): Seq[String] = {
     val esSplit = split.asInstanceOf[OpenSearchPartition]
     esSplit.opensearchPartition.getHostNames
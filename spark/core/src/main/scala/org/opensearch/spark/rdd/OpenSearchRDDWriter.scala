@@ -70,11 +70,7 @@ private[spark] class OpenSearchRDDWriter[T: ClassTag](val serializedSettings: St
   lazy val metaExtractor = ObjectUtils.instantiate[MetadataExtractor](settings.getMappingMetadataExtractorClassName, settings)
 
   def write(taskContext: TaskContext, data: Iterator[T]): Unit = {
-    if (settings.getOpaqueId() != null && settings.getOpaqueId().contains("] [task attempt ") == false) {
-      settings.setOpaqueId(String.format(Locale.ROOT, "%s [stage %s] [task attempt %s]", settings.getOpaqueId(),
-        taskContext.stageId().toString, taskContext.taskAttemptId.toString))
-    }
-    val writer = RestService.createWriter(settings, taskContext.partitionId.toLong, -1, log)
+    val writer = createWriter(taskContext)
 
     val listener = new TaskCompletionListener {
       override def onTaskCompletion(context: TaskContext): Unit = writer.close()
@@ -90,6 +86,14 @@ private[spark] class OpenSearchRDDWriter[T: ClassTag](val serializedSettings: St
     }
   }
 
+  private[spark] def createWriter(taskContext: TaskContext): RestService.PartitionWriter = {
+    if (settings.getOpaqueId() != null && settings.getOpaqueId().contains("] [task attempt ") == false) {
+      settings.setOpaqueId(String.format(Locale.ROOT, "%s [stage %s] [task attempt %s]", settings.getOpaqueId(),
+        taskContext.stageId().toString, taskContext.taskAttemptId.toString))
+    }
+    RestService.createWriter(settings, taskContext.partitionId.toLong, -1, log)
+  }
+
   protected def valueWriter: Class[_ <: ValueWriter[_]] = classOf[ScalaValueWriter]
   protected def bytesConverter: Class[_ <: BytesConverter] = classOf[JdkBytesConverter]
   protected def fieldExtractor: Class[_ <: FieldExtractor] = classOf[ScalaMapFieldExtractor]
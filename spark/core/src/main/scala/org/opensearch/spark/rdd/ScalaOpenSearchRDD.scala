@@ -47,7 +47,7 @@ private[spark] class ScalaOpenSearchRDD[T](
   extends AbstractOpenSearchRDD[(String, T)](sc, params) {
 
   override def compute(split: Partition, context: TaskContext): ScalaOpenSearchRDDIterator[T] = {
-    new ScalaOpenSearchRDDIterator(context, split.asInstanceOf[OpenSearchPartition].opensearchPartition)
+    new ScalaOpenSearchRDDIterator(context, partitionDefinition(split))
   }
 }
 
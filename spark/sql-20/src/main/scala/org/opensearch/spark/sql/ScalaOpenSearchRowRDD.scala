@@ -37,7 +37,6 @@ import org.apache.spark.TaskContext
 import org.apache.spark.sql.Row
 import org.opensearch.spark.rdd.AbstractOpenSearchRDD
 import org.opensearch.spark.rdd.AbstractOpenSearchRDDIterator
-import org.opensearch.spark.rdd.OpenSearchPartition
 import org.opensearch.hadoop.cfg.Settings
 import org.opensearch.hadoop.mr.security.HadoopUserProvider
 import org.opensearch.hadoop.rest.{InitializationUtils, PartitionDefinition}
@@ -53,7 +52,7 @@ private[spark] class ScalaOpenSearchRowRDD(
   extends AbstractOpenSearchRDD[Row](sc, params) {
 
   override def compute(split: Partition, context: TaskContext): ScalaOpenSearchRowRDDIterator = {
-    new ScalaOpenSearchRowRDDIterator(context, split.asInstanceOf[OpenSearchPartition].opensearchPartition, schema)
+    new ScalaOpenSearchRowRDDIterator(context, partitionDefinition(split), schema)
   }
 }
 
@@ -48,6 +48,8 @@ import org.apache.spark.SparkException
 import org.apache.spark.sql.Row
 import org.apache.spark.sql.SQLContext
 import org.apache.spark.sql.SaveMode
+import org.apache.spark.sql.functions.col
+import org.apache.spark.sql.functions.lit
 import org.apache.spark.sql.types.ArrayType
 import org.apache.spark.sql.types.Decimal
 import org.apache.spark.sql.types.DecimalType
@@ -1485,7 +1487,58 @@ class AbstractScalaOpenSearchScalaSparkSQL(prefix: String, readMetadata: jl.Bool
     // if it does, this will likely throw an error
     assertEquals(3, df.count())
   }
-  
+
+  @Test
+  def testOpenSearchDataFrame61DataSourceV2WriteWithColumnsDifferentFromMapping() {
+    val srcFrame = artistsJsonAsDataFrame
+    val index = wrapIndex("sparksql-test-v2-write-schemaless")
+    val (target, _) = makeTargets(index, "data")
+
+    // the index does not exist yet
+    srcFrame.write.format("org.opensearch.spark.sql.v2").mode(SaveMode.Append).save(target)
+    val df = OpenSearchSparkSQL.esDF(sqc, target)
+    assertEquals(3, df.count())
+
+    // one mapped column less, one unmapped column more and a mapped column with a different type
+    val changedFrame = srcFrame.drop("url")
+      .withColumn("genre", lit("metal"))
+      .withColumn("number", col("number").cast(IntegerType))
+    changedFrame.write.format("org.opensearch.spark.sql.v2").mode(SaveMode.Append).save(target)
+    assertEquals(6, df.count())
+
+    changedFrame.write.format("org.opensearch.spark.sql.v2").mode(SaveMode.Overwrite).save(target)
+    val updated = OpenSearchSparkSQL.esDF(sqc, target)
+    assertEquals(3, updated.count())
+    assertEquals(3, updated.filter(updated("genre") === "metal").count())
+  }
+
+
+  @Test
+  def testOpenSearchDataFrame62DataSourceV2Read() {
+    val index = wrapIndex("sparksql-test-v2-read")
+    val (target, _) = makeTargets(index, "data")
+    sc.makeRDD(Seq(
+      """{"name":"a","age":20,"address":{"city":"Berlin","zip":10115}}""",
+      """{"name":"b","age":30,"address":{"city":"Hamburg","zip":20095}}""",
+      """{"name":"c","age":40,"address":{"city":"Berlin","zip":10117}}""")).saveJsonToEs(target)
+
+    for (columnar <- Seq("false", "true")) {
+      val df = sqc.read.format("org.opensearch.spark.sql.v2").option("columnar", columnar).load(target)
+      assertEquals(3, df.count())
+      assertEquals(2, df.filter(df("age") > 25).count())
+
+      // nested schema pruning hands the scan address: struct<zip> only
+      val zips = df.filter(df("name") === "b").select("address.zip").collect()
+      assertEquals(1, zips.length)
+      assertEquals(20095L, zips(0).getLong(0))
+      val cities = df.filter(df("age") < 35).select(df("address.city"), df("name")).collect()
+        .map(row => (row.getString(1), row.getString(0))).sorted
+      assertEquals(Seq(("a", "Berlin"), ("b", "Hamburg")), cities.toSeq)
+
+      val perCity = df.groupBy("address.city").count().collect().map(row => (row.getString(0), row.getLong(1))).toMap
+      assertEquals(Map("Berlin" -> 2L, "Hamburg" -> 1L), perCity)
+    }
+  }  
   @Test
   def testArrayWithNestedObject() {
     val json = """{"0ey" : "val", "another-array": [{ "item" : 1, "key": { "key_a":"val_a", "key_b":"val_b" } }, { "item" : 2, "key": { "key_a":"val_c","key_b":"val_d" } } ]}"""
@@ -63,7 +63,7 @@ class DataFrameValueWriter(writeUnknownTypes: Boolean = false) extends Filtering
     this(false)
   }
 
-  private var writeNullValues = Booleans.parseBoolean(OPENSEARCH_SPARK_DATAFRAME_WRITE_NULL_VALUES_DEFAULT)
+  protected var writeNullValues = Booleans.parseBoolean(OPENSEARCH_SPARK_DATAFRAME_WRITE_NULL_VALUES_DEFAULT)
 
   override def setSettings(settings: Settings): Unit = {
     super.setSettings(settings)
@@ -181,6 +181,7 @@ private[sql] class DefaultSource extends RelationProvider with SchemaRelationPro
       else if (k == "pushdown") (Utils.DATA_SOURCE_PUSH_DOWN, v)
       else if (k == "strict") (Utils.DATA_SOURCE_PUSH_DOWN_STRICT, v)
       else if (k == "double.filtering") (Utils.DATA_SOURCE_KEEP_HANDLED_FILTERS, v)
+      else if (k == "columnar") (Utils.DATA_SOURCE_COLUMNAR, v)
       else ("opensearch." + k, v)
     }
 
@@ -248,6 +249,11 @@ private[sql] case class OpenSearchRelation(parameters: Map[String, String], @tra
 
   // PrunedFilteredScan
   def buildScan(requiredColumns: Array[String], filters: Array[Filter]) = {
+    new ScalaOpenSearchRowRDD(sqlContext.sparkContext, scanParameters(requiredColumns, filters), lazySchema)
+  }
+
+  // settings for scrolling over the given columns and filters; shared with the V2 scans
+  private[sql] def scanParameters(requiredColumns: Array[String], filters: Array[Filter]) = {
     val paramWithScan = LinkedHashMap[String, String]() ++ parameters
 
     var filteredColumns = requiredColumns
@@ -296,9 +302,13 @@ private[sql] case class OpenSearchRelation(parameters: Map[String, String], @tra
       }
     }
 
-    new ScalaOpenSearchRowRDD(sqlContext.sparkContext, paramWithScan, lazySchema)
+    paramWithScan
   }
 
+  private[sql] def isPushDown = Utils.isPushDown(cfg)
+
+  private[sql] def isColumnar = Utils.isColumnar(cfg)
+
   // introduced in Spark 1.6
   override def unhandledFilters(filters: Array[Filter]): Array[Filter] = {
     if (Utils.isKeepHandledFilters(cfg) || filters == null || filters.size == 0) {
@@ -543,24 +553,43 @@ private[sql] case class OpenSearchRelation(parameters: Map[String, String], @tra
 
   def insert(data: DataFrame, overwrite: Boolean): Unit = {
     if (overwrite) {
-      Utils.LOGGER.info(s"Overwriting data for ${cfg.getResourceWrite}")
-
-      // perform a scan-scroll delete
-      val cfgCopy = cfg.copy()
-      InitializationUtils.setUserProviderIfNotSet(cfgCopy, classOf[HadoopUserProvider], null)
-      InitializationUtils.discoverClusterInfo(cfgCopy, Utils.LOGGER)
-      InitializationUtils.setValueWriterIfNotSet(cfgCopy, classOf[JdkValueWriter], null)
-      InitializationUtils.setFieldExtractorIfNotSet(cfgCopy, classOf[ConstantFieldExtractor], null) //throw away extractor
-      cfgCopy.setProperty(ConfigurationOptions.OPENSEARCH_BATCH_FLUSH_MANUAL, "false")
-      cfgCopy.setProperty(ConfigurationOptions.OPENSEARCH_BATCH_SIZE_ENTRIES, "1000")
-      cfgCopy.setProperty(ConfigurationOptions.OPENSEARCH_BATCH_SIZE_BYTES, "1mb")
-      val rr = new RestRepository(cfgCopy)
-      if (rr.resourceExists(false)) {
-        rr.delete()
+      truncate()
+    }
+    OpenSearchSparkSQL.saveToOpenSearch(data, parameters)
+  }
+
+  /**
+   * Removes all the documents of the write resource, keeping the index (and its mapping) in place.
+   */
+  private[sql] def truncate(): Unit = {
+    Utils.LOGGER.info(s"Overwriting data for ${cfg.getResourceWrite}")
+
+    // delete by query (falling back to a scan-scroll delete on clusters that do not support it)
+    val cfgCopy = cfg.copy()
+    InitializationUtils.setUserProviderIfNotSet(cfgCopy, classOf[HadoopUserProvider], null)
+    InitializationUtils.discoverClusterInfo(cfgCopy, Utils.LOGGER)
+    InitializationUtils.setValueWriterIfNotSet(cfgCopy, classOf[JdkValueWriter], null)
+    InitializationUtils.setFieldExtractorIfNotSet(cfgCopy, classOf[ConstantFieldExtractor], null) //throw away extractor
+    cfgCopy.setProperty(ConfigurationOptions.OPENSEARCH_BATCH_FLUSH_MANUAL, "false")
+    cfgCopy.setProperty(ConfigurationOptions.OPENSEARCH_BATCH_SIZE_ENTRIES, "1000")
+    cfgCopy.setProperty(ConfigurationOptions.OPENSEARCH_BATCH_SIZE_BYTES, "1mb")
+    val rr = new RestRepository(cfgCopy)
+    if (rr.resourceExists(false)) {
+      rr.delete()
+    }
+    rr.close()
+  }
+
+  private[sql] def hasMapping: Boolean = {
+    val rr = new RestRepository(cfg)
+    try {
+      rr.resourceExists(true) && {
+        val mappings = rr.getMappings
+        mappings != null && !mappings.isEmpty
       }
+    } finally {
       rr.close()
     }
-    OpenSearchSparkSQL.saveToOpenSearch(data, parameters)
   }
 
   def isEmpty(): Boolean = {
@@ -0,0 +1,51 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ *
+ * Modifications Copyright OpenSearch Contributors. See
+ * GitHub history for details.
+ */
+
+package org.opensearch.spark.sql
+
+import scala.collection.Map
+
+import org.apache.spark.sql.catalyst.CatalystTypeConverters
+import org.apache.spark.sql.catalyst.InternalRow
+import org.apache.spark.sql.types.StructType
+import org.opensearch.hadoop.serialization.field.FieldExtractor
+
+/**
+ * Extracts fields from Catalyst rows paired with their schema, the counterpart of [[InternalRowValueWriter]].
+ * Nested structs are returned along with their schema, other values in their external representation.
+ */
+class InternalRowFieldExtractor extends DataFrameFieldExtractor {
+
+  override protected def extractField(target: AnyRef): AnyRef = {
+    target match {
+      case (_: InternalRow, _: StructType) =>
+        var obj = target
+        for (in <- 0 until getFieldNames.size()) {
+          val field = getFieldNames.get(in)
+          obj = obj match {
+            case (row: InternalRow, struct: StructType) =>
+              struct.getFieldIndex(field) match {
+                case Some(index) if row.isNullAt(index) => null
+                case Some(index) =>
+                  struct.fields(index).dataType match {
+                    case nested: StructType => (row.getStruct(index, nested.length), nested)
+                    case dataType           => CatalystTypeConverters.convertToScala(row.get(index, dataType), dataType).asInstanceOf[AnyRef]
+                  }
+                case None => FieldExtractor.NOT_FOUND
+              }
+            case m: Map[_, _] => m.asInstanceOf[Map[AnyRef, AnyRef]].getOrElse(field, FieldExtractor.NOT_FOUND)
+            case _            => FieldExtractor.NOT_FOUND
+          }
+        }
+        obj
+      case _ => super.extractField(target)
+    }
+  }
+}
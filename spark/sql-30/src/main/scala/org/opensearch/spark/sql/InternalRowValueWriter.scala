@@ -0,0 +1,164 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ *
+ * Modifications Copyright OpenSearch Contributors. See
+ * GitHub history for details.
+ */
+
+package org.opensearch.spark.sql
+
+import org.apache.spark.sql.catalyst.CatalystTypeConverters
+import org.apache.spark.sql.catalyst.InternalRow
+import org.apache.spark.sql.catalyst.expressions.SpecializedGetters
+import org.apache.spark.sql.catalyst.util.ArrayData
+import org.apache.spark.sql.catalyst.util.DateTimeUtils
+import org.apache.spark.sql.catalyst.util.MapData
+import org.apache.spark.sql.types.ArrayType
+import org.apache.spark.sql.types.BinaryType
+import org.apache.spark.sql.types.BooleanType
+import org.apache.spark.sql.types.ByteType
+import org.apache.spark.sql.types.DataType
+import org.apache.spark.sql.types.DateType
+import org.apache.spark.sql.types.DoubleType
+import org.apache.spark.sql.types.FloatType
+import org.apache.spark.sql.types.IntegerType
+import org.apache.spark.sql.types.LongType
+import org.apache.spark.sql.types.MapType
+import org.apache.spark.sql.types.ShortType
+import org.apache.spark.sql.types.StringType
+import org.apache.spark.sql.types.StructType
+import org.apache.spark.sql.types.TimestampType
+import org.apache.spark.unsafe.Platform
+import org.apache.spark.unsafe.types.UTF8String
+import org.opensearch.hadoop.serialization.Generator
+import org.opensearch.hadoop.serialization.builder.ValueWriter.Result
+
+/**
+ * Writes Catalyst rows, paired with their schema, without converting them to external `Row`s first:
+ * strings are copied as UTF-8 bytes and primitives are read unboxed. Types without a dedicated path are
+ * converted to their external representation and handed to [[DataFrameValueWriter]].
+ */
+class InternalRowValueWriter(writeUnknownTypes: Boolean = false) extends DataFrameValueWriter(writeUnknownTypes) {
+
+  def this() {
+    this(false)
+  }
+
+  override def write(value: Any, generator: Generator): Result = {
+    value match {
+      case (row: InternalRow, schema: StructType) => writeInternalStruct(schema, row, generator)
+      case _                                      => super.write(value, generator)
+    }
+  }
+
+  private def writeInternalStruct(schema: StructType, row: InternalRow, generator: Generator): Result = {
+    generator.writeBeginObject()
+
+    val fields = schema.fields
+    var index = 0
+    while (index < fields.length) {
+      val field = fields(index)
+      if (shouldKeep(generator.getParentPath, field.name)) {
+        if (!row.isNullAt(index)) {
+          generator.writeFieldName(field.name)
+          val result = writeValue(field.dataType, row, index, generator)
+          if (!result.isSuccesful) {
+            return handleUnknown(row, generator)
+          }
+        } else if (writeNullValues) {
+          generator.writeFieldName(field.name)
+          generator.writeNull()
+        }
+      }
+      index += 1
+    }
+
+    generator.writeEndObject()
+    Result.SUCCESFUL()
+  }
+
+  private def writeInternalArray(schema: ArrayType, array: ArrayData, generator: Generator): Result = {
+    generator.writeBeginArray()
+
+    var index = 0
+    while (index < array.numElements()) {
+      if (array.isNullAt(index)) {
+        generator.writeNull()
+      } else {
+        val result = writeValue(schema.elementType, array, index, generator)
+        if (!result.isSuccesful) {
+          return handleUnknown(array, generator)
+        }
+      }
+      index += 1
+    }
+
+    generator.writeEndArray()
+    Result.SUCCESFUL()
+  }
+
+  private def writeInternalMap(schema: MapType, map: MapData, generator: Generator): Result = {
+    generator.writeBeginObject()
+
+    val keys = map.keyArray()
+    val values = map.valueArray()
+    var index = 0
+    while (index < map.numElements()) {
+      val key = schema.keyType match {
+        case StringType => keys.getUTF8String(index).toString
+        case keyType    => CatalystTypeConverters.convertToScala(keys.get(index, keyType), keyType).toString
+      }
+      if (shouldKeep(generator.getParentPath, key)) {
+        generator.writeFieldName(key)
+        if (values.isNullAt(index)) {
+          generator.writeNull()
+        } else {
+          val result = writeValue(schema.valueType, values, index, generator)
+          if (!result.isSuccesful) {
+            return handleUnknown(values.get(index, schema.valueType), generator)
+          }
+        }
+      }
+      index += 1
+    }
+
+    generator.writeEndObject()
+    Result.SUCCESFUL()
+  }
+
+  private def writeValue(dataType: DataType, data: SpecializedGetters, ordinal: Int, generator: Generator): Result = {
+    dataType match {
+      case StringType    => writeUTF8String(data.getUTF8String(ordinal), generator)
+      case BooleanType   => generator.writeBoolean(data.getBoolean(ordinal))
+      case ByteType      => generator.writeNumber(data.getByte(ordinal))
+      case ShortType     => generator.writeNumber(data.getShort(ordinal))
+      case IntegerType   => generator.writeNumber(data.getInt(ordinal))
+      case LongType      => generator.writeNumber(data.getLong(ordinal))
+      case DoubleType    => generator.writeNumber(data.getDouble(ordinal))
+      case FloatType     => generator.writeNumber(data.getFloat(ordinal))
+      case BinaryType    => generator.writeBinary(data.getBinary(ordinal))
+      // microseconds to the milliseconds of java.sql.Timestamp#getTime
+      case TimestampType => generator.writeNumber(Math.floorDiv(data.getLong(ordinal), 1000L))
+      // days to the (local) milliseconds of java.sql.Date#getTime
+      case DateType      => generator.writeNumber(DateTimeUtils.toJavaDate(data.getInt(ordinal)).getTime)
+      case s: StructType => return writeInternalStruct(s, data.getStruct(ordinal, s.length), generator)
+      case a: ArrayType  => return writeInternalArray(a, data.getArray(ordinal), generator)
+      case m: MapType    => return writeInternalMap(m, data.getMap(ordinal), generator)
+      case _             => return write(dataType, CatalystTypeConverters.convertToScala(data.get(ordinal, dataType), dataType), generator)
+    }
+    Result.SUCCESFUL()
+  }
+
+  private def writeUTF8String(value: UTF8String, generator: Generator): Unit = {
+    value.getBaseObject match {
+      // write straight from the backing array, be it the row buffer or the string own bytes
+      case bytes: Array[Byte] =>
+        generator.writeUTF8String(bytes, (value.getBaseOffset - Platform.BYTE_ARRAY_OFFSET).toInt, value.numBytes())
+      case _ =>
+        generator.writeUTF8String(value.getBytes)
+    }
+  }
+}
@@ -0,0 +1,51 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ *
+ * Modifications Copyright OpenSearch Contributors. See
+ * GitHub history for details.
+ */
+
+package org.opensearch.spark.sql
+
+import org.apache.spark.sql.catalyst.InternalRow
+import org.apache.spark.sql.types.StructType
+import org.opensearch.hadoop.cfg.ConfigurationOptions._
+import org.opensearch.hadoop.cfg.Settings
+import org.opensearch.hadoop.serialization.{BytesConverter, JdkBytesConverter}
+import org.opensearch.hadoop.serialization.builder.ValueWriter
+import org.opensearch.hadoop.serialization.field.FieldExtractor
+import org.opensearch.hadoop.util.StringUtils
+import org.opensearch.spark.rdd.OpenSearchRDDWriter
+
+/**
+ * Writes the Catalyst rows of a Dataset as they are, without deserializing them into `Row`s.
+ */
+private[spark] class OpenSearchInternalRowWriter
+  (schema: StructType, override val serializedSettings: String)
+  extends OpenSearchRDDWriter[InternalRow](serializedSettings:String) {
+
+  override protected def valueWriter: Class[_ <: ValueWriter[_]] = classOf[InternalRowValueWriter]
+  override protected def bytesConverter: Class[_ <: BytesConverter] = classOf[JdkBytesConverter]
+  override protected def fieldExtractor: Class[_ <: FieldExtractor] = classOf[InternalRowFieldExtractor]
+
+  override protected def processData(data: Iterator[InternalRow]): Any = { (data.next, schema) }
+}
+
+private[spark] object OpenSearchInternalRowWriter {
+
+  private val customizations = Seq(OPENSEARCH_SERIALIZATION_WRITER_VALUE_CLASS, OPENSEARCH_MAPPING_DEFAULT_EXTRACTOR_CLASS,
+    OPENSEARCH_MAPPING_ID_EXTRACTOR_CLASS, OPENSEARCH_MAPPING_PARENT_EXTRACTOR_CLASS, OPENSEARCH_MAPPING_JOIN_EXTRACTOR_CLASS,
+    OPENSEARCH_MAPPING_VERSION_EXTRACTOR_CLASS, OPENSEARCH_MAPPING_ROUTING_EXTRACTOR_CLASS, OPENSEARCH_MAPPING_TTL_EXTRACTOR_CLASS,
+    OPENSEARCH_MAPPING_TIMESTAMP_EXTRACTOR_CLASS, OPENSEARCH_MAPPING_INDEX_EXTRACTOR_CLASS, OPENSEARCH_MAPPING_PARAMS_EXTRACTOR_CLASS)
+
+  /**
+   * Catalyst rows can only be handed to the built-in value writer and field extractors;
+   * user provided ones (or JSON input) expect `Row`s.
+   */
+  def isSupported(settings: Settings): Boolean = {
+    !settings.getInputAsJson && customizations.forall(property => !StringUtils.hasText(settings.getProperty(property)))
+  }
+}
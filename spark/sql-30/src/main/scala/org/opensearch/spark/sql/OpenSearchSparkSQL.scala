@@ -110,7 +110,11 @@ object OpenSearchSparkSQL {
       InitializationUtils.checkIdForOperation(esCfg)
       InitializationUtils.checkIndexExistence(esCfg)
 
-      sparkCtx.runJob(srdd.toDF().rdd, new OpenSearchDataFrameWriter(srdd.schema, esCfg.save()).write _)
+      if (OpenSearchInternalRowWriter.isSupported(esCfg)) {
+        sparkCtx.runJob(srdd.toDF().queryExecution.toRdd, new OpenSearchInternalRowWriter(srdd.schema, esCfg.save()).write _)
+      } else {
+        sparkCtx.runJob(srdd.toDF().rdd, new OpenSearchDataFrameWriter(srdd.schema, esCfg.save()).write _)
+      }
     }
   }
 }
\ No newline at end of file
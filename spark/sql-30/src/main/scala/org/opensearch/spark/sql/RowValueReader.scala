@@ -62,8 +62,15 @@ private[sql] trait RowValueReader extends SettingsAware {
   }
 
   def addToBuffer(esRow: ScalaOpenSearchRow, key: AnyRef, value: Any): Unit = {
-    val pos = esRow.rowOrder.indexOf(key.toString())
-    if (pos < 0 || pos >= esRow.values.size) {
+    val pos = rowPosition(esRow.rowOrder.indexOf(key.toString()), esRow.values.size, key)
+    if (pos >= 0) {
+      esRow.values.update(pos, value)
+    }
+  }
+
+  // validates the position of the given key within a row; returns -1 for fields that can be ignored
+  protected def rowPosition(pos: Int, size: Int, key: AnyRef): Int = {
+    if (pos < 0 || pos >= size) {
       // geo types allow fields which are ignored - need to skip these if they are not part of the schema
       if (pos >= 0 || !currentFieldIsGeo) {
         if (key.toString().contains(".")) {
@@ -73,8 +80,9 @@ private[sql] trait RowValueReader extends SettingsAware {
           throw new OpenSearchHadoopIllegalStateException(s"Position for '$sparkRowField' not found in row; typically this is caused by a mapping inconsistency")
         }
       }
+      -1
     } else {
-      esRow.values.update(pos, value)
+      pos
     }
   }
 }
\ No newline at end of file
@@ -0,0 +1,304 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ *
+ * Modifications Copyright OpenSearch Contributors. See
+ * GitHub history for details.
+ */
+
+package org.opensearch.spark.sql
+
+import java.sql.Timestamp
+import java.util.Date
+import java.util.IdentityHashMap
+
+import org.apache.spark.sql.catalyst.InternalRow
+import org.apache.spark.sql.catalyst.expressions.SpecificInternalRow
+import org.apache.spark.sql.catalyst.util.ArrayBasedMapData
+import org.apache.spark.sql.catalyst.util.DateTimeUtils
+import org.apache.spark.sql.catalyst.util.GenericArrayData
+import org.apache.spark.sql.types.ArrayType
+import org.apache.spark.sql.types.BooleanType
+import org.apache.spark.sql.types.ByteType
+import org.apache.spark.sql.types.DataType
+import org.apache.spark.sql.types.DoubleType
+import org.apache.spark.sql.types.FloatType
+import org.apache.spark.sql.types.IntegerType
+import org.apache.spark.sql.types.LongType
+import org.apache.spark.sql.types.MapType
+import org.apache.spark.sql.types.NullType
+import org.apache.spark.sql.types.ShortType
+import org.apache.spark.sql.types.StringType
+import org.apache.spark.sql.types.StructType
+import org.apache.spark.sql.types.TimestampType
+import org.apache.spark.unsafe.types.UTF8String
+import org.opensearch.hadoop.OpenSearchHadoopIllegalStateException
+import org.opensearch.hadoop.cfg.ConfigurationOptions
+import org.opensearch.hadoop.cfg.Settings
+import org.opensearch.hadoop.serialization.FieldType
+import org.opensearch.hadoop.serialization.FieldType.BOOLEAN
+import org.opensearch.hadoop.serialization.FieldType.BYTE
+import org.opensearch.hadoop.serialization.FieldType.DOUBLE
+import org.opensearch.hadoop.serialization.FieldType.FLOAT
+import org.opensearch.hadoop.serialization.FieldType.HALF_FLOAT
+import org.opensearch.hadoop.serialization.FieldType.INTEGER
+import org.opensearch.hadoop.serialization.FieldType.LONG
+import org.opensearch.hadoop.serialization.FieldType.SCALED_FLOAT
+import org.opensearch.hadoop.serialization.FieldType.SHORT
+import org.opensearch.hadoop.serialization.FieldType.TOKEN_COUNT
+import org.opensearch.hadoop.serialization.Parser
+import org.opensearch.hadoop.serialization.Parser.Token.FIELD_NAME
+import org.opensearch.hadoop.serialization.Parser.Token.VALUE_BOOLEAN
+import org.opensearch.hadoop.serialization.Parser.Token.VALUE_NUMBER
+
+import scala.collection.mutable.Map
+
+/**
+ * Variant of [[ScalaRowValueReader]] that materializes Catalyst rows directly, following the schema saved through
+ * [[SchemaUtils.setRowSchema]]. Objects become [[SpecificInternalRow]]s, strings [[UTF8String]]s and dates
+ * microseconds, removing the conversion of each [[ScalaOpenSearchRow]] afterwards. Nested rows follow the schema as well,
+ * so structs pruned by Spark only hold the requested fields while the others found in the document are dropped.
+ *
+ * Primitive fields outside arrays are not boxed: the value is kept in the reader until the parser adds it to its row,
+ * where it is written into the typed slot.
+ */
+class ScalaInternalRowValueReader extends ScalaRowValueReader {
+
+  import ScalaInternalRowValueReader._
+
+  // row layouts, keyed by the (shared) row order instances of rowColumnsMap
+  private val layouts = new IdentityHashMap[Seq[String], RowLayout]()
+  // Spark type of every field, by absolute name
+  private var fieldTypes: scala.collection.Map[String, DataType] = Map.empty
+  private var arrayDepth = 0
+
+  // last primitive read, waiting to be added to its row
+  private var pendingKind = NONE
+  private var pendingLong = 0L
+  private var pendingDouble = 0d
+  private var pendingBoolean = false
+
+  override def setSettings(settings: Settings) = {
+    super.setSettings(settings)
+
+    fieldTypes = flatten(SchemaUtils.getRowSchema(settings))
+    layouts.clear()
+    for ((level, order) <- rowColumnsMap) {
+      layouts.put(order, layout(level, order))
+    }
+  }
+
+  private def layout(level: String, order: Seq[String]) = {
+    val types = order.map { column =>
+      fieldTypes.getOrElse(if (level == Utils.ROOT_LEVEL_NAME) column else level + "." + column, NullType)
+    }
+    new RowLayout(order.zipWithIndex.toMap, types.toArray, level != Utils.ROOT_LEVEL_NAME)
+  }
+
+  override protected def createRow(rowOrder: Seq[String]): AnyRef = {
+    var layout = layouts.get(rowOrder)
+    if (layout == null) {
+      layout = new RowLayout(rowOrder.zipWithIndex.toMap, rowOrder.map(_ => NullType).toArray, false)
+      layouts.put(rowOrder, layout)
+    }
+    new RowBuilder(layout)
+  }
+
+  override def readValue(parser: Parser, value: String, esType: FieldType): AnyRef = {
+    val field = getCurrentField
+    if (esType != null && arrayDepth == 0 && field != null && isPrimitive(fieldTypes.getOrElse(field.getFieldName, NullType))
+      && readPrimitive(parser, esType)) {
+      sparkRowField = field.getFieldName
+      Pending
+    }
+    else {
+      super.readValue(parser, value, esType)
+    }
+  }
+
+  private def readPrimitive(parser: Parser, esType: FieldType): Boolean = {
+    val token = parser.currentToken()
+    esType match {
+      case BYTE | SHORT | INTEGER | LONG | TOKEN_COUNT if token == VALUE_NUMBER => {
+        pendingKind = LONG_VALUE
+        pendingLong = parser.longValue()
+        true
+      }
+      case HALF_FLOAT | FLOAT if token == VALUE_NUMBER => {
+        pendingKind = DOUBLE_VALUE
+        pendingDouble = parser.floatValue()
+        true
+      }
+      case DOUBLE | SCALED_FLOAT if token == VALUE_NUMBER => {
+        pendingKind = DOUBLE_VALUE
+        pendingDouble = parser.doubleValue()
+        true
+      }
+      case BOOLEAN if token == VALUE_BOOLEAN => {
+        pendingKind = BOOLEAN_VALUE
+        pendingBoolean = parser.booleanValue()
+        true
+      }
+      case _ => false
+    }
+  }
+
+  // field names are used as keys and stay as Strings
+  override def textValue(value: String, parser: Parser) = {
+    val text = super.textValue(value, parser)
+    if (text == null || parser.currentToken() == FIELD_NAME) text else UTF8String.fromString(text.toString)
+  }
+
+  override def createArray(typ: FieldType): AnyRef = {
+    arrayDepth += 1
+    super.createArray(typ)
+  }
+
+  override def addToArray(array: AnyRef, values: java.util.List[Object]): AnyRef = {
+    arrayDepth -= 1
+    super.addToArray(array, values)
+  }
+
+  override def addToMap(map: AnyRef, key: AnyRef, value: Any) = {
+    map match {
+      case builder: RowBuilder => {
+        val layout = builder.layout
+        val known = layout.positions.getOrElse(key.toString(), -1)
+        // objects follow the (possibly pruned) struct Spark asked for; their other fields are not needed
+        val pos = if (known < 0 && layout.nested) -1 else rowPosition(known, layout.types.length, key)
+        if (pos >= 0) {
+          if (isPending(value)) {
+            writePending(builder.row, pos, layout.types(pos))
+          }
+          else {
+            builder.row.update(pos, toCatalyst(value, layout.types(pos)))
+          }
+        }
+      }
+      case m: Map[_, _] => m.asInstanceOf[Map[AnyRef, Any]].put(key, if (isPending(value)) pendingValue() else value)
+    }
+  }
+
+  private def isPending(value: Any) = value.asInstanceOf[AnyRef] eq Pending
+
+  private def writePending(row: InternalRow, pos: Int, dataType: DataType): Unit = {
+    dataType match {
+      case ByteType    => row.setByte(pos, pendingAsLong.toByte)
+      case ShortType   => row.setShort(pos, pendingAsLong.toShort)
+      case IntegerType => row.setInt(pos, pendingAsLong.toInt)
+      case LongType    => row.setLong(pos, pendingAsLong)
+      case FloatType   => row.setFloat(pos, pendingAsDouble.toFloat)
+      case DoubleType  => row.setDouble(pos, pendingAsDouble)
+      case BooleanType => row.setBoolean(pos, if (pendingKind == BOOLEAN_VALUE) pendingBoolean else pendingAsLong != 0)
+      case _           => row.update(pos, toCatalyst(pendingValue(), dataType))
+    }
+  }
+
+  private def pendingAsLong: Long = pendingKind match {
+    case DOUBLE_VALUE  => pendingDouble.toLong
+    case BOOLEAN_VALUE => if (pendingBoolean) 1L else 0L
+    case _             => pendingLong
+  }
+
+  private def pendingAsDouble: Double = pendingKind match {
+    case LONG_VALUE    => pendingLong.toDouble
+    case BOOLEAN_VALUE => if (pendingBoolean) 1d else 0d
+    case _             => pendingDouble
+  }
+
+  private def pendingValue(): Any = pendingKind match {
+    case LONG_VALUE    => pendingLong
+    case DOUBLE_VALUE  => pendingDouble
+    case _             => pendingBoolean
+  }
+
+  private def toCatalyst(value: Any, dataType: DataType): Any = {
+    value match {
+      case null                          => null
+      case builder: RowBuilder           => builder.row
+      case s: UTF8String                 => s
+      case s: String                     => UTF8String.fromString(s)
+      case t: Timestamp                  => DateTimeUtils.fromJavaTimestamp(t)
+      case d: Date                       => DateTimeUtils.millisToMicros(d.getTime)
+      case m: scala.collection.Map[_, _] => dataType match {
+        case MapType(keyType, valueType, _) => ArrayBasedMapData(m, toCatalyst(_, keyType), toCatalyst(_, valueType))
+        case _                              => ArrayBasedMapData(m, toCatalyst(_, StringType), toCatalyst(_, StringType))
+      }
+      case s: scala.collection.Seq[_]    => dataType match {
+        case ArrayType(elementType, _)      => new GenericArrayData(s.map(toCatalyst(_, elementType)).toArray)
+        case _                              => throw new OpenSearchHadoopIllegalStateException(
+          s"Field '$sparkRowField' is backed by an array but the associated Spark Schema does not reflect this; " +
+          s"(use ${ConfigurationOptions.OPENSEARCH_READ_FIELD_AS_ARRAY_INCLUDE}/exclude)")
+      }
+      case n: Number                     => dataType match {
+        case ByteType                       => n.byteValue()
+        case ShortType                      => n.shortValue()
+        case IntegerType                    => n.intValue()
+        case LongType | TimestampType       => n.longValue()
+        case FloatType                      => n.floatValue()
+        case DoubleType                     => n.doubleValue()
+        case StringType                     => UTF8String.fromString(n.toString)
+        case _                              => n
+      }
+      case other                         => other
+    }
+  }
+
+  override def beginDoc(): Unit = {
+    arrayDepth = 0
+    super.beginDoc()
+  }
+}
+
+private[sql] object ScalaInternalRowValueReader {
+
+  private val NONE = 0
+  private val LONG_VALUE = 1
+  private val DOUBLE_VALUE = 2
+  private val BOOLEAN_VALUE = 3
+
+  // marker returned for primitives kept in the reader
+  private[sql] object Pending
+
+  private[sql] class RowLayout(val positions: scala.collection.Map[String, Int], val types: Array[DataType], val nested: Boolean) {
+    val typeSeq: Seq[DataType] = types.toSeq
+  }
+
+  private[sql] class RowBuilder(val layout: RowLayout) {
+    val row = new SpecificInternalRow(layout.typeSeq)
+  }
+
+  private def isPrimitive(dataType: DataType) = dataType match {
+    case ByteType | ShortType | IntegerType | LongType | FloatType | DoubleType | BooleanType => true
+    case _                                                                                    => false
+  }
+
+  // Spark types by absolute field name; array elements share the name of their field
+  private def flatten(struct: StructType): scala.collection.Map[String, DataType] = {
+    val types = Map[String, DataType]()
+    def add(name: String, dataType: DataType): Unit = {
+      types.put(name, dataType)
+      elementType(dataType) match {
+        case s: StructType => s.fields.foreach(f => add(name + "." + f.name, f.dataType))
+        case _             =>
+      }
+    }
+    struct.fields.foreach(f => add(f.name, f.dataType))
+    types
+  }
+
+  private def elementType(dataType: DataType): DataType = dataType match {
+    case ArrayType(elementType, _) => this.elementType(elementType)
+    case other                     => other
+  }
+
+  /**
+   * Returns the Catalyst row of a document read through this reader.
+   */
+  def row(document: AnyRef): InternalRow = document match {
+    case builder: RowBuilder => builder.row
+    case null                => null
+  }
+}
@@ -77,10 +77,14 @@ class ScalaRowValueReader extends ScalaValueReader with RowValueReader with Valu
       }
       else rowColumns(sparkRowField)
 
-      new ScalaOpenSearchRow(rowOrd)
+      createRow(rowOrd)
     }
   }
 
+  protected def createRow(rowOrder: Seq[String]): AnyRef = {
+    new ScalaOpenSearchRow(rowOrder)
+  }
+
   // start array
   override def createArray(typ: FieldType): AnyRef = {
 
@@ -79,6 +79,7 @@ import org.opensearch.hadoop.serialization.field.FieldFilter.NumberedInclude
 import Utils.ROOT_LEVEL_NAME
 import Utils.ROW_INFO_ARRAY_PROPERTY
 import Utils.ROW_INFO_ORDER_PROPERTY
+import Utils.ROW_INFO_SCHEMA_PROPERTY
 import org.opensearch.hadoop.OpenSearchHadoopIllegalArgumentException
 import org.opensearch.hadoop.cfg.{InternalConfigurationOptions, Settings}
 import org.opensearch.hadoop.rest.{InitializationUtils, RestRepository}
@@ -248,6 +249,17 @@ private[sql] object SchemaUtils {
     settings.setProperty(ROW_INFO_ARRAY_PROPERTY, IOUtils.propsToString(rowInfo._2))
   }
 
+  // saves the full schema (with types) for readers that create Catalyst rows directly
+  def setRowSchema(settings: Settings, struct: StructType) = {
+    settings.setProperty(ROW_INFO_SCHEMA_PROPERTY, struct.json)
+  }
+
+  def getRowSchema(settings: Settings): StructType = {
+    val schema = settings.getProperty(ROW_INFO_SCHEMA_PROPERTY)
+    Assert.hasText(schema, "no schema detected...")
+    DataType.fromJson(schema).asInstanceOf[StructType]
+  }
+
   def getRowInfo(settings: Settings) = {
     val rowOrderString = settings.getProperty(ROW_INFO_ORDER_PROPERTY)
     Assert.hasText(rowOrderString, "no schema/row order detected...")
@@ -47,6 +47,7 @@ abstract class Utils {
 
     static final String ROW_INFO_ORDER_PROPERTY = "opensearch.internal.spark.sql.row.order";
     static final String ROW_INFO_ARRAY_PROPERTY = "opensearch.internal.spark.sql.row.arrays";
+    static final String ROW_INFO_SCHEMA_PROPERTY = "opensearch.internal.spark.sql.row.schema";
     static final String ROOT_LEVEL_NAME = "_";
 
     static final String DATA_SOURCE_PUSH_DOWN = "opensearch.internal.spark.sql.pushdown";
@@ -54,6 +55,9 @@ abstract class Utils {
     // double filtering (run Spark filters) or not
     static final String DATA_SOURCE_KEEP_HANDLED_FILTERS = "opensearch.internal.spark.sql.pushdown.keep.handled.filters";
 
+    // fill columnar batches instead of rows (DataSource V2 only)
+    static final String DATA_SOURCE_COLUMNAR = "opensearch.internal.spark.sql.columnar";
+
     // columns selected by Spark SQL query
     static final String DATA_SOURCE_REQUIRED_COLUMNS = "opensearch.internal.spark.sql.required.columns";
 
@@ -69,6 +73,10 @@ abstract class Utils {
         return Booleans.parseBoolean(cfg.getProperty(DATA_SOURCE_KEEP_HANDLED_FILTERS), true) || !isPushDown(cfg);
     }
 
+    static boolean isColumnar(Settings cfg) {
+        return Booleans.parseBoolean(cfg.getProperty(DATA_SOURCE_COLUMNAR), false);
+    }
+
     static String camelCaseToDotNotation(String string) {
         StringBuilder sb = new StringBuilder();
 
@@ -36,13 +36,12 @@ import org.apache.spark.sql.catalyst.encoders.ExpressionEncoder
 import org.apache.spark.sql.catalyst.encoders.RowEncoder
 import org.apache.spark.sql.types.StructType
 import org.opensearch.spark.rdd.OpenSearchRDDWriter
-import org.opensearch.spark.sql.DataFrameFieldExtractor
-import org.opensearch.spark.sql.DataFrameValueWriter
 import org.opensearch.hadoop.OpenSearchHadoopIllegalArgumentException
+import org.opensearch.hadoop.cfg.PropertiesSettings
 import org.opensearch.hadoop.serialization.{BytesConverter, JdkBytesConverter}
 import org.opensearch.hadoop.serialization.builder.ValueWriter
 import org.opensearch.hadoop.serialization.field.FieldExtractor
-import org.opensearch.spark.sql.{DataFrameFieldExtractor, DataFrameValueWriter}
+import org.opensearch.spark.sql.{DataFrameFieldExtractor, DataFrameValueWriter, InternalRowFieldExtractor, InternalRowValueWriter, OpenSearchInternalRowWriter}
 
 /**
  * Takes in iterator of InternalRow objects from a partition of data, writes it to OpenSearch, and manages
@@ -53,12 +52,16 @@ private [sql] class OpenSearchStreamQueryWriter(serializedSettings: String,
                                                 commitProtocol: OpenSearchCommitProtocol)
   extends OpenSearchRDDWriter[InternalRow](serializedSettings) {
 
-  override protected def valueWriter: Class[_ <: ValueWriter[_]] = classOf[DataFrameValueWriter]
+  // write the rows as they are unless custom (Row based) writers or extractors are configured
+  private val internalRows = OpenSearchInternalRowWriter.isSupported(new PropertiesSettings().load(serializedSettings))
+
+  override protected def valueWriter: Class[_ <: ValueWriter[_]] =
+    if (internalRows) classOf[InternalRowValueWriter] else classOf[DataFrameValueWriter]
   override protected def bytesConverter: Class[_ <: BytesConverter] = classOf[JdkBytesConverter]
-  override protected def fieldExtractor: Class[_ <: FieldExtractor] = classOf[DataFrameFieldExtractor]
+  override protected def fieldExtractor: Class[_ <: FieldExtractor] =
+    if (internalRows) classOf[InternalRowFieldExtractor] else classOf[DataFrameFieldExtractor]
 
-  private val encoder: ExpressionEncoder[Row] = RowEncoder(schema).resolveAndBind()
-  private val deserializer: ExpressionEncoder.Deserializer[Row] = encoder.createDeserializer()
+  private lazy val deserializer: ExpressionEncoder.Deserializer[Row] = RowEncoder(schema).resolveAndBind().createDeserializer()
 
   override def write(taskContext: TaskContext, data: Iterator[InternalRow]): Unit = {
     // Keep clients from using this method, doesn't return task commit information.
@@ -79,7 +82,7 @@ private [sql] class OpenSearchStreamQueryWriter(serializedSettings: String,
   }
 
   override protected def processData(data: Iterator[InternalRow]): Any = {
-    val row = deserializer.apply(data.next())
+    val row = if (internalRows) data.next() else deserializer.apply(data.next())
     commitProtocol.recordSeen()
     (row, schema)
   }
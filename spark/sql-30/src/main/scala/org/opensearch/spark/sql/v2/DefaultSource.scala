@@ -0,0 +1,75 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ *
+ * Modifications Copyright OpenSearch Contributors. See
+ * GitHub history for details.
+ */
+
+package org.opensearch.spark.sql.v2
+
+import java.util.{Map => JMap}
+import java.util.{Set => JSet}
+
+import org.apache.spark.sql.SparkSession
+import org.apache.spark.sql.connector.catalog.SupportsRead
+import org.apache.spark.sql.connector.catalog.SupportsWrite
+import org.apache.spark.sql.connector.catalog.Table
+import org.apache.spark.sql.connector.catalog.TableCapability
+import org.apache.spark.sql.connector.catalog.TableProvider
+import org.apache.spark.sql.connector.expressions.Transform
+import org.apache.spark.sql.connector.read.ScanBuilder
+import org.apache.spark.sql.connector.write.LogicalWriteInfo
+import org.apache.spark.sql.connector.write.WriteBuilder
+import org.apache.spark.sql.types.StructType
+import org.apache.spark.sql.util.CaseInsensitiveStringMap
+import org.opensearch.hadoop.util.Version
+import org.opensearch.spark.sql.OpenSearchRelation
+
+import scala.collection.JavaConverters.mapAsScalaMapConverter
+import scala.collection.JavaConverters.setAsJavaSetConverter
+
+/**
+ * DataSource V2 entry point, used through `spark.read.format("org.opensearch.spark.sql.v2")`.
+ * Reads are planned through [[OpenSearchScanBuilder]] which, next to the filters and columns the V1 relation
+ * handles, pushes aggregations down to OpenSearch. Writes (batch and streaming append, batch overwrite) go through
+ * [[OpenSearchWriteBuilder]]. Options are the same as for the V1 `opensearch` source.
+ */
+class DefaultSource extends TableProvider {
+
+  Version.logVersion()
+
+  // writes resolve the table through the inferred schema as well; as the table accepts any schema on write, a resource
+  // without a mapping (such as an index that is yet to be created) simply has an empty one
+  override def inferSchema(options: CaseInsensitiveStringMap): StructType = {
+    val resource = relation(options.asCaseSensitiveMap(), None)
+    if (resource.hasMapping) resource.schema else new StructType()
+  }
+
+  override def getTable(schema: StructType, partitioning: Array[Transform], properties: JMap[String, String]): Table = {
+    new OpenSearchTable(relation(properties, Some(schema)))
+  }
+
+  override def supportsExternalMetadata(): Boolean = true
+
+  private def relation(options: JMap[String, String], schema: Option[StructType]) = {
+    val parameters = new org.opensearch.spark.sql.DefaultSource().params(options.asScala.toMap)
+    OpenSearchRelation(parameters, SparkSession.active.sqlContext, schema)
+  }
+}
+
+private[sql] class OpenSearchTable(relation: OpenSearchRelation) extends Table with SupportsRead with SupportsWrite {
+
+  override def name(): String = relation.cfg.getResourceRead
+
+  override def schema(): StructType = relation.schema
+
+  override def capabilities(): JSet[TableCapability] = Set(TableCapability.BATCH_READ, TableCapability.BATCH_WRITE,
+    TableCapability.STREAMING_WRITE, TableCapability.TRUNCATE, TableCapability.ACCEPT_ANY_SCHEMA).asJava
+
+  override def newScanBuilder(options: CaseInsensitiveStringMap): ScanBuilder = new OpenSearchScanBuilder(relation)
+
+  override def newWriteBuilder(info: LogicalWriteInfo): WriteBuilder = new OpenSearchWriteBuilder(relation, info)
+}
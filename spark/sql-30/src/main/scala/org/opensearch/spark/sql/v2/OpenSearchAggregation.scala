@@ -0,0 +1,304 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ *
+ * Modifications Copyright OpenSearch Contributors. See
+ * GitHub history for details.
+ */
+
+package org.opensearch.spark.sql.v2
+
+import java.util.{List => JList}
+import java.util.{Map => JMap}
+
+import org.apache.spark.sql.catalyst.InternalRow
+import org.apache.spark.sql.connector.expressions.NamedReference
+import org.apache.spark.sql.connector.expressions.aggregate.Aggregation
+import org.apache.spark.sql.connector.expressions.aggregate.Count
+import org.apache.spark.sql.connector.expressions.aggregate.CountStar
+import org.apache.spark.sql.connector.expressions.aggregate.Max
+import org.apache.spark.sql.connector.expressions.aggregate.Min
+import org.apache.spark.sql.connector.expressions.aggregate.Sum
+import org.apache.spark.sql.types.BooleanType
+import org.apache.spark.sql.types.ByteType
+import org.apache.spark.sql.types.DataType
+import org.apache.spark.sql.types.DoubleType
+import org.apache.spark.sql.types.FloatType
+import org.apache.spark.sql.types.IntegerType
+import org.apache.spark.sql.types.LongType
+import org.apache.spark.sql.types.ShortType
+import org.apache.spark.sql.types.StringType
+import org.apache.spark.sql.types.StructField
+import org.apache.spark.sql.types.StructType
+import org.apache.spark.unsafe.types.UTF8String
+import org.opensearch.hadoop.OpenSearchHadoopParsingException
+import org.opensearch.hadoop.rest.query.QueryBuilder
+import org.opensearch.hadoop.serialization.FieldType
+import org.opensearch.hadoop.serialization.Generator
+import org.opensearch.hadoop.serialization.dto.mapping.Mapping
+import org.opensearch.hadoop.serialization.json.JacksonJsonGenerator
+import org.opensearch.hadoop.util.BytesArray
+import org.opensearch.hadoop.util.FastByteArrayOutputStream
+
+import scala.collection.JavaConverters.asScalaBufferConverter
+import scala.collection.JavaConverters.mapAsScalaMapConverter
+
+/**
+ * Aggregation pushed down by Spark, translated into a `size:0` OpenSearch search. Grouped aggregations use a
+ * `composite` aggregation paged through its `after_key`; global ones read the metrics and the total hit count.
+ *
+ * Spark 3.2 treats pushed aggregates as partial and merges them on top (`COUNT` is summed, `MIN`/`MAX`/`SUM`
+ * are re-applied), so each row holds the group values followed by the metrics as described by [[schema]].
+ */
+private[sql] case class OpenSearchAggregation(groups: Seq[StructField], metrics: Seq[OpenSearchAggregation.Metric]) {
+
+  import OpenSearchAggregation._
+
+  def grouped: Boolean = groups.nonEmpty
+
+  lazy val schema: StructType = StructType(groups ++ metrics.map(m => StructField(m.toString, m.dataType)))
+
+  def request(query: QueryBuilder, after: Option[JMap[String, Object]], size: Int): BytesArray = {
+    val out = new FastByteArrayOutputStream(256)
+    val generator = new JacksonJsonGenerator(out)
+    try {
+      generator.writeBeginObject()
+      generator.writeFieldName("size").writeNumber(0)
+      if (!grouped) {
+        generator.writeFieldName("track_total_hits").writeBoolean(true)
+      }
+      generator.writeFieldName("query").writeBeginObject()
+      query.toJson(generator)
+      generator.writeEndObject()
+
+      generator.writeFieldName("aggs").writeBeginObject()
+      if (grouped) {
+        generator.writeFieldName(GROUPS).writeBeginObject()
+        generator.writeFieldName("composite").writeBeginObject()
+        generator.writeFieldName("size").writeNumber(size)
+        generator.writeFieldName("sources").writeBeginArray()
+        for ((group, index) <- groups.zipWithIndex) {
+          generator.writeBeginObject().writeFieldName(GROUP + index).writeBeginObject()
+          generator.writeFieldName("terms").writeBeginObject()
+          generator.writeFieldName("field").writeString(group.name)
+          generator.writeFieldName("missing_bucket").writeBoolean(true)
+          generator.writeEndObject().writeEndObject().writeEndObject()
+        }
+        generator.writeEndArray()
+        after.foreach { key =>
+          generator.writeFieldName("after").writeBeginObject()
+          for ((name, value) <- key.asScala) {
+            generator.writeFieldName(name)
+            writeKey(generator, value)
+          }
+          generator.writeEndObject()
+        }
+        generator.writeEndObject()
+        generator.writeFieldName("aggs").writeBeginObject()
+        writeMetrics(generator)
+        generator.writeEndObject()
+        generator.writeEndObject()
+      }
+      else {
+        writeMetrics(generator)
+      }
+      generator.writeEndObject()
+      generator.writeEndObject()
+    } finally {
+      generator.close()
+    }
+    out.bytes()
+  }
+
+  private def writeMetrics(generator: Generator): Unit = {
+    for ((metric, index) <- metrics.zipWithIndex if metric.function != COUNT_ALL) {
+      writeMetric(generator, METRIC + index, metric.function, metric.field)
+      // OpenSearch sums nothing to 0 while Spark expects null
+      if (metric.function == SUM) {
+        writeMetric(generator, METRIC + index + VALUES, VALUE_COUNT, metric.field)
+      }
+    }
+  }
+
+  private def writeMetric(generator: Generator, name: String, function: String, field: String): Unit = {
+    generator.writeFieldName(name).writeBeginObject()
+    generator.writeFieldName(function).writeBeginObject()
+    generator.writeFieldName("field").writeString(field)
+    generator.writeEndObject().writeEndObject()
+  }
+
+  private def writeKey(generator: Generator, value: Any): Unit = {
+    value match {
+      case null          => generator.writeNull()
+      case s: String     => generator.writeString(s)
+      case b: Boolean    => generator.writeBoolean(b)
+      case d: Double     => generator.writeNumber(d)
+      case f: Float      => generator.writeNumber(f)
+      case n: Number     => generator.writeNumber(n.longValue())
+      case _             => generator.writeString(value.toString)
+    }
+  }
+
+  /**
+   * Converts a search response into rows, along with the `after_key` of the next page, if any.
+   */
+  def rows(response: JMap[String, Object]): (Seq[InternalRow], Option[JMap[String, Object]]) = {
+    val aggregations = asMap(response.get("aggregations"))
+    if (grouped) {
+      val composite = asMap(aggregations.get(GROUPS))
+      val buckets = composite.get("buckets").asInstanceOf[JList[JMap[String, Object]]].asScala
+      val rows = buckets.map { bucket =>
+        val key = asMap(bucket.get("key"))
+        val values = groups.zipWithIndex.map { case (group, index) => convert(key.get(GROUP + index), group.dataType) } ++
+          metricValues(bucket, bucket.get("doc_count"))
+        InternalRow.fromSeq(values)
+      }
+      val afterKey = if (buckets.isEmpty) None else Option(composite.get("after_key")).map(asMap)
+      (rows.toSeq, afterKey)
+    }
+    else {
+      val hits = asMap(response.get("hits"))
+      val total = hits.get("total") match {
+        case m: JMap[_, _] => m.asInstanceOf[JMap[String, Object]].get("value")
+        case other         => other
+      }
+      (Seq(InternalRow.fromSeq(metricValues(aggregations, total))), None)
+    }
+  }
+
+  private def metricValues(aggregations: JMap[String, Object], count: Object): Seq[Any] = {
+    metrics.zipWithIndex.map { case (metric, index) =>
+      if (metric.function == COUNT_ALL) {
+        convert(count, LongType)
+      }
+      else {
+        val value = asMap(aggregations.get(METRIC + index)).get("value")
+        if (metric.function == SUM && asLong(asMap(aggregations.get(METRIC + index + VALUES)).get("value")) == 0) {
+          null
+        }
+        else {
+          convert(value, metric.dataType)
+        }
+      }
+    }
+  }
+
+  private def asMap(value: Object): JMap[String, Object] = {
+    if (value == null) {
+      throw new OpenSearchHadoopParsingException("Unexpected aggregation response; missing section for " + this)
+    }
+    value.asInstanceOf[JMap[String, Object]]
+  }
+}
+
+private[sql] object OpenSearchAggregation {
+
+  private val GROUPS = "groups"
+  private val GROUP = "g"
+  private val METRIC = "m"
+  private val VALUES = "_values"
+
+  val COUNT_ALL = "count"
+  val VALUE_COUNT = "value_count"
+  val MIN = "min"
+  val MAX = "max"
+  val SUM = "sum"
+
+  case class Metric(function: String, field: String, dataType: DataType) {
+    override def toString: String = if (field == null) s"$function(*)" else s"$function($field)"
+  }
+
+  /**
+   * Translates the given Spark aggregation, if every grouping column and function can be executed by OpenSearch.
+   */
+  def translate(aggregation: Aggregation, schema: StructType, mapping: Mapping): Option[OpenSearchAggregation] = {
+    val groupBy = (aggregation.groupByColumns(): Array[_ <: NamedReference]).map(column)
+    val functions = aggregation.aggregateExpressions().map {
+      case _: CountStar                  => Some((COUNT_ALL, null: String))
+      case c: Count if !c.isDistinct     => column(c.column()).map((VALUE_COUNT, _))
+      case m: Min                        => column(m.column()).map((MIN, _))
+      case m: Max                        => column(m.column()).map((MAX, _))
+      case s: Sum if !s.isDistinct       => column(s.column()).map((SUM, _))
+      case _                             => None
+    }
+    if (groupBy.exists(_.isEmpty) || functions.exists(_.isEmpty)) {
+      None
+    }
+    else {
+      translate(groupBy.map(_.get).toSeq, functions.map(_.get).toSeq, schema, mapping)
+    }
+  }
+
+  def translate(groupBy: Seq[String], functions: Seq[(String, String)], schema: StructType, mapping: Mapping): Option[OpenSearchAggregation] = {
+    val fieldTypes = mapping.flatten()
+    val fields = schema.fields.map(f => (f.name, f)).toMap
+
+    val groups = groupBy.map { name =>
+      fields.get(name).filter { field =>
+        val fieldType = fieldTypes.get(name)
+        field.dataType match {
+          case StringType                                                                 => fieldType == FieldType.KEYWORD
+          case BooleanType | ByteType | ShortType | IntegerType | LongType | FloatType | DoubleType => fieldType != null
+          case _                                                                          => false
+        }
+      }
+    }
+
+    val metrics = functions.map { case (function, name) =>
+      if (function == COUNT_ALL) {
+        Some(Metric(function, null, LongType))
+      }
+      else {
+        fields.get(name).filter(_ => fieldTypes.get(name) != null).flatMap { field =>
+          // OpenSearch computes numeric metrics as doubles; only types that round-trip exactly are pushed
+          (function, field.dataType) match {
+            case (VALUE_COUNT, _)                                                 => Some(Metric(function, name, LongType))
+            case (MIN | MAX, t @ (ByteType | ShortType | IntegerType | FloatType | DoubleType)) => Some(Metric(function, name, t))
+            case (SUM, ByteType | ShortType | IntegerType)                        => Some(Metric(function, name, LongType))
+            case (SUM, FloatType | DoubleType)                                    => Some(Metric(function, name, DoubleType))
+            case _                                                                => None
+          }
+        }
+      }
+    }
+
+    if (groups.exists(_.isEmpty) || metrics.exists(_.isEmpty)) {
+      None
+    }
+    else {
+      Some(OpenSearchAggregation(groups.map(_.get), metrics.map(_.get)))
+    }
+  }
+
+  private def column(reference: NamedReference): Option[String] = {
+    val names = reference.fieldNames()
+    if (names.length == 1) Some(names(0)) else None
+  }
+
+  private def asLong(value: Any): Long = value match {
+    case n: Number => n.longValue()
+    case _         => 0L
+  }
+
+  private[v2] def convert(value: Any, dataType: DataType): Any = {
+    if (value == null) {
+      return null
+    }
+    (dataType, value) match {
+      case (StringType, v)              => UTF8String.fromString(v.toString)
+      case (BooleanType, b: Boolean)    => b
+      case (BooleanType, n: Number)     => n.intValue() != 0
+      case (BooleanType, v)             => java.lang.Boolean.parseBoolean(v.toString)
+      case (ByteType, n: Number)        => n.byteValue()
+      case (ShortType, n: Number)       => n.shortValue()
+      case (IntegerType, n: Number)     => n.intValue()
+      case (LongType, n: Number)        => n.longValue()
+      case (FloatType, n: Number)       => n.floatValue()
+      case (DoubleType, n: Number)      => n.doubleValue()
+      case _                            =>
+        throw new OpenSearchHadoopParsingException(s"Cannot convert aggregation value [$value] to [$dataType]")
+    }
+  }
+}
@@ -0,0 +1,143 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ *
+ * Modifications Copyright OpenSearch Contributors. See
+ * GitHub history for details.
+ */
+
+package org.opensearch.spark.sql.v2
+
+import org.apache.spark.sql.catalyst.expressions.SpecializedGetters
+import org.apache.spark.sql.connector.read.PartitionReader
+import org.apache.spark.sql.execution.vectorized.OnHeapColumnVector
+import org.apache.spark.sql.execution.vectorized.WritableColumnVector
+import org.apache.spark.sql.types.BinaryType
+import org.apache.spark.sql.types.BooleanType
+import org.apache.spark.sql.types.ByteType
+import org.apache.spark.sql.types.DataType
+import org.apache.spark.sql.types.DoubleType
+import org.apache.spark.sql.types.FloatType
+import org.apache.spark.sql.types.IntegerType
+import org.apache.spark.sql.types.LongType
+import org.apache.spark.sql.types.ShortType
+import org.apache.spark.sql.types.StringType
+import org.apache.spark.sql.types.StructType
+import org.apache.spark.sql.types.TimestampType
+import org.apache.spark.sql.vectorized.ColumnVector
+import org.apache.spark.sql.vectorized.ColumnarBatch
+import org.opensearch.hadoop.OpenSearchHadoopIllegalArgumentException
+import org.opensearch.hadoop.rest.PartitionDefinition
+
+/**
+ * Reads a partition in columnar batches of (up to) one scroll page, filling on-heap vectors from the parsed rows.
+ * Rows, vectors and writers all follow the read schema so (pruned) structs line up field by field.
+ */
+private[sql] class OpenSearchColumnarPartitionReader(definition: PartitionDefinition, readSchema: StructType, capacity: Int)
+  extends PartitionReader[ColumnarBatch] {
+
+  import OpenSearchColumnarPartitionReader._
+
+  private val rows = new OpenSearchPartitionReader(definition, readSchema)
+  private val vectors = OnHeapColumnVector.allocateColumns(capacity, readSchema)
+  private val batch = new ColumnarBatch(vectors.map(v => v: ColumnVector))
+  private val writers = columnWriters(readSchema)
+
+  override def next(): Boolean = {
+    vectors.foreach(_.reset())
+    var count = 0
+    while (count < capacity && rows.next()) {
+      append(rows.get(), writers, vectors)
+      count += 1
+    }
+    batch.setNumRows(count)
+    count > 0
+  }
+
+  override def get(): ColumnarBatch = batch
+
+  override def close(): Unit = {
+    try {
+      rows.close()
+    } finally {
+      batch.close()
+    }
+  }
+}
+
+private[sql] object OpenSearchColumnarPartitionReader {
+
+  type ColumnWriter = (SpecializedGetters, Int, WritableColumnVector) => Unit
+
+  /**
+   * Whether the schema can be read in columnar batches; only primitives, strings, binaries, timestamps and
+   * structs of those are handled; other schemas are read row by row.
+   */
+  def isSupported(schema: StructType): Boolean = schema.fields.forall(field => isSupported(field.dataType))
+
+  private def isSupported(dataType: DataType): Boolean = dataType match {
+    case BooleanType | ByteType | ShortType | IntegerType | LongType | FloatType | DoubleType => true
+    case StringType | BinaryType | TimestampType                                            => true
+    case struct: StructType                                                                 => isSupported(struct)
+    case _                                                                                  => false
+  }
+
+  def columnWriters(schema: StructType): Array[ColumnWriter] = schema.fields.map(field => columnWriter(field.dataType))
+
+  def append(row: SpecializedGetters, writers: Array[ColumnWriter], vectors: Array[_ <: WritableColumnVector]): Unit = {
+    var i = 0
+    while (i < writers.length) {
+      writers(i)(row, i, vectors(i))
+      i += 1
+    }
+  }
+
+  private def columnWriter(dataType: DataType): ColumnWriter = dataType match {
+    case BooleanType                  => (row, i, vector) => if (row.isNullAt(i)) vector.appendNull() else vector.appendBoolean(row.getBoolean(i))
+    case ByteType                     => (row, i, vector) => if (row.isNullAt(i)) vector.appendNull() else vector.appendByte(row.getByte(i))
+    case ShortType                    => (row, i, vector) => if (row.isNullAt(i)) vector.appendNull() else vector.appendShort(row.getShort(i))
+    case IntegerType                  => (row, i, vector) => if (row.isNullAt(i)) vector.appendNull() else vector.appendInt(row.getInt(i))
+    case LongType | TimestampType     => (row, i, vector) => if (row.isNullAt(i)) vector.appendNull() else vector.appendLong(row.getLong(i))
+    case FloatType                    => (row, i, vector) => if (row.isNullAt(i)) vector.appendNull() else vector.appendFloat(row.getFloat(i))
+    case DoubleType                   => (row, i, vector) => if (row.isNullAt(i)) vector.appendNull() else vector.appendDouble(row.getDouble(i))
+    case StringType                   => (row, i, vector) => {
+      if (row.isNullAt(i)) {
+        vector.appendNull()
+      }
+      else {
+        val bytes = row.getUTF8String(i).getBytes
+        vector.appendByteArray(bytes, 0, bytes.length)
+      }
+    }
+    case BinaryType                   => (row, i, vector) => {
+      if (row.isNullAt(i)) {
+        vector.appendNull()
+      }
+      else {
+        val bytes = row.getBinary(i)
+        vector.appendByteArray(bytes, 0, bytes.length)
+      }
+    }
+    case struct: StructType           => {
+      val children = columnWriters(struct)
+      (row, i, vector) => {
+        if (row.isNullAt(i)) {
+          // also appends nulls to the children
+          vector.appendStruct(true)
+        }
+        else {
+          vector.appendStruct(false)
+          val value = row.getStruct(i, children.length)
+          var j = 0
+          while (j < children.length) {
+            children(j)(value, j, vector.getChild(j))
+            j += 1
+          }
+        }
+      }
+    }
+    case _                            => throw new OpenSearchHadoopIllegalArgumentException(s"Unsupported columnar type $dataType")
+  }
+}
@@ -0,0 +1,154 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ *
+ * Modifications Copyright OpenSearch Contributors. See
+ * GitHub history for details.
+ */
+
+package org.opensearch.spark.sql.v2
+
+import java.util.{Map => JMap}
+
+import org.apache.commons.logging.Log
+import org.apache.commons.logging.LogFactory
+import org.apache.spark.TaskContext
+import org.apache.spark.sql.catalyst.InternalRow
+import org.apache.spark.sql.connector.read.InputPartition
+import org.apache.spark.sql.connector.read.PartitionReader
+import org.apache.spark.sql.connector.read.PartitionReaderFactory
+import org.apache.spark.sql.types.StructType
+import org.apache.spark.sql.vectorized.ColumnarBatch
+import org.opensearch.hadoop.cfg.PropertiesSettings
+import org.opensearch.hadoop.cfg.Settings
+import org.opensearch.hadoop.mr.security.HadoopUserProvider
+import org.opensearch.hadoop.rest.InitializationUtils
+import org.opensearch.hadoop.rest.PartitionDefinition
+import org.opensearch.hadoop.rest.Resource
+import org.opensearch.hadoop.rest.RestRepository
+import org.opensearch.hadoop.rest.query.QueryUtils
+import org.opensearch.spark.rdd.AbstractOpenSearchRDDIterator
+import org.opensearch.spark.sql.ScalaInternalRowValueReader
+import org.opensearch.spark.sql.SchemaUtils
+
+private[sql] case class OpenSearchInputPartition(definition: PartitionDefinition) extends InputPartition {
+  override def preferredLocations(): Array[String] = definition.getHostNames
+}
+
+/**
+ * Creates row readers or, when enabled through the `columnar` option and supported by the read schema,
+ * columnar ones filling batches of `batchSize` rows. The settings and mapping shared by all partitions
+ * are carried by the factory and reattached to each (detached) partition definition. Rows are built after
+ * the read schema, which Spark may have pruned down to some fields of a struct.
+ */
+private[sql] class OpenSearchPartitionReaderFactory(readSchema: StructType, columnar: Boolean, batchSize: Int,
+                                                    serializedSettings: String, serializedMapping: String)
+  extends PartitionReaderFactory {
+
+  override def createReader(partition: InputPartition): PartitionReader[InternalRow] = {
+    new OpenSearchPartitionReader(definition(partition), readSchema)
+  }
+
+  override def supportColumnarReads(partition: InputPartition): Boolean = columnar
+
+  override def createColumnarReader(partition: InputPartition): PartitionReader[ColumnarBatch] = {
+    new OpenSearchColumnarPartitionReader(definition(partition), readSchema, batchSize)
+  }
+
+  private def definition(partition: InputPartition): PartitionDefinition = {
+    partition.asInstanceOf[OpenSearchInputPartition].definition.withPayload(serializedSettings, serializedMapping)
+  }
+}
+
+/**
+ * Scrolls over a partition, reading the hits straight into Catalyst rows.
+ */
+private[sql] class OpenSearchPartitionReader(definition: PartitionDefinition, readSchema: StructType)
+  extends PartitionReader[InternalRow] {
+
+  private val iterator = new OpenSearchInternalRowIterator(TaskContext.get(), definition, readSchema)
+  private var current: InternalRow = _
+
+  override def next(): Boolean = {
+    if (iterator.hasNext) {
+      current = iterator.next()
+      true
+    }
+    else {
+      false
+    }
+  }
+
+  override def get(): InternalRow = current
+
+  override def close(): Unit = iterator.closeIfNeeded()
+}
+
+private[sql] class OpenSearchInternalRowIterator(context: TaskContext, partition: PartitionDefinition, readSchema: StructType)
+  extends AbstractOpenSearchRDDIterator[InternalRow](context, partition) {
+
+  override def getLogger() = LogFactory.getLog(classOf[OpenSearchScan])
+
+  override def initReader(settings: Settings, log: Log) = {
+    InitializationUtils.setValueReaderIfNotSet(settings, classOf[ScalaInternalRowValueReader], log)
+    InitializationUtils.setUserProviderIfNotSet(settings, classOf[HadoopUserProvider], log)
+
+    // row order and types as read by Spark, including pruned structs
+    SchemaUtils.setRowInfo(settings, readSchema)
+    SchemaUtils.setRowSchema(settings, readSchema)
+  }
+
+  override def createValue(value: Array[Object]): InternalRow = {
+    ScalaInternalRowValueReader.row(value(1))
+  }
+}
+
+private[sql] case class OpenSearchAggregationPartition(settings: String, aggregation: OpenSearchAggregation) extends InputPartition
+
+private[sql] object OpenSearchAggregationReaderFactory extends PartitionReaderFactory {
+
+  override def createReader(partition: InputPartition): PartitionReader[InternalRow] = {
+    val aggregationPartition = partition.asInstanceOf[OpenSearchAggregationPartition]
+    new OpenSearchAggregationReader(aggregationPartition.settings, aggregationPartition.aggregation)
+  }
+}
+
+/**
+ * Runs the pushed aggregation, fetching the composite buckets one page at a time.
+ */
+private[sql] class OpenSearchAggregationReader(serializedSettings: String, aggregation: OpenSearchAggregation)
+  extends PartitionReader[InternalRow] {
+
+  private val settings = new PropertiesSettings().load(serializedSettings)
+  private val repository = new RestRepository(settings)
+  private val index = new Resource(settings, true).index()
+  private val query = QueryUtils.parseQueryAndFilters(settings)
+
+  private var page: Iterator[InternalRow] = Iterator.empty
+  private var afterKey: Option[JMap[String, Object]] = None
+  private var done = false
+  private var current: InternalRow = _
+
+  override def next(): Boolean = {
+    while (!page.hasNext && !done) {
+      val body = aggregation.request(query, afterKey, settings.getScrollSize.toInt)
+      val (rows, nextKey) = aggregation.rows(repository.getRestClient.search(index, body))
+      page = rows.iterator
+      afterKey = nextKey
+      done = nextKey.isEmpty
+    }
+    if (page.hasNext) {
+      current = page.next()
+      true
+    }
+    else {
+      false
+    }
+  }
+
+  override def get(): InternalRow = current
+
+  override def close(): Unit = repository.close()
+}
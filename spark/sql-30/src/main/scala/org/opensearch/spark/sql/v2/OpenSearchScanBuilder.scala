@@ -0,0 +1,117 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ *
+ * Modifications Copyright OpenSearch Contributors. See
+ * GitHub history for details.
+ */
+
+package org.opensearch.spark.sql.v2
+
+import org.apache.commons.logging.LogFactory
+import org.apache.spark.sql.connector.expressions.aggregate.Aggregation
+import org.apache.spark.sql.connector.read.Batch
+import org.apache.spark.sql.connector.read.InputPartition
+import org.apache.spark.sql.connector.read.PartitionReaderFactory
+import org.apache.spark.sql.connector.read.Scan
+import org.apache.spark.sql.connector.read.ScanBuilder
+import org.apache.spark.sql.connector.read.SupportsPushDownAggregates
+import org.apache.spark.sql.connector.read.SupportsPushDownFilters
+import org.apache.spark.sql.connector.read.SupportsPushDownRequiredColumns
+import org.apache.spark.sql.sources.Filter
+import org.apache.spark.sql.types.StructType
+import org.opensearch.hadoop.cfg.Settings
+import org.opensearch.hadoop.rest.RestService
+import org.opensearch.spark.sql.OpenSearchRelation
+import org.opensearch.spark.sql.v2.OpenSearchScan.scanSettings
+
+import scala.collection.JavaConverters.asScalaBufferConverter
+import scala.collection.JavaConverters.mapAsJavaMapConverter
+
+private[sql] class OpenSearchScanBuilder(relation: OpenSearchRelation) extends ScanBuilder
+  with SupportsPushDownFilters with SupportsPushDownRequiredColumns with SupportsPushDownAggregates {
+
+  private var filters: Array[Filter] = Array.empty
+  private var requiredSchema: StructType = relation.schema
+  private var aggregation: Option[OpenSearchAggregation] = None
+
+  override def pushFilters(filters: Array[Filter]): Array[Filter] = {
+    this.filters = filters
+    relation.unhandledFilters(filters)
+  }
+
+  override def pushedFilters(): Array[Filter] = if (relation.isPushDown) filters else Array.empty
+
+  // with nested schema pruning, structs may only keep some of their fields; the readers follow this schema as is
+  override def pruneColumns(requiredSchema: StructType): Unit = {
+    this.requiredSchema = requiredSchema
+  }
+
+  // only called by Spark once all the filters have been pushed (no double filtering)
+  override def pushAggregation(aggregation: Aggregation): Boolean = {
+    if (relation.isPushDown) {
+      this.aggregation = OpenSearchAggregation.translate(aggregation, relation.schema, relation.lazySchema.mapping)
+    }
+    this.aggregation.isDefined
+  }
+
+  override def build(): Scan = aggregation match {
+    case Some(agg) => new OpenSearchAggregationScan(relation, filters, agg)
+    case None      => new OpenSearchScan(relation, requiredSchema, filters)
+  }
+}
+
+private[sql] class OpenSearchScan(relation: OpenSearchRelation, requiredSchema: StructType, filters: Array[Filter])
+  extends Scan with Batch {
+
+  override def readSchema(): StructType = requiredSchema
+
+  override def description(): String = s"OpenSearchScan(${relation.cfg.getResourceRead}, filters ${filters.mkString("[", ",", "]")})"
+
+  override def toBatch: Batch = this
+
+  private lazy val partitions = {
+    val settings = scanSettings(relation, relation.scanParameters(requiredSchema.fieldNames, filters))
+    RestService.findPartitions(settings, LogFactory.getLog(classOf[OpenSearchScan])).asScala
+  }
+
+  // settings and mapping are identical across partitions so they travel once, with the reader factory
+  override def planInputPartitions(): Array[InputPartition] = {
+    partitions.map(partition => OpenSearchInputPartition(partition.withoutPayload()): InputPartition).toArray
+  }
+
+  override def createReaderFactory(): PartitionReaderFactory = {
+    val columnar = relation.isColumnar && OpenSearchColumnarPartitionReader.isSupported(requiredSchema)
+    val payload = partitions.headOption
+    new OpenSearchPartitionReaderFactory(requiredSchema, columnar, relation.cfg.getScrollSize.toInt,
+      payload.map(_.getSerializedSettings).orNull, payload.map(_.getSerializedMapping).orNull)
+  }
+}
+
+private[sql] class OpenSearchAggregationScan(relation: OpenSearchRelation, filters: Array[Filter], aggregation: OpenSearchAggregation)
+  extends Scan with Batch {
+
+  override def readSchema(): StructType = aggregation.schema
+
+  override def description(): String = s"OpenSearchAggregationScan(${relation.cfg.getResourceRead}, " +
+    s"groups ${aggregation.groups.map(_.name).mkString("[", ",", "]")}, metrics ${aggregation.metrics.mkString("[", ",", "]")}, " +
+    s"filters ${filters.mkString("[", ",", "]")})"
+
+  override def toBatch: Batch = this
+
+  // a single search covers the whole resource
+  override def planInputPartitions(): Array[InputPartition] = {
+    val settings = scanSettings(relation, relation.scanParameters(Array.empty, filters))
+    Array(OpenSearchAggregationPartition(settings.save(), aggregation))
+  }
+
+  override def createReaderFactory(): PartitionReaderFactory = OpenSearchAggregationReaderFactory
+}
+
+private[sql] object OpenSearchScan {
+  def scanSettings(relation: OpenSearchRelation, parameters: scala.collection.Map[String, String]): Settings = {
+    relation.cfg.copy().merge(parameters.asJava)
+  }
+}
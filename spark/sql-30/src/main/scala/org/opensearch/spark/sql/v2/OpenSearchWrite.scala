@@ -0,0 +1,208 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ *
+ * Modifications Copyright OpenSearch Contributors. See
+ * GitHub history for details.
+ */
+
+package org.opensearch.spark.sql.v2
+
+import org.apache.commons.logging.LogFactory
+import org.apache.spark.SparkContext
+import org.apache.spark.TaskContext
+import org.apache.spark.sql.SparkSession
+import org.apache.spark.sql.catalyst.CatalystTypeConverters
+import org.apache.spark.sql.catalyst.InternalRow
+import org.apache.spark.sql.connector.write.BatchWrite
+import org.apache.spark.sql.connector.write.DataWriter
+import org.apache.spark.sql.connector.write.DataWriterFactory
+import org.apache.spark.sql.connector.write.LogicalWriteInfo
+import org.apache.spark.sql.connector.write.PhysicalWriteInfo
+import org.apache.spark.sql.connector.write.SupportsOverwrite
+import org.apache.spark.sql.connector.write.Write
+import org.apache.spark.sql.connector.write.WriteBuilder
+import org.apache.spark.sql.connector.write.WriterCommitMessage
+import org.apache.spark.sql.connector.write.streaming.StreamingDataWriterFactory
+import org.apache.spark.sql.connector.write.streaming.StreamingWrite
+import org.apache.spark.sql.sources.AlwaysTrue
+import org.apache.spark.sql.sources.Filter
+import org.apache.spark.sql.types.StructType
+import org.apache.spark.util.LongAccumulator
+import org.opensearch.hadoop.OpenSearchHadoopIllegalArgumentException
+import org.opensearch.hadoop.rest.InitializationUtils
+import org.opensearch.hadoop.rest.RestRepository
+import org.opensearch.hadoop.rest.stats.Stats
+import org.opensearch.spark.rdd.OpenSearchRDDWriter
+import org.opensearch.spark.sql.OpenSearchDataFrameWriter
+import org.opensearch.spark.sql.OpenSearchInternalRowWriter
+import org.opensearch.spark.sql.OpenSearchRelation
+
+/**
+ * Write side of the DataSource V2 table. Overwriting is only supported for the whole resource (truncate);
+ * the documents are removed before any task runs.
+ */
+private[sql] class OpenSearchWriteBuilder(relation: OpenSearchRelation, info: LogicalWriteInfo)
+  extends WriteBuilder with SupportsOverwrite {
+
+  private var truncate = false
+
+  override def overwrite(filters: Array[Filter]): WriteBuilder = {
+    if (!filters.forall(_.isInstanceOf[AlwaysTrue])) {
+      throw new OpenSearchHadoopIllegalArgumentException(s"Overwriting by filter ${filters.mkString("[", ",", "]")} is not supported " +
+        "by OpenSearch; only the whole resource can be overwritten")
+    }
+    truncate = true
+    this
+  }
+
+  override def build(): Write = new OpenSearchWrite(relation, info.schema(), truncate)
+}
+
+private[sql] class OpenSearchWrite(relation: OpenSearchRelation, schema: StructType, val truncate: Boolean) extends Write {
+
+  override def description(): String = s"OpenSearchWrite(${relation.cfg.getResourceWrite}, truncate $truncate)"
+
+  override def toBatch: BatchWrite = {
+    if (truncate) {
+      relation.truncate()
+    }
+    new OpenSearchBatchWrite(writerFactory())
+  }
+
+  override def toStreaming: StreamingWrite = {
+    if (truncate) {
+      throw new OpenSearchHadoopIllegalArgumentException("Complete output mode is not supported for OpenSearch as it " +
+        "requires overwriting (truncating) the resource on every trigger; use append instead.")
+    }
+    new OpenSearchStreamingWrite(writerFactory())
+  }
+
+  private def writerFactory(): OpenSearchDataWriterFactory = {
+    val settings = relation.cfg.copy()
+    InitializationUtils.checkIdForOperation(settings)
+    InitializationUtils.checkIndexExistence(settings)
+
+    new OpenSearchDataWriterFactory(schema, settings.save(), OpenSearchInternalRowWriter.isSupported(settings),
+      OpenSearchWriteMetrics(SparkSession.active.sparkContext))
+  }
+}
+
+/**
+ * Documents become visible as soon as their bulk request is accepted, so there is nothing to coordinate
+ * or roll back once the tasks are done; commit and abort only report.
+ */
+private[sql] class OpenSearchBatchWrite(factory: OpenSearchDataWriterFactory) extends BatchWrite {
+
+  override def createBatchWriterFactory(info: PhysicalWriteInfo): DataWriterFactory = factory
+
+  override def useCommitCoordinator(): Boolean = false
+
+  override def commit(messages: Array[WriterCommitMessage]): Unit = {
+    OpenSearchWrite.log(messages, "Committed")
+  }
+
+  override def abort(messages: Array[WriterCommitMessage]): Unit = {
+    OpenSearchWrite.log(messages, "Aborted")
+  }
+}
+
+private[sql] class OpenSearchStreamingWrite(factory: OpenSearchDataWriterFactory) extends StreamingWrite {
+
+  override def createStreamingWriterFactory(info: PhysicalWriteInfo): StreamingDataWriterFactory = factory
+
+  override def useCommitCoordinator(): Boolean = false
+
+  override def commit(epochId: Long, messages: Array[WriterCommitMessage]): Unit = {
+    OpenSearchWrite.log(messages, s"Committed epoch $epochId")
+  }
+
+  override def abort(epochId: Long, messages: Array[WriterCommitMessage]): Unit = {
+    OpenSearchWrite.log(messages, s"Aborted epoch $epochId")
+  }
+}
+
+private[sql] object OpenSearchWrite {
+
+  private val LOG = LogFactory.getLog(classOf[OpenSearchWrite])
+
+  def log(messages: Array[WriterCommitMessage], action: String): Unit = {
+    if (LOG.isDebugEnabled) {
+      // aborted tasks do not report back
+      val committed = messages.collect { case m: OpenSearchWriterCommitMessage => m }
+      LOG.debug(s"$action write of ${committed.map(_.docsSent).sum} docs from ${committed.length} task(s)")
+    }
+  }
+}
+
+private[sql] case class OpenSearchWriterCommitMessage(partitionId: Int, docsSent: Long) extends WriterCommitMessage
+
+private[sql] class OpenSearchDataWriterFactory(schema: StructType, serializedSettings: String, internalRows: Boolean,
+                                               metrics: OpenSearchWriteMetrics)
+  extends DataWriterFactory with StreamingDataWriterFactory {
+
+  override def createWriter(partitionId: Int, taskId: Long): DataWriter[InternalRow] = {
+    val (rddWriter, document): (OpenSearchRDDWriter[_], InternalRow => Any) = if (internalRows) {
+      (new OpenSearchInternalRowWriter(schema, serializedSettings), row => (row, schema))
+    } else {
+      // custom value writers and extractors (or JSON input) expect Rows
+      val toRow = CatalystTypeConverters.createToScalaConverter(schema)
+      (new OpenSearchDataFrameWriter(schema, serializedSettings), row => (toRow(row), schema))
+    }
+    new OpenSearchDataWriter(partitionId, rddWriter.createWriter(TaskContext.get()).repository, document, metrics)
+  }
+
+  override def createWriter(partitionId: Int, taskId: Long, epochId: Long): DataWriter[InternalRow] = createWriter(partitionId, taskId)
+}
+
+/**
+ * Feeds the rows of a task straight to the bulk processor of its [[RestRepository]]; the remaining
+ * entries are flushed on commit, after which the write stats of the task are reported.
+ */
+private[sql] class OpenSearchDataWriter(partitionId: Int, repository: RestRepository, document: InternalRow => Any,
+                                        metrics: OpenSearchWriteMetrics) extends DataWriter[InternalRow] {
+
+  override def write(record: InternalRow): Unit = {
+    repository.writeToIndex(document(record))
+  }
+
+  override def commit(): WriterCommitMessage = {
+    repository.close()
+    val stats = repository.stats()
+    metrics.record(stats)
+    OpenSearchWriterCommitMessage(partitionId, stats.docsSent)
+  }
+
+  // documents already sent cannot be taken back but the buffered ones are dropped, the task being retried
+  override def abort(): Unit = repository.abort()
+
+  override def close(): Unit = repository.close()
+}
+
+/**
+ * Per task write stats, surfaced as named accumulators in the stage and task views of the Spark UI.
+ */
+private[sql] case class OpenSearchWriteMetrics(docsSent: LongAccumulator, bytesSent: LongAccumulator,
+                                               docsRetried: LongAccumulator, bulkRetries: LongAccumulator,
+                                               bulkTotalTime: LongAccumulator) {
+
+  def record(stats: Stats): Unit = {
+    docsSent.add(stats.docsSent)
+    bytesSent.add(stats.bytesSent)
+    docsRetried.add(stats.docsRetried)
+    bulkRetries.add(stats.bulkRetries)
+    bulkTotalTime.add(stats.bulkTotalTime)
+  }
+}
+
+private[sql] object OpenSearchWriteMetrics {
+
+  def apply(sc: SparkContext): OpenSearchWriteMetrics = OpenSearchWriteMetrics(
+    sc.longAccumulator("OpenSearch docs sent"),
+    sc.longAccumulator("OpenSearch bytes sent"),
+    sc.longAccumulator("OpenSearch docs retried"),
+    sc.longAccumulator("OpenSearch bulk retries"),
+    sc.longAccumulator("OpenSearch bulk time (ms)"))
+}
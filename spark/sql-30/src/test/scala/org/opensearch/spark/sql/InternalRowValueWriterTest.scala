@@ -0,0 +1,75 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ *
+ * Modifications Copyright OpenSearch Contributors. See
+ * GitHub history for details.
+ */
+
+package org.opensearch.spark.sql
+
+import java.io.ByteArrayOutputStream
+
+import org.apache.spark.sql.Row
+import org.apache.spark.sql.catalyst.CatalystTypeConverters
+import org.apache.spark.sql.catalyst.InternalRow
+import org.apache.spark.sql.types.ArrayType
+import org.apache.spark.sql.types.DateType
+import org.apache.spark.sql.types.IntegerType
+import org.apache.spark.sql.types.LongType
+import org.apache.spark.sql.types.MapType
+import org.apache.spark.sql.types.StringType
+import org.apache.spark.sql.types.StructField
+import org.apache.spark.sql.types.StructType
+import org.apache.spark.sql.types.TimestampType
+import org.junit.Assert._
+import org.junit.Test
+import org.opensearch.hadoop.serialization.OpenSearchHadoopSerializationException
+import org.opensearch.hadoop.serialization.json.JacksonJsonGenerator
+
+class InternalRowValueWriterTest {
+
+  private def serialize(value: Row, schema: StructType): String = {
+    val row = CatalystTypeConverters.createToCatalystConverter(schema)(value).asInstanceOf[InternalRow]
+
+    val out = new ByteArrayOutputStream()
+    val generator = new JacksonJsonGenerator(out)
+    val result = new InternalRowValueWriter().write((row, schema), generator)
+    if (result.isSuccesful == false) {
+      throw new OpenSearchHadoopSerializationException("Could not serialize [" + result.getUnknownValue + "]")
+    }
+    generator.flush()
+
+    new String(out.toByteArray, "UTF-8")
+  }
+
+  @Test
+  def testSimpleRow(): Unit = {
+    val schema = StructType(Seq(StructField("a", StringType), StructField("b", LongType)))
+    assertEquals("""{"a":"b\"ü","b":42}""", serialize(Row("b\"ü", 42L), schema))
+  }
+
+  @Test
+  def testNullsAreSkipped(): Unit = {
+    val schema = StructType(Seq(StructField("a", StringType), StructField("b", IntegerType)))
+    assertEquals("""{"b":1}""", serialize(Row(null, 1), schema))
+  }
+
+  @Test
+  def testNestedStructArrayAndMap(): Unit = {
+    val nested = StructType(Seq(StructField("c", ArrayType(IntegerType)), StructField("d", MapType(StringType, StringType))))
+    val schema = StructType(Seq(StructField("a", nested)))
+    val row = Row(Row(Seq(1, 2, 3), Map("e" -> "f")))
+    assertEquals("""{"a":{"c":[1,2,3],"d":{"e":"f"}}}""", serialize(row, schema))
+  }
+
+  @Test
+  def testDatesMatchRowWriter(): Unit = {
+    val schema = StructType(Seq(StructField("d", DateType), StructField("t", TimestampType)))
+    val date = java.sql.Date.valueOf("2020-02-29")
+    val timestamp = java.sql.Timestamp.valueOf("2020-02-29 10:11:12.345")
+    assertEquals(s"""{"d":${date.getTime},"t":${timestamp.getTime}}""", serialize(Row(date, timestamp), schema))
+  }
+}
@@ -0,0 +1,140 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ *
+ * Modifications Copyright OpenSearch Contributors. See
+ * GitHub history for details.
+ */
+
+package org.opensearch.spark.sql
+
+import java.io.ByteArrayInputStream
+
+import org.apache.spark.sql.catalyst.InternalRow
+import org.apache.spark.sql.types.ArrayType
+import org.apache.spark.sql.types.BooleanType
+import org.apache.spark.sql.types.DoubleType
+import org.apache.spark.sql.types.IntegerType
+import org.apache.spark.sql.types.LongType
+import org.apache.spark.sql.types.StringType
+import org.apache.spark.sql.types.StructField
+import org.apache.spark.sql.types.StructType
+import org.apache.spark.unsafe.types.UTF8String
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertFalse
+import org.junit.Assert.assertTrue
+import org.junit.Before
+import org.junit.Test
+import org.opensearch.hadoop.cfg.ConfigurationOptions
+import org.opensearch.hadoop.cfg.Settings
+import org.opensearch.hadoop.serialization.FieldType
+import org.opensearch.hadoop.serialization.ScrollReader
+import org.opensearch.hadoop.serialization.ScrollReaderConfigBuilder
+import org.opensearch.hadoop.serialization.dto.mapping.Field
+import org.opensearch.hadoop.serialization.dto.mapping.Mapping
+import org.opensearch.hadoop.util.StringUtils
+import org.opensearch.hadoop.util.TestSettings
+
+import scala.collection.JavaConverters.seqAsJavaListConverter
+
+class ScalaInternalRowValueReaderTest {
+
+  private val schema = StructType(Seq(
+    StructField("name", StringType),
+    StructField("age", IntegerType),
+    StructField("score", DoubleType),
+    StructField("active", BooleanType),
+    StructField("address", StructType(Seq(StructField("city", StringType), StructField("zip", LongType)))),
+    StructField("tags", ArrayType(StringType))))
+
+  private val mapping = new Mapping("test", Seq(
+    new Field("name", FieldType.KEYWORD),
+    new Field("age", FieldType.INTEGER),
+    new Field("score", FieldType.DOUBLE),
+    new Field("active", FieldType.BOOLEAN),
+    new Field("address", FieldType.OBJECT, Seq(new Field("city", FieldType.KEYWORD), new Field("zip", FieldType.LONG)).asJava),
+    new Field("tags", FieldType.KEYWORD)).asJava)
+
+  private val document = "{\"name\":\"kimchy\",\"age\":42,\"score\":1.5,\"active\":true," +
+    "\"address\":{\"city\":\"Berlin\",\"zip\":10115},\"tags\":[\"a\",\"b\"]}"
+
+  private var cfg: Settings = _
+
+  @Before
+  def start(): Unit = {
+    cfg = new TestSettings
+    cfg.setProperty(ConfigurationOptions.OPENSEARCH_READ_FIELD_AS_ARRAY_INCLUDE, "tags")
+  }
+
+  @Test
+  def testReadRow(): Unit = {
+    val row = read(document)
+
+    assertEquals(UTF8String.fromString("kimchy"), row.getUTF8String(0))
+    assertEquals(42, row.getInt(1))
+    assertEquals(1.5d, row.getDouble(2), 0d)
+    assertTrue(row.getBoolean(3))
+
+    val address = row.getStruct(4, 2)
+    assertEquals(UTF8String.fromString("Berlin"), address.getUTF8String(0))
+    assertEquals(10115L, address.getLong(1))
+
+    val tags = row.getArray(5)
+    assertEquals(2, tags.numElements())
+    assertEquals(UTF8String.fromString("a"), tags.getUTF8String(0))
+    assertEquals(UTF8String.fromString("b"), tags.getUTF8String(1))
+  }
+
+  @Test
+  def testReadRequiredColumns(): Unit = {
+    cfg.setProperty(Utils.DATA_SOURCE_REQUIRED_COLUMNS, "age,name,score")
+    val row = read("{\"name\":\"kimchy\",\"age\":42}")
+
+    assertEquals(3, row.numFields)
+    assertEquals(42, row.getInt(0))
+    assertEquals(UTF8String.fromString("kimchy"), row.getUTF8String(1))
+    assertTrue(row.isNullAt(2))
+  }
+
+  @Test
+  def testReadNulls(): Unit = {
+    val row = read("{\"name\":null,\"age\":null,\"address\":{\"city\":null}}")
+
+    assertTrue(row.isNullAt(0))
+    assertTrue(row.isNullAt(1))
+    assertFalse(row.isNullAt(4))
+    assertTrue(row.getStruct(4, 2).isNullAt(0))
+    assertTrue(row.isNullAt(5))
+  }
+
+  @Test
+  def testReadPrunedStruct(): Unit = {
+    // nested schema pruning (SELECT address.zip) leaves a struct narrower than the document
+    val pruned = StructType(Seq(
+      StructField("address", StructType(Seq(StructField("zip", LongType))))))
+    cfg.setProperty(Utils.DATA_SOURCE_REQUIRED_COLUMNS, "address")
+    val row = read("{\"address\":{\"city\":\"Berlin\",\"zip\":10115}}", pruned)
+
+    assertEquals(1, row.numFields)
+    val address = row.getStruct(0, 1)
+    assertEquals(1, address.numFields)
+    assertEquals(10115L, address.getLong(0))
+  }
+
+  private def read(source: String, schema: StructType = this.schema): InternalRow = {
+    SchemaUtils.setRowInfo(cfg, schema)
+    SchemaUtils.setRowSchema(cfg, schema)
+
+    val valueReader = new ScalaInternalRowValueReader
+    valueReader.setSettings(cfg)
+    val reader = new ScrollReader(ScrollReaderConfigBuilder.builder(valueReader, mapping, cfg))
+
+    val response = "{\"_scroll_id\":\"s\",\"hits\":{\"total\":{\"value\":1,\"relation\":\"eq\"},\"hits\":[" +
+      "{\"_index\":\"test\",\"_id\":\"1\",\"_score\":1.0,\"_source\":" + source + "}]}}"
+    val hits = reader.read(new ByteArrayInputStream(response.getBytes(StringUtils.UTF_8))).getHits
+    assertEquals(1, hits.size())
+    ScalaInternalRowValueReader.row(hits.get(0)(1))
+  }
+}
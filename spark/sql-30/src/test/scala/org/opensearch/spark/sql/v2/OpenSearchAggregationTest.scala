@@ -0,0 +1,137 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ *
+ * Modifications Copyright OpenSearch Contributors. See
+ * GitHub history for details.
+ */
+
+package org.opensearch.spark.sql.v2
+
+import java.util.{LinkedHashMap => JLinkedHashMap}
+import java.util.{List => JList}
+import java.util.{Map => JMap}
+
+import org.apache.spark.sql.types.IntegerType
+import org.apache.spark.sql.types.LongType
+import org.apache.spark.sql.types.StringType
+import org.apache.spark.sql.types.StructField
+import org.apache.spark.sql.types.StructType
+import org.apache.spark.unsafe.types.UTF8String
+import org.junit.Assert._
+import org.junit.Test
+import org.opensearch.hadoop.rest.query.MatchAllQueryBuilder
+import org.opensearch.hadoop.serialization.FieldType
+import org.opensearch.hadoop.serialization.dto.mapping.Field
+import org.opensearch.hadoop.serialization.dto.mapping.Mapping
+import org.opensearch.spark.sql.v2.OpenSearchAggregation._
+
+import scala.collection.JavaConverters.seqAsJavaListConverter
+
+class OpenSearchAggregationTest {
+
+  private val schema = StructType(Seq(
+    StructField("city", StringType),
+    StructField("title", StringType),
+    StructField("bytes", IntegerType),
+    StructField("timestamp", LongType)))
+
+  private val mapping = new Mapping("logs", Seq(
+    new Field("city", FieldType.KEYWORD),
+    new Field("title", FieldType.TEXT),
+    new Field("bytes", FieldType.INTEGER),
+    new Field("timestamp", FieldType.LONG)).asJava)
+
+  @Test
+  def testTranslate(): Unit = {
+    val aggregation = translate(Seq("city"), Seq((COUNT_ALL, null), (SUM, "bytes"), (MAX, "bytes")), schema, mapping).get
+
+    assertEquals(StructType(Seq(
+      StructField("city", StringType),
+      StructField("count(*)", LongType),
+      StructField("sum(bytes)", LongType),
+      StructField("max(bytes)", IntegerType))), aggregation.schema)
+  }
+
+  @Test
+  def testTranslateUnsupported(): Unit = {
+    // text fields cannot be grouped on
+    assertEquals(None, translate(Seq("title"), Seq((COUNT_ALL, null)), schema, mapping))
+    // long metrics lose precision as doubles
+    assertEquals(None, translate(Seq.empty, Seq((MIN, "timestamp")), schema, mapping))
+    // unmapped columns
+    assertEquals(None, translate(Seq("_metadata"), Seq((COUNT_ALL, null)), schema, mapping))
+  }
+
+  @Test
+  def testGroupedRequest(): Unit = {
+    val aggregation = translate(Seq("city"), Seq((COUNT_ALL, null), (SUM, "bytes")), schema, mapping).get
+    val after = new JLinkedHashMap[String, Object]()
+    after.put("g0", "berlin")
+
+    assertEquals("{\"size\":0,\"query\":{\"match_all\":{}},\"aggs\":{\"groups\":{\"composite\":{\"size\":100," +
+      "\"sources\":[{\"g0\":{\"terms\":{\"field\":\"city\",\"missing_bucket\":true}}}],\"after\":{\"g0\":\"berlin\"}}," +
+      "\"aggs\":{\"m1\":{\"sum\":{\"field\":\"bytes\"}},\"m1_values\":{\"value_count\":{\"field\":\"bytes\"}}}}}}",
+      aggregation.request(MatchAllQueryBuilder.MATCH_ALL, Some(after), 100).toString)
+  }
+
+  @Test
+  def testGlobalRequest(): Unit = {
+    val aggregation = translate(Seq.empty, Seq((COUNT_ALL, null), (MIN, "bytes")), schema, mapping).get
+
+    assertEquals("{\"size\":0,\"track_total_hits\":true,\"query\":{\"match_all\":{}}," +
+      "\"aggs\":{\"m1\":{\"min\":{\"field\":\"bytes\"}}}}",
+      aggregation.request(MatchAllQueryBuilder.MATCH_ALL, None, 100).toString)
+  }
+
+  @Test
+  def testGroupedRows(): Unit = {
+    val aggregation = translate(Seq("city"), Seq((COUNT_ALL, null), (SUM, "bytes")), schema, mapping).get
+
+    val response = map("aggregations" -> map("groups" -> map(
+      "after_key" -> map("g0" -> null),
+      "buckets" -> list(
+        map("key" -> map("g0" -> "berlin"), "doc_count" -> Int.box(3), "m1" -> map("value" -> Double.box(42.0)), "m1_values" -> map("value" -> Int.box(3))),
+        map("key" -> map("g0" -> null), "doc_count" -> Int.box(2), "m1" -> map("value" -> Double.box(0.0)), "m1_values" -> map("value" -> Int.box(0)))))))
+
+    val (rows, afterKey) = aggregation.rows(response)
+    assertEquals(2, rows.size)
+    assertEquals(UTF8String.fromString("berlin"), rows(0).getUTF8String(0))
+    assertEquals(3L, rows(0).getLong(1))
+    assertEquals(42L, rows(0).getLong(2))
+    // missing group and a sum over no values
+    assertTrue(rows(1).isNullAt(0))
+    assertEquals(2L, rows(1).getLong(1))
+    assertTrue(rows(1).isNullAt(2))
+    assertTrue(afterKey.isDefined)
+
+    val (last, end) = aggregation.rows(map("aggregations" -> map("groups" -> map("buckets" -> list()))))
+    assertTrue(last.isEmpty)
+    assertEquals(None, end)
+  }
+
+  @Test
+  def testGlobalRows(): Unit = {
+    val aggregation = translate(Seq.empty, Seq((COUNT_ALL, null), (MAX, "bytes")), schema, mapping).get
+
+    val response = map(
+      "hits" -> map("total" -> map("value" -> Int.box(7), "relation" -> "eq")),
+      "aggregations" -> map("m1" -> map("value" -> Double.box(512.0))))
+
+    val (rows, afterKey) = aggregation.rows(response)
+    assertEquals(1, rows.size)
+    assertEquals(7L, rows(0).getLong(0))
+    assertEquals(512, rows(0).getInt(1))
+    assertEquals(None, afterKey)
+  }
+
+  private def map(entries: (String, Object)*): JMap[String, Object] = {
+    val map = new JLinkedHashMap[String, Object]()
+    entries.foreach { case (k, v) => map.put(k, v) }
+    map
+  }
+
+  private def list(entries: JMap[String, Object]*): JList[JMap[String, Object]] = entries.asJava
+}
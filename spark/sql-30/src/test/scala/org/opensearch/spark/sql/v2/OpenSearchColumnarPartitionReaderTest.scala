@@ -0,0 +1,121 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ *
+ * Modifications Copyright OpenSearch Contributors. See
+ * GitHub history for details.
+ */
+
+package org.opensearch.spark.sql.v2
+
+import java.io.ByteArrayInputStream
+
+import org.apache.spark.sql.catalyst.InternalRow
+import org.apache.spark.sql.execution.vectorized.OnHeapColumnVector
+import org.apache.spark.sql.types.ArrayType
+import org.apache.spark.sql.types.IntegerType
+import org.apache.spark.sql.types.LongType
+import org.apache.spark.sql.types.MapType
+import org.apache.spark.sql.types.StringType
+import org.apache.spark.sql.types.StructField
+import org.apache.spark.sql.types.StructType
+import org.apache.spark.sql.types.TimestampType
+import org.apache.spark.sql.vectorized.ColumnVector
+import org.apache.spark.sql.vectorized.ColumnarBatch
+import org.apache.spark.unsafe.types.UTF8String
+import org.junit.Assert._
+import org.junit.Test
+import org.opensearch.hadoop.serialization.FieldType
+import org.opensearch.hadoop.serialization.ScrollReader
+import org.opensearch.hadoop.serialization.ScrollReaderConfigBuilder
+import org.opensearch.hadoop.serialization.dto.mapping.Field
+import org.opensearch.hadoop.serialization.dto.mapping.Mapping
+import org.opensearch.hadoop.util.StringUtils
+import org.opensearch.hadoop.util.TestSettings
+import org.opensearch.spark.sql.ScalaInternalRowValueReader
+import org.opensearch.spark.sql.SchemaUtils
+import org.opensearch.spark.sql.Utils
+import org.opensearch.spark.sql.v2.OpenSearchColumnarPartitionReader._
+
+import scala.collection.JavaConverters.seqAsJavaListConverter
+
+class OpenSearchColumnarPartitionReaderTest {
+
+  private val schema = StructType(Seq(
+    StructField("name", StringType),
+    StructField("age", IntegerType),
+    StructField("created", TimestampType),
+    StructField("address", StructType(Seq(StructField("city", StringType), StructField("zip", LongType))))))
+
+  @Test
+  def testSupported(): Unit = {
+    assertTrue(isSupported(schema))
+    assertFalse(isSupported(StructType(Seq(StructField("tags", ArrayType(StringType))))))
+    assertFalse(isSupported(StructType(Seq(StructField("_metadata", MapType(StringType, StringType))))))
+  }
+
+  @Test
+  def testAppend(): Unit = {
+    val vectors = OnHeapColumnVector.allocateColumns(4, schema)
+    val writers = columnWriters(schema)
+
+    append(InternalRow(UTF8String.fromString("kimchy"), 42, 1000L, InternalRow(UTF8String.fromString("Berlin"), 10115L)), writers, vectors)
+    append(InternalRow(null, null, null, null), writers, vectors)
+    append(InternalRow(UTF8String.fromString("costin"), 7, 2000L, InternalRow(null, 1L)), writers, vectors)
+
+    val batch = new ColumnarBatch(vectors.map(v => v: ColumnVector))
+    batch.setNumRows(3)
+    try {
+      val first = batch.getRow(0)
+      assertEquals(UTF8String.fromString("kimchy"), first.getUTF8String(0))
+      assertEquals(42, first.getInt(1))
+      assertEquals(1000L, first.getLong(2))
+      assertEquals(UTF8String.fromString("Berlin"), first.getStruct(3, 2).getUTF8String(0))
+      assertEquals(10115L, first.getStruct(3, 2).getLong(1))
+
+      val second = batch.getRow(1)
+      for (i <- 0 until 4) {
+        assertTrue(second.isNullAt(i))
+      }
+
+      val third = batch.getRow(2)
+      assertEquals(7, third.getInt(1))
+      assertTrue(third.getStruct(3, 2).isNullAt(0))
+      assertEquals(1L, third.getStruct(3, 2).getLong(1))
+    } finally {
+      batch.close()
+    }
+  }
+
+  @Test
+  def testAppendPrunedStruct(): Unit = {
+    // SELECT address.zip: the struct read by Spark is narrower than the mapping
+    val pruned = StructType(Seq(StructField("address", StructType(Seq(StructField("zip", LongType))))))
+    val mapping = new Mapping("test", Seq(
+      new Field("address", FieldType.OBJECT, Seq(new Field("city", FieldType.KEYWORD), new Field("zip", FieldType.LONG)).asJava)).asJava)
+
+    val cfg = new TestSettings
+    cfg.setProperty(Utils.DATA_SOURCE_REQUIRED_COLUMNS, "address")
+    SchemaUtils.setRowInfo(cfg, pruned)
+    SchemaUtils.setRowSchema(cfg, pruned)
+    val valueReader = new ScalaInternalRowValueReader
+    valueReader.setSettings(cfg)
+    val reader = new ScrollReader(ScrollReaderConfigBuilder.builder(valueReader, mapping, cfg))
+    val response = "{\"_scroll_id\":\"s\",\"hits\":{\"total\":{\"value\":1,\"relation\":\"eq\"},\"hits\":[" +
+      "{\"_index\":\"test\",\"_id\":\"1\",\"_score\":1.0,\"_source\":{\"address\":{\"city\":\"Berlin\",\"zip\":10115}}}]}}"
+    val hits = reader.read(new ByteArrayInputStream(response.getBytes(StringUtils.UTF_8))).getHits
+
+    val vectors = OnHeapColumnVector.allocateColumns(1, pruned)
+    append(ScalaInternalRowValueReader.row(hits.get(0)(1)), columnWriters(pruned), vectors)
+
+    val batch = new ColumnarBatch(vectors.map(v => v: ColumnVector))
+    batch.setNumRows(1)
+    try {
+      assertEquals(10115L, batch.getRow(0).getStruct(0, 1).getLong(0))
+    } finally {
+      batch.close()
+    }
+  }
+}
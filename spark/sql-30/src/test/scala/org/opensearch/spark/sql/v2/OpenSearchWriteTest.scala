@@ -0,0 +1,131 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ *
+ * Modifications Copyright OpenSearch Contributors. See
+ * GitHub history for details.
+ */
+
+package org.opensearch.spark.sql.v2
+
+import org.apache.spark.sql.catalyst.InternalRow
+import org.apache.spark.sql.connector.catalog.TableCapability
+import org.apache.spark.sql.connector.write.LogicalWriteInfo
+import org.apache.spark.sql.sources.AlwaysTrue
+import org.apache.spark.sql.sources.EqualTo
+import org.apache.spark.sql.sources.Filter
+import org.apache.spark.sql.types.StringType
+import org.apache.spark.sql.types.StructField
+import org.apache.spark.sql.types.StructType
+import org.apache.spark.sql.util.CaseInsensitiveStringMap
+import org.apache.spark.unsafe.types.UTF8String
+import org.apache.spark.util.LongAccumulator
+import org.junit.Assert._
+import org.junit.Test
+import org.mockito.Mockito
+import org.opensearch.hadoop.OpenSearchHadoopIllegalArgumentException
+import org.opensearch.hadoop.rest.RestRepository
+import org.opensearch.hadoop.rest.stats.Stats
+import org.opensearch.spark.sql.OpenSearchRelation
+
+class OpenSearchWriteTest {
+
+  private val info = new LogicalWriteInfo {
+    override def queryId(): String = "query"
+    override def schema(): StructType = StructType(Seq(StructField("name", StringType)))
+    override def options(): CaseInsensitiveStringMap = CaseInsensitiveStringMap.empty()
+  }
+
+  private def builder() = new OpenSearchWriteBuilder(OpenSearchRelation(Map.empty, null), info)
+
+  @Test
+  def testAppend(): Unit = {
+    assertFalse(builder().build().asInstanceOf[OpenSearchWrite].truncate)
+  }
+
+  @Test
+  def testTruncate(): Unit = {
+    assertTrue(builder().truncate().build().asInstanceOf[OpenSearchWrite].truncate)
+    assertTrue(builder().overwrite(Array[Filter](AlwaysTrue)).build().asInstanceOf[OpenSearchWrite].truncate)
+  }
+
+  @Test(expected = classOf[OpenSearchHadoopIllegalArgumentException])
+  def testOverwriteByFilter(): Unit = {
+    builder().overwrite(Array[Filter](EqualTo("name", "value")))
+  }
+
+  private def metrics() = OpenSearchWriteMetrics(new LongAccumulator, new LongAccumulator, new LongAccumulator,
+    new LongAccumulator, new LongAccumulator)
+
+  private def rows() = Seq(InternalRow(UTF8String.fromString("a")), InternalRow(UTF8String.fromString("b")))
+
+  @Test
+  def testAcceptsAnySchema(): Unit = {
+    val capabilities = new OpenSearchTable(OpenSearchRelation(Map.empty, null)).capabilities()
+    assertTrue(capabilities.contains(TableCapability.ACCEPT_ANY_SCHEMA))
+    assertTrue(capabilities.contains(TableCapability.TRUNCATE))
+  }
+
+  @Test
+  def testDataWriterCommit(): Unit = {
+    val repository = Mockito.mock(classOf[RestRepository])
+    val stats = new Stats()
+    stats.docsSent = 2
+    stats.bytesSent = 64
+    Mockito.when(repository.stats()).thenReturn(stats)
+
+    val taskMetrics = metrics()
+    val writer = new OpenSearchDataWriter(3, repository, row => (row, info.schema()), taskMetrics)
+    rows().foreach(writer.write)
+    val message = writer.commit()
+    writer.close()
+
+    rows().foreach(row => Mockito.verify(repository).writeToIndex((row, info.schema())))
+    Mockito.verify(repository, Mockito.never()).abort()
+    assertEquals(OpenSearchWriterCommitMessage(3, 2), message)
+    assertEquals(2L, taskMetrics.docsSent.value)
+    assertEquals(64L, taskMetrics.bytesSent.value)
+  }
+
+  @Test
+  def testDataWriterAbort(): Unit = {
+    val repository = Mockito.mock(classOf[RestRepository])
+
+    val taskMetrics = metrics()
+    val writer = new OpenSearchDataWriter(3, repository, row => (row, info.schema()), taskMetrics)
+    rows().foreach(writer.write)
+    writer.abort()
+    writer.close()
+
+    // the buffered entries are dropped before the repository is closed, so they are not flushed
+    val order = Mockito.inOrder(repository)
+    order.verify(repository, Mockito.times(2)).writeToIndex(Mockito.any[AnyRef]())
+    order.verify(repository).abort()
+    order.verify(repository).close()
+    Mockito.verify(repository, Mockito.never()).stats()
+    assertEquals(0L, taskMetrics.docsSent.value)
+  }
+
+  @Test
+  def testMetrics(): Unit = {
+    val metrics = this.metrics()
+
+    val stats = new Stats()
+    stats.docsSent = 10
+    stats.bytesSent = 1024
+    stats.docsRetried = 2
+    stats.bulkRetries = 1
+    stats.bulkTotalTime = 50
+
+    metrics.record(stats)
+    metrics.record(stats)
+
+    assertEquals(20L, metrics.docsSent.value)
+    assertEquals(2048L, metrics.bytesSent.value)
+    assertEquals(4L, metrics.docsRetried.value)
+    assertEquals(2L, metrics.bulkRetries.value)
+    assertEquals(100L, metrics.bulkTotalTime.value)
+  }
+}